@@ -17,6 +17,8 @@
 
 package com.github.kokorin.jaffree;
 
+import com.github.kokorin.jaffree.util.NumberParser;
+
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Objects;
@@ -338,26 +340,49 @@ public final class Rational extends Number implements Comparable<Rational> {
      * Parses {@link Rational}.
      * <p>
      * Numerator and denominator are expected to be separated by delimiter.
+     * Delimiter is a regular expression, as in {@link String#split(String, int)}.
      *
      * @param value     value to parse
-     * @param delimiter delimiter which separates numerator and denominator
+     * @param delimiter regular expression which separates numerator and denominator
      * @return Rational value
      * @throws NumberFormatException if wrong format
      */
     public static Rational valueOf(final String value, final String delimiter)
             throws NumberFormatException {
-        String[] parts = value.split(delimiter, 2);
-
-        try {
-            long numerator = Long.parseLong(parts[0]);
-            long denominator = 1L;
+        Long numerator;
+        Long denominator = 1L;
+        if (isLiteral(delimiter)) {
+            // fast path for the common "/" and ":" delimiters, no regex and no substrings
+            int index = value.indexOf(delimiter.charAt(0));
+            if (index < 0) {
+                numerator = NumberParser.parseLong(value);
+            } else {
+                numerator = NumberParser.parseLong(value, 0, index);
+                denominator = NumberParser.parseLong(value, index + 1, value.length());
+            }
+        } else {
+            String[] parts = value.split(delimiter, 2);
+            numerator = NumberParser.parseLong(parts[0]);
             if (parts.length == 2) {
-                denominator = Long.parseLong(parts[1]);
+                denominator = NumberParser.parseLong(parts[1]);
             }
-            return new Rational(numerator, denominator);
-        } catch (NumberFormatException e) {
+        }
+
+        if (numerator == null || denominator == null) {
             throw new NumberFormatException("For input string: \"" + value + "\"");
         }
+        return new Rational(numerator, denominator);
+    }
+
+    /**
+     * Checks if regular expression matches only itself, i.e. it's a single character which
+     * is not a regex metacharacter.
+     *
+     * @param regex regular expression
+     * @return true if regex is a literal character
+     */
+    private static boolean isLiteral(final String regex) {
+        return regex.length() == 1 && ".$|()[{^?*+\\".indexOf(regex.charAt(0)) < 0;
     }
 
     /**
@@ -0,0 +1,264 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.capabilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Capabilities of ffmpeg (or ffprobe) executable: version, encoders, decoders, filters,
+ * pixel and container formats.
+ *
+ * @see CapabilitiesDiscovery
+ */
+public class Capabilities {
+    private final String version;
+    private final String configuration;
+    private final Map<String, Codec> encoders;
+    private final Map<String, Codec> decoders;
+    private final Map<String, Filter> filters;
+    private final Map<String, PixelFormat> pixelFormats;
+    private final List<ContainerFormat> formats;
+
+    /**
+     * Creates {@link Capabilities}.
+     *
+     * @param version       version
+     * @param configuration build configuration
+     * @param encoders      encoders
+     * @param decoders      decoders
+     * @param filters       filters
+     * @param pixelFormats  pixel formats
+     * @param formats       container formats
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public Capabilities(final String version, final String configuration,
+                        final List<Codec> encoders, final List<Codec> decoders,
+                        final List<Filter> filters, final List<PixelFormat> pixelFormats,
+                        final List<ContainerFormat> formats) {
+        this.version = version;
+        this.configuration = configuration;
+        this.encoders = new LinkedHashMap<>();
+        for (Codec encoder : encoders) {
+            this.encoders.put(encoder.getName(), encoder);
+        }
+        this.decoders = new LinkedHashMap<>();
+        for (Codec decoder : decoders) {
+            this.decoders.put(decoder.getName(), decoder);
+        }
+        this.filters = new LinkedHashMap<>();
+        for (Filter filter : filters) {
+            this.filters.put(filter.getName(), filter);
+        }
+        this.pixelFormats = new LinkedHashMap<>();
+        for (PixelFormat pixelFormat : pixelFormats) {
+            this.pixelFormats.put(pixelFormat.getName(), pixelFormat);
+        }
+        this.formats = Collections.unmodifiableList(new ArrayList<>(formats));
+    }
+
+    /**
+     * Returns version, e.g. "6.1.1" or "N-113245-g1a2b3c4d5e" for builds from git.
+     *
+     * @return version or null if not reported
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns configuration which was used to build the executable,
+     * e.g. "--enable-gpl --enable-libx264".
+     *
+     * @return configuration or null if not reported
+     */
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * @return all encoders
+     */
+    public List<Codec> getEncoders() {
+        return Collections.unmodifiableList(new ArrayList<>(encoders.values()));
+    }
+
+    /**
+     * Returns all encoders which implement specified codec, e.g. for "h264" it may return
+     * libx264, h264_nvenc and others.
+     *
+     * @param codecName codec name
+     * @return encoders
+     */
+    public List<Codec> getEncoders(final String codecName) {
+        return filterByCodec(encoders, codecName);
+    }
+
+    /**
+     * @param name encoder name
+     * @return encoder or null if not available
+     */
+    public Codec getEncoder(final String name) {
+        return encoders.get(name);
+    }
+
+    /**
+     * @param name encoder name
+     * @return true if encoder is available
+     */
+    public boolean hasEncoder(final String name) {
+        return encoders.containsKey(name);
+    }
+
+    /**
+     * @return all decoders
+     */
+    public List<Codec> getDecoders() {
+        return Collections.unmodifiableList(new ArrayList<>(decoders.values()));
+    }
+
+    /**
+     * Returns all decoders which implement specified codec, e.g. for "h264" it may return
+     * h264, h264_cuvid and others.
+     *
+     * @param codecName codec name
+     * @return decoders
+     */
+    public List<Codec> getDecoders(final String codecName) {
+        return filterByCodec(decoders, codecName);
+    }
+
+    /**
+     * @param name decoder name
+     * @return decoder or null if not available
+     */
+    public Codec getDecoder(final String name) {
+        return decoders.get(name);
+    }
+
+    /**
+     * @param name decoder name
+     * @return true if decoder is available
+     */
+    public boolean hasDecoder(final String name) {
+        return decoders.containsKey(name);
+    }
+
+    /**
+     * @return all filters
+     */
+    public List<Filter> getFilters() {
+        return Collections.unmodifiableList(new ArrayList<>(filters.values()));
+    }
+
+    /**
+     * @param name filter name
+     * @return filter or null if not available
+     */
+    public Filter getFilter(final String name) {
+        return filters.get(name);
+    }
+
+    /**
+     * @param name filter name
+     * @return true if filter is available
+     */
+    public boolean hasFilter(final String name) {
+        return filters.containsKey(name);
+    }
+
+    /**
+     * @return all pixel formats
+     */
+    public List<PixelFormat> getPixelFormats() {
+        return Collections.unmodifiableList(new ArrayList<>(pixelFormats.values()));
+    }
+
+    /**
+     * @param name pixel format name
+     * @return pixel format or null if not available
+     */
+    public PixelFormat getPixelFormat(final String name) {
+        return pixelFormats.get(name);
+    }
+
+    /**
+     * @return all container and device formats
+     */
+    public List<ContainerFormat> getFormats() {
+        return formats;
+    }
+
+    /**
+     * Returns format, which has specified name among its names. ffmpeg may report one format
+     * several times (e.g. when muxer and demuxer have different names), in such case muxing
+     * and demuxing capabilities are merged.
+     *
+     * @param name format name
+     * @return format or null if not available
+     */
+    public ContainerFormat getFormat(final String name) {
+        ContainerFormat result = null;
+        for (ContainerFormat format : formats) {
+            if (!format.getNames().contains(name)) {
+                continue;
+            }
+            if (result == null) {
+                result = format;
+            } else {
+                result = new ContainerFormat(result.getName(), result.getDescription(),
+                        result.isDemuxing() || format.isDemuxing(),
+                        result.isMuxing() || format.isMuxing(),
+                        result.isDevice() || format.isDevice());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param name format name
+     * @return true if muxing is supported for specified format
+     */
+    public boolean canMux(final String name) {
+        ContainerFormat format = getFormat(name);
+        return format != null && format.isMuxing();
+    }
+
+    /**
+     * @param name format name
+     * @return true if demuxing is supported for specified format
+     */
+    public boolean canDemux(final String name) {
+        ContainerFormat format = getFormat(name);
+        return format != null && format.isDemuxing();
+    }
+
+    private static List<Codec> filterByCodec(final Map<String, Codec> codecs,
+                                             final String codecName) {
+        List<Codec> result = new ArrayList<>();
+        for (Codec codec : codecs.values()) {
+            if (codec.getCodecName().equals(codecName)) {
+                result.add(codec);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
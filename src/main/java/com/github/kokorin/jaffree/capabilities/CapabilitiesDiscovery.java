@@ -0,0 +1,319 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.capabilities;
+
+import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.OS;
+import com.github.kokorin.jaffree.process.LoggingStdReader;
+import com.github.kokorin.jaffree.process.ProcessHandler;
+import com.github.kokorin.jaffree.util.DigestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CapabilitiesDiscovery} runs ffmpeg (or ffprobe) with {@code -version},
+ * {@code -encoders}, {@code -decoders}, {@code -filters}, {@code -pix_fmts} and
+ * {@code -formats} options and parses output to {@link Capabilities}.
+ * <p>
+ * Discovery happens only once per executable: capabilities are cached in memory
+ * and optionally on disk (see {@link #setCacheDirectory(Path)}). Cache is keyed by
+ * executable absolute path and modification time, so upgrading ffmpeg binary invalidates
+ * cached capabilities.
+ */
+public class CapabilitiesDiscovery {
+    private final Map<String, CompletableFuture<Capabilities>> cache =
+            new ConcurrentHashMap<>();
+    private volatile Path cacheDirectory;
+
+    private static final long UNKNOWN_MODIFICATION_TIME = -1;
+    private static final String HIDE_BANNER = "-hide_banner";
+    private static final Logger LOGGER = LoggerFactory.getLogger(CapabilitiesDiscovery.class);
+
+    /**
+     * Sets directory to store discovered capabilities. Stored capabilities are reused after
+     * application restart unless executable is modified.
+     * <p>
+     * By default capabilities are cached only in memory.
+     *
+     * @param cacheDirectory directory to store capabilities, or null to disable disk cache
+     * @return this
+     */
+    public CapabilitiesDiscovery setCacheDirectory(final Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        return this;
+    }
+
+    /**
+     * Discovers capabilities of ffmpeg located in the specified directory.
+     *
+     * @param pathToDir path to directory with ffmpeg executable, or null to use ffmpeg from
+     *                  PATH environment variable
+     * @return ffmpeg capabilities
+     * @see com.github.kokorin.jaffree.ffmpeg.FFmpeg#atPath(Path)
+     */
+    public Capabilities discoverFFmpeg(final Path pathToDir) {
+        return discover(resolve(pathToDir, "ffmpeg"));
+    }
+
+    /**
+     * Discovers capabilities of ffprobe located in the specified directory.
+     *
+     * @param pathToDir path to directory with ffprobe executable, or null to use ffprobe from
+     *                  PATH environment variable
+     * @return ffprobe capabilities
+     * @see com.github.kokorin.jaffree.ffprobe.FFprobe#atPath(Path)
+     */
+    public Capabilities discoverFFprobe(final Path pathToDir) {
+        return discover(resolve(pathToDir, "ffprobe"));
+    }
+
+    /**
+     * Discovers capabilities of specified executable.
+     * <p>
+     * Returns cached capabilities if executable has been already discovered and has not
+     * been modified since then. Concurrent discoveries of the same executable run ffmpeg
+     * only once, others wait for its result.
+     *
+     * @param executable path to ffmpeg or ffprobe executable
+     * @return capabilities
+     * @throws JaffreeException if executable can't be started or its output can't be read
+     */
+    public Capabilities discover(final Path executable) {
+        Path resolved = resolveExecutable(executable);
+        long modificationTime = getModificationTime(resolved);
+        String key = resolved.toAbsolutePath() + File.pathSeparator + modificationTime;
+
+        // ffmpeg is run outside of the map: computeIfAbsent would hold map lock meanwhile
+        CompletableFuture<Capabilities> created = new CompletableFuture<>();
+        CompletableFuture<Capabilities> existing = cache.putIfAbsent(key, created);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            created.complete(load(executable, resolved, modificationTime));
+        } catch (RuntimeException | Error e) {
+            // failed discovery isn't cached, next call will try again
+            cache.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return await(created);
+    }
+
+    /**
+     * Removes all capabilities from in-memory cache. Disk cache (if any) is left intact.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Returns shared {@link CapabilitiesDiscovery} instance, which caches capabilities only in
+     * memory.
+     *
+     * @return shared instance
+     */
+    public static CapabilitiesDiscovery shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    private static Capabilities await(final CompletableFuture<Capabilities> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Capabilities load(final Path executable, final Path resolved,
+                              final long modificationTime) {
+        Map<Section, List<String>> outputs = null;
+        Path directory = cacheDirectory;
+        String prefix = null;
+
+        if (directory != null && modificationTime != UNKNOWN_MODIFICATION_TIME) {
+            prefix = DigestUtil.hexDigest("SHA-1", resolved.toAbsolutePath().toString())
+                    + "-" + modificationTime;
+            outputs = readCache(directory, prefix);
+        }
+
+        if (outputs == null) {
+            LOGGER.info("Discovering capabilities of {}", executable);
+            outputs = new EnumMap<>(Section.class);
+            for (Section section : Section.values()) {
+                outputs.put(section, execute(executable, section));
+            }
+
+            if (prefix != null) {
+                writeCache(directory, prefix, outputs);
+            }
+        }
+
+        List<String> version = outputs.get(Section.VERSION);
+        return new Capabilities(
+                CapabilitiesParser.parseVersion(version),
+                CapabilitiesParser.parseConfiguration(version),
+                CapabilitiesParser.parseCodecs(outputs.get(Section.ENCODERS)),
+                CapabilitiesParser.parseCodecs(outputs.get(Section.DECODERS)),
+                CapabilitiesParser.parseFilters(outputs.get(Section.FILTERS)),
+                CapabilitiesParser.parsePixelFormats(outputs.get(Section.PIX_FMTS)),
+                CapabilitiesParser.parseFormats(outputs.get(Section.FORMATS))
+        );
+    }
+
+    private static List<String> execute(final Path executable, final Section section) {
+        return new ProcessHandler<List<String>>(executable, null)
+                .setStdOutReader(new LinesStdReader())
+                .setStdErrReader(new LoggingStdReader<List<String>>())
+                .setArguments(section.arguments)
+                .execute();
+    }
+
+    private static Map<Section, List<String>> readCache(final Path directory,
+                                                        final String prefix) {
+        Map<Section, List<String>> result = new EnumMap<>(Section.class);
+        try {
+            for (Section section : Section.values()) {
+                Path file = directory.resolve(prefix + section.fileSuffix);
+                if (!Files.isRegularFile(file)) {
+                    return null;
+                }
+                result.put(section, Files.readAllLines(file, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read cached capabilities from {}", directory, e);
+            return null;
+        }
+
+        LOGGER.debug("Capabilities have been read from {}", directory);
+        return result;
+    }
+
+    private static void writeCache(final Path directory, final String prefix,
+                                   final Map<Section, List<String>> outputs) {
+        try {
+            Files.createDirectories(directory);
+            for (Section section : Section.values()) {
+                Path file = directory.resolve(prefix + section.fileSuffix);
+                Path temp = Files.createTempFile(directory, prefix, ".tmp");
+                Files.write(temp, outputs.get(section), StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write capabilities to {}", directory, e);
+        }
+    }
+
+    private static Path resolve(final Path pathToDir, final String name) {
+        if (pathToDir != null) {
+            return pathToDir.resolve(name);
+        }
+        return Paths.get(name);
+    }
+
+    /**
+     * Resolves executable without parent directory against PATH environment variable.
+     *
+     * @param executable executable
+     * @return resolved executable or executable itself if it can't be resolved
+     */
+    static Path resolveExecutable(final Path executable) {
+        if (executable.getParent() != null || Files.isRegularFile(executable)) {
+            return executable;
+        }
+
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return executable;
+        }
+
+        List<String> names = Arrays.asList(executable.toString());
+        if (OS.IS_WINDOWS) {
+            names = Arrays.asList(executable.toString(), executable + ".exe");
+        }
+
+        for (String dir : path.split(File.pathSeparator)) {
+            if (dir.isEmpty()) {
+                continue;
+            }
+            for (String name : names) {
+                Path candidate = Paths.get(dir, name);
+                if (Files.isRegularFile(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+
+        return executable;
+    }
+
+    private static long getModificationTime(final Path executable) {
+        try {
+            return Files.getLastModifiedTime(executable).toMillis();
+        } catch (IOException e) {
+            LOGGER.debug("Failed to get modification time of {}", executable, e);
+            return UNKNOWN_MODIFICATION_TIME;
+        }
+    }
+
+    /**
+     * Discovered ffmpeg output sections.
+     */
+    private enum Section {
+        VERSION("-version"),
+        ENCODERS(HIDE_BANNER, "-encoders"),
+        DECODERS(HIDE_BANNER, "-decoders"),
+        FILTERS(HIDE_BANNER, "-filters"),
+        PIX_FMTS(HIDE_BANNER, "-pix_fmts"),
+        FORMATS(HIDE_BANNER, "-formats");
+
+        private final List<String> arguments;
+        private final String fileSuffix;
+
+        Section(final String... arguments) {
+            this.arguments = Arrays.asList(arguments);
+            this.fileSuffix = "-" + name().toLowerCase(Locale.ROOT) + ".txt";
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final CapabilitiesDiscovery INSTANCE = new CapabilitiesDiscovery();
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.capabilities;
+
+import com.github.kokorin.jaffree.StreamType;
+import com.github.kokorin.jaffree.util.ParseUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses output of ffmpeg {@code -version}, {@code -encoders}, {@code -decoders},
+ * {@code -filters}, {@code -pix_fmts} and {@code -formats} options.
+ * <p>
+ * Flags columns are matched by flag characters rather than by position, so minor
+ * changes in ffmpeg output between versions don't break parsing.
+ */
+final class CapabilitiesParser {
+    private static final String VERSION_MARKER = " version ";
+    private static final String CONFIGURATION_MARKER = "configuration:";
+    private static final String CODEC_MARKER = "(codec ";
+    private static final Pattern FILTER_PATTERN =
+            Pattern.compile("^ (?<flags>[A-Z.|]{2,}) (?<name>\\S+)\\s+"
+                    + "(?<inputs>\\S+)->(?<outputs>\\S+)\\s*(?<description>.*)$");
+    private static final Pattern SEPARATOR_PATTERN = Pattern.compile("^\\s*-+\\s*$");
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    private CapabilitiesParser() {
+    }
+
+    /**
+     * Parses version from {@code -version} output.
+     *
+     * @param lines output lines
+     * @return version or null
+     */
+    static String parseVersion(final List<String> lines) {
+        for (String line : lines) {
+            int index = line.indexOf(VERSION_MARKER);
+            if (index < 0) {
+                continue;
+            }
+            String[] tokens = WHITESPACE_PATTERN.split(
+                    line.substring(index + VERSION_MARKER.length()).trim(), 2);
+            if (!tokens[0].isEmpty()) {
+                return tokens[0];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses build configuration from {@code -version} output.
+     *
+     * @param lines output lines
+     * @return configuration or null
+     */
+    static String parseConfiguration(final List<String> lines) {
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith(CONFIGURATION_MARKER)) {
+                return trimmed.substring(CONFIGURATION_MARKER.length()).trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses {@code -encoders} or {@code -decoders} output.
+     *
+     * @param lines output lines
+     * @return codecs
+     */
+    static List<Codec> parseCodecs(final List<String> lines) {
+        List<Codec> result = new ArrayList<>();
+        for (String[] row : parseTable(lines)) {
+            String flags = row[0];
+            String[] nameAndDescription = splitFirst(row[1]);
+            String name = nameAndDescription[0];
+            String description = nameAndDescription[1];
+            String codecName = name;
+
+            int codecIndex = description.lastIndexOf(CODEC_MARKER);
+            if (codecIndex >= 0 && description.endsWith(")")) {
+                codecName = description.substring(codecIndex + CODEC_MARKER.length(),
+                        description.length() - 1).trim();
+            }
+
+            // First flag is media type, it may clash with other flags
+            // (e.g. S - Subtitle and S - Slice-level multithreading)
+            String capabilityFlags = flags.substring(1);
+            result.add(new Codec(name, codecName, description, parseType(flags.charAt(0)),
+                    hasFlag(capabilityFlags, 'F'), hasFlag(capabilityFlags, 'S'),
+                    hasFlag(capabilityFlags, 'X')));
+        }
+        return result;
+    }
+
+    /**
+     * Parses {@code -filters} output.
+     *
+     * @param lines output lines
+     * @return filters
+     */
+    static List<Filter> parseFilters(final List<String> lines) {
+        List<Filter> result = new ArrayList<>();
+        for (String line : lines) {
+            Matcher matcher = FILTER_PATTERN.matcher(line);
+            if (!matcher.matches()) {
+                continue;
+            }
+            String flags = matcher.group("flags");
+            result.add(new Filter(matcher.group("name"), matcher.group("description").trim(),
+                    matcher.group("inputs"), matcher.group("outputs"),
+                    hasFlag(flags, 'T'), hasFlag(flags, 'S'), hasFlag(flags, 'C')));
+        }
+        return result;
+    }
+
+    /**
+     * Parses {@code -pix_fmts} output.
+     *
+     * @param lines output lines
+     * @return pixel formats
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    static List<PixelFormat> parsePixelFormats(final List<String> lines) {
+        List<PixelFormat> result = new ArrayList<>();
+        for (String[] row : parseTable(lines)) {
+            String flags = row[0];
+            String[] columns = WHITESPACE_PATTERN.split(row[1]);
+            if (columns.length < 3) {
+                continue;
+            }
+            Long components = ParseUtil.parseLong(columns[1]);
+            Long bitsPerPixel = ParseUtil.parseLong(columns[2]);
+            String bitDepths = null;
+            if (columns.length > 3) {
+                bitDepths = columns[3];
+            }
+
+            result.add(new PixelFormat(columns[0], hasFlag(flags, 'I'), hasFlag(flags, 'O'),
+                    hasFlag(flags, 'H'), hasFlag(flags, 'P'), hasFlag(flags, 'B'),
+                    components != null ? components.intValue() : 0,
+                    bitsPerPixel != null ? bitsPerPixel.intValue() : 0,
+                    bitDepths));
+        }
+        return result;
+    }
+
+    /**
+     * Parses {@code -formats} output.
+     *
+     * @param lines output lines
+     * @return container formats
+     */
+    static List<ContainerFormat> parseFormats(final List<String> lines) {
+        List<ContainerFormat> result = new ArrayList<>();
+        for (String[] row : parseTable(lines)) {
+            String flags = row[0];
+            String[] nameAndDescription = splitFirst(row[1]);
+            result.add(new ContainerFormat(nameAndDescription[0], nameAndDescription[1],
+                    hasFlag(flags, 'D'), hasFlag(flags, 'E'), hasFlag(flags, 'd')));
+        }
+        return result;
+    }
+
+    /**
+     * Parses table which follows separator line (e.g. " ------"). Width and position of
+     * the separator define flags column.
+     *
+     * @param lines output lines
+     * @return list of [flags, rest of line] pairs
+     */
+    private static List<String[]> parseTable(final List<String> lines) {
+        List<String[]> result = new ArrayList<>();
+        int flagsStart = -1;
+        int flagsEnd = -1;
+
+        for (String line : lines) {
+            if (flagsStart < 0) {
+                if (SEPARATOR_PATTERN.matcher(line).matches()) {
+                    flagsStart = line.indexOf('-');
+                    flagsEnd = line.lastIndexOf('-') + 1;
+                }
+                continue;
+            }
+
+            if (line.length() <= flagsEnd || line.trim().isEmpty()) {
+                continue;
+            }
+
+            String rest = line.substring(flagsEnd).trim();
+            if (!rest.isEmpty()) {
+                result.add(new String[]{line.substring(flagsStart, flagsEnd), rest});
+            }
+        }
+
+        return result;
+    }
+
+    private static String[] splitFirst(final String value) {
+        String[] result = WHITESPACE_PATTERN.split(value, 2);
+        if (result.length == 1) {
+            return new String[]{result[0], ""};
+        }
+        return result;
+    }
+
+    private static boolean hasFlag(final String flags, final char flag) {
+        return flags.indexOf(flag) >= 0;
+    }
+
+    private static StreamType parseType(final char type) {
+        switch (type) {
+            case 'V':
+                return StreamType.VIDEO;
+            case 'A':
+                return StreamType.AUDIO;
+            case 'S':
+                return StreamType.SUBTITLE;
+            case 'D':
+                return StreamType.DATA;
+            case 'T':
+                return StreamType.ATTACHMENT;
+            default:
+                return null;
+        }
+    }
+}
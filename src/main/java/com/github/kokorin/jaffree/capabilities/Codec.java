@@ -0,0 +1,119 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.capabilities;
+
+import com.github.kokorin.jaffree.StreamType;
+
+/**
+ * Encoder or decoder as reported by ffmpeg {@code -encoders} or {@code -decoders} options.
+ */
+public class Codec {
+    private final String name;
+    private final String codecName;
+    private final String description;
+    private final StreamType type;
+    private final boolean frameThreads;
+    private final boolean sliceThreads;
+    private final boolean experimental;
+
+    /**
+     * Creates {@link Codec}.
+     *
+     * @param name         encoder or decoder name, e.g. libx264
+     * @param codecName    name of codec implemented by encoder or decoder, e.g. h264
+     * @param description  description
+     * @param type         media type
+     * @param frameThreads true if frame-level multithreading is supported
+     * @param sliceThreads true if slice-level multithreading is supported
+     * @param experimental true if codec is experimental
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public Codec(final String name, final String codecName, final String description,
+                 final StreamType type, final boolean frameThreads, final boolean sliceThreads,
+                 final boolean experimental) {
+        this.name = name;
+        this.codecName = codecName;
+        this.description = description;
+        this.type = type;
+        this.frameThreads = frameThreads;
+        this.sliceThreads = sliceThreads;
+        this.experimental = experimental;
+    }
+
+    /**
+     * Returns encoder or decoder name, which should be passed to ffmpeg with -codec option.
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns name of codec implemented by encoder or decoder. E.g. for libx264 and h264_nvenc
+     * encoders codec name is h264.
+     *
+     * @return codec name
+     */
+    public String getCodecName() {
+        return codecName;
+    }
+
+    /**
+     * @return description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return media type: VIDEO, AUDIO or SUBTITLE
+     */
+    public StreamType getType() {
+        return type;
+    }
+
+    /**
+     * @return true if frame-level multithreading is supported
+     */
+    public boolean isFrameThreads() {
+        return frameThreads;
+    }
+
+    /**
+     * @return true if slice-level multithreading is supported
+     */
+    public boolean isSliceThreads() {
+        return sliceThreads;
+    }
+
+    /**
+     * @return true if codec is experimental
+     */
+    public boolean isExperimental() {
+        return experimental;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Codec{name='" + name + "', codecName='" + codecName + "', type=" + type + "}";
+    }
+}
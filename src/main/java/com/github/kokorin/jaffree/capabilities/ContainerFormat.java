@@ -0,0 +1,105 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.capabilities;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Container (or device) format as reported by ffmpeg {@code -formats} option.
+ */
+public class ContainerFormat {
+    private final String name;
+    private final String description;
+    private final boolean demuxing;
+    private final boolean muxing;
+    private final boolean device;
+
+    /**
+     * Creates {@link ContainerFormat}.
+     *
+     * @param name        format name, may contain several comma-separated names
+     * @param description description
+     * @param demuxing    true if demuxing is supported
+     * @param muxing      true if muxing is supported
+     * @param device      true if format is a device
+     */
+    public ContainerFormat(final String name, final String description, final boolean demuxing,
+                           final boolean muxing, final boolean device) {
+        this.name = name;
+        this.description = description;
+        this.demuxing = demuxing;
+        this.muxing = muxing;
+        this.device = device;
+    }
+
+    /**
+     * Returns format name as reported by ffmpeg, e.g. "matroska,webm".
+     *
+     * @return format name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns all names of the format, e.g. [matroska, webm].
+     *
+     * @return format names
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(name.split(",")));
+    }
+
+    /**
+     * @return description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return true if demuxing is supported
+     */
+    public boolean isDemuxing() {
+        return demuxing;
+    }
+
+    /**
+     * @return true if muxing is supported
+     */
+    public boolean isMuxing() {
+        return muxing;
+    }
+
+    /**
+     * @return true if format is a device
+     */
+    public boolean isDevice() {
+        return device;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ContainerFormat{name='" + name + "'}";
+    }
+}
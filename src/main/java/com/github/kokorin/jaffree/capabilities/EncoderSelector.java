@@ -0,0 +1,232 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.capabilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * {@link EncoderSelector} chooses the fastest available encoder for a codec.
+ * <p>
+ * Encoders are ranked in the following order:
+ * <ol>
+ *     <li>encoders explicitly preferred by {@link #setPreferredEncoders(String...)}</li>
+ *     <li>hardware encoders (e.g. h264_nvenc, hevc_qsv), only if
+ *     {@link #setHardwareAllowed(boolean) allowed}</li>
+ *     <li>software encoders known to be fast (e.g. libsvtav1 is preferred over libaom-av1)</li>
+ *     <li>encoders with frame-level multithreading, then with slice-level multithreading</li>
+ * </ol>
+ * Experimental encoders are skipped unless {@link #setExperimentalAllowed(boolean) allowed}.
+ * <p>
+ * Listed hardware encoder doesn't mean it can be used: ffmpeg may be built with hardware
+ * encoders while appropriate hardware or drivers are absent. Use
+ * {@link #setVerifier(Predicate)} to check that an encoder actually works
+ * (e.g. with a short test encoding).
+ */
+public class EncoderSelector {
+    private final Capabilities capabilities;
+    private List<String> preferredEncoders = Collections.emptyList();
+    private boolean hardwareAllowed = false;
+    private boolean experimentalAllowed = false;
+    private Predicate<Codec> verifier;
+    private final Map<String, Boolean> verified = new ConcurrentHashMap<>();
+
+    /**
+     * Hardware encoder name suffixes, from the most preferred.
+     */
+    private static final List<String> HARDWARE_SUFFIXES = Collections.unmodifiableList(
+            Arrays.asList("_nvenc", "_qsv", "_videotoolbox", "_amf", "_vaapi", "_vulkan", "_mf",
+                    "_v4l2m2m", "_mediacodec", "_omx")
+    );
+
+    /**
+     * Software encoders, from the fastest for the same codec.
+     */
+    private static final List<String> FAST_SOFTWARE_ENCODERS = Collections.unmodifiableList(
+            Arrays.asList("libsvtav1", "librav1e", "libaom-av1", "libx264", "libopenh264",
+                    "libx265", "libkvazaar", "libfdk_aac", "aac", "libmp3lame", "libshine",
+                    "libopus", "opus", "libvorbis", "vorbis")
+    );
+
+    /**
+     * Creates {@link EncoderSelector}.
+     *
+     * @param capabilities ffmpeg capabilities
+     */
+    public EncoderSelector(final Capabilities capabilities) {
+        this.capabilities = capabilities;
+    }
+
+    /**
+     * Sets encoders which should be selected first (if available) in order of preference.
+     *
+     * @param encoders preferred encoder names
+     * @return this
+     */
+    public EncoderSelector setPreferredEncoders(final String... encoders) {
+        this.preferredEncoders = Collections.unmodifiableList(Arrays.asList(encoders));
+        return this;
+    }
+
+    /**
+     * Allows selection of hardware encoders.
+     * <p>
+     * Hardware encoders aren't selected by default.
+     *
+     * @param hardwareAllowed true to allow hardware encoders
+     * @return this
+     */
+    public EncoderSelector setHardwareAllowed(final boolean hardwareAllowed) {
+        this.hardwareAllowed = hardwareAllowed;
+        return this;
+    }
+
+    /**
+     * Allows selection of experimental encoders.
+     * <p>
+     * <b>Note</b>: ffmpeg requires {@code -strict experimental} to use such encoders.
+     *
+     * @param experimentalAllowed true to allow experimental encoders
+     * @return this
+     */
+    public EncoderSelector setExperimentalAllowed(final boolean experimentalAllowed) {
+        this.experimentalAllowed = experimentalAllowed;
+        return this;
+    }
+
+    /**
+     * Sets verifier which checks if encoder can actually be used. Verifier is invoked at most
+     * once per encoder, verification result is cached.
+     *
+     * @param verifier encoder verifier
+     * @return this
+     */
+    public EncoderSelector setVerifier(final Predicate<Codec> verifier) {
+        this.verifier = verifier;
+        this.verified.clear();
+        return this;
+    }
+
+    /**
+     * Selects the fastest available encoder for specified codec.
+     *
+     * @param codecName codec name, e.g. h264, hevc, av1, aac
+     * @return encoder or null if there is no suitable encoder
+     */
+    public Codec select(final String codecName) {
+        for (Codec encoder : rank(codecName)) {
+            if (verify(encoder)) {
+                return encoder;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Selects the fastest available encoder for specified codec.
+     *
+     * @param codecName codec name, e.g. h264, hevc, av1, aac
+     * @return encoder name, which can be passed to ffmpeg with -codec option,
+     * or null if there is no suitable encoder
+     */
+    public String selectName(final String codecName) {
+        Codec encoder = select(codecName);
+        if (encoder == null) {
+            return null;
+        }
+        return encoder.getName();
+    }
+
+    /**
+     * Returns allowed encoders for specified codec ordered from the fastest.
+     * <p>
+     * Verifier (if set) is not invoked.
+     *
+     * @param codecName codec name
+     * @return encoders
+     */
+    public List<Codec> rank(final String codecName) {
+        List<Codec> result = new ArrayList<>();
+        for (Codec encoder : capabilities.getEncoders(codecName)) {
+            if (!hardwareAllowed && isHardware(encoder.getName())) {
+                continue;
+            }
+            if (!experimentalAllowed && encoder.isExperimental()) {
+                continue;
+            }
+            result.add(encoder);
+        }
+
+        result.sort(Comparator
+                .comparingInt((Codec encoder) -> rankOf(preferredEncoders, encoder.getName()))
+                .thenComparingInt(encoder -> hardwareRank(encoder.getName()))
+                .thenComparingInt(encoder -> rankOf(FAST_SOFTWARE_ENCODERS, encoder.getName()))
+                .thenComparingInt(EncoderSelector::threadingRank)
+        );
+
+        return result;
+    }
+
+    /**
+     * @param encoderName encoder name
+     * @return true if encoder name looks like a hardware encoder name
+     */
+    public static boolean isHardware(final String encoderName) {
+        return hardwareRank(encoderName) < Integer.MAX_VALUE;
+    }
+
+    private boolean verify(final Codec encoder) {
+        if (verifier == null) {
+            return true;
+        }
+        return verified.computeIfAbsent(encoder.getName(), name -> verifier.test(encoder));
+    }
+
+    private static int rankOf(final List<String> names, final String name) {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            return Integer.MAX_VALUE;
+        }
+        return index;
+    }
+
+    private static int hardwareRank(final String encoderName) {
+        for (int i = 0; i < HARDWARE_SUFFIXES.size(); i++) {
+            if (encoderName.endsWith(HARDWARE_SUFFIXES.get(i))) {
+                return i;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static int threadingRank(final Codec encoder) {
+        if (encoder.isFrameThreads()) {
+            return 0;
+        }
+        if (encoder.isSliceThreads()) {
+            return 1;
+        }
+        return 2;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.capabilities;
+
+/**
+ * Filter as reported by ffmpeg {@code -filters} option.
+ */
+public class Filter {
+    private final String name;
+    private final String description;
+    private final String inputs;
+    private final String outputs;
+    private final boolean timeline;
+    private final boolean sliceThreads;
+    private final boolean commands;
+
+    /**
+     * Creates {@link Filter}.
+     *
+     * @param name         filter name
+     * @param description  description
+     * @param inputs       input types, e.g. "V", "AA", "N" (dynamic) or "|" (source)
+     * @param outputs      output types, e.g. "V", "AA", "N" (dynamic) or "|" (sink)
+     * @param timeline     true if timeline editing is supported
+     * @param sliceThreads true if slice threading is supported
+     * @param commands     true if commands are supported
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public Filter(final String name, final String description, final String inputs,
+                  final String outputs, final boolean timeline, final boolean sliceThreads,
+                  final boolean commands) {
+        this.name = name;
+        this.description = description;
+        this.inputs = inputs;
+        this.outputs = outputs;
+        this.timeline = timeline;
+        this.sliceThreads = sliceThreads;
+        this.commands = commands;
+    }
+
+    /**
+     * @return filter name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns filter input types: every character (V - video, A - audio) is an input pad,
+     * "N" means dynamic number of inputs, "|" means the filter is a source.
+     *
+     * @return input types
+     */
+    public String getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Returns filter output types: every character (V - video, A - audio) is an output pad,
+     * "N" means dynamic number of outputs, "|" means the filter is a sink.
+     *
+     * @return output types
+     */
+    public String getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * @return true if timeline editing (enable option) is supported
+     */
+    public boolean isTimeline() {
+        return timeline;
+    }
+
+    /**
+     * @return true if slice threading is supported
+     */
+    public boolean isSliceThreads() {
+        return sliceThreads;
+    }
+
+    /**
+     * @return true if commands are supported
+     */
+    public boolean isCommands() {
+        return commands;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Filter{name='" + name + "', " + inputs + "->" + outputs + "}";
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.capabilities;
+
+/**
+ * Pixel format as reported by ffmpeg {@code -pix_fmts} option.
+ */
+public class PixelFormat {
+    private final String name;
+    private final boolean input;
+    private final boolean output;
+    private final boolean hardware;
+    private final boolean paletted;
+    private final boolean bitstream;
+    private final int components;
+    private final int bitsPerPixel;
+    private final String bitDepths;
+
+    /**
+     * Creates {@link PixelFormat}.
+     *
+     * @param name         pixel format name
+     * @param input        true if supported as input format for conversion
+     * @param output       true if supported as output format for conversion
+     * @param hardware     true if hardware accelerated format
+     * @param paletted     true if paletted format
+     * @param bitstream    true if bitstream format
+     * @param components   number of components
+     * @param bitsPerPixel bits per pixel
+     * @param bitDepths    bit depths of components, e.g. "8-8-8", or null if not reported
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public PixelFormat(final String name, final boolean input, final boolean output,
+                       final boolean hardware, final boolean paletted, final boolean bitstream,
+                       final int components, final int bitsPerPixel, final String bitDepths) {
+        this.name = name;
+        this.input = input;
+        this.output = output;
+        this.hardware = hardware;
+        this.paletted = paletted;
+        this.bitstream = bitstream;
+        this.components = components;
+        this.bitsPerPixel = bitsPerPixel;
+        this.bitDepths = bitDepths;
+    }
+
+    /**
+     * @return pixel format name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return true if supported as input format for conversion
+     */
+    public boolean isInput() {
+        return input;
+    }
+
+    /**
+     * @return true if supported as output format for conversion
+     */
+    public boolean isOutput() {
+        return output;
+    }
+
+    /**
+     * @return true if hardware accelerated format
+     */
+    public boolean isHardware() {
+        return hardware;
+    }
+
+    /**
+     * @return true if paletted format
+     */
+    public boolean isPaletted() {
+        return paletted;
+    }
+
+    /**
+     * @return true if bitstream format
+     */
+    public boolean isBitstream() {
+        return bitstream;
+    }
+
+    /**
+     * @return number of components
+     */
+    public int getComponents() {
+        return components;
+    }
+
+    /**
+     * @return bits per pixel
+     */
+    public int getBitsPerPixel() {
+        return bitsPerPixel;
+    }
+
+    /**
+     * @return bit depths of components, e.g. "8-8-8", or null if not reported by ffmpeg
+     */
+    public String getBitDepths() {
+        return bitDepths;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "PixelFormat{name='" + name + "'}";
+    }
+}
@@ -25,6 +25,7 @@ import com.github.kokorin.jaffree.process.ProcessHandler;
 import com.github.kokorin.jaffree.process.ProcessHelper;
 import com.github.kokorin.jaffree.process.StdReader;
 import com.github.kokorin.jaffree.process.Stopper;
+import com.github.kokorin.jaffree.process.ThreadSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,7 +52,10 @@ public class FFmpeg {
     private ProgressListener progressListener;
     private OutputListener outputListener;
     private String progress;
-    //-filter_threads nb_threads (global)
+    private Integer threads;
+    private Integer filterThreads;
+    // applied only while arguments of a single run are built, see executeAsync(Executor, int)
+    private Integer runThreadBudget;
     //-debug_ts (global)
 
     private String complexFilter;
@@ -60,6 +64,7 @@ public class FFmpeg {
     private LogLevel logLevel = LogLevel.INFO;
     private String contextName = null;
     private Integer executorTimeoutMillis = null;
+    private ThreadSource threadSource = null;
 
     private final Path executable;
 
@@ -361,6 +366,32 @@ public class FFmpeg {
         this.progress = progress;
     }
 
+    /**
+     * Sets number of threads used by each output (encoding) and passes it via <b>-threads</b>
+     * argument before arguments of every {@link Output}.
+     * <p>
+     * <b>Note:</b> output-specific <b>-threads</b> argument (if any) takes precedence.
+     *
+     * @param threads number of threads, 0 lets ffmpeg choose optimal number
+     * @return this
+     */
+    public FFmpeg setThreads(final Integer threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets number of threads used to process simple filter graphs (<b>-filter_threads</b>)
+     * and complex filter graphs (<b>-filter_complex_threads</b>).
+     *
+     * @param filterThreads number of threads
+     * @return this
+     */
+    public FFmpeg setFilterThreads(final Integer filterThreads) {
+        this.filterThreads = filterThreads;
+        return this;
+    }
+
     /**
      * Sets ffmpeg logging level.
      * <p>
@@ -408,6 +439,25 @@ public class FFmpeg {
         return this;
     }
 
+    /**
+     * Sets {@link ThreadSource} which provides threads for ffmpeg stdout &amp; stderr readers
+     * and {@link ProcessHelper ProcessHelpers} (e.g. TCP servers of {@link ChannelInput},
+     * {@link FrameOutput} and progress reader).
+     * <p>
+     * By default a new thread is started for every reader and helper. Consider using
+     * {@link com.github.kokorin.jaffree.process.PooledThreadSource#shared()} if many short
+     * ffmpeg executions are expected.
+     *
+     * @param threadSource thread source
+     * @return this
+     * @see com.github.kokorin.jaffree.process.PooledThreadSource
+     * @see com.github.kokorin.jaffree.process.VirtualThreadSource
+     */
+    public FFmpeg setThreadSource(final ThreadSource threadSource) {
+        this.threadSource = threadSource;
+        return this;
+    }
+
     /**
      * Starts synchronous ffmpeg execution.
      * <p>
@@ -416,9 +466,10 @@ public class FFmpeg {
      * @return ffmpeg result
      */
     public FFmpegResult execute() {
-        return createProcessHandler()
-                .setStopper(createStopper())
-                .execute();
+        ProcessHandler<FFmpegResult> processHandler = createProcessHandler()
+                .setStopper(createStopper());
+
+        return withResourceUsage(processHandler.execute(), processHandler);
     }
 
     /**
@@ -464,7 +515,8 @@ public class FFmpeg {
             @Override
             public void run() {
                 try {
-                    resultFuture.complete(processHandler.execute());
+                    resultFuture.complete(
+                            withResourceUsage(processHandler.execute(), processHandler));
                 } catch (Throwable error) {
                     resultFuture.completeExceptionally(error);
                 }
@@ -474,6 +526,34 @@ public class FFmpeg {
         return new FFmpegResultFuture(resultFuture, stopper);
     }
 
+    /**
+     * Starts asynchronous ffmpeg execution with number of encoding and filtering threads
+     * limited to thread budget, unless they were explicitly set.
+     * <p>
+     * Thread budget affects only this execution and isn't kept in this {@link FFmpeg}.
+     *
+     * @param executor     the executor to use for asynchronous execution
+     * @param threadBudget number of threads
+     * @return ffmpeg result future
+     * @see JobScheduler
+     */
+    synchronized FFmpegResultFuture executeAsync(final Executor executor, final int threadBudget) {
+        this.runThreadBudget = threadBudget;
+        try {
+            return executeAsync(executor);
+        } finally {
+            this.runThreadBudget = null;
+        }
+    }
+
+    private static FFmpegResult withResourceUsage(
+            final FFmpegResult result, final ProcessHandler<FFmpegResult> processHandler) {
+        if (result != null) {
+            result.setResourceUsage(processHandler.getResourceUsage());
+        }
+        return result;
+    }
+
     /**
      * Creates {@link ProcessHandler} which executes ffmpeg command and starts specified
      * {@link ProcessHelper ProcessHelpers}.
@@ -510,6 +590,9 @@ public class FFmpeg {
         if (executorTimeoutMillis != null) {
             processHandler.setExecutorTimeoutMillis(executorTimeoutMillis);
         }
+        if (threadSource != null) {
+            processHandler.setThreadSource(threadSource);
+        }
         return processHandler;
     }
 
@@ -610,7 +693,18 @@ public class FFmpeg {
             LOGGER.warn("ProgressListener isn't set, progress won't be reported");
         }
 
+        Integer effectiveThreads = threads != null ? threads : runThreadBudget;
+        Integer effectiveFilterThreads = filterThreads != null ? filterThreads : runThreadBudget;
+
+        if (effectiveFilterThreads != null) {
+            result.addAll(Arrays.asList("-filter_threads", effectiveFilterThreads.toString()));
+        }
+
         if (complexFilter != null) {
+            if (effectiveFilterThreads != null) {
+                result.addAll(Arrays.asList("-filter_complex_threads",
+                        effectiveFilterThreads.toString()));
+            }
             result.addAll(Arrays.asList("-filter_complex", complexFilter));
         }
 
@@ -619,6 +713,9 @@ public class FFmpeg {
         result.addAll(additionalArguments);
 
         for (Output output : outputs) {
+            if (effectiveThreads != null) {
+                result.addAll(Arrays.asList("-threads", effectiveThreads.toString()));
+            }
             result.addAll(output.buildArguments());
         }
 
@@ -17,6 +17,8 @@
 
 package com.github.kokorin.jaffree.ffmpeg;
 
+import com.github.kokorin.jaffree.metrics.JaffreeMetrics;
+import com.github.kokorin.jaffree.metrics.Metrics;
 import com.github.kokorin.jaffree.net.TcpNegotiator;
 import com.github.kokorin.jaffree.util.ParseUtil;
 import org.slf4j.Logger;
@@ -76,16 +78,17 @@ public class FFmpegProgressReader implements TcpNegotiator {
         Double speed = null;
 
         LOGGER.debug("Reading encoding progress");
+        JaffreeMetrics metrics = Metrics.get();
 
         while ((line = lineReader.readLine()) != null) {
             LOGGER.trace("Line read: {}", line);
 
-            String[] keyValue = line.split("=", 2);
-            if (keyValue.length != 2) {
+            int separator = line.indexOf('=');
+            if (separator < 0) {
                 continue;
             }
-            String key = keyValue[0];
-            String value = keyValue[1];
+            String key = line.substring(0, separator);
+            String value = line.substring(separator + 1);
 
             switch (key) {
                 case "frame":
@@ -142,6 +145,9 @@ public class FFmpegProgressReader implements TcpNegotiator {
                     outTimeMicros = null;
                     dupFrames = null;
                     dropFrames = null;
+                    if (speed != null) {
+                        metrics.progressSpeed(speed);
+                    }
                     speed = null;
                     progressListener.onProgress(progress);
                     break;
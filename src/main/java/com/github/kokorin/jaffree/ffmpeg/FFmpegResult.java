@@ -17,6 +17,8 @@
 
 package com.github.kokorin.jaffree.ffmpeg;
 
+import com.github.kokorin.jaffree.process.ResourceUsage;
+
 /**
  * {@link FFmpegResult} contains information about ffmpeg encoding result.
  */
@@ -27,6 +29,7 @@ public class FFmpegResult {
     private final Long otherStreamsSize;
     private final Long globalHeadersSize;
     private final Double muxingOverheadRatio;
+    private ResourceUsage resourceUsage;
 
     /**
      * Creates {@link FFmpegResult}.
@@ -102,4 +105,20 @@ public class FFmpegResult {
     public Double getMuxingOverheadRatio() {
         return muxingOverheadRatio;
     }
+
+    /**
+     * Returns resources (CPU time, memory, I/O) consumed by ffmpeg process.
+     *
+     * @return resource usage or null if not available
+     */
+    public ResourceUsage getResourceUsage() {
+        return resourceUsage;
+    }
+
+    /**
+     * @param resourceUsage resources consumed by ffmpeg process
+     */
+    void setResourceUsage(final ResourceUsage resourceUsage) {
+        this.resourceUsage = resourceUsage;
+    }
 }
@@ -29,6 +29,8 @@ import java.io.OutputStream;
  */
 public class FFmpegStopper implements Stopper {
     private volatile Process process;
+    // characters requested to be sent before process has been set
+    private String pending;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FFmpegStopper.class);
 
@@ -53,18 +55,35 @@ public class FFmpegStopper implements Stopper {
      */
     @Override
     public void setProcess(final Process process) {
-        this.process = process;
+        String chars;
+        synchronized (this) {
+            this.process = process;
+            chars = pending;
+            pending = null;
+        }
+
+        if (chars != null) {
+            sendToStdIn(chars);
+        }
     }
 
     /**
      * Send specified characters to process StdIn.
+     * <p>
+     * If process hasn't been set yet, characters are sent as soon as it's set.
      *
      * @param chars characters to send
      */
     protected void sendToStdIn(final String chars) {
-        if (process == null) {
-            LOGGER.error("No Process set yet, can't stop");
-            return;
+        synchronized (this) {
+            if (process == null) {
+                LOGGER.debug("No Process set yet, stop will be applied when it's started");
+                // forceful stop ("qq") takes precedence over graceful one ("q")
+                if (pending == null || chars.length() > pending.length()) {
+                    pending = chars;
+                }
+                return;
+            }
         }
 
         try (OutputStream stdIn = process.getOutputStream()) {
@@ -18,6 +18,8 @@
 package com.github.kokorin.jaffree.ffmpeg;
 
 import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Represents video/audio data to be encoded or has been decoded.
@@ -34,6 +36,8 @@ public class Frame {
     private final long pts;
     private final BufferedImage image;
     private final int[] samples;
+    private final Consumer<BufferedImage> recycler;
+    private final AtomicInteger references = new AtomicInteger(1);
 
     /**
      * Creates {@link Frame}.
@@ -46,6 +50,21 @@ public class Frame {
      */
     protected Frame(final int streamId, final long pts, final BufferedImage image,
                     final int[] samples) {
+        this(streamId, pts, image, samples, null);
+    }
+
+    /**
+     * Creates {@link Frame} with reusable image.
+     *
+     * @param streamId streamId
+     * @param pts      pts in {@link Stream} timebase
+     * @param image    video frame image
+     * @param samples  audio samples in PCM S32BE format
+     * @param recycler receives image for reuse when frame is released, or null
+     * @see #release()
+     */
+    protected Frame(final int streamId, final long pts, final BufferedImage image,
+                    final int[] samples, final Consumer<BufferedImage> recycler) {
         if (image != null && samples != null) {
             throw new IllegalArgumentException(
                     "Only one of image and samples parameters may be non null");
@@ -59,6 +78,7 @@ public class Frame {
         this.pts = pts;
         this.image = image;
         this.samples = samples;
+        this.recycler = recycler;
     }
 
     /**
@@ -98,6 +118,53 @@ public class Frame {
         return samples;
     }
 
+    /**
+     * Prevents reuse of frame image after {@link FrameConsumer#consume(Frame)} returns.
+     * Retained frame must be {@link #release() released} when its image isn't needed anymore.
+     * <p>
+     * Has no effect if frame image isn't reusable.
+     *
+     * @return this
+     * @throws IllegalStateException if frame has been already released
+     * @see FrameOutput#setImageReuse(int)
+     */
+    public Frame retain() {
+        while (true) {
+            int current = references.get();
+            if (current <= 0) {
+                throw new IllegalStateException("Frame has been already released: " + this);
+            }
+            if (references.compareAndSet(current, current + 1)) {
+                return this;
+            }
+        }
+    }
+
+    /**
+     * Releases frame, its image may be reused for next frames (and overwritten) as soon as all
+     * references are released. Frame image must not be used after release.
+     * <p>
+     * Has no effect if frame image isn't reusable.
+     *
+     * @throws IllegalStateException if frame is released more times than it has been retained
+     * @see FrameOutput#setImageReuse(int)
+     */
+    public void release() {
+        while (true) {
+            int current = references.get();
+            if (current <= 0) {
+                throw new IllegalStateException("Frame has been already released: " + this);
+            }
+            if (references.compareAndSet(current, current - 1)) {
+                // image is returned for reuse only once, when the last reference is released
+                if (current == 1 && recycler != null) {
+                    recycler.accept(image);
+                }
+                return;
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
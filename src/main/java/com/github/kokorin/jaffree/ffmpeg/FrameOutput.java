@@ -29,6 +29,7 @@ import java.net.Socket;
  * Allows to consume in Java audio &amp; video frames produced by ffmpeg.
  */
 public class FrameOutput extends TcpOutput<FrameOutput> implements Output {
+    private final FrameReader frameReader;
 
     /**
      * Create {@link FrameOutput} for {@link FFmpeg}.
@@ -44,6 +45,7 @@ public class FrameOutput extends TcpOutput<FrameOutput> implements Output {
                           final String videoCodec, final String pixelFormat,
                           final String audioCodec) {
         super(new FrameOutputNegotiator(frameReader));
+        this.frameReader = frameReader;
         super.setFormat(format);
         super.setCodec(StreamType.VIDEO.code(), videoCodec);
         super.setPixelFormat(null, pixelFormat);
@@ -137,6 +139,30 @@ public class FrameOutput extends TcpOutput<FrameOutput> implements Output {
         throw new JaffreeException("Pixel Format can't be changed");
     }
 
+    /**
+     * Enables reuse of video frame images: every video stream gets a ring of images, which are
+     * filled in place with next frames, so reading video doesn't allocate per frame.
+     * <p>
+     * Frame image is reused as soon as {@link FrameConsumer#consume(Frame)} returns. Consumer
+     * which needs image later must {@link Frame#retain() retain} the frame and
+     * {@link Frame#release() release} it afterwards. If all images of a ring are retained,
+     * new images are allocated.
+     * <p>
+     * Disabled by default.
+     *
+     * @param imagesPerStream number of images per video stream, 0 to disable reuse
+     * @return this
+     * @throws JaffreeException if this output doesn't read frames with {@link NutFrameReader}
+     */
+    public FrameOutput setImageReuse(final int imagesPerStream) {
+        if (!(frameReader instanceof NutFrameReader)) {
+            throw new JaffreeException("Image reuse is supported only by NutFrameReader");
+        }
+
+        ((NutFrameReader) frameReader).setImagesPerStream(imagesPerStream);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -180,8 +206,60 @@ public class FrameOutput extends TcpOutput<FrameOutput> implements Output {
         return withConsumer(consumer, ImageFormats.ABGR);
     }
 
-    protected static FrameOutput withConsumer(final FrameConsumer consumer,
-                                              final ImageFormat imageFormat) {
+    /**
+     * Creates {@link FrameOutput} which passes raw frame payload to consumer. Video frames are
+     * in bgr24 pixel format.
+     *
+     * @param consumer raw frame consumer
+     * @return FrameOutput
+     * @see #withRawConsumer(RawFrameConsumer, String)
+     */
+    public static FrameOutput withRawConsumer(final RawFrameConsumer consumer) {
+        return withRawConsumer(consumer, "bgr24");
+    }
+
+    /**
+     * Creates {@link FrameOutput} which passes raw frame payload to consumer.
+     * <p>
+     * Frames are not converted to {@link java.awt.image.BufferedImage} or sample arrays, so
+     * this output doesn't need AWT (java.desktop module).
+     *
+     * @param consumer    raw frame consumer
+     * @param pixelFormat ffmpeg pixel format of video frames (e.g. gray, rgb24, yuv420p)
+     * @return FrameOutput
+     */
+    public static FrameOutput withRawConsumer(final RawFrameConsumer consumer,
+                                              final String pixelFormat) {
+        return new FrameOutput(
+                new NutRawFrameReader(consumer),
+                "nut", "rawvideo", pixelFormat, "pcm_s32be"
+        );
+    }
+
+    /**
+     * Creates {@link FrameOutput} which passes raw frame payload in planar pixel format to
+     * consumer.
+     *
+     * @param consumer    raw frame consumer
+     * @param pixelFormat planar pixel format of video frames
+     * @return FrameOutput
+     * @see PlanarFormat#getPlanes(RawFrame)
+     */
+    public static FrameOutput withRawConsumer(final RawFrameConsumer consumer,
+                                              final PlanarFormat pixelFormat) {
+        return withRawConsumer(consumer, pixelFormat.getPixelFormat());
+    }
+
+    /**
+     * Creates {@link FrameOutput} with specified image format.
+     *
+     * @param consumer    frame consumer
+     * @param imageFormat video frames image format
+     * @return FrameOutput
+     * @see ImageFormats
+     */
+    public static FrameOutput withConsumer(final FrameConsumer consumer,
+                                           final ImageFormat imageFormat) {
         return new FrameOutput(
                 new NutFrameReader(consumer, imageFormat),
                 "nut", "rawvideo", imageFormat.getPixelFormat(), "pcm_s32be"
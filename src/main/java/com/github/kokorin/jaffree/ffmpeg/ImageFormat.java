@@ -57,6 +57,21 @@ public interface ImageFormat {
      */
     BufferedImage toImage(byte[] data, int width, int height);
 
+    /**
+     * Copies raw image data into image, which was created by {@link #toImage(byte[], int, int)}
+     * with the same size.
+     * <p>
+     * Allows reusing images, default implementation doesn't support it.
+     *
+     * @param data  raw image data
+     * @param image image to fill
+     * @return true if image has been filled, false if filling isn't supported
+     * @see FrameOutput#setImageReuse(int)
+     */
+    default boolean fillImage(final byte[] data, final BufferedImage image) {
+        return false;
+    }
+
     /**
      * Converts BufferedImage to raw image data.
      *
@@ -25,8 +25,12 @@ import java.awt.image.BufferedImage;
 import java.awt.image.ComponentColorModel;
 import java.awt.image.DataBuffer;
 import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferUShort;
 import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /**
  * Standard {@link ImageFormat ImageFormats} used by {@link FrameInput} and {@link FrameOutput}.
@@ -62,7 +66,131 @@ public enum ImageFormats implements ImageFormat {
                     Transparency.TRANSLUCENT, DataBuffer.TYPE_BYTE
             ),
             new int[] {3, 2, 1, 0}
-    );
+    ),
+    /**
+     * 1-byte grayscale (luma only) format.
+     */
+    GRAY8(
+            "gray",
+            1,
+            new byte[] {'Y', '1', 0, 8},
+            BufferedImage.TYPE_BYTE_GRAY,
+            new ComponentColorModel(
+                    ColorSpace.getInstance(ColorSpace.CS_GRAY),
+                    new int[] {8}, false, false,
+                    Transparency.OPAQUE, DataBuffer.TYPE_BYTE
+            ),
+            new int[] {0}
+    ),
+    /**
+     * 2-byte big-endian grayscale (luma only) format.
+     * <p>
+     * Unlike other formats, image data is stored in short array, so conversion between raw data
+     * and image involves a copy.
+     */
+    GRAY16(
+            "gray16be",
+            2,
+            new byte[] {16, 0, '1', 'Y'},
+            BufferedImage.TYPE_USHORT_GRAY,
+            null,
+            null
+    ) {
+        @Override
+        public BufferedImage toImage(final byte[] data, final int width, final int height) {
+            checkLength(data, width, height);
+
+            BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_USHORT_GRAY);
+            fillImage(data, result);
+            return result;
+        }
+
+        @Override
+        public boolean fillImage(final byte[] data, final BufferedImage image) {
+            DataBuffer buffer = image.getRaster().getDataBuffer();
+            if (!(buffer instanceof DataBufferUShort) || buffer.getNumBanks() != 1) {
+                return false;
+            }
+
+            short[] target = ((DataBufferUShort) buffer).getData();
+            if (target.length * Short.BYTES != data.length) {
+                return false;
+            }
+
+            ByteBuffer.wrap(data).asShortBuffer().get(target);
+            return true;
+        }
+
+        @Override
+        public byte[] toBytes(final BufferedImage image) {
+            checkType(image);
+
+            short[] source = ((DataBufferUShort) image.getRaster().getDataBuffer()).getData();
+            byte[] result = new byte[source.length * Short.BYTES];
+            ByteBuffer.wrap(result).asShortBuffer().put(source);
+            return result;
+        }
+    },
+    /**
+     * 4-byte format mapped to {@link BufferedImage#TYPE_INT_RGB}.
+     * <p>
+     * ffmpeg pixel format is chosen by native byte order (bgr0 on little-endian, 0rgb on
+     * big-endian platforms), so raw data is copied to and from image int array in bulk without
+     * per-pixel conversion.
+     */
+    INT_RGB(
+            NativeOrder.choose("bgr0", "0rgb"),
+            4,
+            NativeOrder.choose(new byte[] {'B', 'G', 'R', 0}, new byte[] {0, 'R', 'G', 'B'}),
+            BufferedImage.TYPE_INT_RGB,
+            null,
+            null
+    ) {
+        @Override
+        public BufferedImage toImage(final byte[] data, final int width, final int height) {
+            return toIntImage(this, data, width, height);
+        }
+
+        @Override
+        public boolean fillImage(final byte[] data, final BufferedImage image) {
+            return fillIntImage(data, image);
+        }
+
+        @Override
+        public byte[] toBytes(final BufferedImage image) {
+            return intImageToBytes(this, image);
+        }
+    },
+    /**
+     * 4-byte format with alpha channel mapped to {@link BufferedImage#TYPE_INT_ARGB}.
+     * <p>
+     * ffmpeg pixel format is chosen by native byte order (bgra on little-endian, argb on
+     * big-endian platforms), so raw data is copied to and from image int array in bulk without
+     * per-pixel conversion.
+     */
+    INT_ARGB(
+            NativeOrder.choose("bgra", "argb"),
+            4,
+            NativeOrder.choose(new byte[] {'B', 'G', 'R', 'A'}, new byte[] {'A', 'R', 'G', 'B'}),
+            BufferedImage.TYPE_INT_ARGB,
+            null,
+            null
+    ) {
+        @Override
+        public BufferedImage toImage(final byte[] data, final int width, final int height) {
+            return toIntImage(this, data, width, height);
+        }
+
+        @Override
+        public boolean fillImage(final byte[] data, final BufferedImage image) {
+            return fillIntImage(data, image);
+        }
+
+        @Override
+        public byte[] toBytes(final BufferedImage image) {
+            return intImageToBytes(this, image);
+        }
+    };
 
     private final String pixelFormat;
     private final int bytesPerPixel;
@@ -111,11 +239,7 @@ public enum ImageFormats implements ImageFormat {
      */
     @Override
     public BufferedImage toImage(final byte[] data, final int width, final int height) {
-        int expectedLength = width * height * bytesPerPixel;
-        if (data.length != expectedLength) {
-            throw new JaffreeException(
-                    "Not enough bytes: " + data.length + ", expected " + expectedLength);
-        }
+        checkLength(data, width, height);
 
         DataBuffer buffer = new DataBufferByte(data, data.length);
         WritableRaster raster = Raster.createInterleavedRaster(
@@ -127,16 +251,95 @@ public enum ImageFormats implements ImageFormat {
         return new BufferedImage(componentColorModel, raster, false, null);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean fillImage(final byte[] data, final BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        if (!(buffer instanceof DataBufferByte) || buffer.getNumBanks() != 1) {
+            return false;
+        }
+
+        byte[] target = ((DataBufferByte) buffer).getData();
+        if (target.length != data.length) {
+            return false;
+        }
+
+        System.arraycopy(data, 0, target, 0, data.length);
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public byte[] toBytes(final BufferedImage image) {
+        checkType(image);
+
+        return ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+    }
+
+    private static BufferedImage toIntImage(final ImageFormats format, final byte[] data,
+                                            final int width, final int height) {
+        format.checkLength(data, width, height);
+
+        BufferedImage result = new BufferedImage(width, height, format.imageType);
+        fillIntImage(data, result);
+        return result;
+    }
+
+    private static boolean fillIntImage(final byte[] data, final BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        if (!(buffer instanceof DataBufferInt) || buffer.getNumBanks() != 1) {
+            return false;
+        }
+
+        int[] target = ((DataBufferInt) buffer).getData();
+        if (target.length * Integer.BYTES != data.length) {
+            return false;
+        }
+
+        ByteBuffer.wrap(data).order(ByteOrder.nativeOrder()).asIntBuffer().get(target);
+        return true;
+    }
+
+    private static byte[] intImageToBytes(final ImageFormats format, final BufferedImage image) {
+        format.checkType(image);
+
+        int[] source = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        byte[] result = new byte[source.length * Integer.BYTES];
+        ByteBuffer.wrap(result).order(ByteOrder.nativeOrder()).asIntBuffer().put(source);
+        return result;
+    }
+
+    void checkLength(final byte[] data, final int width, final int height) {
+        int expectedLength = width * height * bytesPerPixel;
+        if (data.length != expectedLength) {
+            throw new JaffreeException(
+                    "Not enough bytes: " + data.length + ", expected " + expectedLength);
+        }
+    }
+
+    void checkType(final BufferedImage image) {
         if (image.getType() != imageType) {
             throw new JaffreeException(
                     "Wrong image type: " + image.getType() + ", expected: " + imageType);
         }
+    }
 
-        return ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+    /**
+     * Chooses between little-endian and big-endian variants of pixel format.
+     */
+    private static final class NativeOrder {
+        private static final boolean LITTLE_ENDIAN =
+                ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+        private NativeOrder() {
+        }
+
+        static <T> T choose(final T littleEndian, final T bigEndian) {
+            return LITTLE_ENDIAN ? littleEndian : bigEndian;
+        }
     }
 }
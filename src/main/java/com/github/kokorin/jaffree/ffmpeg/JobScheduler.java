@@ -0,0 +1,452 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+package com.github.kokorin.jaffree.ffmpeg;
+
+import com.github.kokorin.jaffree.process.Stopper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link JobScheduler} runs {@link FFmpeg} jobs with bounded concurrency.
+ * <p>
+ * Jobs which can't be started immediately are queued and started in order of their priority
+ * (and in order of submission for the same priority). When the queue is full, new jobs are
+ * rejected. Jobs which stay in the queue for longer than queue timeout are failed with
+ * {@link TimeoutException}.
+ * <p>
+ * Every job is given an equal share of CPU threads: unless set explicitly, -threads and
+ * -filter_threads of every job are limited to {@code cpuThreads / maxConcurrentJobs}, so
+ * concurrently running ffmpeg processes don't oversubscribe CPU.
+ * <p>
+ * Single {@link JobScheduler} is intended to be shared by the whole application.
+ */
+public class JobScheduler implements AutoCloseable {
+    private final int maxConcurrentJobs;
+    private int maxQueuedJobs = Integer.MAX_VALUE;
+    private long queueTimeoutMillis = 0;
+    private int cpuThreads = Runtime.getRuntime().availableProcessors();
+
+    private final PriorityQueue<Job> queue = new PriorityQueue<>();
+    private final Executor runner;
+    private final ScheduledThreadPoolExecutor timer;
+    private int runningJobs = 0;
+    private long jobCounter = 0;
+    private boolean closed = false;
+
+    /**
+     * Default job priority.
+     */
+    public static final int DEFAULT_PRIORITY = 0;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobScheduler.class);
+
+    /**
+     * Creates {@link JobScheduler}.
+     *
+     * @param maxConcurrentJobs maximum number of concurrently running ffmpeg processes
+     */
+    public JobScheduler(final int maxConcurrentJobs) {
+        if (maxConcurrentJobs <= 0) {
+            throw new IllegalArgumentException("Max concurrent jobs must be positive");
+        }
+
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.runner = new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                Thread thread = new Thread(command, "JobScheduler-runner");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        };
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "JobScheduler-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Sets maximum number of queued (waiting to start) jobs. Jobs submitted when queue is full
+     * are rejected.
+     * <p>
+     * Queue is unbounded by default.
+     *
+     * @param maxQueuedJobs maximum queued jobs
+     * @return this
+     */
+    public synchronized JobScheduler setMaxQueuedJobs(final int maxQueuedJobs) {
+        if (maxQueuedJobs < 0) {
+            throw new IllegalArgumentException("Max queued jobs cannot be negative");
+        }
+
+        this.maxQueuedJobs = maxQueuedJobs;
+        return this;
+    }
+
+    /**
+     * Sets maximum time a job can wait in queue. After that job fails with
+     * {@link TimeoutException}.
+     * <p>
+     * A value of 0 (default) is interpreted as "wait indefinitely".
+     *
+     * @param timeout  maximum time to wait
+     * @param timeUnit time unit of the timeout argument
+     * @return this
+     */
+    public synchronized JobScheduler setQueueTimeout(final long timeout, final TimeUnit timeUnit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Queue timeout cannot be negative");
+        }
+
+        this.queueTimeoutMillis = timeUnit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * Sets number of CPU threads to share among concurrently running jobs.
+     * <p>
+     * Number of available processors is used by default.
+     *
+     * @param cpuThreads number of CPU threads
+     * @return this
+     */
+    public synchronized JobScheduler setCpuThreads(final int cpuThreads) {
+        if (cpuThreads <= 0) {
+            throw new IllegalArgumentException("CPU threads must be positive");
+        }
+
+        this.cpuThreads = cpuThreads;
+        return this;
+    }
+
+    /**
+     * Submits ffmpeg job with default priority.
+     *
+     * @param ffmpeg ffmpeg to execute
+     * @return ffmpeg result future
+     * @throws RejectedExecutionException if queue is full or scheduler is closed
+     * @see #submit(FFmpeg, int)
+     */
+    public FFmpegResultFuture submit(final FFmpeg ffmpeg) {
+        return submit(ffmpeg, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * Submits ffmpeg job.
+     * <p>
+     * Jobs with higher priority are started first.
+     * <p>
+     * Stopping returned future before the job has started removes the job from the queue.
+     *
+     * @param ffmpeg   ffmpeg to execute
+     * @param priority job priority
+     * @return ffmpeg result future
+     * @throws RejectedExecutionException if queue is full or scheduler is closed
+     */
+    public FFmpegResultFuture submit(final FFmpeg ffmpeg, final int priority) {
+        Job job;
+        synchronized (this) {
+            if (closed) {
+                throw new RejectedExecutionException("JobScheduler has been closed");
+            }
+
+            job = new Job(ffmpeg, priority, jobCounter++);
+
+            if (runningJobs < maxConcurrentJobs) {
+                runningJobs++;
+                LOGGER.debug("Starting job, running: {}, queued: {}", runningJobs, queue.size());
+            } else if (queue.size() < maxQueuedJobs) {
+                LOGGER.debug("Queueing job, running: {}, queued: {}", runningJobs, queue.size());
+                queue.add(job);
+                if (queueTimeoutMillis > 0) {
+                    Job queued = job;
+                    job.timeout = timer.schedule(() -> timeout(queued), queueTimeoutMillis,
+                            TimeUnit.MILLISECONDS);
+                }
+                return new FFmpegResultFuture(job.result, job);
+            } else {
+                throw new RejectedExecutionException("Job rejected, running: " + runningJobs
+                        + ", queued: " + queue.size());
+            }
+        }
+
+        FFmpegResultFuture result = new FFmpegResultFuture(job.result, job);
+        start(Collections.singletonList(job));
+        return result;
+    }
+
+    /**
+     * @return number of currently running jobs
+     */
+    public synchronized int getRunningJobs() {
+        return runningJobs;
+    }
+
+    /**
+     * @return number of jobs waiting to start
+     */
+    public synchronized int getQueuedJobs() {
+        return queue.size();
+    }
+
+    /**
+     * @return number of threads every job is limited to
+     */
+    public synchronized int getThreadBudget() {
+        return Math.max(1, cpuThreads / maxConcurrentJobs);
+    }
+
+    /**
+     * Stops accepting new jobs and cancels all queued jobs.
+     * <p>
+     * Running jobs are not stopped.
+     */
+    @Override
+    public void close() {
+        List<Job> cancelled;
+        synchronized (this) {
+            closed = true;
+            cancelled = new ArrayList<>(queue);
+            queue.clear();
+        }
+
+        for (Job job : cancelled) {
+            job.cancelQueued(new CancellationException("JobScheduler has been closed"));
+        }
+        timer.shutdownNow();
+    }
+
+    /**
+     * Starts jobs which have already been counted as running.
+     * <p>
+     * Must be called without holding the lock: starting ffmpeg builds arguments and opens
+     * sockets for channel inputs. Jobs which finish (or fail to start) right away free their
+     * slots in the same loop, so instantly finishing jobs don't cause deep recursion.
+     *
+     * @param jobs jobs to start
+     */
+    private void start(final List<Job> jobs) {
+        Deque<Job> pending = new ArrayDeque<>(jobs);
+        while (!pending.isEmpty()) {
+            Job job = pending.poll();
+            if (!launch(job)) {
+                pending.addAll(onFinished());
+            }
+        }
+    }
+
+    /**
+     * @param job job to start
+     * @return true if job is running, false if it has finished already
+     */
+    private boolean launch(final Job job) {
+        job.cancelTimeout();
+
+        FFmpegResultFuture future;
+        try {
+            future = job.ffmpeg.executeAsync(runner, getThreadBudget());
+        } catch (RuntimeException e) {
+            job.result.completeExceptionally(e);
+            return false;
+        }
+
+        job.started(future);
+        // Whoever comes second frees the slot: launcher if job has completed already
+        // (callback is then invoked right in whenComplete), or callback otherwise
+        AtomicBoolean launching = new AtomicBoolean(true);
+        future.toCompletableFuture().whenComplete((result, error) -> {
+            job.finished(result, error);
+            if (!launching.compareAndSet(true, false)) {
+                start(onFinished());
+            }
+        });
+        return launching.compareAndSet(true, false);
+    }
+
+    /**
+     * Frees slot of finished job and takes queued jobs to start.
+     *
+     * @return jobs to start, already counted as running
+     */
+    private synchronized List<Job> onFinished() {
+        runningJobs--;
+        List<Job> result = new ArrayList<>();
+        while (runningJobs < maxConcurrentJobs && !queue.isEmpty()) {
+            runningJobs++;
+            result.add(queue.poll());
+        }
+        if (!result.isEmpty()) {
+            LOGGER.debug("Starting {} job(s), running: {}, queued: {}", result.size(),
+                    runningJobs, queue.size());
+        }
+        return result;
+    }
+
+    private void timeout(final Job job) {
+        boolean removed;
+        synchronized (this) {
+            removed = queue.remove(job);
+        }
+
+        if (removed) {
+            LOGGER.warn("Job hasn't started in {} millis, failing it", queueTimeoutMillis);
+            job.cancelQueued(new TimeoutException("Job hasn't started in "
+                    + queueTimeoutMillis + " millis"));
+        }
+    }
+
+    private boolean removeQueued(final Job job) {
+        synchronized (this) {
+            if (!queue.remove(job)) {
+                return false;
+            }
+        }
+
+        job.cancelTimeout();
+        return true;
+    }
+
+    /**
+     * Queued or running job, also serves as {@link Stopper} for {@link FFmpegResultFuture}.
+     */
+    private final class Job implements Comparable<Job>, Stopper {
+        private final FFmpeg ffmpeg;
+        private final int priority;
+        private final long sequence;
+        private final CompletableFuture<FFmpegResult> result;
+        private volatile FFmpegResultFuture started;
+        private volatile ScheduledFuture<?> timeout;
+        // stop requested after job has been taken from the queue but before it has started
+        private volatile StopRequest stopRequest;
+
+        Job(final FFmpeg ffmpeg, final int priority, final long sequence) {
+            this.ffmpeg = ffmpeg;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.result = new CompletableFuture<FFmpegResult>() {
+                @Override
+                public boolean cancel(final boolean mayInterruptIfRunning) {
+                    if (mayInterruptIfRunning) {
+                        forceStop();
+                    } else {
+                        graceStop();
+                    }
+                    return completeExceptionally(new CancellationException());
+                }
+            };
+        }
+
+        @Override
+        public int compareTo(final Job other) {
+            int byPriority = Integer.compare(other.priority, priority);
+            if (byPriority != 0) {
+                return byPriority;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public void graceStop() {
+            if (removeQueued(this)) {
+                cancelQueued(new CancellationException());
+                return;
+            }
+
+            if (stopRequest == null) {
+                stopRequest = StopRequest.GRACE;
+            }
+            FFmpegResultFuture future = started;
+            if (future != null) {
+                future.graceStop();
+            }
+        }
+
+        @Override
+        public void forceStop() {
+            if (removeQueued(this)) {
+                cancelQueued(new CancellationException());
+                return;
+            }
+
+            stopRequest = StopRequest.FORCE;
+            FFmpegResultFuture future = started;
+            if (future != null) {
+                future.forceStop();
+            }
+        }
+
+        @Override
+        public void setProcess(final Process process) {
+            // process is managed by FFmpeg's own Stopper
+        }
+
+        void started(final FFmpegResultFuture future) {
+            this.started = future;
+
+            // Stop requested while job was starting hasn't seen the future
+            StopRequest request = stopRequest;
+            if (request == StopRequest.FORCE) {
+                future.forceStop();
+            } else if (request == StopRequest.GRACE) {
+                future.graceStop();
+            }
+        }
+
+        void finished(final FFmpegResult ffmpegResult, final Throwable error) {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(ffmpegResult);
+            }
+        }
+
+        void cancelQueued(final Throwable reason) {
+            cancelTimeout();
+            result.completeExceptionally(reason);
+        }
+
+        void cancelTimeout() {
+            ScheduledFuture<?> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+
+    private enum StopRequest {
+        GRACE,
+        FORCE
+    }
+}
@@ -18,6 +18,9 @@
 package com.github.kokorin.jaffree.ffmpeg;
 
 import com.github.kokorin.jaffree.Rational;
+import com.github.kokorin.jaffree.metrics.JaffreeMetrics;
+import com.github.kokorin.jaffree.metrics.Metrics;
+import com.github.kokorin.jaffree.nut.FrameBufferPool;
 import com.github.kokorin.jaffree.nut.MainHeader;
 import com.github.kokorin.jaffree.nut.NutFrame;
 import com.github.kokorin.jaffree.nut.NutInputStream;
@@ -31,8 +34,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * {@link NutFrameReader} reads InputStream in Nut format and passes parsed frames
@@ -41,6 +47,7 @@ import java.util.List;
 public class NutFrameReader implements FrameOutput.FrameReader {
     private final FrameConsumer frameConsumer;
     private final ImageFormat imageFormat;
+    private volatile int imagesPerStream = 0;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NutFrameReader.class);
 
@@ -55,6 +62,22 @@ public class NutFrameReader implements FrameOutput.FrameReader {
         this.imageFormat = imageFormat;
     }
 
+    /**
+     * Sets number of reusable images per video stream.
+     *
+     * @param imagesPerStream number of images per video stream, 0 to disable image reuse
+     * @return this
+     * @see FrameOutput#setImageReuse(int)
+     */
+    public NutFrameReader setImagesPerStream(final int imagesPerStream) {
+        if (imagesPerStream < 0) {
+            throw new IllegalArgumentException("Images per stream cannot be negative");
+        }
+
+        this.imagesPerStream = imagesPerStream;
+        return this;
+    }
+
     /**
      * Reads media in Nut format from input stream and closes it.
      *
@@ -63,7 +86,7 @@ public class NutFrameReader implements FrameOutput.FrameReader {
     @Override
     public void read(final InputStream input) throws IOException {
         NutInputStream stream = new NutInputStream(input);
-        NutReader nutReader = new NutReader(stream);
+        NutReader nutReader = new NutReader(stream, new FrameBufferPool());
 
         MainHeader mainHeader = nutReader.getMainHeader();
         StreamHeader[] streamHeaders = nutReader.getStreamHeaders();
@@ -72,26 +95,47 @@ public class NutFrameReader implements FrameOutput.FrameReader {
 
         LOGGER.debug("Streams: {}", (Object) streamHeaders);
 
+        JaffreeMetrics metrics = Metrics.get();
+        ImageRing[] rings = new ImageRing[streamHeaders.length];
         NutFrame nutFrame;
         while ((nutFrame = nutReader.readFrame()) != null) {
             LOGGER.trace("NutFrame: {}", nutFrame);
 
             int trackNo = nutFrame.streamId;
-            Frame frame = parseFrame(streamHeaders[trackNo], nutFrame);
+            Frame frame = parseReusableFrame(streamHeaders[trackNo], nutFrame, rings);
+            // audio samples and reusable images are copies, while other images wrap frame buffer
+            boolean copied = frame != null;
+            if (frame == null) {
+                frame = parseFrame(streamHeaders[trackNo], nutFrame);
+            }
             LOGGER.trace("Parsed frame: {}", frame);
 
             if (frame == null) {
+                nutFrame.release();
                 continue;
             }
 
+            metrics.frameRead(trackNo, nutFrame.data.length);
+            if (copied || frame.getImage() == null) {
+                nutFrame.release();
+            }
             frameConsumer.consume(frame);
+            frame.release();
         }
 
         frameConsumer.consume(null);
     }
 
-    private static List<Stream> parseTracks(final MainHeader mainHeader,
-                                            final StreamHeader[] streamHeaders) {
+    /**
+     * Converts Nut stream headers to {@link Stream streams}, only video and audio streams are
+     * converted.
+     *
+     * @param mainHeader    Nut main header
+     * @param streamHeaders Nut stream headers
+     * @return video and audio streams
+     */
+    static List<Stream> parseTracks(final MainHeader mainHeader,
+                                    final StreamHeader[] streamHeaders) {
         List<Stream> result = new ArrayList<>();
 
         for (StreamHeader streamHeader : streamHeaders) {
@@ -124,6 +168,47 @@ public class NutFrameReader implements FrameOutput.FrameReader {
         return result;
     }
 
+    // Fills an image from the stream's ring, returns null if image can't be reused
+    private Frame parseReusableFrame(final StreamHeader track, final NutFrame frame,
+                                     final ImageRing[] rings) {
+        if (imagesPerStream == 0 || track.streamType != StreamHeader.Type.VIDEO
+                || frame.data == null || frame.eor) {
+            return null;
+        }
+
+        int width = track.video.width;
+        int height = track.video.height;
+        if (frame.data.length != width * height * imageFormat.getBytesPerPixel()) {
+            return null;
+        }
+
+        ImageRing ring = rings[frame.streamId];
+        if (ring == null) {
+            ring = new ImageRing(imagesPerStream);
+            rings[frame.streamId] = ring;
+        }
+
+        BufferedImage image = ring.poll();
+        if (image == null) {
+            if (ring.created == ring.capacity) {
+                LOGGER.debug("All images of stream {} are retained, allocating new one",
+                        frame.streamId);
+                return null;
+            }
+            image = imageFormat.toImage(new byte[frame.data.length], width, height);
+            ring.created++;
+        }
+
+        if (!imageFormat.fillImage(frame.data, image)) {
+            LOGGER.warn("{} doesn't support image reuse, disabling it", imageFormat);
+            imagesPerStream = 0;
+            rings[frame.streamId] = null;
+            return null;
+        }
+
+        return new Frame(track.streamId, frame.pts, image, null, ring);
+    }
+
     private Frame parseFrame(final StreamHeader track, final NutFrame frame) {
         if (frame == null || frame.data == null || frame.data.length == 0 || frame.eor) {
             return null;
@@ -154,4 +239,27 @@ public class NutFrameReader implements FrameOutput.FrameReader {
 
         return null;
     }
+
+    /**
+     * Images of a single video stream, which have been released and can be filled again.
+     */
+    private static final class ImageRing implements Consumer<BufferedImage> {
+        private final int capacity;
+        private final Deque<BufferedImage> released;
+        private int created = 0;
+
+        ImageRing(final int capacity) {
+            this.capacity = capacity;
+            this.released = new ArrayDeque<>(capacity);
+        }
+
+        synchronized BufferedImage poll() {
+            return released.poll();
+        }
+
+        @Override
+        public synchronized void accept(final BufferedImage image) {
+            released.push(image);
+        }
+    }
 }
@@ -19,6 +19,8 @@ package com.github.kokorin.jaffree.ffmpeg;
 
 import com.github.kokorin.jaffree.JaffreeException;
 import com.github.kokorin.jaffree.Rational;
+import com.github.kokorin.jaffree.metrics.JaffreeMetrics;
+import com.github.kokorin.jaffree.metrics.Metrics;
 import com.github.kokorin.jaffree.nut.DataItem;
 import com.github.kokorin.jaffree.nut.FrameCode;
 import com.github.kokorin.jaffree.nut.Info;
@@ -174,6 +176,7 @@ public class NutFrameWriter implements FrameInput.FrameWriter {
         writer.setStreamHeaders(streamHeaders);
         writer.setInfos(new Info[0]);
 
+        JaffreeMetrics metrics = Metrics.get();
         Frame frame;
         while ((frame = producer.produce()) != null) {
             LOGGER.trace("Frame: {}", frame);
@@ -208,6 +211,7 @@ public class NutFrameWriter implements FrameInput.FrameWriter {
 
             LOGGER.trace("NutFrame: {}", nutFrame);
             writer.writeFrame(nutFrame);
+            metrics.frameWritten(frame.getStreamId(), data.length);
         }
     }
 }
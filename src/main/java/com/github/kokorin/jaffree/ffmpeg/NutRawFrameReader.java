@@ -0,0 +1,109 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffmpeg;
+
+import com.github.kokorin.jaffree.metrics.JaffreeMetrics;
+import com.github.kokorin.jaffree.metrics.Metrics;
+import com.github.kokorin.jaffree.nut.FrameBufferPool;
+import com.github.kokorin.jaffree.nut.MainHeader;
+import com.github.kokorin.jaffree.nut.NutFrame;
+import com.github.kokorin.jaffree.nut.NutInputStream;
+import com.github.kokorin.jaffree.nut.NutReader;
+import com.github.kokorin.jaffree.nut.StreamHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link NutRawFrameReader} reads InputStream in Nut format and passes read-only views of frame
+ * payloads to {@link RawFrameConsumer}.
+ * <p>
+ * Frame payload is not copied or converted, in particular no AWT classes are used. Frames are
+ * read into pooled buffers, which are reused as soon as consumer returns, so steady-state
+ * reading doesn't allocate frame buffers.
+ */
+public class NutRawFrameReader implements FrameOutput.FrameReader {
+    private final RawFrameConsumer frameConsumer;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NutRawFrameReader.class);
+
+    /**
+     * Creates {@link NutRawFrameReader}.
+     *
+     * @param frameConsumer raw frame consumer
+     */
+    public NutRawFrameReader(final RawFrameConsumer frameConsumer) {
+        this.frameConsumer = frameConsumer;
+    }
+
+    /**
+     * Reads media in Nut format from input stream and closes it.
+     *
+     * @param input input to read
+     */
+    @Override
+    public void read(final InputStream input) throws IOException {
+        NutInputStream stream = new NutInputStream(input);
+        NutReader nutReader = new NutReader(stream, new FrameBufferPool());
+
+        MainHeader mainHeader = nutReader.getMainHeader();
+        StreamHeader[] streamHeaders = nutReader.getStreamHeaders();
+        frameConsumer.consumeStreams(NutFrameReader.parseTracks(mainHeader, streamHeaders));
+
+        LOGGER.debug("Streams: {}", (Object) streamHeaders);
+
+        JaffreeMetrics metrics = Metrics.get();
+        NutFrame nutFrame;
+        while ((nutFrame = nutReader.readFrame()) != null) {
+            LOGGER.trace("NutFrame: {}", nutFrame);
+
+            try (NutFrame pooled = nutFrame) {
+                int trackNo = pooled.streamId;
+                RawFrame frame = parseFrame(streamHeaders[trackNo], pooled);
+                if (frame == null) {
+                    continue;
+                }
+
+                metrics.frameRead(trackNo, pooled.data.length);
+                frameConsumer.consume(frame);
+            }
+        }
+
+        frameConsumer.consume(null);
+    }
+
+    private static RawFrame parseFrame(final StreamHeader track, final NutFrame frame) {
+        if (frame.data == null || frame.data.length == 0 || frame.eor) {
+            return null;
+        }
+
+        ByteBuffer data = ByteBuffer.wrap(frame.data).asReadOnlyBuffer();
+        if (track.streamType == StreamHeader.Type.VIDEO) {
+            return new RawFrame(track.streamId, frame.pts, Stream.Type.VIDEO,
+                    track.video.width, track.video.height, data);
+        }
+        if (track.streamType == StreamHeader.Type.AUDIO) {
+            return new RawFrame(track.streamId, frame.pts, Stream.Type.AUDIO, 0, 0, data);
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffmpeg;
+
+import com.github.kokorin.jaffree.JaffreeException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Planar YUV pixel formats, which can be consumed with {@link RawFrameConsumer} without
+ * conversion to RGB.
+ * <p>
+ * Chroma planes are subsampled both horizontally and vertically, so a frame takes 1.5 bytes
+ * per pixel. {@link #getPlanes(RawFrame)} splits frame payload into plane views without copying.
+ *
+ * @see FrameOutput#withRawConsumer(RawFrameConsumer, PlanarFormat)
+ */
+public enum PlanarFormat {
+    /**
+     * Three planes: Y (full resolution), U and V (half width and half height each).
+     */
+    YUV420P("yuv420p", 3),
+    /**
+     * Two planes: Y (full resolution) and interleaved UV (half width and half height).
+     */
+    NV12("nv12", 2);
+
+    private final String pixelFormat;
+    private final int planeCount;
+
+    PlanarFormat(final String pixelFormat, final int planeCount) {
+        this.pixelFormat = pixelFormat;
+        this.planeCount = planeCount;
+    }
+
+    /**
+     * @return ffmpeg pixel format
+     */
+    public String getPixelFormat() {
+        return pixelFormat;
+    }
+
+    /**
+     * @return number of planes
+     */
+    public int getPlaneCount() {
+        return planeCount;
+    }
+
+    /**
+     * Returns length of every row of the plane in bytes. Rows are not padded.
+     *
+     * @param plane plane index
+     * @param width frame width
+     * @return plane row length
+     */
+    public int getLineSize(final int plane, final int width) {
+        checkPlane(plane);
+        if (plane == 0) {
+            return width;
+        }
+        int chromaWidth = (width + 1) / 2;
+        return this == NV12 ? chromaWidth * 2 : chromaWidth;
+    }
+
+    /**
+     * Returns number of rows of the plane.
+     *
+     * @param plane  plane index
+     * @param height frame height
+     * @return plane height
+     */
+    public int getPlaneHeight(final int plane, final int height) {
+        checkPlane(plane);
+        if (plane == 0) {
+            return height;
+        }
+        return (height + 1) / 2;
+    }
+
+    /**
+     * @param width  frame width
+     * @param height frame height
+     * @return frame size in bytes
+     */
+    public int getFrameSize(final int width, final int height) {
+        int result = 0;
+        for (int plane = 0; plane < planeCount; plane++) {
+            result += getLineSize(plane, width) * getPlaneHeight(plane, height);
+        }
+        return result;
+    }
+
+    /**
+     * Splits video frame payload into planes.
+     *
+     * @param frame video frame in this pixel format
+     * @return read-only plane views, valid as long as frame payload is valid
+     * @throws JaffreeException if frame size doesn't match frame geometry
+     */
+    public ByteBuffer[] getPlanes(final RawFrame frame) {
+        return getPlanes(frame.getData(), frame.getWidth(), frame.getHeight());
+    }
+
+    /**
+     * Splits raw image data into planes.
+     *
+     * @param data   raw image data, starting at buffer position
+     * @param width  frame width
+     * @param height frame height
+     * @return read-only plane views
+     * @throws JaffreeException if data size doesn't match frame geometry
+     */
+    public ByteBuffer[] getPlanes(final ByteBuffer data, final int width, final int height) {
+        int expectedLength = getFrameSize(width, height);
+        if (data.remaining() != expectedLength) {
+            throw new JaffreeException(
+                    "Wrong frame size: " + data.remaining() + ", expected " + expectedLength);
+        }
+
+        ByteBuffer[] result = new ByteBuffer[planeCount];
+        int offset = data.position();
+        for (int plane = 0; plane < planeCount; plane++) {
+            int length = getLineSize(plane, width) * getPlaneHeight(plane, height);
+            ByteBuffer view = data.duplicate();
+            view.position(offset);
+            view.limit(offset + length);
+            result[plane] = view.slice().asReadOnlyBuffer();
+            offset += length;
+        }
+        return result;
+    }
+
+    private void checkPlane(final int plane) {
+        if (plane < 0 || plane >= planeCount) {
+            throw new IllegalArgumentException("Wrong plane index: " + plane);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffmpeg;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Represents raw video or audio frame payload as it has been decoded by ffmpeg, without any
+ * conversion.
+ * <p>
+ * Video payload is raw image in the pixel format requested with
+ * {@link FrameOutput#withRawConsumer(RawFrameConsumer, String)}, audio payload is samples in
+ * PCM S32BE format.
+ * <p>
+ * <b>Note</b>: payload is a read-only view of the buffer which Jaffree reads frames into, it's
+ * valid only until {@link RawFrameConsumer#consume(RawFrame)} returns. Copy the payload if it's
+ * needed later.
+ *
+ * @see RawFrameConsumer
+ */
+public class RawFrame {
+    private final int streamId;
+    private final long pts;
+    private final Stream.Type type;
+    private final int width;
+    private final int height;
+    private final ByteBuffer data;
+
+    /**
+     * Creates {@link RawFrame}.
+     *
+     * @param streamId stream id
+     * @param pts      pts in {@link Stream} timebase
+     * @param type     stream type
+     * @param width    video frame width, 0 for audio
+     * @param height   video frame height, 0 for audio
+     * @param data     frame payload
+     */
+    protected RawFrame(final int streamId, final long pts, final Stream.Type type,
+                       final int width, final int height, final ByteBuffer data) {
+        this.streamId = streamId;
+        this.pts = pts;
+        this.type = type;
+        this.width = width;
+        this.height = height;
+        this.data = data;
+    }
+
+    /**
+     * @return stream id (starting with 0)
+     */
+    public int getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * PTS in corresponding {@link Stream} timebase.
+     *
+     * @return timecode
+     * @see Stream#getTimebase()
+     */
+    public long getPts() {
+        return pts;
+    }
+
+    /**
+     * @return stream type
+     */
+    public Stream.Type getType() {
+        return type;
+    }
+
+    /**
+     * @return video frame width, or 0 if current frame isn't video frame
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return video frame height, or 0 if current frame isn't video frame
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns read-only big-endian view of frame payload.
+     * <p>
+     * Sometimes ffmpeg sends the last video frame shorter than {@code width * height * bpp},
+     * such frames are passed as is.
+     *
+     * @return frame payload
+     */
+    public ByteBuffer getData() {
+        return data;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RawFrame{"
+                + "streamId=" + streamId
+                + ", pts=" + pts
+                + ", type=" + type
+                + ", width=" + width
+                + ", height=" + height
+                + ", size=" + data.remaining()
+                + '}';
+    }
+}
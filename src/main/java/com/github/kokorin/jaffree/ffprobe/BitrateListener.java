@@ -0,0 +1,35 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+/**
+ * {@link BitrateListener} receives sliding-window bitrate of every stream.
+ *
+ * @see PacketStatistics#setBitrateListener(BitrateListener)
+ */
+@FunctionalInterface
+public interface BitrateListener {
+    /**
+     * Invoked every time the sliding window moves.
+     *
+     * @param streamIndex    stream index
+     * @param windowEndTime  end of the window in seconds
+     * @param bitsPerSecond  bitrate within the window
+     */
+    void onBitrate(int streamIndex, double windowEndTime, long bitsPerSecond);
+}
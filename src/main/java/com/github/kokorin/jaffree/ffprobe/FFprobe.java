@@ -17,21 +17,37 @@
 
 package com.github.kokorin.jaffree.ffprobe;
 
+import com.github.kokorin.jaffree.JaffreeException;
 import com.github.kokorin.jaffree.LogLevel;
 import com.github.kokorin.jaffree.StreamType;
 import com.github.kokorin.jaffree.ffprobe.data.FormatParser;
 import com.github.kokorin.jaffree.ffprobe.data.JsonFormatParser;
+import com.github.kokorin.jaffree.ffprobe.data.StreamingFormatParser;
+import com.github.kokorin.jaffree.log.LogMessage;
+import com.github.kokorin.jaffree.process.DedicatedThreadSource;
+import com.github.kokorin.jaffree.process.JaffreeAbnormalExitException;
 import com.github.kokorin.jaffree.process.ProcessHandler;
 import com.github.kokorin.jaffree.process.ProcessHelper;
 import com.github.kokorin.jaffree.process.StdReader;
+import com.github.kokorin.jaffree.process.Stopper;
+import com.github.kokorin.jaffree.process.ThreadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
@@ -58,20 +74,46 @@ public class FFprobe {
     private boolean countFrames;
     private boolean countPackets;
     private String readIntervals;
+    private int parallelIntervals = 1;
 
     private Long probeSize;
     private Long analyzeDuration;
     private Long fpsProbeSize;
+    private final List<ProbeStep> fastProbeSteps = new ArrayList<>();
+    private boolean defaultFastProbeSteps;
 
     private final List<String> additionalArguments = new ArrayList<>();
 
     private String format;
     private Input input;
+    private SeekableByteChannel channel;
+    private Integer channelBufferSize;
 
     private FormatParser formatParser = new JsonFormatParser();
+    private ThreadSource threadSource = null;
+    private ProbeCache cache = null;
+    private ProbeListener probeListener = null;
+    private String contentHash = null;
 
     private final Path executable;
 
+    private static final long DEFAULT_MAX_PROBE_SIZE = 5_000_000;
+    private static final long DEFAULT_MAX_ANALYZE_DURATION = 5_000_000;
+    private static final List<ProbeStep> DEFAULT_FAST_PROBE_STEPS = Collections.unmodifiableList(
+            Arrays.asList(
+                    new ProbeStep(64 * 1024, 500_000),
+                    new ProbeStep(1024 * 1024, 2_000_000),
+                    new ProbeStep(DEFAULT_MAX_PROBE_SIZE, DEFAULT_MAX_ANALYZE_DURATION)
+            ));
+    // ffprobe errors caused by too small probe size
+    private static final List<String> PROBE_TOO_SMALL_ERRORS = Arrays.asList(
+            "Invalid data found when processing input",
+            "Could not find codec parameters",
+            "could not find codec parameters"
+    );
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FFprobe.class);
+
     /**
      * Creates {@link FFprobe}.
      *
@@ -220,6 +262,65 @@ public class FFprobe {
         return this;
     }
 
+    /**
+     * Requests only specified fields from ffprobe.
+     * <p>
+     * Minimal <b>-show_entries</b> argument is generated, so ffprobe prints (and Jaffree parses)
+     * only selected fields of selected sections, e.g.
+     * {@code select(StreamField.CODEC_NAME, StreamField.WIDTH, FormatField.DURATION)} results
+     * in {@code -show_entries stream=codec_name,width:format=duration}. All other properties of
+     * returned {@link FFprobeResult} are null.
+     * <p>
+     * <b>Note:</b> this method replaces value set with {@link #setShowEntries(String)} and
+     * should not be used together with "show..." methods for the same reason.
+     *
+     * @param fields fields to request
+     * @return this
+     * @see StreamField
+     * @see FormatField
+     */
+    public FFprobe select(final ProbeField... fields) {
+        return setShowEntries(toShowEntries(Arrays.asList(fields)));
+    }
+
+    /**
+     * Builds <b>-show_entries</b> argument value, sections are listed in order of their first
+     * occurrence.
+     *
+     * @param fields fields to request
+     * @return show_entries value
+     */
+    static String toShowEntries(final Collection<? extends ProbeField> fields) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be selected");
+        }
+
+        // null value stands for all section entries
+        Map<String, Set<String>> entries = new LinkedHashMap<>();
+        for (ProbeField field : fields) {
+            String section = field.getSection();
+            if (field.getEntry() == null) {
+                entries.put(section, null);
+            } else if (!entries.containsKey(section)) {
+                entries.put(section, new LinkedHashSet<>(Collections.singleton(field.getEntry())));
+            } else if (entries.get(section) != null) {
+                entries.get(section).add(field.getEntry());
+            }
+        }
+
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<String, Set<String>> entry : entries.entrySet()) {
+            if (result.length() > 0) {
+                result.append(':');
+            }
+            result.append(entry.getKey());
+            if (entry.getValue() != null) {
+                result.append('=').append(String.join(",", entry.getValue()));
+            }
+        }
+        return result.toString();
+    }
+
     /**
      * Show information about each packet contained in the input multimedia stream.
      * <p>
@@ -387,6 +488,92 @@ public class FFprobe {
         return this;
     }
 
+    /**
+     * Enables fast probe mode with default steps: 64 KiB (analyzing 0.5 seconds), 1 MiB
+     * (2 seconds) and 5 MB (5 seconds, ffmpeg defaults).
+     * <p>
+     * In fast probe mode ffprobe first reads only small part of input. Result is checked for
+     * completeness: duration must be known and every audio and video stream must have its codec
+     * parameters (width, height and pixel format for video, sample rate, channels and sample
+     * format for audio). Incomplete results are re-probed with the next (larger) probe size.
+     * Probe size used for returned result is reported by {@link FFprobeResult#getProbeSize()}.
+     * <p>
+     * Most well-formed files are completely described by their headers, so they are probed
+     * much faster, especially with {@link SeekableByteChannel} input.
+     * <p>
+     * <b>Note:</b> fields used for completeness check must be requested (see
+     * {@link #select(ProbeField...)}). Fast probe overrides {@link #setProbeSize(Long)} and
+     * {@link #setAnalyzeDuration(Long)}, it is not applied when {@link ProbeListener} is set.
+     * Inputs which can't be re-read ({@link InputStream}, custom {@link TcpInput}) are probed
+     * only once with the largest probe size.
+     *
+     * @param fastProbe true to enable fast probe mode
+     * @return this
+     * @see #addFastProbeStep(long, long)
+     */
+    public FFprobe setFastProbe(final boolean fastProbe) {
+        fastProbeSteps.clear();
+        if (fastProbe) {
+            fastProbeSteps.addAll(DEFAULT_FAST_PROBE_STEPS);
+        }
+        defaultFastProbeSteps = fastProbe;
+        return this;
+    }
+
+    /**
+     * Adds step of fast probe mode, steps are tried in order they have been added.
+     * <p>
+     * Adding the first step enables fast probe mode with custom steps (replacing default steps).
+     *
+     * @param stepProbeSize         probe size in bytes, must be larger than that of previous step
+     * @param analyzeDurationMicros analyze duration micros
+     * @return this
+     * @see #setFastProbe(boolean)
+     */
+    public FFprobe addFastProbeStep(final long stepProbeSize, final long analyzeDurationMicros) {
+        if (stepProbeSize <= 0 || analyzeDurationMicros < 0) {
+            throw new IllegalArgumentException("Probe size must be positive "
+                    + "and analyze duration must be non-negative");
+        }
+        if (defaultFastProbeSteps) {
+            fastProbeSteps.clear();
+            defaultFastProbeSteps = false;
+        }
+        if (!fastProbeSteps.isEmpty()
+                && fastProbeSteps.get(fastProbeSteps.size() - 1).probeSize >= stepProbeSize) {
+            throw new IllegalArgumentException("Probe size must increase with every step");
+        }
+
+        fastProbeSteps.add(new ProbeStep(stepProbeSize, analyzeDurationMicros));
+        return this;
+    }
+
+    /**
+     * Splits packet and frame dumps of long inputs into intervals, which are probed by
+     * concurrent ffprobe processes.
+     * <p>
+     * Input duration is probed first, then timeline is split into equal intervals. Every
+     * ffprobe seeks to the keyframe preceding its interval start (see
+     * {@link #setReadIntervals(String)}) and reads slightly past the interval end. Packets and
+     * frames are merged back in interval order with duplicates at boundaries removed, so
+     * result is the same as produced by a single ffprobe process.
+     * <p>
+     * Applies only to {@link #setShowPackets(boolean) -show_packets} and
+     * {@link #setShowFrames(boolean) -show_frames} of files and URLs without read intervals,
+     * frame or packet counting and {@link ProbeListener}. Inputs with unknown duration or
+     * shorter than a minute per process are probed by fewer processes.
+     *
+     * @param processes maximum number of concurrent ffprobe processes, 1 (default) to disable
+     * @return this
+     */
+    public FFprobe setParallelIntervals(final int processes) {
+        if (processes <= 0) {
+            throw new IllegalArgumentException("Number of processes must be positive");
+        }
+        this.parallelIntervals = processes;
+        return this;
+    }
+
     /**
      * Force input file format. The format is normally auto detected for input files,
      * so this option is not needed in most cases.
@@ -447,7 +634,9 @@ public class FFprobe {
      * @return this
      */
     public FFprobe setInput(final SeekableByteChannel inputChannel) {
-        return setInput(ChannelInput.fromChannel(inputChannel));
+        setInput(ChannelInput.fromChannel(inputChannel));
+        this.channel = inputChannel;
+        return this;
     }
 
     /**
@@ -458,7 +647,10 @@ public class FFprobe {
      * @return this
      */
     public FFprobe setInput(final SeekableByteChannel inputChannel, final int bufferSize) {
-        return setInput(ChannelInput.fromChannel(inputChannel, bufferSize));
+        setInput(ChannelInput.fromChannel(inputChannel, bufferSize));
+        this.channel = inputChannel;
+        this.channelBufferSize = bufferSize;
+        return this;
     }
 
     /**
@@ -469,6 +661,8 @@ public class FFprobe {
      */
     public FFprobe setInput(final Input input) {
         this.input = input;
+        this.channel = null;
+        this.channelBufferSize = null;
         return this;
     }
 
@@ -503,6 +697,72 @@ public class FFprobe {
         return this;
     }
 
+    /**
+     * Sets {@link ThreadSource} which provides threads for ffprobe stdout &amp; stderr readers
+     * and {@link ProcessHelper ProcessHelpers} (e.g. TCP server of {@link ChannelInput}).
+     * <p>
+     * By default a new thread is started for every reader and helper. Consider using
+     * {@link com.github.kokorin.jaffree.process.PooledThreadSource#shared()} if many short
+     * ffprobe executions are expected.
+     *
+     * @param threadSource thread source
+     * @return this
+     * @see com.github.kokorin.jaffree.process.PooledThreadSource
+     * @see com.github.kokorin.jaffree.process.VirtualThreadSource
+     */
+    public FFprobe setThreadSource(final ThreadSource threadSource) {
+        this.threadSource = threadSource;
+        return this;
+    }
+
+    /**
+     * Sets listener to receive packets, frames and subtitles as soon as ffprobe outputs them.
+     * <p>
+     * With listener set, packets, frames and subtitles are not kept in {@link FFprobeResult},
+     * so memory consumption doesn't depend on media duration. Other sections (streams,
+     * format, etc.) are returned in {@link FFprobeResult} as usual.
+     * <p>
+     * Requires {@link StreamingFormatParser} (e.g. default {@link JsonFormatParser}).
+     * Streamed results are never cached in {@link ProbeCache}.
+     *
+     * @param probeListener packet, frame and subtitle listener, or null to disable streaming
+     * @return this
+     * @see #setShowPackets(boolean)
+     * @see #setShowFrames(boolean)
+     */
+    public FFprobe setProbeListener(final ProbeListener probeListener) {
+        this.probeListener = probeListener;
+        return this;
+    }
+
+    /**
+     * Sets {@link ProbeCache} to look up ffprobe output before executing ffprobe.
+     * <p>
+     * On cache hit ffprobe process is not started at all.
+     *
+     * @param cache probe cache, or null to disable caching
+     * @return this
+     * @see #setContentHash(String)
+     */
+    public FFprobe setCache(final ProbeCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Sets hash of input content, which identifies input in {@link ProbeCache}.
+     * <p>
+     * Without content hash only local files are cached: they are identified by path, size
+     * and modification time.
+     *
+     * @param contentHash input content hash, e.g. SHA-256 or ETag
+     * @return this
+     */
+    public FFprobe setContentHash(final String contentHash) {
+        this.contentHash = contentHash;
+        return this;
+    }
+
     /**
      * Starts asynchronous ffprobe execution.
      *
@@ -533,20 +793,211 @@ public class FFprobe {
      * @return ffprobe result
      */
     public FFprobeResult execute() {
+        if (canSplitIntervals()) {
+            FFprobeResult result = new IntervalProbe(parallelIntervals,
+                    threadSource != null ? threadSource : new DedicatedThreadSource(),
+                    () -> execute(input, buildTimelineArguments(input), probeSize),
+                    (intervals, stopper) -> execute(input,
+                            buildArguments(input, probeSize, analyzeDuration, intervals),
+                            probeSize, stopper)
+            ).execute();
+            if (result != null) {
+                return result;
+            }
+        }
+
+        if (fastProbeSteps.isEmpty() || probeListener != null) {
+            return execute(input, buildArguments(), probeSize);
+        }
+
+        List<ProbeStep> steps = fastProbeSteps;
+        if (!(input instanceof UrlInput) && channel == null) {
+            LOGGER.debug("Input can't be re-read, probing with the largest probe size only");
+            steps = steps.subList(steps.size() - 1, steps.size());
+        }
+
+        Input stepInput = input;
+        for (int i = 0; i < steps.size(); i++) {
+            ProbeStep step = steps.get(i);
+            if (i > 0 && channel != null) {
+                // TCP-based input serves only one connection
+                stepInput = channelBufferSize == null
+                        ? ChannelInput.fromChannel(channel)
+                        : ChannelInput.fromChannel(channel, channelBufferSize);
+            }
+
+            List<String> arguments = buildArguments(stepInput, step.probeSize,
+                    step.analyzeDuration);
+            if (i == steps.size() - 1) {
+                return execute(stepInput, arguments, step.probeSize);
+            }
+
+            FFprobeResult result;
+            try {
+                result = execute(stepInput, arguments, step.probeSize);
+            } catch (JaffreeAbnormalExitException e) {
+                if (!isProbeTooSmall(e)) {
+                    throw e;
+                }
+                LOGGER.debug("Probe failed with probe size {}, escalating", step.probeSize, e);
+                continue;
+            }
+            if (isProbeComplete(result)) {
+                return result;
+            }
+
+            LOGGER.debug("Result is incomplete with probe size {}, escalating", step.probeSize);
+        }
+
+        throw new IllegalStateException("No fast probe steps");
+    }
+
+    /**
+     * Checks if ffprobe has failed because probe size was too small: format detection
+     * or codec parameters lookup. Other failures (missing input, bad arguments and so on)
+     * can't be fixed with larger probe size.
+     *
+     * @param e ffprobe failure
+     * @return true if larger probe size may help
+     */
+    static boolean isProbeTooSmall(final JaffreeAbnormalExitException e) {
+        List<LogMessage> messages = e.getProcessErrorLogMessages();
+        if (messages == null) {
+            return false;
+        }
+        for (LogMessage message : messages) {
+            for (String error : PROBE_TOO_SMALL_ERRORS) {
+                if (message.message != null && message.message.contains(error)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean canSplitIntervals() {
+        return parallelIntervals > 1
+                && (showPackets || showFrames)
+                && input instanceof UrlInput
+                && readIntervals == null
+                && !countFrames
+                && !countPackets
+                && probeListener == null;
+    }
+
+    private FFprobeResult execute(final Input probeInput, final List<String> arguments,
+                                  final Long usedProbeSize) {
+        return execute(probeInput, arguments, usedProbeSize, null);
+    }
+
+    private FFprobeResult execute(final Input probeInput, final List<String> arguments,
+                                  final Long usedProbeSize, final Stopper stopper) {
+        String cacheKey = null;
+        if (cache != null && probeListener == null) {
+            cacheKey = ProbeCache.createKey(executable, probeInput, contentHash, arguments);
+        }
+        if (cacheKey != null) {
+            byte[] cached = cache.get(cacheKey);
+            if (cached != null) {
+                FFprobeResult result = createStdOutReader(formatParser)
+                        .read(new ByteArrayInputStream(cached));
+                result.setProbeSize(usedProbeSize);
+                return result;
+            }
+        }
+
+        ProcessHandler<FFprobeResult> processHandler = createProcessHandler(probeInput, arguments);
+        if (stopper != null) {
+            processHandler.setStopper(stopper);
+        }
+        RecordingStdReader recorder = null;
+        if (cacheKey != null) {
+            recorder = new RecordingStdReader(createStdOutReader(formatParser),
+                    cache.getRecordLimit());
+            processHandler.setStdOutReader(recorder);
+        }
+
+        FFprobeResult result = processHandler.execute();
+        result.setResourceUsage(processHandler.getResourceUsage());
+        result.setProbeSize(usedProbeSize);
+
+        if (recorder != null && recorder.getRecorded() != null) {
+            cache.put(cacheKey, recorder.getRecorded());
+        }
+        return result;
+    }
+
+    /**
+     * Creates {@link ProcessHandler} which executes ffprobe with specified input and arguments.
+     *
+     * @param probeInput input to analyze, may be null
+     * @param arguments  ffprobe arguments
+     * @return ProcessHandler
+     */
+    ProcessHandler<FFprobeResult> createProcessHandler(final Input probeInput,
+                                                       final List<String> arguments) {
         List<ProcessHelper> helpers = new ArrayList<>();
-        if (input != null) {
-            ProcessHelper helper = input.helperThread();
+        if (probeInput != null) {
+            ProcessHelper helper = probeInput.helperThread();
             if (helper != null) {
                 helpers.add(helper);
             }
         }
 
-        return new ProcessHandler<FFprobeResult>(executable, null)
-                .setStdOutReader(createStdOutReader(formatParser))
-                .setStdErrReader(createStdErrReader())
-                .setHelpers(helpers)
-                .setArguments(buildArguments())
-                .execute();
+        ProcessHandler<FFprobeResult> processHandler =
+                new ProcessHandler<FFprobeResult>(executable, null)
+                        .setStdOutReader(createStdOutReader())
+                        .setStdErrReader(createStdErrReader())
+                        .setHelpers(helpers)
+                        .setArguments(arguments);
+        if (threadSource != null) {
+            processHandler.setThreadSource(threadSource);
+        }
+
+        return processHandler;
+    }
+
+    private StdReader<FFprobeResult> createStdOutReader() {
+        if (probeListener == null) {
+            return createStdOutReader(formatParser);
+        }
+
+        if (!(formatParser instanceof StreamingFormatParser)) {
+            throw new JaffreeException("Probe listener requires StreamingFormatParser, but got "
+                    + formatParser.getClass().getName());
+        }
+        return new FFprobeResultReader((StreamingFormatParser) formatParser, probeListener);
+    }
+
+    /**
+     * @return true if {@link ThreadSource} has been set
+     */
+    boolean hasThreadSource() {
+        return threadSource != null;
+    }
+
+    /**
+     * Returns settings which are applied by {@link #execute()} around ffprobe process, rather
+     * than by ffprobe arguments, and so are lost (or shared by every process) when only
+     * arguments are reused.
+     *
+     * @return names of such settings which have been set, empty if none
+     */
+    List<String> getExecuteOnlySettings() {
+        List<String> result = new ArrayList<>();
+        if (cache != null) {
+            result.add("cache");
+        }
+        if (!fastProbeSteps.isEmpty()) {
+            result.add("fastProbe");
+        }
+        if (parallelIntervals > 1) {
+            result.add("parallelIntervals");
+        }
+        if (probeListener != null) {
+            result.add("probeListener");
+        }
+        return result;
     }
 
     /**
@@ -555,6 +1006,28 @@ public class FFprobe {
      * @return arguments list
      */
     protected List<String> buildArguments() {
+        return buildArguments(input);
+    }
+
+    /**
+     * Constructs ffprobe command line for specified input.
+     *
+     * @param probeInput input to analyze, or null to construct arguments without input
+     * @return arguments list
+     */
+    List<String> buildArguments(final Input probeInput) {
+        return buildArguments(probeInput, probeSize, analyzeDuration);
+    }
+
+    @SuppressWarnings("checkstyle:HiddenField")
+    private List<String> buildArguments(final Input probeInput, final Long probeSize,
+                                        final Long analyzeDuration) {
+        return buildArguments(probeInput, probeSize, analyzeDuration, readIntervals);
+    }
+
+    @SuppressWarnings("checkstyle:HiddenField")
+    private List<String> buildArguments(final Input probeInput, final Long probeSize,
+                                        final Long analyzeDuration, final String readIntervals) {
         List<String> result = new ArrayList<>();
 
         // "level" is required for ffmpeg to add [loglevel] to output lines
@@ -631,13 +1104,38 @@ public class FFprobe {
             result.addAll(Arrays.asList("-f", format));
         }
 
-        if (input != null) {
-            result.addAll(Arrays.asList("-i", input.getUrl()));
+        if (probeInput != null) {
+            result.addAll(Arrays.asList("-i", probeInput.getUrl()));
         }
 
         return result;
     }
 
+    /**
+     * Constructs ffprobe command line which shows only start time and duration of input.
+     *
+     * @param probeInput input to analyze
+     * @return arguments list
+     */
+    private List<String> buildTimelineArguments(final Input probeInput) {
+        List<String> result = new ArrayList<>(Arrays.asList(
+                "-loglevel", "level+error",
+                "-show_entries", "format=start_time,duration"));
+        if (probeSize != null) {
+            result.addAll(Arrays.asList("-probesize", probeSize.toString()));
+        }
+        if (analyzeDuration != null) {
+            result.addAll(Arrays.asList("-analyzeduration", analyzeDuration.toString()));
+        }
+        result.addAll(Arrays.asList("-print_format", formatParser.getFormatName()));
+        result.addAll(additionalArguments);
+        if (format != null) {
+            result.addAll(Arrays.asList("-f", format));
+        }
+        result.addAll(Arrays.asList("-i", probeInput.getUrl()));
+        return result;
+    }
+
     /**
      * Creates {@link StdReader} which is used to read ffprobe stdout.
      * <p>
@@ -690,4 +1188,62 @@ public class FFprobe {
         return new FFprobe(executable);
     }
 
+    /**
+     * Checks if ffprobe result contains everything that fast probe mode requires: known
+     * duration and codec parameters of all audio and video streams.
+     * <p>
+     * Results without both format and streams (e.g. only packets) are considered complete.
+     *
+     * @param result ffprobe result
+     * @return true if result is complete
+     */
+    static boolean isProbeComplete(final FFprobeResult result) {
+        Format resultFormat = result.getFormat();
+        List<Stream> streams = result.getStreams();
+        if (resultFormat == null && streams == null) {
+            return true;
+        }
+
+        boolean durationKnown = resultFormat != null && isPositive(resultFormat.getDuration());
+        if (streams != null) {
+            for (Stream stream : streams) {
+                durationKnown |= isPositive(stream.getDuration());
+                if (!hasCodecParameters(stream)) {
+                    return false;
+                }
+            }
+        }
+
+        return durationKnown;
+    }
+
+    private static boolean hasCodecParameters(final Stream stream) {
+        StreamType type = stream.getCodecType();
+        if (type == StreamType.VIDEO) {
+            return isPositive(stream.getWidth()) && isPositive(stream.getHeight())
+                    && stream.getPixFmt() != null;
+        }
+        if (type == StreamType.AUDIO) {
+            return isPositive(stream.getSampleRate()) && isPositive(stream.getChannels())
+                    && stream.getSampleFmt() != null;
+        }
+        return true;
+    }
+
+    private static boolean isPositive(final Number value) {
+        return value != null && value.doubleValue() > 0;
+    }
+
+    /**
+     * Probe size and analyze duration of one fast probe step.
+     */
+    private static final class ProbeStep {
+        private final long probeSize;
+        private final long analyzeDuration;
+
+        ProbeStep(final long probeSize, final long analyzeDuration) {
+            this.probeSize = probeSize;
+            this.analyzeDuration = analyzeDuration;
+        }
+    }
 }
@@ -18,7 +18,9 @@
 package com.github.kokorin.jaffree.ffprobe;
 
 import com.github.kokorin.jaffree.StreamType;
+import com.github.kokorin.jaffree.ffprobe.data.MemoizingProbeData;
 import com.github.kokorin.jaffree.ffprobe.data.ProbeData;
+import com.github.kokorin.jaffree.process.ResourceUsage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +31,8 @@ import java.util.List;
  */
 public class FFprobeResult {
     private final ProbeData probeData;
+    private ResourceUsage resourceUsage;
+    private Long probeSize;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FFprobeResult.class);
 
@@ -52,6 +56,63 @@ public class FFprobeResult {
         return probeData;
     }
 
+    /**
+     * Returns {@link FFprobeResult} which converts every value at most once and returns the
+     * same (unmodifiable) lists on repeated calls.
+     * <p>
+     * Intended for code which calls getters of {@link Stream}, {@link Format},
+     * {@link Packet} or {@link Frame} many times.
+     *
+     * @return memoizing ffprobe result
+     * @see MemoizingProbeData
+     */
+    public FFprobeResult memoized() {
+        if (probeData instanceof MemoizingProbeData) {
+            return this;
+        }
+
+        FFprobeResult result = new FFprobeResult(MemoizingProbeData.of(probeData));
+        result.setResourceUsage(resourceUsage);
+        result.setProbeSize(probeSize);
+        return result;
+    }
+
+    /**
+     * Returns resources (CPU time, memory, I/O) consumed by ffprobe process.
+     *
+     * @return resource usage or null if not available
+     */
+    public ResourceUsage getResourceUsage() {
+        return resourceUsage;
+    }
+
+    /**
+     * @param resourceUsage resources consumed by ffprobe process
+     */
+    void setResourceUsage(final ResourceUsage resourceUsage) {
+        this.resourceUsage = resourceUsage;
+    }
+
+    /**
+     * Returns probe size which ffprobe has been started with.
+     * <p>
+     * In fast probe mode it's the probe size of the step which produced this result.
+     *
+     * @return probe size in bytes or null if ffprobe default has been used
+     * @see FFprobe#setFastProbe(boolean)
+     * @see FFprobe#setProbeSize(Long)
+     */
+    public Long getProbeSize() {
+        return probeSize;
+    }
+
+    /**
+     * @param probeSize probe size which ffprobe has been started with
+     */
+    void setProbeSize(final Long probeSize) {
+        this.probeSize = probeSize;
+    }
+
     /**
      * @return format-related data
      * @see FFprobe#setShowFormat(boolean)
@@ -75,13 +136,7 @@ public class FFprobeResult {
      * @see Subtitle
      */
     public List<FrameSubtitle> getFrames() {
-        return probeData.getSubDataList("frames", subData -> {
-            StreamType streamType = subData.getStreamType("media_type");
-            if (streamType == StreamType.SUBTITLE) {
-                return new Subtitle(subData);
-            }
-            return new Frame(subData);
-        });
+        return probeData.getSubDataList("frames", FFprobeResult::toFrameSubtitle);
     }
 
     /**
@@ -93,25 +148,8 @@ public class FFprobeResult {
      * @see Subtitle
      */
     public List<PacketFrameSubtitle> getPacketsAndFrames() {
-        return probeData.getSubDataList("packets_and_frames", subData -> {
-            String type = subData.getString("type");
-            if (type == null) {
-                LOGGER.error("No type property found");
-                return null;
-            }
-
-            switch (type) {
-                case "packet":
-                    return new Packet(subData);
-                case "frame":
-                    return new Frame(subData);
-                case "subtitle":
-                    return new Subtitle(subData);
-                default:
-                    LOGGER.error("Unknown type: " + type);
-                    return null;
-            }
-        });
+        return probeData.getSubDataList("packets_and_frames",
+                FFprobeResult::toPacketFrameSubtitle);
     }
 
     /**
@@ -137,4 +175,44 @@ public class FFprobeResult {
     public List<Chapter> getChapters() {
         return probeData.getSubDataList("chapters", Chapter::new);
     }
+
+    /**
+     * Converts element of "frames" section.
+     *
+     * @param subData frame or subtitle data
+     * @return frame or subtitle
+     */
+    static FrameSubtitle toFrameSubtitle(final ProbeData subData) {
+        StreamType streamType = subData.getStreamType("media_type");
+        if (streamType == StreamType.SUBTITLE) {
+            return new Subtitle(subData);
+        }
+        return new Frame(subData);
+    }
+
+    /**
+     * Converts element of "packets_and_frames" section.
+     *
+     * @param subData packet, frame or subtitle data
+     * @return packet, frame, subtitle or null if type is unknown
+     */
+    static PacketFrameSubtitle toPacketFrameSubtitle(final ProbeData subData) {
+        String type = subData.getString("type");
+        if (type == null) {
+            LOGGER.error("No type property found");
+            return null;
+        }
+
+        switch (type) {
+            case "packet":
+                return new Packet(subData);
+            case "frame":
+                return new Frame(subData);
+            case "subtitle":
+                return new Subtitle(subData);
+            default:
+                LOGGER.error("Unknown type: " + type);
+                return null;
+        }
+    }
 }
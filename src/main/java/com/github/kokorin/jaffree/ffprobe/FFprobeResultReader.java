@@ -19,6 +19,7 @@ package com.github.kokorin.jaffree.ffprobe;
 
 import com.github.kokorin.jaffree.ffprobe.data.FormatParser;
 import com.github.kokorin.jaffree.ffprobe.data.ProbeData;
+import com.github.kokorin.jaffree.ffprobe.data.StreamingFormatParser;
 import com.github.kokorin.jaffree.log.LogMessage;
 import com.github.kokorin.jaffree.process.StdReader;
 
@@ -32,6 +33,7 @@ import java.util.List;
 public class FFprobeResultReader implements StdReader<FFprobeResult> {
 
     private final FormatParser parser;
+    private final ProbeListener listener;
 
     /**
      * Creates {@link FFprobeResultReader}.
@@ -40,6 +42,23 @@ public class FFprobeResultReader implements StdReader<FFprobeResult> {
      */
     public FFprobeResultReader(final FormatParser parser) {
         this.parser = parser;
+        this.listener = null;
+    }
+
+    /**
+     * Creates {@link FFprobeResultReader} which passes packets, frames and subtitles to
+     * listener instead of keeping them in {@link FFprobeResult}.
+     *
+     * @param parser   streaming parser
+     * @param listener packet, frame and subtitle listener
+     */
+    public FFprobeResultReader(final StreamingFormatParser parser, final ProbeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener must be non null");
+        }
+
+        this.parser = parser;
+        this.listener = listener;
     }
 
     /**
@@ -47,7 +66,12 @@ public class FFprobeResultReader implements StdReader<FFprobeResult> {
      */
     @Override
     public FFprobeResult read(final InputStream stdOut) {
-        ProbeData probeData = parser.parse(stdOut);
+        ProbeData probeData;
+        if (listener == null) {
+            probeData = parser.parse(stdOut);
+        } else {
+            probeData = ((StreamingFormatParser) parser).parse(stdOut, this::onSubData);
+        }
 
         return new FFprobeResult(probeData);
     }
@@ -59,4 +83,30 @@ public class FFprobeResultReader implements StdReader<FFprobeResult> {
     public List<LogMessage> getErrorLogMessages() {
         return Collections.emptyList();
     }
+
+    private boolean onSubData(final String section, final ProbeData data) {
+        switch (section) {
+            case "packets":
+                listener.onPacket(new Packet(data));
+                return true;
+            case "frames":
+                notify(FFprobeResult.toFrameSubtitle(data));
+                return true;
+            case "packets_and_frames":
+                notify(FFprobeResult.toPacketFrameSubtitle(data));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void notify(final FrameSubtitle element) {
+        if (element instanceof Packet) {
+            listener.onPacket((Packet) element);
+        } else if (element instanceof Frame) {
+            listener.onFrame((Frame) element);
+        } else if (element instanceof Subtitle) {
+            listener.onSubtitle((Subtitle) element);
+        }
+    }
 }
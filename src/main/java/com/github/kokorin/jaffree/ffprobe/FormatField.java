@@ -0,0 +1,104 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+/**
+ * Format (container) fields, see {@link Format} for their meaning.
+ *
+ * @see FFprobe#select(ProbeField...)
+ */
+public enum FormatField implements ProbeField {
+    /**
+     * Input file name, see {@link Format#getFilename()}.
+     */
+    FILENAME("format", "filename"),
+
+    /**
+     * Number of streams, see {@link Format#getNbStreams()}.
+     */
+    NB_STREAMS("format", "nb_streams"),
+
+    /**
+     * Number of programs, see {@link Format#getNbPrograms()}.
+     */
+    NB_PROGRAMS("format", "nb_programs"),
+
+    /**
+     * Format name, see {@link Format#getFormatName()}.
+     */
+    FORMAT_NAME("format", "format_name"),
+
+    /**
+     * Format long name, see {@link Format#getFormatLongName()}.
+     */
+    FORMAT_LONG_NAME("format", "format_long_name"),
+
+    /**
+     * Start time, see {@link Format#getStartTime()}.
+     */
+    START_TIME("format", "start_time"),
+
+    /**
+     * Duration, see {@link Format#getDuration()}.
+     */
+    DURATION("format", "duration"),
+
+    /**
+     * File size, see {@link Format#getSize()}.
+     */
+    SIZE("format", "size"),
+
+    /**
+     * Bit rate, see {@link Format#getBitRate()}.
+     */
+    BIT_RATE("format", "bit_rate"),
+
+    /**
+     * Probe score, see {@link Format#getProbeScore()}.
+     */
+    PROBE_SCORE("format", "probe_score"),
+
+    /**
+     * All format tags, see {@link Format#getTag(String)}.
+     */
+    TAGS("format_tags", null);
+
+    private final String section;
+    private final String entry;
+
+    FormatField(final String section, final String entry) {
+        this.section = section;
+        this.entry = entry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSection() {
+        return section;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getEntry() {
+        return entry;
+    }
+}
@@ -0,0 +1,506 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.StreamType;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * {@link FrameTable} keeps frames in primitive columns.
+ * <p>
+ * Numeric fields are stored in {@code long[]} columns, flags in bitsets and strings
+ * (pixel or sample format, picture type) are dictionary-encoded. Subtitles are not kept.
+ * <p>
+ * {@link FrameTable} is built while ffprobe output is parsed:
+ * <pre>{@code
+ * FrameTable.Builder builder = FrameTable.builder();
+ * FFprobe.atPath()
+ *         .setShowFrames(true)
+ *         .setProbeListener(builder)
+ *         .setInput(pathToVideo)
+ *         .execute();
+ *
+ * FrameTable frames = builder.build();
+ * }</pre>
+ *
+ * @see PacketTable
+ */
+public final class FrameTable {
+    private final int size;
+    private final LongColumn streamIndex;
+    private final StringColumn mediaType;
+    private final LongColumn pts;
+    private final LongColumn pktDts;
+    private final LongColumn bestEffortTimestamp;
+    private final LongColumn duration;
+    private final LongColumn pktPos;
+    private final LongColumn pktSize;
+    private final LongColumn width;
+    private final LongColumn height;
+    private final LongColumn nbSamples;
+    private final StringColumn format;
+    private final StringColumn pictType;
+    private final BitSet keyFrame;
+    private final BitSet interlaced;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private FrameTable(final Builder builder) {
+        this.size = builder.size;
+        this.streamIndex = builder.streamIndex;
+        this.mediaType = builder.mediaType;
+        this.pts = builder.pts;
+        this.pktDts = builder.pktDts;
+        this.bestEffortTimestamp = builder.bestEffortTimestamp;
+        this.duration = builder.duration;
+        this.pktPos = builder.pktPos;
+        this.pktSize = builder.pktSize;
+        this.width = builder.width;
+        this.height = builder.height;
+        this.nbSamples = builder.nbSamples;
+        this.format = builder.format;
+        this.pictType = builder.pictType;
+        this.keyFrame = builder.keyFrame;
+        this.interlaced = builder.interlaced;
+    }
+
+    /**
+     * @return number of frames
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row frame index
+     * @return stream index, or {@link PacketTable#NO_VALUE}
+     */
+    public long getStreamIndex(final int row) {
+        return streamIndex.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return media type, or null
+     */
+    public StreamType getMediaType(final int row) {
+        String value = mediaType.get(row);
+        if (value == null) {
+            return null;
+        }
+        return StreamType.valueOf(value);
+    }
+
+    /**
+     * Returns frame pts, or pts of the packet the frame was decoded from (older ffprobe
+     * versions don't report frame pts).
+     *
+     * @param row frame index
+     * @return presentation timestamp in stream time base, or {@link PacketTable#NO_VALUE}
+     */
+    public long getPts(final int row) {
+        return pts.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return dts of the packet the frame was decoded from, or {@link PacketTable#NO_VALUE}
+     */
+    public long getPktDts(final int row) {
+        return pktDts.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return best effort timestamp in stream time base, or {@link PacketTable#NO_VALUE}
+     */
+    public long getBestEffortTimestamp(final int row) {
+        return bestEffortTimestamp.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return duration in stream time base, or {@link PacketTable#NO_VALUE}
+     */
+    public long getDuration(final int row) {
+        return duration.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return byte position of the packet in input, or {@link PacketTable#NO_VALUE}
+     */
+    public long getPktPos(final int row) {
+        return pktPos.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return size of the packet in bytes, or {@link PacketTable#NO_VALUE}
+     */
+    public long getPktSize(final int row) {
+        return pktSize.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return video frame width, or {@link PacketTable#NO_VALUE}
+     */
+    public long getWidth(final int row) {
+        return width.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return video frame height, or {@link PacketTable#NO_VALUE}
+     */
+    public long getHeight(final int row) {
+        return height.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return number of audio samples, or {@link PacketTable#NO_VALUE}
+     */
+    public long getNbSamples(final int row) {
+        return nbSamples.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return pixel format of video frame or sample format of audio frame, or null
+     */
+    public String getFormat(final int row) {
+        return format.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return picture type (I, P, B, etc), or null
+     */
+    public String getPictType(final int row) {
+        return pictType.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return true if key frame
+     */
+    public boolean isKeyFrame(final int row) {
+        return keyFrame.get(row);
+    }
+
+    /**
+     * @param row frame index
+     * @return true if interlaced frame
+     */
+    public boolean isInterlaced(final int row) {
+        return interlaced.get(row);
+    }
+
+    /**
+     * @return indices of key frames
+     */
+    public BitSet getKeyFrames() {
+        return (BitSet) keyFrame.clone();
+    }
+
+    /**
+     * @return distinct pixel and sample formats
+     */
+    public List<String> getFormats() {
+        return format.getDictionary();
+    }
+
+    /**
+     * @return approximate size of all columns in bytes
+     */
+    public long getMemoryBytes() {
+        return streamIndex.getMemoryBytes() + mediaType.getMemoryBytes() + pts.getMemoryBytes()
+                + pktDts.getMemoryBytes() + bestEffortTimestamp.getMemoryBytes()
+                + duration.getMemoryBytes() + pktPos.getMemoryBytes() + pktSize.getMemoryBytes()
+                + width.getMemoryBytes() + height.getMemoryBytes() + nbSamples.getMemoryBytes()
+                + format.getMemoryBytes() + pictType.getMemoryBytes()
+                + (keyFrame.size() + interlaced.size()) / Byte.SIZE;
+    }
+
+    /**
+     * Creates cursor positioned before the first frame.
+     *
+     * @return cursor
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Creates {@link Builder}.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * {@link Cursor} iterates over frames without allocating an object per frame.
+     */
+    public final class Cursor {
+        private int row = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves cursor to the next frame.
+         *
+         * @return false if there are no more frames
+         */
+        public boolean next() {
+            if (row + 1 >= size) {
+                row = size;
+                return false;
+            }
+            row++;
+            return true;
+        }
+
+        /**
+         * Moves cursor to the specified frame.
+         *
+         * @param frameIndex frame index
+         * @return this
+         */
+        public Cursor moveTo(final int frameIndex) {
+            if (frameIndex < 0 || frameIndex >= size) {
+                throw new IndexOutOfBoundsException("Frame index: " + frameIndex
+                        + ", size: " + size);
+            }
+            this.row = frameIndex;
+            return this;
+        }
+
+        /**
+         * @return index of current frame
+         */
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * @return stream index, or {@link PacketTable#NO_VALUE}
+         */
+        public long getStreamIndex() {
+            return FrameTable.this.getStreamIndex(row);
+        }
+
+        /**
+         * @return media type, or null
+         */
+        public StreamType getMediaType() {
+            return FrameTable.this.getMediaType(row);
+        }
+
+        /**
+         * @return presentation timestamp in stream time base, or {@link PacketTable#NO_VALUE}
+         */
+        public long getPts() {
+            return FrameTable.this.getPts(row);
+        }
+
+        /**
+         * @return dts of the packet the frame was decoded from, or
+         * {@link PacketTable#NO_VALUE}
+         */
+        public long getPktDts() {
+            return FrameTable.this.getPktDts(row);
+        }
+
+        /**
+         * @return best effort timestamp in stream time base, or {@link PacketTable#NO_VALUE}
+         */
+        public long getBestEffortTimestamp() {
+            return FrameTable.this.getBestEffortTimestamp(row);
+        }
+
+        /**
+         * @return duration in stream time base, or {@link PacketTable#NO_VALUE}
+         */
+        public long getDuration() {
+            return FrameTable.this.getDuration(row);
+        }
+
+        /**
+         * @return byte position of the packet in input, or {@link PacketTable#NO_VALUE}
+         */
+        public long getPktPos() {
+            return FrameTable.this.getPktPos(row);
+        }
+
+        /**
+         * @return size of the packet in bytes, or {@link PacketTable#NO_VALUE}
+         */
+        public long getPktSize() {
+            return FrameTable.this.getPktSize(row);
+        }
+
+        /**
+         * @return video frame width, or {@link PacketTable#NO_VALUE}
+         */
+        public long getWidth() {
+            return FrameTable.this.getWidth(row);
+        }
+
+        /**
+         * @return video frame height, or {@link PacketTable#NO_VALUE}
+         */
+        public long getHeight() {
+            return FrameTable.this.getHeight(row);
+        }
+
+        /**
+         * @return number of audio samples, or {@link PacketTable#NO_VALUE}
+         */
+        public long getNbSamples() {
+            return FrameTable.this.getNbSamples(row);
+        }
+
+        /**
+         * @return pixel format of video frame or sample format of audio frame, or null
+         */
+        public String getFormat() {
+            return FrameTable.this.getFormat(row);
+        }
+
+        /**
+         * @return picture type (I, P, B, etc), or null
+         */
+        public String getPictType() {
+            return FrameTable.this.getPictType(row);
+        }
+
+        /**
+         * @return true if key frame
+         */
+        public boolean isKeyFrame() {
+            return FrameTable.this.isKeyFrame(row);
+        }
+
+        /**
+         * @return true if interlaced frame
+         */
+        public boolean isInterlaced() {
+            return FrameTable.this.isInterlaced(row);
+        }
+    }
+
+    /**
+     * {@link Builder} appends frames to columns as soon as ffprobe outputs them.
+     * <p>
+     * Builder is not thread-safe, it's intended to be passed to
+     * {@link FFprobe#setProbeListener(ProbeListener)}.
+     */
+    public static final class Builder implements ProbeListener {
+        private int size = 0;
+        private final LongColumn streamIndex = new LongColumn(INITIAL_CAPACITY);
+        private final StringColumn mediaType = new StringColumn(INITIAL_CAPACITY);
+        private final LongColumn pts = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn pktDts = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn bestEffortTimestamp = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn duration = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn pktPos = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn pktSize = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn width = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn height = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn nbSamples = new LongColumn(INITIAL_CAPACITY);
+        private final StringColumn format = new StringColumn(INITIAL_CAPACITY);
+        private final StringColumn pictType = new StringColumn(INITIAL_CAPACITY);
+        private final BitSet keyFrame = new BitSet();
+        private final BitSet interlaced = new BitSet();
+
+        private Builder() {
+        }
+
+        /**
+         * Appends frame.
+         *
+         * @param frame frame
+         */
+        @Override
+        public void onFrame(final Frame frame) {
+            StreamType type = frame.getMediaType();
+
+            streamIndex.add(frame.getStreamIndex());
+            mediaType.add(type == null ? null : type.name());
+            pts.add(firstNonNull(frame.getPts(), frame.getPktPts()));
+            pktDts.add(frame.getPktDts());
+            bestEffortTimestamp.add(frame.getBestEffortTimestamp());
+            // ffprobe 5.0+ reports "duration" instead of "pkt_duration"
+            duration.add(firstNonNull(frame.getProbeData().getLong("duration"),
+                    frame.getPktDuration()));
+            pktPos.add(frame.getPktPos());
+            pktSize.add(frame.getPktSize());
+            width.add(frame.getWidth());
+            height.add(frame.getHeight());
+            nbSamples.add(frame.getNbSamples());
+            format.add(type == StreamType.AUDIO ? frame.getSampleFmt() : frame.getPixFmt());
+            pictType.add(frame.getPictType());
+            keyFrame.set(size, Boolean.TRUE.equals(frame.getKeyFrame()));
+            interlaced.set(size, Boolean.TRUE.equals(frame.getInterlacedFrame()));
+            size++;
+        }
+
+        /**
+         * @return number of appended frames
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Creates {@link FrameTable}. Builder must not be used after that.
+         *
+         * @return frame table
+         */
+        public FrameTable build() {
+            streamIndex.trim();
+            mediaType.trim();
+            pts.trim();
+            pktDts.trim();
+            bestEffortTimestamp.trim();
+            duration.trim();
+            pktPos.trim();
+            pktSize.trim();
+            width.trim();
+            height.trim();
+            nbSamples.trim();
+            format.trim();
+            pictType.trim();
+            return new FrameTable(this);
+        }
+
+        private static Long firstNonNull(final Long first, final Long second) {
+            if (first != null) {
+                return first;
+            }
+            return second;
+        }
+    }
+}
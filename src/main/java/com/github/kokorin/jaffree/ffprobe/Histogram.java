@@ -0,0 +1,155 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+/**
+ * {@link Histogram} counts values in fixed-width buckets. Values beyond the last bucket are
+ * counted as overflow, so memory usage doesn't depend on number of values.
+ */
+public class Histogram {
+    private final double bucketWidth;
+    private final long[] counts;
+    private long overflowCount = 0;
+    private long totalCount = 0;
+    private double sum = 0;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    private static final double MAX_PERCENTILE = 100;
+
+    /**
+     * Creates {@link Histogram}.
+     *
+     * @param bucketWidth width of every bucket
+     * @param bucketCount number of buckets, bucket {@code i} counts values in range
+     *                    {@code [i * bucketWidth, (i + 1) * bucketWidth)}
+     */
+    public Histogram(final double bucketWidth, final int bucketCount) {
+        if (bucketWidth <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket width and count must be positive");
+        }
+        this.bucketWidth = bucketWidth;
+        this.counts = new long[bucketCount];
+    }
+
+    /**
+     * Adds value to histogram. Negative values are counted in the first bucket.
+     *
+     * @param value value
+     */
+    public synchronized void add(final double value) {
+        long bucket = (long) Math.floor(value / bucketWidth);
+        if (bucket >= counts.length) {
+            overflowCount++;
+        } else {
+            counts[(int) Math.max(0, bucket)]++;
+        }
+
+        if (totalCount == 0 || value < min) {
+            min = value;
+        }
+        if (totalCount == 0 || value > max) {
+            max = value;
+        }
+        sum += value;
+        totalCount++;
+    }
+
+    /**
+     * @return width of every bucket
+     */
+    public double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * @return number of buckets
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    /**
+     * @param bucket bucket index
+     * @return number of values in the bucket
+     */
+    public synchronized long getCount(final int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * @return number of values beyond the last bucket
+     */
+    public synchronized long getOverflowCount() {
+        return overflowCount;
+    }
+
+    /**
+     * @return number of values
+     */
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return minimum value, NaN if histogram is empty
+     */
+    public synchronized double getMin() {
+        return min;
+    }
+
+    /**
+     * @return maximum value, NaN if histogram is empty
+     */
+    public synchronized double getMax() {
+        return max;
+    }
+
+    /**
+     * @return mean value, NaN if histogram is empty
+     */
+    public synchronized double getMean() {
+        return totalCount == 0 ? Double.NaN : sum / totalCount;
+    }
+
+    /**
+     * Estimates percentile as upper bound of the bucket which contains it.
+     *
+     * @param percentile percentile in range [0, 100]
+     * @return percentile estimate, NaN if histogram is empty, or maximum value if percentile
+     * is in overflow
+     */
+    public synchronized double getPercentile(final double percentile) {
+        if (percentile < 0 || percentile > MAX_PERCENTILE) {
+            throw new IllegalArgumentException("Percentile must be in range [0, 100]");
+        }
+        if (totalCount == 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) Math.ceil(percentile / MAX_PERCENTILE * totalCount);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(max, (i + 1) * bucketWidth);
+            }
+        }
+        return max;
+    }
+}
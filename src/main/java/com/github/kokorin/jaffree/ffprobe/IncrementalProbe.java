@@ -0,0 +1,411 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.ffprobe.data.AbstractProbeData;
+import com.github.kokorin.jaffree.ffprobe.data.ProbeData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link IncrementalProbe} probes files which are still being written (e.g. by a recorder)
+ * without re-reading them from the beginning every time.
+ * <p>
+ * The first probe of a file reads it entirely. Every next probe asks ffprobe only for the tail
+ * of the file starting (with -read_intervals) slightly before the last packet seen so far, drops
+ * packets which were already seen and merges the rest into the previous snapshot. So every probe
+ * costs roughly the size of the data appended since the previous one.
+ * <p>
+ * Returned snapshot contains format and streams from the latest probe with extended format
+ * duration and stream packet counts (nb_read_packets) accumulated across probes, and all packets
+ * read so far (or only the latest ones, see {@link #setMaxPackets(int)}). Packets are never
+ * copied between snapshots: every snapshot is a view of an append-only packet log.
+ * <p>
+ * If a file gets smaller (i.e. it was truncated or replaced), it's probed from the beginning.
+ * <pre>{@code
+ * IncrementalProbe probe = IncrementalProbe.atPath();
+ * while (recording) {
+ *     FFprobeResult snapshot = probe.probe(pathToRecording);
+ *     LOGGER.info("Recorded: {} seconds", snapshot.getFormat().getDuration());
+ *     Thread.sleep(5_000);
+ * }
+ * probe.forget(pathToRecording);
+ * }</pre>
+ * {@link IncrementalProbe} is thread-safe, different files are probed concurrently.
+ */
+public class IncrementalProbe {
+    private final Path ffprobeDir;
+    private final Map<Path, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private volatile int maxPackets = 0;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalProbe.class);
+
+    /**
+     * Creates {@link IncrementalProbe}.
+     *
+     * @param ffprobeDir path to ffprobe directory, or null to use PATH
+     */
+    protected IncrementalProbe(final Path ffprobeDir) {
+        this.ffprobeDir = ffprobeDir;
+    }
+
+    /**
+     * Limits number of packets kept in a snapshot of every file, only the latest packets are
+     * kept. Stream packet counts (nb_read_packets) still count all packets read.
+     *
+     * @param maxPackets maximum number of packets, or 0 to keep all packets (default)
+     * @return this
+     */
+    public IncrementalProbe setMaxPackets(final int maxPackets) {
+        if (maxPackets < 0) {
+            throw new IllegalArgumentException("Max packets cannot be negative");
+        }
+        this.maxPackets = maxPackets;
+        return this;
+    }
+
+    /**
+     * Probes new data of the file and merges it into the file's snapshot.
+     * <p>
+     * If the file hasn't changed since the previous probe, previous snapshot is returned and
+     * ffprobe isn't executed.
+     *
+     * @param input path to media file
+     * @return snapshot of all data probed so far
+     */
+    public FFprobeResult probe(final Path input) {
+        Path key = input.toAbsolutePath().normalize();
+        Snapshot snapshot = snapshots.computeIfAbsent(key, k -> new Snapshot());
+
+        long size;
+        long modifiedMillis;
+        try {
+            size = Files.size(input);
+            modifiedMillis = Files.getLastModifiedTime(input).toMillis();
+        } catch (IOException e) {
+            throw new JaffreeException("Failed to read attributes of " + input, e);
+        }
+
+        synchronized (snapshot) {
+            if (snapshot.result != null && size == snapshot.size
+                    && modifiedMillis == snapshot.modifiedMillis) {
+                return snapshot.result;
+            }
+
+            if (size < snapshot.size) {
+                LOGGER.debug("{} has shrunk, probing it from the beginning", input);
+                snapshot.reset();
+            }
+
+            String interval = snapshot.nextInterval();
+            FFprobe ffprobe = FFprobe.atPath(ffprobeDir)
+                    .setShowFormat(true)
+                    .setShowStreams(true)
+                    .setShowPackets(true)
+                    .setInput(input);
+            if (interval != null) {
+                LOGGER.debug("Probing {} starting at {}", input, interval);
+                ffprobe.setReadIntervals(interval);
+            }
+
+            snapshot.merge(ffprobe.execute(), maxPackets);
+            snapshot.size = size;
+            snapshot.modifiedMillis = modifiedMillis;
+            return snapshot.result;
+        }
+    }
+
+    /**
+     * Drops snapshot of the file, so the next probe reads it from the beginning.
+     *
+     * @param input path to media file
+     */
+    public void forget(final Path input) {
+        snapshots.remove(input.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Creates {@link IncrementalProbe}.
+     * <p>
+     * Note: directory with ffprobe binaries must be in PATH environment variable.
+     *
+     * @return IncrementalProbe
+     */
+    public static IncrementalProbe atPath() {
+        return atPath(null);
+    }
+
+    /**
+     * Creates {@link IncrementalProbe}.
+     *
+     * @param pathToDir path to ffprobe directory
+     * @return IncrementalProbe
+     */
+    public static IncrementalProbe atPath(final Path pathToDir) {
+        return new IncrementalProbe(pathToDir);
+    }
+
+    /**
+     * Probe state of a single file.
+     */
+    private static final class Snapshot {
+        private long size = 0;
+        private long modifiedMillis = 0;
+        private FFprobeResult result;
+        private Double startTime;
+        private double duration = 0;
+        private PacketLog packets = new PacketLog();
+        private final Map<Integer, Double> lastTimes = new HashMap<>();
+        private final Map<Integer, Long> packetCounts = new HashMap<>();
+
+        void reset() {
+            size = 0;
+            modifiedMillis = 0;
+            result = null;
+            startTime = null;
+            duration = 0;
+            packets = new PacketLog();
+            lastTimes.clear();
+            packetCounts.clear();
+        }
+
+        String nextInterval() {
+            if (lastTimes.isEmpty()) {
+                return null;
+            }
+
+            // Start a bit earlier to cover interleaving of streams: ffprobe seeks to preceding
+            // keyframe anyway and packets which were already seen are dropped
+            double start = Collections.min(lastTimes.values()) - IntervalProbe.OVERLAP_SECONDS;
+            if (startTime != null) {
+                start = Math.max(start, startTime);
+            }
+            return String.format(Locale.ROOT, "%.6f", Math.max(start, 0));
+        }
+
+        void merge(final FFprobeResult probed, final int maxPackets) {
+            ProbeData data = probed.getData();
+            ProbeData format = data.getSubData("format");
+            if (format != null && startTime == null) {
+                startTime = format.getDouble("start_time");
+            }
+
+            List<ProbeData> newPackets = data.getSubDataList("packets");
+            if (newPackets != null) {
+                for (ProbeData packet : newPackets) {
+                    append(packet);
+                }
+            }
+            if (maxPackets > 0) {
+                packets.retainLast(maxPackets);
+            }
+
+            if (format != null && format.getDouble("duration") != null) {
+                duration = Math.max(duration, format.getDouble("duration"));
+            }
+
+            Map<String, ProbeData> subData = new HashMap<>();
+            if (format != null) {
+                subData.put("format", new SnapshotProbeData(format,
+                        Collections.singletonMap("duration", duration),
+                        Collections.emptyMap(), Collections.emptyMap()));
+            }
+
+            Map<String, List<ProbeData>> subDataLists = new HashMap<>();
+            subDataLists.put("packets", packets.view());
+            List<ProbeData> streams = data.getSubDataList("streams");
+            if (streams != null) {
+                List<ProbeData> mergedStreams = new ArrayList<>(streams.size());
+                for (ProbeData stream : streams) {
+                    Long count = packetCounts.get(stream.getInteger("index"));
+                    mergedStreams.add(new SnapshotProbeData(stream,
+                            Collections.singletonMap("nb_read_packets", count == null ? 0 : count),
+                            Collections.emptyMap(), Collections.emptyMap()));
+                }
+                subDataLists.put("streams", Collections.unmodifiableList(mergedStreams));
+            }
+
+            result = new FFprobeResult(new SnapshotProbeData(data, Collections.emptyMap(),
+                    subData, subDataLists));
+            result.setResourceUsage(probed.getResourceUsage());
+            result.setProbeSize(probed.getProbeSize());
+        }
+
+        private void append(final ProbeData packet) {
+            Integer streamIndex = packet.getInteger("stream_index");
+            Double time = packet.getDouble("dts_time");
+            if (time == null) {
+                time = packet.getDouble("pts_time");
+            }
+
+            if (streamIndex != null && time != null) {
+                Double lastTime = lastTimes.get(streamIndex);
+                if (lastTime != null && time <= lastTime) {
+                    return;
+                }
+                lastTimes.put(streamIndex, time);
+
+                Double packetDuration = packet.getDouble("duration_time");
+                double end = time + (packetDuration == null ? 0 : packetDuration);
+                duration = Math.max(duration, end - (startTime == null ? 0 : startTime));
+            } else if (!lastTimes.isEmpty()) {
+                // packets without timestamps can't be told apart after seek
+                return;
+            }
+
+            packets.add(packet);
+            packetCounts.merge(streamIndex, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Append-only list of packets stored in fixed-size chunks. Stored packets never move,
+     * so views of already added packets are created without copying and stay valid while
+     * more packets are added. Dropped chunks are released once no view refers to them.
+     */
+    private static final class PacketLog {
+        private ProbeData[][] chunks = new ProbeData[INITIAL_CHUNKS][];
+        // absolute index of the first retained packet and of the next packet to add
+        private long first = 0;
+        private long end = 0;
+        // absolute index of the first packet in chunks[0]
+        private long chunksStart = 0;
+
+        private static final int CHUNK_SIZE = 1024;
+        private static final int INITIAL_CHUNKS = 4;
+
+        void add(final ProbeData packet) {
+            int chunk = (int) ((end - chunksStart) / CHUNK_SIZE);
+            if (chunk == chunks.length) {
+                // views refer to current array, so it's copied, never modified in place
+                chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = new ProbeData[CHUNK_SIZE];
+            }
+            chunks[chunk][(int) ((end - chunksStart) % CHUNK_SIZE)] = packet;
+            end++;
+        }
+
+        void retainLast(final int count) {
+            first = Math.max(first, end - count);
+            int dropped = (int) ((first - chunksStart) / CHUNK_SIZE);
+            if (dropped > 0) {
+                ProbeData[][] retained = new ProbeData[Math.max(INITIAL_CHUNKS,
+                        chunks.length - dropped)][];
+                System.arraycopy(chunks, dropped, retained, 0, chunks.length - dropped);
+                chunks = retained;
+                chunksStart += (long) dropped * CHUNK_SIZE;
+            }
+        }
+
+        List<ProbeData> view() {
+            return new View(chunks, chunksStart, first, end);
+        }
+
+        /**
+         * Immutable view of packets added so far.
+         */
+        private static final class View extends AbstractList<ProbeData> implements RandomAccess {
+            private final ProbeData[][] chunks;
+            private final long chunksStart;
+            private final long first;
+            private final int size;
+
+            View(final ProbeData[][] chunks, final long chunksStart, final long first,
+                 final long end) {
+                this.chunks = chunks;
+                this.chunksStart = chunksStart;
+                this.first = first;
+                this.size = (int) (end - first);
+            }
+
+            @Override
+            public ProbeData get(final int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+                }
+                long offset = first + index - chunksStart;
+                return chunks[(int) (offset / CHUNK_SIZE)][(int) (offset % CHUNK_SIZE)];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }
+    }
+
+    /**
+     * ffprobe data with some values, sections and section lists replaced.
+     */
+    private static final class SnapshotProbeData extends AbstractProbeData {
+        private final ProbeData delegate;
+        private final Map<String, ?> values;
+        private final Map<String, ProbeData> subData;
+        private final Map<String, List<ProbeData>> subDataLists;
+
+        SnapshotProbeData(final ProbeData delegate, final Map<String, ?> values,
+                          final Map<String, ProbeData> subData,
+                          final Map<String, List<ProbeData>> subDataLists) {
+            this.delegate = delegate;
+            this.values = values;
+            this.subData = subData;
+            this.subDataLists = subDataLists;
+        }
+
+        @Override
+        public Object getValue(final String name) {
+            if (values.containsKey(name)) {
+                return values.get(name);
+            }
+            return delegate.getValue(name);
+        }
+
+        @Override
+        public ProbeData getSubData(final String name) {
+            if (subData.containsKey(name)) {
+                return subData.get(name);
+            }
+            return delegate.getSubData(name);
+        }
+
+        @Override
+        public List<ProbeData> getSubDataList(final String name) {
+            if (subDataLists.containsKey(name)) {
+                return subDataLists.get(name);
+            }
+            return delegate.getSubDataList(name);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.ffprobe.data.AbstractProbeData;
+import com.github.kokorin.jaffree.ffprobe.data.ProbeData;
+import com.github.kokorin.jaffree.process.ResourceUsage;
+import com.github.kokorin.jaffree.process.Stopper;
+import com.github.kokorin.jaffree.process.ThreadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * {@link IntervalProbe} splits input timeline into intervals, probes them with concurrent
+ * ffprobe processes and merges packets and frames back.
+ * <p>
+ * Every interval but the first one starts at the keyframe preceding its nominal start (this
+ * is how ffprobe seeks with -read_intervals), every interval but the last one is read
+ * {@link #OVERLAP_SECONDS} past its nominal end. So consecutive intervals always overlap and
+ * leading packets and frames of every interval (which were already read by the previous one)
+ * are dropped during merge.
+ * <p>
+ * If any interval probe fails, the others are stopped.
+ *
+ * @see FFprobe#setParallelIntervals(int)
+ */
+final class IntervalProbe {
+    private final int parallelism;
+    private final ThreadSource threadSource;
+    private final Supplier<FFprobeResult> timelineProbe;
+    private final BiFunction<String, Stopper, FFprobeResult> intervalProbe;
+
+    /**
+     * Minimum duration of a single interval.
+     */
+    static final double MIN_INTERVAL_SECONDS = 60;
+
+    /**
+     * How far every interval is read past its end. Covers packet interleaving skew.
+     */
+    static final double OVERLAP_SECONDS = 2;
+
+    private static final List<String> SECTIONS =
+            Arrays.asList("packets", "frames", "packets_and_frames");
+
+    /**
+     * Properties which identify packet or frame.
+     */
+    private static final List<String> KEY_PROPERTIES = Arrays.asList("type", "media_type",
+            "stream_index", "pts", "pts_time", "dts", "dts_time", "pkt_dts",
+            "best_effort_timestamp", "pos", "pkt_pos", "size", "pkt_size");
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IntervalProbe.class);
+
+    /**
+     * Creates {@link IntervalProbe}.
+     *
+     * @param parallelism   maximum number of intervals
+     * @param threadSource  provides threads to run interval probes
+     * @param timelineProbe probes input start time and duration
+     * @param intervalProbe probes input with specified -read_intervals, ffprobe process is
+     *                      passed to the specified {@link Stopper}
+     */
+    IntervalProbe(final int parallelism, final ThreadSource threadSource,
+                  final Supplier<FFprobeResult> timelineProbe,
+                  final BiFunction<String, Stopper, FFprobeResult> intervalProbe) {
+        this.parallelism = parallelism;
+        this.threadSource = threadSource;
+        this.timelineProbe = timelineProbe;
+        this.intervalProbe = intervalProbe;
+    }
+
+    /**
+     * Probes input intervals concurrently.
+     *
+     * @return merged result, or null if input is too short or its duration is unknown
+     */
+    FFprobeResult execute() {
+        Format format = timelineProbe.get().getFormat();
+        Double duration = format == null ? null : format.getProbeData().getDouble("duration");
+        if (duration == null) {
+            LOGGER.debug("Input duration is unknown, can't split it into intervals");
+            return null;
+        }
+        Double startTime = format.getProbeData().getDouble("start_time");
+
+        List<String> intervals = split(startTime == null ? 0 : startTime, duration);
+        if (intervals.size() < 2) {
+            return null;
+        }
+
+        long started = System.currentTimeMillis();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        List<IntervalTask> tasks = new ArrayList<>(intervals.size());
+        for (String interval : intervals) {
+            tasks.add(new IntervalTask(interval, tasks, firstFailure));
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                threadSource.execute("FFprobe-interval-runner-" + i, tasks.get(i));
+            } catch (RuntimeException e) {
+                stopAll(tasks);
+                throw e;
+            }
+        }
+
+        List<FFprobeResult> results = new ArrayList<>(tasks.size());
+        for (IntervalTask task : tasks) {
+            try {
+                results.add(task.result.get());
+            } catch (ExecutionException | CancellationException e) {
+                // the first failure is reported, others are caused by stopping
+            } catch (InterruptedException e) {
+                stopAll(tasks);
+                Thread.currentThread().interrupt();
+                throw new JaffreeException("Interrupted while waiting for interval probes", e);
+            }
+        }
+
+        Throwable failure = firstFailure.get();
+
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new JaffreeException("Interval probe failed", failure);
+        }
+
+        FFprobeResult result = new FFprobeResult(merge(results));
+        result.setResourceUsage(sum(results, System.currentTimeMillis() - started));
+        result.setProbeSize(results.get(0).getProbeSize());
+        return result;
+    }
+
+    private static void stopAll(final List<IntervalTask> tasks) {
+        for (IntervalTask task : tasks) {
+            task.forceStop();
+        }
+    }
+
+    /**
+     * Splits timeline into -read_intervals specifications.
+     *
+     * @param startTime input start time in seconds
+     * @param duration  input duration in seconds
+     * @return interval specifications, empty if input is too short to split
+     */
+    List<String> split(final double startTime, final double duration) {
+        int count = (int) Math.min(parallelism, Math.floor(duration / MIN_INTERVAL_SECONDS));
+        if (count < 2) {
+            return Collections.emptyList();
+        }
+
+        double length = duration / count;
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String interval = "";
+            if (i > 0) {
+                interval += formatSeconds(startTime + i * length);
+            }
+            if (i < count - 1) {
+                interval += "%+" + formatSeconds(length + OVERLAP_SECONDS);
+            }
+            result.add(interval);
+        }
+        return result;
+    }
+
+    /**
+     * Merges packets and frames of interval results. Other sections are taken from the first
+     * result.
+     *
+     * @param results interval results in timeline order
+     * @return merged data
+     */
+    static ProbeData merge(final List<FFprobeResult> results) {
+        Map<String, List<ProbeData>> merged = new HashMap<>();
+        for (String section : SECTIONS) {
+            List<ProbeData> sectionData = null;
+            Set<String> previousKeys = Collections.emptySet();
+
+            for (FFprobeResult result : results) {
+                List<ProbeData> items = result.getData().getSubDataList(section);
+                if (items == null || items.isEmpty()) {
+                    continue;
+                }
+                if (sectionData == null) {
+                    sectionData = new ArrayList<>();
+                }
+
+                // Leading items of an interval were read by the previous one too
+                int skip = 0;
+                while (skip < items.size() && previousKeys.contains(toKey(items.get(skip)))) {
+                    skip++;
+                }
+                sectionData.addAll(items.subList(skip, items.size()));
+
+                previousKeys = new HashSet<>(items.size() * 2);
+                for (ProbeData item : items) {
+                    previousKeys.add(toKey(item));
+                }
+            }
+
+            if (sectionData != null) {
+                merged.put(section, Collections.unmodifiableList(sectionData));
+            }
+        }
+
+        return new MergedProbeData(results.get(0).getData(), merged);
+    }
+
+    private static String toKey(final ProbeData data) {
+        StringBuilder result = new StringBuilder();
+        for (String property : KEY_PROPERTIES) {
+            Object value = data.getValue(property);
+            if (value != null) {
+                result.append(value);
+            }
+            result.append('|');
+        }
+        return result.toString();
+    }
+
+    private static String formatSeconds(final double seconds) {
+        return String.format(Locale.ROOT, "%.6f", seconds);
+    }
+
+    private static ResourceUsage sum(final List<FFprobeResult> results, final long wallMillis) {
+        Long userCpu = 0L;
+        Long systemCpu = 0L;
+        Long peakRss = 0L;
+        Long read = 0L;
+        Long write = 0L;
+        Long storageRead = 0L;
+        Long storageWrite = 0L;
+        for (FFprobeResult result : results) {
+            ResourceUsage usage = result.getResourceUsage();
+            if (usage == null) {
+                return null;
+            }
+            userCpu = add(userCpu, usage.getUserCpuMillis());
+            systemCpu = add(systemCpu, usage.getSystemCpuMillis());
+            // processes run concurrently
+            peakRss = add(peakRss, usage.getPeakRssBytes());
+            read = add(read, usage.getReadBytes());
+            write = add(write, usage.getWriteBytes());
+            storageRead = add(storageRead, usage.getStorageReadBytes());
+            storageWrite = add(storageWrite, usage.getStorageWriteBytes());
+        }
+        return new ResourceUsage(userCpu, systemCpu, peakRss, read, write, storageRead,
+                storageWrite, wallMillis);
+    }
+
+    private static Long add(final Long total, final Long value) {
+        if (total == null || value == null) {
+            return null;
+        }
+        return total + value;
+    }
+
+    /**
+     * Probe of a single interval, also serves as {@link Stopper} of its ffprobe process.
+     */
+    private final class IntervalTask implements Runnable, Stopper {
+        private final String interval;
+        private final List<IntervalTask> all;
+        private final AtomicReference<Throwable> firstFailure;
+        private final CompletableFuture<FFprobeResult> result = new CompletableFuture<>();
+        private volatile Process process;
+        private volatile boolean stopped;
+
+        IntervalTask(final String interval, final List<IntervalTask> all,
+                     final AtomicReference<Throwable> firstFailure) {
+            this.interval = interval;
+            this.all = all;
+            this.firstFailure = firstFailure;
+        }
+
+        @Override
+        public void run() {
+            if (stopped) {
+                result.completeExceptionally(new CancellationException());
+                return;
+            }
+
+            try {
+                result.complete(intervalProbe.apply(interval, this));
+            } catch (Throwable e) {
+                if (!stopped && firstFailure.compareAndSet(null, e)) {
+                    LOGGER.warn("Interval probe {} failed, stopping others", interval);
+                    stopAll(all);
+                }
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void graceStop() {
+            forceStop();
+        }
+
+        @Override
+        public void forceStop() {
+            stopped = true;
+            Process current = process;
+            if (current != null) {
+                current.destroyForcibly();
+            }
+        }
+
+        @Override
+        public void setProcess(final Process process) {
+            this.process = process;
+            if (stopped) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Data of the first interval with merged packets and frames.
+     */
+    private static final class MergedProbeData extends AbstractProbeData {
+        private final ProbeData delegate;
+        private final Map<String, List<ProbeData>> merged;
+
+        MergedProbeData(final ProbeData delegate, final Map<String, List<ProbeData>> merged) {
+            this.delegate = delegate;
+            this.merged = merged;
+        }
+
+        @Override
+        public Object getValue(final String name) {
+            return delegate.getValue(name);
+        }
+
+        @Override
+        public ProbeData getSubData(final String name) {
+            return delegate.getSubData(name);
+        }
+
+        @Override
+        public List<ProbeData> getSubDataList(final String name) {
+            if (merged.containsKey(name)) {
+                return merged.get(name);
+            }
+            return delegate.getSubDataList(name);
+        }
+    }
+}
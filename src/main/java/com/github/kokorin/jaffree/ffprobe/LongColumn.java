@@ -0,0 +1,92 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import java.util.Arrays;
+
+/**
+ * Growable column of primitive long values.
+ */
+final class LongColumn {
+    private long[] values;
+    private int size = 0;
+
+    /**
+     * Creates {@link LongColumn}.
+     *
+     * @param capacity initial capacity
+     */
+    LongColumn(final int capacity) {
+        this.values = new long[capacity];
+    }
+
+    /**
+     * Appends value.
+     *
+     * @param value value, {@link PacketTable#NO_VALUE} if value is absent
+     */
+    void add(final long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, grow(values.length));
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Appends value.
+     *
+     * @param value value, may be null
+     */
+    void add(final Number value) {
+        add(value == null ? PacketTable.NO_VALUE : value.longValue());
+    }
+
+    /**
+     * @param row row index
+     * @return value
+     */
+    long get(final int row) {
+        return values[row];
+    }
+
+    /**
+     * Releases unused capacity.
+     */
+    void trim() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * @return column size in bytes
+     */
+    long getMemoryBytes() {
+        return (long) values.length * Long.BYTES;
+    }
+
+    /**
+     * Returns new capacity: 1.5 times larger than current one.
+     *
+     * @param capacity current capacity
+     * @return new capacity
+     */
+    static int grow(final int capacity) {
+        return Math.max(capacity + (capacity >> 1), capacity + 1);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.ffprobe.data.ProbeData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PacketStatistics} computes packet statistics as packets arrive from ffprobe, without
+ * keeping packets in memory: total size, sliding-window bitrate and its peak, VBV buffer
+ * estimate, GOP length and keyframe interval histograms for every stream.
+ * <p>
+ * State of every stream has constant size, so {@link PacketStatistics} can be used with
+ * arbitrarily long files and live inputs.
+ * <pre>{@code
+ * PacketStatistics statistics = new PacketStatistics()
+ *         .setBitrateListener((stream, time, bitrate) -> chart.add(stream, time, bitrate));
+ * FFprobe.atPath()
+ *         .setShowPackets(true)
+ *         .setShowEntries(PacketStatistics.SHOW_ENTRIES)
+ *         .setProbeListener(statistics)
+ *         .setInput(pathToVideo)
+ *         .execute();
+ * StreamStatistics video = statistics.getStream(0);
+ * }</pre>
+ */
+public class PacketStatistics implements ProbeListener {
+    private double windowSeconds = 1;
+    private Long vbvRate = null;
+    private BitrateListener bitrateListener = null;
+    private final Map<Integer, StreamStatistics> streams = new TreeMap<>();
+
+    /**
+     * Packet entries required by {@link PacketStatistics}, can be passed to
+     * {@link FFprobe#setShowEntries(String)} to reduce ffprobe output.
+     */
+    public static final String SHOW_ENTRIES =
+            "packet=stream_index,codec_type,pts_time,dts_time,duration_time,size,flags";
+
+    /**
+     * Sliding window consists of buckets, the window moves by one bucket.
+     */
+    private static final int WINDOW_BUCKETS = 10;
+
+    /**
+     * Sets sliding window duration, 1 second by default. Window moves by 1/10 of its duration.
+     * <p>
+     * Must be set before the first packet.
+     *
+     * @param window   window duration
+     * @param timeUnit time unit of the window argument
+     * @return this
+     */
+    public synchronized PacketStatistics setWindow(final long window, final TimeUnit timeUnit) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.windowSeconds = timeUnit.toMicros(window) / (double) TimeUnit.SECONDS.toMicros(1);
+        return this;
+    }
+
+    /**
+     * Sets VBV buffer drain rate (i.e. maximum bitrate), which enables VBV buffer size estimate.
+     * <p>
+     * Must be set before the first packet.
+     *
+     * @param bitsPerSecond VBV rate in bits per second, null to disable estimate
+     * @return this
+     * @see StreamStatistics#getVbvBufferSize()
+     */
+    public synchronized PacketStatistics setVbvRate(final Long bitsPerSecond) {
+        if (bitsPerSecond != null && bitsPerSecond <= 0) {
+            throw new IllegalArgumentException("VBV rate must be positive");
+        }
+        this.vbvRate = bitsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets listener, which receives sliding-window bitrate of every stream every time the
+     * window moves.
+     * <p>
+     * Listener is invoked in ffprobe output reading thread.
+     *
+     * @param bitrateListener bitrate listener
+     * @return this
+     */
+    public synchronized PacketStatistics setBitrateListener(
+            final BitrateListener bitrateListener) {
+        this.bitrateListener = bitrateListener;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPacket(final Packet packet) {
+        ProbeData data = packet.getProbeData();
+        Integer streamIndex = packet.getStreamIndex();
+        if (streamIndex == null) {
+            return;
+        }
+
+        Double time = data.getDouble("dts_time");
+        if (time == null) {
+            time = data.getDouble("pts_time");
+        }
+        Double duration = data.getDouble("duration_time");
+        Long size = packet.getSize();
+        String flags = packet.getFlags();
+
+        getOrCreate(streamIndex).onPacket(packet.getCodecType(),
+                time == null ? Double.NaN : time,
+                duration == null ? Double.NaN : duration,
+                size == null ? 0 : size,
+                flags != null && !flags.isEmpty() && flags.charAt(0) == 'K');
+    }
+
+    /**
+     * @param streamIndex stream index
+     * @return statistics of the stream, null if stream has no packets
+     */
+    public synchronized StreamStatistics getStream(final int streamIndex) {
+        return streams.get(streamIndex);
+    }
+
+    /**
+     * @return statistics of all streams ordered by stream index
+     */
+    public synchronized List<StreamStatistics> getStreams() {
+        return new ArrayList<>(streams.values());
+    }
+
+    private synchronized StreamStatistics getOrCreate(final int streamIndex) {
+        StreamStatistics result = streams.get(streamIndex);
+        if (result == null) {
+            result = new StreamStatistics(streamIndex, windowSeconds, WINDOW_BUCKETS, vbvRate,
+                    bitrateListener);
+            streams.put(streamIndex, result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.StreamType;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * {@link PacketTable} keeps packets in primitive columns.
+ * <p>
+ * Compared to a list of {@link Packet} (every packet is a string-keyed map of boxed values)
+ * {@link PacketTable} takes an order of magnitude less memory and allows cache-friendly
+ * scans over millions of packets. Numeric fields are stored in {@code long[]} columns,
+ * flags in bitsets and strings are dictionary-encoded.
+ * <p>
+ * {@link PacketTable} is built while ffprobe output is parsed:
+ * <pre>{@code
+ * PacketTable.Builder builder = PacketTable.builder();
+ * FFprobe.atPath()
+ *         .setShowPackets(true)
+ *         .setProbeListener(builder)
+ *         .setInput(pathToVideo)
+ *         .execute();
+ *
+ * PacketTable packets = builder.build();
+ * PacketTable.Cursor cursor = packets.cursor();
+ * while (cursor.next()) {
+ *     if (cursor.isKeyFrame()) {
+ *         System.out.println(cursor.getPts());
+ *     }
+ * }
+ * }</pre>
+ */
+public final class PacketTable {
+    private final int size;
+    private final LongColumn streamIndex;
+    private final StringColumn codecType;
+    private final LongColumn pts;
+    private final LongColumn dts;
+    private final LongColumn duration;
+    private final LongColumn packetSize;
+    private final LongColumn pos;
+    private final BitSet keyFrame;
+    private final BitSet discard;
+    private final BitSet corrupt;
+
+    /**
+     * Value of numeric column which means that value is absent.
+     */
+    public static final long NO_VALUE = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private PacketTable(final Builder builder) {
+        this.size = builder.size;
+        this.streamIndex = builder.streamIndex;
+        this.codecType = builder.codecType;
+        this.pts = builder.pts;
+        this.dts = builder.dts;
+        this.duration = builder.duration;
+        this.packetSize = builder.packetSize;
+        this.pos = builder.pos;
+        this.keyFrame = builder.keyFrame;
+        this.discard = builder.discard;
+        this.corrupt = builder.corrupt;
+    }
+
+    /**
+     * @return number of packets
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row packet index
+     * @return stream index, or {@link #NO_VALUE}
+     */
+    public long getStreamIndex(final int row) {
+        return streamIndex.get(row);
+    }
+
+    /**
+     * @param row packet index
+     * @return codec type, or null
+     */
+    public StreamType getCodecType(final int row) {
+        String value = codecType.get(row);
+        if (value == null) {
+            return null;
+        }
+        return StreamType.valueOf(value);
+    }
+
+    /**
+     * @param row packet index
+     * @return presentation timestamp in stream time base, or {@link #NO_VALUE}
+     */
+    public long getPts(final int row) {
+        return pts.get(row);
+    }
+
+    /**
+     * @param row packet index
+     * @return decoding timestamp in stream time base, or {@link #NO_VALUE}
+     */
+    public long getDts(final int row) {
+        return dts.get(row);
+    }
+
+    /**
+     * @param row packet index
+     * @return duration in stream time base, or {@link #NO_VALUE}
+     */
+    public long getDuration(final int row) {
+        return duration.get(row);
+    }
+
+    /**
+     * @param row packet index
+     * @return packet size in bytes, or {@link #NO_VALUE}
+     */
+    public long getSize(final int row) {
+        return packetSize.get(row);
+    }
+
+    /**
+     * @param row packet index
+     * @return byte position in input, or {@link #NO_VALUE}
+     */
+    public long getPos(final int row) {
+        return pos.get(row);
+    }
+
+    /**
+     * @param row packet index
+     * @return true if packet contains a keyframe
+     */
+    public boolean isKeyFrame(final int row) {
+        return keyFrame.get(row);
+    }
+
+    /**
+     * @param row packet index
+     * @return true if packet must be discarded after decoding
+     */
+    public boolean isDiscard(final int row) {
+        return discard.get(row);
+    }
+
+    /**
+     * @param row packet index
+     * @return true if packet content is corrupted
+     */
+    public boolean isCorrupt(final int row) {
+        return corrupt.get(row);
+    }
+
+    /**
+     * @return indices of keyframe packets
+     */
+    public BitSet getKeyFrames() {
+        return (BitSet) keyFrame.clone();
+    }
+
+    /**
+     * @return distinct codec types
+     */
+    public List<String> getCodecTypes() {
+        return codecType.getDictionary();
+    }
+
+    /**
+     * @return approximate size of all columns in bytes
+     */
+    public long getMemoryBytes() {
+        return streamIndex.getMemoryBytes() + codecType.getMemoryBytes()
+                + pts.getMemoryBytes() + dts.getMemoryBytes() + duration.getMemoryBytes()
+                + packetSize.getMemoryBytes() + pos.getMemoryBytes()
+                + (keyFrame.size() + discard.size() + corrupt.size()) / Byte.SIZE;
+    }
+
+    /**
+     * Creates cursor positioned before the first packet.
+     *
+     * @return cursor
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Creates {@link Builder}.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * {@link Cursor} iterates over packets without allocating an object per packet.
+     */
+    public final class Cursor {
+        private int row = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves cursor to the next packet.
+         *
+         * @return false if there are no more packets
+         */
+        public boolean next() {
+            if (row + 1 >= size) {
+                row = size;
+                return false;
+            }
+            row++;
+            return true;
+        }
+
+        /**
+         * Moves cursor to the specified packet.
+         *
+         * @param packetIndex packet index
+         * @return this
+         */
+        public Cursor moveTo(final int packetIndex) {
+            if (packetIndex < 0 || packetIndex >= size) {
+                throw new IndexOutOfBoundsException("Packet index: " + packetIndex
+                        + ", size: " + size);
+            }
+            this.row = packetIndex;
+            return this;
+        }
+
+        /**
+         * @return index of current packet
+         */
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * @return stream index, or {@link #NO_VALUE}
+         */
+        public long getStreamIndex() {
+            return PacketTable.this.getStreamIndex(row);
+        }
+
+        /**
+         * @return codec type, or null
+         */
+        public StreamType getCodecType() {
+            return PacketTable.this.getCodecType(row);
+        }
+
+        /**
+         * @return presentation timestamp in stream time base, or {@link #NO_VALUE}
+         */
+        public long getPts() {
+            return PacketTable.this.getPts(row);
+        }
+
+        /**
+         * @return decoding timestamp in stream time base, or {@link #NO_VALUE}
+         */
+        public long getDts() {
+            return PacketTable.this.getDts(row);
+        }
+
+        /**
+         * @return duration in stream time base, or {@link #NO_VALUE}
+         */
+        public long getDuration() {
+            return PacketTable.this.getDuration(row);
+        }
+
+        /**
+         * @return packet size in bytes, or {@link #NO_VALUE}
+         */
+        public long getSize() {
+            return PacketTable.this.getSize(row);
+        }
+
+        /**
+         * @return byte position in input, or {@link #NO_VALUE}
+         */
+        public long getPos() {
+            return PacketTable.this.getPos(row);
+        }
+
+        /**
+         * @return true if packet contains a keyframe
+         */
+        public boolean isKeyFrame() {
+            return PacketTable.this.isKeyFrame(row);
+        }
+
+        /**
+         * @return true if packet must be discarded after decoding
+         */
+        public boolean isDiscard() {
+            return PacketTable.this.isDiscard(row);
+        }
+
+        /**
+         * @return true if packet content is corrupted
+         */
+        public boolean isCorrupt() {
+            return PacketTable.this.isCorrupt(row);
+        }
+    }
+
+    /**
+     * {@link Builder} appends packets to columns as soon as ffprobe outputs them.
+     * <p>
+     * Builder is not thread-safe, it's intended to be passed to
+     * {@link FFprobe#setProbeListener(ProbeListener)}.
+     */
+    public static final class Builder implements ProbeListener {
+        private int size = 0;
+        private final LongColumn streamIndex = new LongColumn(INITIAL_CAPACITY);
+        private final StringColumn codecType = new StringColumn(INITIAL_CAPACITY);
+        private final LongColumn pts = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn dts = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn duration = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn packetSize = new LongColumn(INITIAL_CAPACITY);
+        private final LongColumn pos = new LongColumn(INITIAL_CAPACITY);
+        private final BitSet keyFrame = new BitSet();
+        private final BitSet discard = new BitSet();
+        private final BitSet corrupt = new BitSet();
+
+        private Builder() {
+        }
+
+        /**
+         * Appends packet.
+         *
+         * @param packet packet
+         */
+        @Override
+        public void onPacket(final Packet packet) {
+            StreamType type = packet.getCodecType();
+
+            streamIndex.add(packet.getStreamIndex());
+            codecType.add(type == null ? null : type.name());
+            pts.add(packet.getPts());
+            dts.add(packet.getDts());
+            duration.add(packet.getDuration());
+            packetSize.add(packet.getSize());
+            pos.add(packet.getPos());
+
+            // ffprobe prints flags as "K__": K - keyframe, D - discard, C - corrupt
+            String flags = packet.getFlags();
+            if (flags != null) {
+                keyFrame.set(size, flags.indexOf('K') >= 0);
+                discard.set(size, flags.indexOf('D') >= 0);
+                corrupt.set(size, flags.indexOf('C') >= 0);
+            }
+            size++;
+        }
+
+        /**
+         * @return number of appended packets
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Creates {@link PacketTable}. Builder must not be used after that.
+         *
+         * @return packet table
+         */
+        public PacketTable build() {
+            streamIndex.trim();
+            codecType.trim();
+            pts.trim();
+            dts.trim();
+            duration.trim();
+            packetSize.trim();
+            pos.trim();
+            return new PacketTable(this);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.JaffreeException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProbeBatch} is a batch of probes submitted to {@link ProbeFarm}.
+ * <p>
+ * Iterating over {@link ProbeBatch} returns {@link ProbeOutcome outcomes} in order of
+ * completion, blocking until the next probe completes. Every submitted input produces
+ * exactly one outcome, including failed, timed out and cancelled ones.
+ */
+public class ProbeBatch implements Iterable<ProbeOutcome> {
+    private final List<CompletableFuture<FFprobeResult>> futures;
+    private final BlockingQueue<ProbeOutcome> completed = new LinkedBlockingQueue<>();
+    private int taken = 0;
+
+    /**
+     * Creates {@link ProbeBatch}.
+     *
+     * @param inputs  original inputs
+     * @param futures probe futures in the same order as inputs
+     */
+    ProbeBatch(final List<?> inputs, final List<CompletableFuture<FFprobeResult>> futures) {
+        this.futures = Collections.unmodifiableList(new ArrayList<>(futures));
+
+        for (int i = 0; i < futures.size(); i++) {
+            final Object input = inputs.get(i);
+            futures.get(i).whenComplete((result, error) ->
+                    completed.add(new ProbeOutcome(input, result, unwrap(error))));
+        }
+    }
+
+    /**
+     * @return number of probes in the batch
+     */
+    public int size() {
+        return futures.size();
+    }
+
+    /**
+     * Returns probe futures in the same order as inputs were passed to
+     * {@link ProbeFarm#probeAll(java.util.Collection)}.
+     *
+     * @return probe futures
+     */
+    public List<CompletableFuture<FFprobeResult>> getFutures() {
+        return futures;
+    }
+
+    /**
+     * Retrieves the next completed probe outcome, waiting up to the specified wait time
+     * if necessary.
+     *
+     * @param timeout how long to wait
+     * @param unit    time unit of the timeout argument
+     * @return next outcome, or null if the specified waiting time elapses or all outcomes
+     * have been already retrieved
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized ProbeOutcome poll(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        if (taken >= futures.size()) {
+            return null;
+        }
+
+        ProbeOutcome result = completed.poll(timeout, unit);
+        if (result != null) {
+            taken++;
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the next completed probe outcome, waiting if necessary.
+     *
+     * @return next outcome, or null if all outcomes have been already retrieved
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized ProbeOutcome take() throws InterruptedException {
+        if (taken >= futures.size()) {
+            return null;
+        }
+
+        ProbeOutcome result = completed.take();
+        taken++;
+        return result;
+    }
+
+    /**
+     * Cancels all not yet completed probes. Queued probes are removed from queue, running
+     * ffprobe processes are killed.
+     */
+    public void cancel() {
+        for (CompletableFuture<FFprobeResult> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Returns iterator over outcomes in order of completion.
+     * <p>
+     * {@link Iterator#next()} blocks until the next probe completes.
+     *
+     * @return iterator
+     */
+    @Override
+    public Iterator<ProbeOutcome> iterator() {
+        return new Iterator<ProbeOutcome>() {
+            @Override
+            public boolean hasNext() {
+                synchronized (ProbeBatch.this) {
+                    return taken < futures.size();
+                }
+            }
+
+            @Override
+            public ProbeOutcome next() {
+                ProbeOutcome result;
+                try {
+                    result = take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new JaffreeException("Interrupted while waiting for probe outcome", e);
+                }
+
+                if (result == null) {
+                    throw new NoSuchElementException("All outcomes have been retrieved");
+                }
+                return result;
+            }
+        };
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
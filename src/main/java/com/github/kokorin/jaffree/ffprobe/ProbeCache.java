@@ -0,0 +1,365 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.util.DigestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ProbeCache} caches ffprobe output, so the same input is not probed twice.
+ * <p>
+ * Cache key consists of ffprobe executable, ffprobe arguments and input identity. Input
+ * identity is either a content hash supplied with {@link FFprobe#setContentHash(String)}
+ * or absolute path, size and modification time of a local file. Inputs which can't be
+ * identified (e.g. remote URLs or channels without content hash) are not cached.
+ * <p>
+ * Raw ffprobe output is cached and parsed on every cache hit, so cached result behaves
+ * exactly like a fresh one, except that it has no {@link FFprobeResult#getResourceUsage()
+ * resource usage}. Recently used entries are kept in memory up to the specified size,
+ * optionally all entries are also stored on disk and survive restarts. Output larger than
+ * {@link #setMaxEntryBytes(long) max entry size} is never cached: it is recorded in memory while
+ * ffprobe runs.
+ * <p>
+ * {@link ProbeCache} is thread-safe and is intended to be shared by many {@link FFprobe}
+ * instances.
+ */
+public class ProbeCache {
+    private final long maxMemoryBytes;
+    private final LinkedHashMap<String, byte[]> entries =
+            new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+    private long memoryBytes = 0;
+    private volatile Path directory;
+    private volatile long maxEntryBytes = DEFAULT_MAX_ENTRY_BYTES;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    // largest array JVM can reliably allocate
+    private static final long MAX_ENTRY_BYTES = Integer.MAX_VALUE - 8;
+    private static final long DEFAULT_MAX_ENTRY_BYTES = 64 * 1024 * 1024;
+    private static final String FILE_SUFFIX = ".probe";
+    private static final String INPUT_PLACEHOLDER = "<input>";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProbeCache.class);
+
+    /**
+     * Creates {@link ProbeCache}.
+     *
+     * @param maxMemoryBytes maximum total size of ffprobe output and cache keys kept in memory
+     */
+    public ProbeCache(final long maxMemoryBytes) {
+        if (maxMemoryBytes < 0) {
+            throw new IllegalArgumentException("Max memory bytes cannot be negative");
+        }
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    /**
+     * Sets directory to persist cached ffprobe output. Entries evicted from memory are
+     * read back from disk when needed.
+     * <p>
+     * Disk cache is never cleaned up by {@link ProbeCache}.
+     *
+     * @param directory directory to store ffprobe output, or null to disable disk cache
+     * @return this
+     */
+    public ProbeCache setDirectory(final Path directory) {
+        this.directory = directory;
+        return this;
+    }
+
+    /**
+     * Sets maximum size of a single ffprobe output to cache, 64 MiB by default.
+     * <p>
+     * ffprobe output is recorded in memory while ffprobe runs, so the limit also bounds
+     * memory needed to record output of a single probe. Output with packets or frames
+     * of long inputs may exceed it.
+     *
+     * @param maxEntryBytes maximum size of ffprobe output, at most {@code Integer.MAX_VALUE - 8}
+     * @return this
+     */
+    public ProbeCache setMaxEntryBytes(final long maxEntryBytes) {
+        if (maxEntryBytes < 0 || maxEntryBytes > MAX_ENTRY_BYTES) {
+            throw new IllegalArgumentException("Max entry bytes must be between 0 and "
+                    + MAX_ENTRY_BYTES + ": " + maxEntryBytes);
+        }
+        this.maxEntryBytes = maxEntryBytes;
+        return this;
+    }
+
+    /**
+     * @return number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of entries kept in memory
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return total size of ffprobe output and cache keys kept in memory
+     */
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * Removes all entries from memory. Disk cache (if any) is left intact.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        memoryBytes = 0;
+    }
+
+    /**
+     * Returns cached ffprobe output.
+     *
+     * @param key cache key
+     * @return ffprobe output or null if not cached
+     */
+    byte[] get(final String key) {
+        byte[] result;
+        synchronized (this) {
+            result = entries.get(key);
+        }
+
+        if (result == null) {
+            result = readFromDisk(key);
+            if (result != null) {
+                putInMemory(key, result);
+            }
+        }
+
+        if (result != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * Returns maximum size of ffprobe output which can be cached: without disk cache output
+     * larger than memory limit is never kept, so there is no need to record it.
+     *
+     * @return maximum size of ffprobe output to record
+     */
+    long getRecordLimit() {
+        if (directory != null) {
+            return maxEntryBytes;
+        }
+        return Math.min(maxMemoryBytes, maxEntryBytes);
+    }
+
+    /**
+     * Caches ffprobe output.
+     *
+     * @param key    cache key
+     * @param output ffprobe output
+     */
+    void put(final String key, final byte[] output) {
+        if (output.length > maxEntryBytes) {
+            return;
+        }
+        putInMemory(key, output);
+        writeToDisk(key, output);
+    }
+
+    private synchronized void putInMemory(final String key, final byte[] output) {
+        byte[] previous = entries.remove(key);
+        if (previous != null) {
+            memoryBytes -= entrySize(key, previous);
+        }
+
+        long size = entrySize(key, output);
+        if (size > maxMemoryBytes) {
+            return;
+        }
+
+        entries.put(key, output);
+        memoryBytes += size;
+
+        Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            Map.Entry<String, byte[]> entry = eldest.next();
+            memoryBytes -= entrySize(entry.getKey(), entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    private static long entrySize(final String key, final byte[] output) {
+        // keys consist of ffprobe arguments and are ASCII mostly, one byte per char
+        return (long) key.length() + output.length;
+    }
+
+    private byte[] readFromDisk(final String key) {
+        Path dir = directory;
+        if (dir == null) {
+            return null;
+        }
+
+        Path file = dir.resolve(DigestUtil.hexDigest("SHA-256", key) + FILE_SUFFIX);
+        try (InputStream input = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(input)) {
+            byte[] storedKey = new byte[data.readInt()];
+            data.readFully(storedKey);
+            if (!key.equals(new String(storedKey, StandardCharsets.UTF_8))) {
+                return null;
+            }
+
+            byte[] result = new byte[data.readInt()];
+            data.readFully(result);
+            return result;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read cached ffprobe output from {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeToDisk(final String key, final byte[] output) {
+        Path dir = directory;
+        if (dir == null) {
+            return;
+        }
+
+        String name = DigestUtil.hexDigest("SHA-256", key);
+        try {
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, name, ".tmp");
+            try (OutputStream stream = Files.newOutputStream(temp);
+                 DataOutputStream data = new DataOutputStream(stream)) {
+                byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+                data.writeInt(keyBytes.length);
+                data.write(keyBytes);
+                data.writeInt(output.length);
+                data.write(output);
+            }
+            Files.move(temp, dir.resolve(name + FILE_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write ffprobe output to {}", dir, e);
+        }
+    }
+
+    /**
+     * Creates cache key.
+     *
+     * @param executable  ffprobe executable
+     * @param input       input to probe
+     * @param contentHash input content hash, may be null
+     * @param arguments   ffprobe arguments
+     * @return cache key, or null if input can't be identified
+     */
+    static String createKey(final Path executable, final Input input, final String contentHash,
+                            final List<String> arguments) {
+        if (input == null) {
+            return null;
+        }
+
+        String identity;
+        if (contentHash != null) {
+            identity = "hash:" + contentHash;
+        } else {
+            identity = fileIdentity(input);
+        }
+
+        if (identity == null) {
+            return null;
+        }
+
+        // input URL may be different for the same input, e.g. ChannelInput's FTP port
+        StringBuilder result = new StringBuilder()
+                .append(executable).append('\n')
+                .append(identity).append('\n');
+        for (String argument : arguments) {
+            if (argument.equals(input.getUrl())) {
+                result.append(INPUT_PLACEHOLDER);
+            } else {
+                result.append(argument);
+            }
+            result.append('\0');
+        }
+
+        return result.toString();
+    }
+
+    private static String fileIdentity(final Input input) {
+        if (!(input instanceof UrlInput)) {
+            return null;
+        }
+
+        String url = input.getUrl();
+        Path path;
+        try {
+            if (url.startsWith("file:")) {
+                path = Paths.get(URI.create(url));
+            } else {
+                path = Paths.get(url);
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return null;
+            }
+
+            return "file:" + path.toAbsolutePath() + ":" + attributes.size()
+                    + ":" + attributes.lastModifiedTime();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.process.PooledThreadSource;
+import com.github.kokorin.jaffree.process.ProcessHandler;
+import com.github.kokorin.jaffree.process.Stopper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URL;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ProbeFarm} probes many inputs with bounded parallelism.
+ * <p>
+ * All probes share arguments of the template {@link FFprobe}: arguments are built once
+ * when {@link ProbeFarm} is created, so later changes to the template have no effect.
+ * Input set on the template is ignored. Settings which are applied around ffprobe process
+ * rather than by its arguments ({@link FFprobe#setCache(ProbeCache) cache},
+ * {@link FFprobe#setFastProbe(boolean) fast probe},
+ * {@link FFprobe#setParallelIntervals(int) parallel intervals}) are not supported, neither is
+ * {@link FFprobe#setProbeListener(ProbeListener) probe listener}, which would be shared by
+ * concurrent probes.
+ * <p>
+ * Inputs are converted (e.g. {@link SeekableByteChannel channels} start listening on a local
+ * socket) only when their probe starts, so queued probes don't hold any resources.
+ * <p>
+ * Helper threads (stdout &amp; stderr readers, FTP servers for channel inputs) are
+ * taken from a thread pool unless the template has its own
+ * {@link com.github.kokorin.jaffree.process.ThreadSource}.
+ * <pre>{@code
+ * try (ProbeFarm farm = new ProbeFarm(FFprobe.atPath().setShowStreams(true), 8)
+ *         .setTimeout(30, TimeUnit.SECONDS)) {
+ *     for (ProbeOutcome outcome : farm.probeAll(paths)) {
+ *         // outcomes are returned as soon as probes complete
+ *     }
+ * }
+ * }</pre>
+ */
+public class ProbeFarm implements AutoCloseable {
+    private final FFprobe template;
+    private final List<String> templateArguments;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timer;
+    private final PooledThreadSource threadSource;
+    private volatile long timeoutMillis = 0;
+
+    /**
+     * stdout &amp; stderr readers plus optional FTP server for channel input.
+     */
+    private static final int HELPER_THREADS_PER_PROBE = 3;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProbeFarm.class);
+
+    /**
+     * Creates {@link ProbeFarm}.
+     *
+     * @param template    ffprobe with arguments to use for every probe
+     * @param parallelism maximum number of concurrently running ffprobe processes
+     * @throws IllegalArgumentException if template has settings not supported by ProbeFarm
+     */
+    public ProbeFarm(final FFprobe template, final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        List<String> unsupported = template.getExecuteOnlySettings();
+        if (!unsupported.isEmpty()) {
+            throw new IllegalArgumentException("ProbeFarm doesn't support FFprobe settings: "
+                    + unsupported);
+        }
+
+        this.template = template;
+        this.templateArguments = Collections.unmodifiableList(template.buildArguments(null));
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory("ProbeFarm-worker-")) {
+            @Override
+            protected void terminated() {
+                afterShutdown();
+            }
+        };
+        this.timer = new ScheduledThreadPoolExecutor(1,
+                new DaemonThreadFactory("ProbeFarm-timer-"));
+        this.timer.setRemoveOnCancelPolicy(true);
+
+        if (template.hasThreadSource()) {
+            this.threadSource = null;
+        } else {
+            this.threadSource = new PooledThreadSource(HELPER_THREADS_PER_PROBE * parallelism,
+                    TimeUnit.MINUTES.toMillis(1));
+        }
+    }
+
+    /**
+     * Sets maximum time a single probe may run. Probe which runs longer is stopped and
+     * completes with {@link TimeoutException}. Time spent in queue is not counted.
+     * <p>
+     * A value of 0 (default) is interpreted as "no timeout".
+     *
+     * @param timeout  maximum probe duration
+     * @param timeUnit time unit of the timeout argument
+     * @return this
+     */
+    public ProbeFarm setTimeout(final long timeout, final TimeUnit timeUnit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout cannot be negative");
+        }
+        this.timeoutMillis = timeUnit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * Submits single input to probe.
+     * <p>
+     * Cancelling returned future removes the probe from queue or kills running ffprobe.
+     *
+     * @param input input to probe
+     * @return ffprobe result future
+     */
+    public CompletableFuture<FFprobeResult> submit(final Input input) {
+        return submitRaw(input);
+    }
+
+    private CompletableFuture<FFprobeResult> submitRaw(final Object input) {
+        ProbeTask task = new ProbeTask(input);
+        executor.execute(task);
+        return task.future;
+    }
+
+    /**
+     * Submits inputs to probe.
+     * <p>
+     * Supported input types are {@link Path}, {@link String} (path or URL), {@link URL},
+     * {@link URI}, {@link SeekableByteChannel} and {@link Input}.
+     *
+     * @param inputs inputs to probe
+     * @return probe batch, which returns outcomes as soon as probes complete
+     * @throws IllegalArgumentException if input type is not supported
+     */
+    public ProbeBatch probeAll(final Collection<?> inputs) {
+        List<Object> originals = new ArrayList<>(inputs);
+        for (Object input : originals) {
+            if (!isSupported(input)) {
+                throw new IllegalArgumentException("Unsupported input: " + input);
+            }
+        }
+
+        List<CompletableFuture<FFprobeResult>> futures = new ArrayList<>(originals.size());
+        for (Object input : originals) {
+            futures.add(submitRaw(input));
+        }
+
+        return new ProbeBatch(originals, futures);
+    }
+
+    /**
+     * Submits inputs to probe.
+     *
+     * @param inputs inputs to probe
+     * @return probe batch
+     * @see #probeAll(Collection)
+     */
+    public ProbeBatch probeAll(final Object... inputs) {
+        return probeAll(Arrays.asList(inputs));
+    }
+
+    /**
+     * @return number of probes waiting in queue
+     */
+    public int getQueuedProbes() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stops accepting new probes. Already submitted probes are completed, after that
+     * all threads owned by {@link ProbeFarm} are released.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void afterShutdown() {
+        timer.shutdownNow();
+        if (threadSource != null) {
+            threadSource.close();
+        }
+    }
+
+    static boolean isSupported(final Object input) {
+        return input instanceof Input || input instanceof Path || input instanceof String
+                || input instanceof URL || input instanceof URI
+                || input instanceof SeekableByteChannel;
+    }
+
+    static Input toInput(final Object input) {
+        if (input instanceof Input) {
+            return (Input) input;
+        }
+        if (input instanceof Path) {
+            return UrlInput.fromPath((Path) input);
+        }
+        if (input instanceof String) {
+            return UrlInput.fromUrl((String) input);
+        }
+        if (input instanceof URL || input instanceof URI) {
+            return UrlInput.fromUrl(input.toString());
+        }
+        if (input instanceof SeekableByteChannel) {
+            return ChannelInput.fromChannel((SeekableByteChannel) input);
+        }
+
+        throw new IllegalArgumentException("Unsupported input: " + input);
+    }
+
+    /**
+     * Single probe, also serves as {@link Stopper} of ffprobe process.
+     */
+    private final class ProbeTask implements Runnable, Stopper {
+        // converted to Input only when probe starts
+        private final Object source;
+        private volatile String url;
+        private final CompletableFuture<FFprobeResult> future;
+        private volatile Process process;
+        private volatile boolean stopped;
+        private volatile boolean timedOut;
+
+        ProbeTask(final Object source) {
+            this.source = source;
+            this.future = new CompletableFuture<FFprobeResult>() {
+                @Override
+                public boolean cancel(final boolean mayInterruptIfRunning) {
+                    executor.remove(ProbeTask.this);
+                    forceStop();
+                    return super.cancel(mayInterruptIfRunning);
+                }
+            };
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+
+            Input input;
+            try {
+                input = toInput(source);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            url = input.getUrl();
+
+            List<String> arguments = new ArrayList<>(templateArguments);
+            arguments.add("-i");
+            arguments.add(url);
+
+            ProcessHandler<FFprobeResult> processHandler =
+                    template.createProcessHandler(input, arguments)
+                            .setStopper(this);
+            if (threadSource != null) {
+                processHandler.setThreadSource(threadSource);
+            }
+
+            ScheduledFuture<?> timeout = null;
+            long timeoutMs = timeoutMillis;
+            if (timeoutMs > 0) {
+                timeout = timer.schedule(this::timeout, timeoutMs, TimeUnit.MILLISECONDS);
+            }
+
+            try {
+                FFprobeResult result = processHandler.execute();
+                result.setResourceUsage(processHandler.getResourceUsage());
+                future.complete(result);
+            } catch (Throwable e) {
+                if (timedOut) {
+                    future.completeExceptionally(new TimeoutException(
+                            "Probe hasn't completed in " + timeoutMs + " millis: " + url));
+                } else if (stopped) {
+                    future.completeExceptionally(new CancellationException());
+                } else {
+                    future.completeExceptionally(e);
+                }
+            } finally {
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+            }
+        }
+
+        private void timeout() {
+            LOGGER.warn("Probe timed out, stopping: {}", url);
+            timedOut = true;
+            forceStop();
+        }
+
+        @Override
+        public void graceStop() {
+            forceStop();
+        }
+
+        @Override
+        public void forceStop() {
+            stopped = true;
+            Process current = process;
+            if (current != null) {
+                current.destroyForcibly();
+            }
+        }
+
+        @Override
+        public void setProcess(final Process process) {
+            this.process = process;
+            if (stopped) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Creates daemon threads.
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        DaemonThreadFactory(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
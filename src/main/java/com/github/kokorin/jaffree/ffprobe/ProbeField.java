@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+/**
+ * Field of ffprobe output which can be requested with {@link FFprobe#select(ProbeField...)}.
+ *
+ * @see StreamField
+ * @see FormatField
+ */
+public interface ProbeField {
+    /**
+     * Returns name of ffprobe section containing this field, e.g. "stream" or "format_tags".
+     *
+     * @return section name
+     */
+    String getSection();
+
+    /**
+     * Returns name of this field (entry) as printed by ffprobe.
+     *
+     * @return entry name or null if this field stands for all entries of the section
+     */
+    String getEntry();
+}
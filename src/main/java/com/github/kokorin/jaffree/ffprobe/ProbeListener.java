@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+/**
+ * {@link ProbeListener} receives packets, frames and subtitles as soon as ffprobe outputs
+ * them, so they don't have to be kept in memory until ffprobe exits.
+ * <p>
+ * Methods are invoked in order of ffprobe output from ffprobe stdout reader thread.
+ *
+ * @see FFprobe#setProbeListener(ProbeListener)
+ */
+public interface ProbeListener {
+    /**
+     * Invoked for every packet.
+     *
+     * @param packet packet
+     * @see FFprobe#setShowPackets(boolean)
+     */
+    default void onPacket(final Packet packet) {
+    }
+
+    /**
+     * Invoked for every frame.
+     *
+     * @param frame frame
+     * @see FFprobe#setShowFrames(boolean)
+     */
+    default void onFrame(final Frame frame) {
+    }
+
+    /**
+     * Invoked for every subtitle.
+     *
+     * @param subtitle subtitle
+     * @see FFprobe#setShowFrames(boolean)
+     */
+    default void onSubtitle(final Subtitle subtitle) {
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+/**
+ * {@link ProbeOutcome} is an outcome of a single probe executed by {@link ProbeFarm}:
+ * either {@link FFprobeResult} or an error.
+ */
+public class ProbeOutcome {
+    private final Object input;
+    private final FFprobeResult result;
+    private final Throwable error;
+
+    /**
+     * Creates {@link ProbeOutcome}.
+     *
+     * @param input  input as it was passed to {@link ProbeFarm}
+     * @param result ffprobe result, null if probe failed
+     * @param error  error, null if probe succeeded
+     */
+    public ProbeOutcome(final Object input, final FFprobeResult result, final Throwable error) {
+        this.input = input;
+        this.result = result;
+        this.error = error;
+    }
+
+    /**
+     * Returns input as it was passed to {@link ProbeFarm}: e.g. {@link java.nio.file.Path},
+     * URL string or {@link java.nio.channels.SeekableByteChannel}.
+     *
+     * @return input
+     */
+    public Object getInput() {
+        return input;
+    }
+
+    /**
+     * @return ffprobe result or null if probe failed
+     */
+    public FFprobeResult getResult() {
+        return result;
+    }
+
+    /**
+     * Returns probe error: {@link java.util.concurrent.TimeoutException} if probe timed out,
+     * {@link java.util.concurrent.CancellationException} if probe was cancelled or any
+     * exception thrown by {@link FFprobe}.
+     *
+     * @return error or null if probe succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * @return true if probe succeeded
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
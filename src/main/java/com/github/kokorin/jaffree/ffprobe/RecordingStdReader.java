@@ -0,0 +1,153 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.log.LogMessage;
+import com.github.kokorin.jaffree.process.StdReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * {@link RecordingStdReader} records ffprobe output while delegate {@link StdReader} parses it,
+ * so the output can be stored in {@link ProbeCache}.
+ * <p>
+ * Recording stops (and recorded bytes are released) as soon as output exceeds the limit.
+ */
+class RecordingStdReader implements StdReader<FFprobeResult> {
+    private final StdReader<FFprobeResult> delegate;
+    private final long limit;
+    private volatile byte[] recorded;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Creates {@link RecordingStdReader}.
+     *
+     * @param delegate reader to parse ffprobe output
+     * @param limit    maximum size of output to record
+     */
+    RecordingStdReader(final StdReader<FFprobeResult> delegate, final long limit) {
+        this.delegate = delegate;
+        this.limit = limit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FFprobeResult read(final InputStream stdOut) {
+        RecordingInputStream recording = new RecordingInputStream(stdOut);
+        FFprobeResult result = delegate.read(recording);
+
+        // Parser may stop before the end of output, e.g. trailing new line
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try {
+            int read;
+            do {
+                read = recording.read(buffer);
+            } while (read != -1);
+        } catch (IOException e) {
+            throw new JaffreeException("Failed to read ffprobe output", e);
+        }
+
+        recorded = recording.getRecorded();
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<LogMessage> getErrorLogMessages() {
+        return delegate.getErrorLogMessages();
+    }
+
+    /**
+     * @return ffprobe output, or null if it hasn't been read successfully or exceeds limit
+     */
+    byte[] getRecorded() {
+        return recorded;
+    }
+
+    /**
+     * Copies every read byte to a buffer until limit is exceeded.
+     */
+    private final class RecordingInputStream extends FilterInputStream {
+        private ByteArrayOutputStream output = new ByteArrayOutputStream(BUFFER_SIZE);
+        private long size = 0;
+
+        RecordingInputStream(final InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = super.read();
+            if (result != -1) {
+                record(new byte[] {(byte) result}, 0, 1);
+            }
+            return result;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            int result = super.read(b, off, len);
+            if (result > 0) {
+                record(b, off, result);
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            // skipped bytes can't be recorded
+            output = null;
+            return super.skip(n);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void record(final byte[] b, final int off, final int len) {
+            if (output == null) {
+                return;
+            }
+
+            size += len;
+            if (size > limit) {
+                output = null;
+                return;
+            }
+            output.write(b, off, len);
+        }
+
+        byte[] getRecorded() {
+            if (output == null) {
+                return null;
+            }
+            return output.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+/**
+ * Stream fields, see {@link Stream} for their meaning.
+ *
+ * @see FFprobe#select(ProbeField...)
+ */
+public enum StreamField implements ProbeField {
+    /**
+     * Stream index, see {@link Stream#getIndex()}.
+     */
+    INDEX("stream", "index"),
+
+    /**
+     * Format-specific stream ID, see {@link Stream#getId()}.
+     */
+    ID("stream", "id"),
+
+    /**
+     * Codec name, see {@link Stream#getCodecName()}.
+     */
+    CODEC_NAME("stream", "codec_name"),
+
+    /**
+     * Codec long name, see {@link Stream#getCodecLongName()}.
+     */
+    CODEC_LONG_NAME("stream", "codec_long_name"),
+
+    /**
+     * Codec profile, see {@link Stream#getProfile()}.
+     */
+    PROFILE("stream", "profile"),
+
+    /**
+     * Codec level, see {@link Stream#getLevel()}.
+     */
+    LEVEL("stream", "level"),
+
+    /**
+     * Codec type, see {@link Stream#getCodecType()}.
+     */
+    CODEC_TYPE("stream", "codec_type"),
+
+    /**
+     * Codec tag, see {@link Stream#getCodecTag()}.
+     */
+    CODEC_TAG("stream", "codec_tag"),
+
+    /**
+     * Codec tag string, see {@link Stream#getCodecTagString()}.
+     */
+    CODEC_TAG_STRING("stream", "codec_tag_string"),
+
+    /**
+     * Video width, see {@link Stream#getWidth()}.
+     */
+    WIDTH("stream", "width"),
+
+    /**
+     * Video height, see {@link Stream#getHeight()}.
+     */
+    HEIGHT("stream", "height"),
+
+    /**
+     * Coded video width, see {@link Stream#getCodedWidth()}.
+     */
+    CODED_WIDTH("stream", "coded_width"),
+
+    /**
+     * Coded video height, see {@link Stream#getCodedHeight()}.
+     */
+    CODED_HEIGHT("stream", "coded_height"),
+
+    /**
+     * Sample aspect ratio, see {@link Stream#getSampleAspectRatio()}.
+     */
+    SAMPLE_ASPECT_RATIO("stream", "sample_aspect_ratio"),
+
+    /**
+     * Display aspect ratio, see {@link Stream#getDisplayAspectRatio()}.
+     */
+    DISPLAY_ASPECT_RATIO("stream", "display_aspect_ratio"),
+
+    /**
+     * Pixel format, see {@link Stream#getPixFmt()}.
+     */
+    PIX_FMT("stream", "pix_fmt"),
+
+    /**
+     * Color range, see {@link Stream#getColorRange()}.
+     */
+    COLOR_RANGE("stream", "color_range"),
+
+    /**
+     * Color space, see {@link Stream#getColorSpace()}.
+     */
+    COLOR_SPACE("stream", "color_space"),
+
+    /**
+     * Color transfer, see {@link Stream#getColorTransfer()}.
+     */
+    COLOR_TRANSFER("stream", "color_transfer"),
+
+    /**
+     * Color primaries, see {@link Stream#getColorPrimaries()}.
+     */
+    COLOR_PRIMARIES("stream", "color_primaries"),
+
+    /**
+     * Field order, see {@link Stream#getFieldOrder()}.
+     */
+    FIELD_ORDER("stream", "field_order"),
+
+    /**
+     * Audio sample format, see {@link Stream#getSampleFmt()}.
+     */
+    SAMPLE_FMT("stream", "sample_fmt"),
+
+    /**
+     * Audio sample rate, see {@link Stream#getSampleRate()}.
+     */
+    SAMPLE_RATE("stream", "sample_rate"),
+
+    /**
+     * Number of audio channels, see {@link Stream#getChannels()}.
+     */
+    CHANNELS("stream", "channels"),
+
+    /**
+     * Audio channel layout, see {@link Stream#getChannelLayout()}.
+     */
+    CHANNEL_LAYOUT("stream", "channel_layout"),
+
+    /**
+     * Bits per audio sample, see {@link Stream#getBitsPerSample()}.
+     */
+    BITS_PER_SAMPLE("stream", "bits_per_sample"),
+
+    /**
+     * Real base frame rate, see {@link Stream#getRFrameRate()}.
+     */
+    R_FRAME_RATE("stream", "r_frame_rate"),
+
+    /**
+     * Average frame rate, see {@link Stream#getAvgFrameRate()}.
+     */
+    AVG_FRAME_RATE("stream", "avg_frame_rate"),
+
+    /**
+     * Time base, see {@link Stream#getTimeBase()}.
+     */
+    TIME_BASE("stream", "time_base"),
+
+    /**
+     * Start PTS, see {@link Stream#getStartPts()}.
+     */
+    START_PTS("stream", "start_pts"),
+
+    /**
+     * Start time, see {@link Stream#getStartTime()}.
+     */
+    START_TIME("stream", "start_time"),
+
+    /**
+     * Duration in time base units, see {@link Stream#getDurationTs()}.
+     */
+    DURATION_TS("stream", "duration_ts"),
+
+    /**
+     * Duration, see {@link Stream#getDuration()}.
+     */
+    DURATION("stream", "duration"),
+
+    /**
+     * Bit rate, see {@link Stream#getBitRate()}.
+     */
+    BIT_RATE("stream", "bit_rate"),
+
+    /**
+     * Max bit rate, see {@link Stream#getMaxBitRate()}.
+     */
+    MAX_BIT_RATE("stream", "max_bit_rate"),
+
+    /**
+     * Number of frames, see {@link Stream#getNbFrames()}.
+     */
+    NB_FRAMES("stream", "nb_frames"),
+
+    /**
+     * Number of read frames, see {@link Stream#getNbReadFrames()}.
+     */
+    NB_READ_FRAMES("stream", "nb_read_frames"),
+
+    /**
+     * Number of read packets, see {@link Stream#getNbReadPackets()}.
+     */
+    NB_READ_PACKETS("stream", "nb_read_packets"),
+
+    /**
+     * All disposition flags, see {@link Stream#getDisposition()}.
+     */
+    DISPOSITION("stream_disposition", null),
+
+    /**
+     * All stream tags, see {@link Stream#getTag(String)}.
+     */
+    TAGS("stream_tags", null);
+
+    private final String section;
+    private final String entry;
+
+    StreamField(final String section, final String entry) {
+        this.section = section;
+        this.entry = entry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSection() {
+        return section;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getEntry() {
+        return entry;
+    }
+}
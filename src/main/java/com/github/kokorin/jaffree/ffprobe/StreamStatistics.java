@@ -0,0 +1,297 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.StreamType;
+
+/**
+ * {@link StreamStatistics} contains statistics of packets of a single stream, collected by
+ * {@link PacketStatistics}.
+ * <p>
+ * Statistics are updated as packets arrive, so they can be read while ffprobe is still
+ * running (e.g. for live inputs).
+ */
+public class StreamStatistics {
+    private final int streamIndex;
+    private final double windowSeconds;
+    private final double bucketsPerSecond;
+    private final long[] buckets;
+    private final Long vbvRate;
+    private final BitrateListener bitrateListener;
+
+    private StreamType codecType;
+    private long packetCount = 0;
+    private long keyframeCount = 0;
+    private long totalBytes = 0;
+    private double startTime = Double.NaN;
+    private double endTime = Double.NaN;
+
+    private long currentBucket = Long.MIN_VALUE;
+    private long windowBytes = 0;
+    private long currentBitrate = 0;
+    private long peakBitrate = 0;
+
+    private double vbvFullness = 0;
+    private double vbvPeak = 0;
+    private double vbvTime = Double.NaN;
+
+    private double lastKeyframeTime = Double.NaN;
+    private long packetsSinceKeyframe = 0;
+    private final Histogram gopLengths = new Histogram(1, MAX_GOP_LENGTH);
+    private final Histogram keyframeIntervals =
+            new Histogram(KEYFRAME_INTERVAL_BUCKET_SECONDS, KEYFRAME_INTERVAL_BUCKETS);
+
+    /**
+     * GOP histogram counts GOPs of up to 1024 packets, longer GOPs are counted as overflow.
+     */
+    private static final int MAX_GOP_LENGTH = 1024;
+
+    /**
+     * Keyframe interval histogram has 100 ms buckets up to 60 seconds.
+     */
+    private static final double KEYFRAME_INTERVAL_BUCKET_SECONDS = 0.1;
+    private static final int KEYFRAME_INTERVAL_BUCKETS = 600;
+
+    private static final int BITS_IN_BYTE = 8;
+
+    /**
+     * Creates {@link StreamStatistics}.
+     *
+     * @param streamIndex     stream index
+     * @param windowSeconds   sliding window duration in seconds
+     * @param windowBuckets   number of buckets sliding window consists of
+     * @param vbvRate         VBV buffer drain rate in bits per second, or null
+     * @param bitrateListener bitrate listener, or null
+     */
+    StreamStatistics(final int streamIndex, final double windowSeconds, final int windowBuckets,
+                     final Long vbvRate, final BitrateListener bitrateListener) {
+        this.streamIndex = streamIndex;
+        this.windowSeconds = windowSeconds;
+        this.bucketsPerSecond = windowBuckets / windowSeconds;
+        this.buckets = new long[windowBuckets];
+        this.vbvRate = vbvRate;
+        this.bitrateListener = bitrateListener;
+    }
+
+    /**
+     * Updates statistics with packet.
+     *
+     * @param type     codec type, may be null
+     * @param time     packet decoding (or presentation) time in seconds, NaN if unknown
+     * @param duration packet duration in seconds, NaN if unknown
+     * @param size     packet size in bytes
+     * @param keyframe true if packet is a keyframe
+     */
+    synchronized void onPacket(final StreamType type, final double time, final double duration,
+                               final long size, final boolean keyframe) {
+        if (codecType == null) {
+            codecType = type;
+        }
+        packetCount++;
+        totalBytes += size;
+        if (keyframe) {
+            keyframeCount++;
+        }
+        if (Double.isNaN(time)) {
+            return;
+        }
+
+        if (Double.isNaN(startTime) || time < startTime) {
+            startTime = time;
+        }
+        double end = Double.isNaN(duration) ? time : time + duration;
+        if (Double.isNaN(endTime) || end > endTime) {
+            endTime = end;
+        }
+
+        updateWindow(time, size);
+        updateVbv(time, size);
+        if (codecType == StreamType.VIDEO) {
+            updateGop(time, keyframe);
+        }
+    }
+
+    private void updateWindow(final double time, final long size) {
+        long bucket = (long) Math.floor(time * bucketsPerSecond);
+        if (currentBucket == Long.MIN_VALUE) {
+            currentBucket = bucket;
+        }
+
+        // Window moves only forward, packets from the past are added to the current bucket
+        if (bucket > currentBucket) {
+            long steps = Math.min(bucket - currentBucket, buckets.length);
+            for (long i = 0; i < steps; i++) {
+                completeBucket(currentBucket + i);
+            }
+            currentBucket = bucket;
+        }
+
+        buckets[slot(currentBucket)] += size;
+        windowBytes += size;
+    }
+
+    private void completeBucket(final long bucket) {
+        currentBitrate = Math.round(windowBytes * BITS_IN_BYTE / windowSeconds);
+        if (currentBitrate > peakBitrate) {
+            peakBitrate = currentBitrate;
+        }
+        if (bitrateListener != null) {
+            bitrateListener.onBitrate(streamIndex, (bucket + 1) / bucketsPerSecond,
+                    currentBitrate);
+        }
+
+        // the oldest bucket leaves the window and is reused for the next one
+        int next = slot(bucket + 1);
+        windowBytes -= buckets[next];
+        buckets[next] = 0;
+    }
+
+    private int slot(final long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+
+    private void updateVbv(final double time, final long size) {
+        if (vbvRate == null) {
+            return;
+        }
+        // Leaky bucket: buffer is drained at constant rate and filled with packets
+        if (!Double.isNaN(vbvTime) && time > vbvTime) {
+            vbvFullness = Math.max(0, vbvFullness - vbvRate * (time - vbvTime));
+        }
+        if (Double.isNaN(vbvTime) || time > vbvTime) {
+            vbvTime = time;
+        }
+        vbvFullness += size * BITS_IN_BYTE;
+        if (vbvFullness > vbvPeak) {
+            vbvPeak = vbvFullness;
+        }
+    }
+
+    private void updateGop(final double time, final boolean keyframe) {
+        if (keyframe) {
+            if (!Double.isNaN(lastKeyframeTime)) {
+                gopLengths.add(packetsSinceKeyframe);
+                keyframeIntervals.add(time - lastKeyframeTime);
+            }
+            lastKeyframeTime = time;
+            packetsSinceKeyframe = 0;
+        }
+        packetsSinceKeyframe++;
+    }
+
+    /**
+     * @return stream index
+     */
+    public int getStreamIndex() {
+        return streamIndex;
+    }
+
+    /**
+     * @return codec type, null if unknown
+     */
+    public synchronized StreamType getCodecType() {
+        return codecType;
+    }
+
+    /**
+     * @return number of packets
+     */
+    public synchronized long getPacketCount() {
+        return packetCount;
+    }
+
+    /**
+     * @return number of keyframe packets
+     */
+    public synchronized long getKeyframeCount() {
+        return keyframeCount;
+    }
+
+    /**
+     * @return total size of packets in bytes
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return duration covered by packets in seconds, NaN if unknown
+     */
+    public synchronized double getDuration() {
+        return endTime - startTime;
+    }
+
+    /**
+     * @return average bitrate in bits per second, null if duration is unknown
+     */
+    public synchronized Long getAverageBitrate() {
+        double duration = getDuration();
+        if (Double.isNaN(duration) || duration <= 0) {
+            return null;
+        }
+        return Math.round(totalBytes * BITS_IN_BYTE / duration);
+    }
+
+    /**
+     * @return bitrate in bits per second within the last completed sliding window
+     */
+    public synchronized long getCurrentBitrate() {
+        return currentBitrate;
+    }
+
+    /**
+     * @return maximum sliding-window bitrate in bits per second
+     */
+    public synchronized long getPeakBitrate() {
+        return peakBitrate;
+    }
+
+    /**
+     * Returns minimum VBV buffer size, which is required to decode stream at VBV rate without
+     * buffer overflow, i.e. maximum fullness of the leaky bucket.
+     *
+     * @return VBV buffer size in bits, null if VBV rate isn't set
+     * @see PacketStatistics#setVbvRate(Long)
+     */
+    public synchronized Long getVbvBufferSize() {
+        if (vbvRate == null) {
+            return null;
+        }
+        return (long) Math.ceil(vbvPeak);
+    }
+
+    /**
+     * Returns histogram of GOP lengths in packets. Only complete GOPs (ended by next keyframe)
+     * of video streams are counted.
+     *
+     * @return GOP length histogram
+     */
+    public Histogram getGopLengths() {
+        return gopLengths;
+    }
+
+    /**
+     * Returns histogram of intervals between keyframes in seconds. Only video streams are
+     * counted.
+     *
+     * @return keyframe interval histogram
+     */
+    public Histogram getKeyframeIntervals() {
+        return keyframeIntervals;
+    }
+}
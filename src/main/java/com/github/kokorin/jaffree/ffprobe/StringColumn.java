@@ -0,0 +1,104 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary-encoded column of strings: every distinct string is stored once, rows keep
+ * only int ids.
+ */
+final class StringColumn {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+    private int[] values;
+    private int size = 0;
+
+    private static final int NULL_ID = -1;
+
+    /**
+     * Creates {@link StringColumn}.
+     *
+     * @param capacity initial capacity
+     */
+    StringColumn(final int capacity) {
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Appends value.
+     *
+     * @param value value, may be null
+     */
+    void add(final String value) {
+        int id = NULL_ID;
+        if (value != null) {
+            Integer existing = ids.get(value);
+            if (existing == null) {
+                existing = dictionary.size();
+                ids.put(value, existing);
+                dictionary.add(value);
+            }
+            id = existing;
+        }
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, LongColumn.grow(values.length));
+        }
+        values[size++] = id;
+    }
+
+    /**
+     * @param row row index
+     * @return value, may be null
+     */
+    String get(final int row) {
+        int id = values[row];
+        if (id == NULL_ID) {
+            return null;
+        }
+        return dictionary.get(id);
+    }
+
+    /**
+     * @return distinct values
+     */
+    List<String> getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Releases unused capacity.
+     */
+    void trim() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * @return approximate column size in bytes, excluding dictionary
+     */
+    long getMemoryBytes() {
+        return (long) values.length * Integer.BYTES;
+    }
+}
@@ -21,6 +21,7 @@ import com.github.kokorin.jaffree.LogCategory;
 import com.github.kokorin.jaffree.LogLevel;
 import com.github.kokorin.jaffree.Rational;
 import com.github.kokorin.jaffree.StreamType;
+import com.github.kokorin.jaffree.util.NumberParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -139,7 +140,7 @@ public abstract class AbstractProbeData implements ProbeData {
      * {@inheritDoc}
      */
     @Override
-    public final <T> T getSubData(final String name, final ProbeDataConverter<T> converter) {
+    public <T> T getSubData(final String name, final ProbeDataConverter<T> converter) {
         ProbeData data = getSubData(name);
         if (data == null) {
             return null;
@@ -151,8 +152,8 @@ public abstract class AbstractProbeData implements ProbeData {
      * {@inheritDoc}
      */
     @Override
-    public final <T> List<T> getSubDataList(final String name,
-                                            final ProbeDataConverter<T> converter) {
+    public <T> List<T> getSubDataList(final String name,
+                                      final ProbeDataConverter<T> converter) {
         List<ProbeData> dataList = getSubDataList(name);
         if (dataList == null) {
             return null;
@@ -251,13 +252,13 @@ public abstract class AbstractProbeData implements ProbeData {
                         return ((Number) value).intValue() > 0;
                     }
 
-                    try {
-                        return Integer.parseInt(value.toString()) > 0;
-                    } catch (NumberFormatException e) {
+                    Long result = NumberParser.parseLong(value.toString());
+                    if (result == null) {
                         LOGGER.warn("Failed to parse int number: {}", value);
+                        return null;
                     }
 
-                    return null;
+                    return result > 0;
                 }
             };
 
@@ -272,13 +273,12 @@ public abstract class AbstractProbeData implements ProbeData {
                         return ((Number) value).longValue();
                     }
 
-                    try {
-                        return Long.valueOf(value.toString());
-                    } catch (NumberFormatException e) {
+                    Long result = NumberParser.parseLong(value.toString());
+                    if (result == null) {
                         LOGGER.warn("Failed to parse long number: {}", value);
                     }
 
-                    return null;
+                    return result;
                 }
             };
 
@@ -293,13 +293,12 @@ public abstract class AbstractProbeData implements ProbeData {
                         return ((Number) value).intValue();
                     }
 
-                    try {
-                        return Integer.valueOf(value.toString());
-                    } catch (NumberFormatException e) {
+                    Integer result = NumberParser.parseInteger(value.toString());
+                    if (result == null) {
                         LOGGER.warn("Failed to parse integer number: {}", value);
                     }
 
-                    return null;
+                    return result;
                 }
             };
 
@@ -314,13 +313,12 @@ public abstract class AbstractProbeData implements ProbeData {
                         return ((Number) value).floatValue();
                     }
 
-                    try {
-                        return Float.valueOf(value.toString());
-                    } catch (NumberFormatException e) {
+                    Float result = NumberParser.parseFloat(value.toString());
+                    if (result == null) {
                         LOGGER.warn("Failed to parse float number: {}", value);
                     }
 
-                    return null;
+                    return result;
                 }
             };
 
@@ -335,13 +333,12 @@ public abstract class AbstractProbeData implements ProbeData {
                         return ((Number) value).doubleValue();
                     }
 
-                    try {
-                        return Double.valueOf(value.toString());
-                    } catch (NumberFormatException e) {
+                    Double result = NumberParser.parseDouble(value.toString());
+                    if (result == null) {
                         LOGGER.warn("Failed to parse double number: {}", value);
                     }
 
-                    return null;
+                    return result;
                 }
             };
 
@@ -372,11 +369,11 @@ public abstract class AbstractProbeData implements ProbeData {
                     }
 
                     if (value instanceof String) {
-                        try {
-                            return LogLevel.fromCode(Integer.parseInt((String) value));
-                        } catch (NumberFormatException e) {
-                            LOGGER.warn("Failed to parse LogLevel: {}", value);
+                        Integer code = NumberParser.parseInteger((String) value);
+                        if (code != null) {
+                            return LogLevel.fromCode(code);
                         }
+                        LOGGER.warn("Failed to parse LogLevel: {}", value);
                     }
 
                     if (value instanceof Number) {
@@ -396,11 +393,11 @@ public abstract class AbstractProbeData implements ProbeData {
                     }
 
                     if (value instanceof String) {
-                        try {
-                            return LogCategory.fromCode(Integer.parseInt((String) value));
-                        } catch (NumberFormatException e) {
-                            LOGGER.warn("Failed to parse LogCategory: {}", value);
+                        Integer code = NumberParser.parseInteger((String) value);
+                        if (code != null) {
+                            return LogCategory.fromCode(code);
                         }
+                        LOGGER.warn("Failed to parse LogCategory: {}", value);
                     }
 
                     if (value instanceof Number) {
@@ -411,14 +408,14 @@ public abstract class AbstractProbeData implements ProbeData {
                 }
             };
 
-    private static final ValueConverter<Rational> RATIONAL_CONVERTER = new RationalConverter("/");
+    private static final ValueConverter<Rational> RATIONAL_CONVERTER = new RationalConverter('/');
 
-    private static final ValueConverter<Rational> RATIO_CONVERTER = new RationalConverter(":");
+    private static final ValueConverter<Rational> RATIO_CONVERTER = new RationalConverter(':');
 
     private static class RationalConverter implements ValueConverter<Rational> {
-        private final String delimiter;
+        private final char delimiter;
 
-        RationalConverter(final String delimiter) {
+        RationalConverter(final char delimiter) {
             this.delimiter = delimiter;
         }
 
@@ -432,13 +429,12 @@ public abstract class AbstractProbeData implements ProbeData {
                 return Rational.valueOf((Number) value);
             }
 
-            try {
-                return Rational.valueOf(value.toString(), delimiter);
-            } catch (Exception e) {
-                LOGGER.warn("Failed to parse rational number: " + value, e);
+            Rational result = NumberParser.parseRational(value.toString(), delimiter);
+            if (result == null) {
+                LOGGER.warn("Failed to parse rational number: {}", value);
             }
 
-            return null;
+            return result;
         }
     }
 }
@@ -0,0 +1,485 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.data;
+
+import com.github.kokorin.jaffree.JaffreeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ffprobe compact (or csv) format output parser.
+ * <p>
+ * Compact output is a line per section element (packet, frame, stream, format, etc.) with
+ * key=value pairs separated by '|'. It's much smaller than JSON and is cheaper for ffprobe to
+ * produce, which matters for packet and frame dumps.
+ * <p>
+ * Parser scans bytes directly, without decoding the whole output to characters. Elements of
+ * every section are stored column-wise: integers as primitive longs and low-cardinality strings
+ * deduplicated, so dumps of millions of packets or frames don't create per-element maps.
+ * <p>
+ * Parsed {@link ProbeData} has the same layout as the one produced by {@link JsonFormatParser}:
+ * "packets", "frames" (or "packets_and_frames" when both are present), "streams", "format", etc.
+ * Nested sections like tags, disposition and side data are restored from key prefixes.
+ * <p>
+ * Note: compact output doesn't keep program streams nested in programs, such streams are
+ * reported as top-level streams.
+ */
+public class CompactFormatParser implements StreamingFormatParser {
+    private final String formatName;
+    private final byte separator;
+    private final boolean csv;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PACKET = 0;
+    private static final int FRAME = 1;
+    private static final int SUBTITLE = 2;
+
+    /**
+     * Creates parser of ffprobe compact output.
+     */
+    public CompactFormatParser() {
+        this("compact=nokey=0:print_section=1", (byte) '|', false);
+    }
+
+    private CompactFormatParser(final String formatName, final byte separator,
+                                final boolean csv) {
+        this.formatName = formatName;
+        this.separator = separator;
+        this.csv = csv;
+    }
+
+    /**
+     * Creates parser of ffprobe csv output.
+     * <p>
+     * ffprobe omits keys in csv output by default, so keys are requested explicitly.
+     *
+     * @return csv format parser
+     */
+    public static CompactFormatParser csv() {
+        return new CompactFormatParser("csv=nokey=0:print_section=1", (byte) ',', true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFormatName() {
+        return formatName;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProbeData parse(final InputStream inputStream) {
+        return parse(inputStream, null);
+    }
+
+    /**
+     * Parses compact output passing every packet, frame, subtitle, stream, etc. to listener as
+     * soon as its line is read.
+     * <p>
+     * Listener is notified with "packets" section for packets, "frames" section for frames
+     * and subtitles, and with plural section name for other elements (e.g. "streams").
+     *
+     * @param inputStream input stream
+     * @param listener    section element listener, may be null
+     * @return ProbeData without consumed elements
+     */
+    @Override
+    public ProbeData parse(final InputStream inputStream, final ProbeDataListener listener) {
+        try {
+            return new Scanner(inputStream, listener).scan();
+        } catch (IOException e) {
+            throw new JaffreeException("Failed to read ffprobe output", e);
+        }
+    }
+
+    /**
+     * @param section section name as printed by ffprobe
+     * @return name of top-level list section containing elements of specified section or null
+     * if section is not a list element
+     */
+    private static String toListSection(final String section) {
+        switch (section) {
+            case "packet":
+                return "packets";
+            case "frame":
+            case "subtitle":
+                return "frames";
+            case "format":
+            case "error":
+            case "program_version":
+                return null;
+            default:
+                return section + "s";
+        }
+    }
+
+    private static int toOrderId(final String section) {
+        switch (section) {
+            case "packet":
+                return PACKET;
+            case "frame":
+                return FRAME;
+            case "subtitle":
+                return SUBTITLE;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Parsing state of one ffprobe output.
+     */
+    private final class Scanner {
+        private final InputStream input;
+        private final ProbeDataListener listener;
+        private final Map<String, CompactTable> tables = new LinkedHashMap<>();
+        private final CompactTable[] elementTables = new CompactTable[SUBTITLE + 1];
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private byte[] scratch = new byte[BUFFER_SIZE];
+        private int start;
+        private int end;
+        private int scanned;
+        private boolean quoted;
+        private boolean escaped;
+        private boolean eof;
+        private long line;
+        private byte[] order = new byte[BUFFER_SIZE];
+        private int orderSize;
+        private CompactTable lastTable;
+
+        Scanner(final InputStream input, final ProbeDataListener listener) {
+            this.input = input;
+            this.listener = listener;
+        }
+
+        ProbeData scan() throws IOException {
+            int lineEnd;
+            while ((lineEnd = findLineEnd()) >= 0) {
+                parseLine(start, lineEnd);
+                start = Math.min(lineEnd + 1, end);
+                scanned = start;
+                quoted = false;
+            }
+
+            return new Root(tables, elementTables, Arrays.copyOf(order, orderSize));
+        }
+
+        /**
+         * @return index of line end (exclusive) or -1 if there are no more lines
+         * @throws IOException if reading ffprobe output fails
+         */
+        private int findLineEnd() throws IOException {
+            while (true) {
+                for (; scanned < end; scanned++) {
+                    byte b = buffer[scanned];
+                    if (csv && b == '"') {
+                        quoted = !quoted;
+                    } else if (b == '\n' && !quoted) {
+                        return scanned;
+                    }
+                }
+
+                if (eof) {
+                    return start < end ? end : -1;
+                }
+                fill();
+            }
+        }
+
+        private void fill() throws IOException {
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                scanned -= start;
+                start = 0;
+            } else if (end == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            int read = input.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                eof = true;
+            } else {
+                end += read;
+            }
+        }
+
+        private void parseLine(final int from, final int lineEnd) {
+            int to = lineEnd;
+            if (to > from && buffer[to - 1] == '\r') {
+                to--;
+            }
+
+            CompactTable table = null;
+            int field = 0;
+            int pos = from;
+            while (pos < to) {
+                escaped = false;
+                int fieldEnd = findFieldEnd(pos, to);
+                int eq = indexOf((byte) '=', pos, fieldEnd);
+
+                if (eq < 0) {
+                    if (fieldEnd > pos) {
+                        // section name, compact writer may print nested section on the same line
+                        if (table != null) {
+                            finishElement(table);
+                        }
+                        table = getTable(pos, fieldEnd);
+                        field = 0;
+                        line++;
+                    }
+                } else if (table != null) {
+                    CompactTable.Column column = table.resolve(field++, buffer, pos, eq, line);
+                    setValue(column, table.size(), eq + 1, fieldEnd);
+                }
+
+                pos = fieldEnd + 1;
+            }
+
+            if (table != null) {
+                finishElement(table);
+            }
+        }
+
+        private int findFieldEnd(final int from, final int to) {
+            boolean inQuotes = false;
+            for (int i = from; i < to; i++) {
+                byte b = buffer[i];
+                if (csv) {
+                    if (b == '"') {
+                        inQuotes = !inQuotes;
+                        escaped = true;
+                    } else if (b == separator && !inQuotes) {
+                        return i;
+                    }
+                } else if (b == '\\') {
+                    escaped = true;
+                    i++;
+                } else if (b == separator) {
+                    return i;
+                }
+            }
+            return to;
+        }
+
+        private int indexOf(final byte value, final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                if (buffer[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private CompactTable getTable(final int from, final int to) {
+            if (lastTable != null && lastTable.isSection(buffer, from, to)) {
+                return lastTable;
+            }
+
+            String section = new String(buffer, from, to - from, StandardCharsets.UTF_8);
+            CompactTable table = tables.get(section);
+            if (table == null) {
+                int orderId = toOrderId(section);
+                table = new CompactTable(section, orderId >= 0);
+                tables.put(section, table);
+                if (orderId >= 0) {
+                    elementTables[orderId] = table;
+                }
+            }
+
+            lastTable = table;
+            return table;
+        }
+
+        private void setValue(final CompactTable.Column column, final int row, final int from,
+                              final int to) {
+            if (!escaped) {
+                column.set(row, buffer, from, to);
+                return;
+            }
+
+            if (scratch.length < to - from) {
+                scratch = new byte[to - from];
+            }
+            int length = csv ? unquote(from, to) : unescape(from, to);
+            column.set(row, scratch, 0, length);
+        }
+
+        // reverts ffprobe's c-style escaping: \b, \f, \n, \r, \\ and escaped separator
+        private int unescape(final int from, final int to) {
+            int length = 0;
+            for (int i = from; i < to; i++) {
+                byte b = buffer[i];
+                if (b == '\\' && i + 1 < to) {
+                    b = buffer[++i];
+                    switch (b) {
+                        case 'b':
+                            b = '\b';
+                            break;
+                        case 'f':
+                            b = '\f';
+                            break;
+                        case 'n':
+                            b = '\n';
+                            break;
+                        case 'r':
+                            b = '\r';
+                            break;
+                        case 't':
+                            b = '\t';
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                scratch[length++] = b;
+            }
+            return length;
+        }
+
+        // reverts csv quoting: quotes are removed and doubled quotes are replaced with single
+        private int unquote(final int from, final int to) {
+            int length = 0;
+            boolean inQuotes = false;
+            for (int i = from; i < to; i++) {
+                byte b = buffer[i];
+                if (b == '"') {
+                    if (inQuotes && i + 1 < to && buffer[i + 1] == '"') {
+                        i++;
+                    } else {
+                        inQuotes = !inQuotes;
+                        continue;
+                    }
+                }
+                scratch[length++] = b;
+            }
+            return length;
+        }
+
+        private void finishElement(final CompactTable table) {
+            int row = table.size();
+            String listSection = toListSection(table.getSection());
+
+            if (listener != null && listSection != null
+                    && listener.onSubData(listSection, table.copyRow(row))) {
+                table.rollback();
+                return;
+            }
+
+            table.commit();
+            int orderId = toOrderId(table.getSection());
+            if (orderId >= 0) {
+                if (orderSize == order.length) {
+                    order = Arrays.copyOf(order, order.length * 2);
+                }
+                order[orderSize++] = (byte) orderId;
+            }
+        }
+    }
+
+    /**
+     * Top-level {@link ProbeData}, arranges parsed tables in the same way as JSON output does.
+     */
+    private static final class Root extends AbstractProbeData {
+        private final Map<String, CompactTable> tables;
+        private final CompactTable[] elementTables;
+        private final byte[] order;
+
+        Root(final Map<String, CompactTable> tables, final CompactTable[] elementTables,
+             final byte[] order) {
+            this.tables = tables;
+            this.elementTables = elementTables;
+            this.order = order;
+        }
+
+        @Override
+        public Object getValue(final String name) {
+            return null;
+        }
+
+        @Override
+        public ProbeData getSubData(final String name) {
+            CompactTable table = tables.get(name);
+            if (table == null || table.size() == 0) {
+                return null;
+            }
+            return table.getRow(0);
+        }
+
+        @Override
+        public List<ProbeData> getSubDataList(final String name) {
+            boolean mixed = hasRows(PACKET) && (hasRows(FRAME) || hasRows(SUBTITLE));
+            switch (name) {
+                case "packets_and_frames":
+                    return mixed ? merge(PACKET, FRAME, SUBTITLE) : null;
+                case "packets":
+                    return mixed ? null : merge(PACKET);
+                case "frames":
+                    return mixed ? null : merge(FRAME, SUBTITLE);
+                default:
+                    CompactTable table = tables.get(CompactProbeData.toElementName(name));
+                    if (table == null) {
+                        return null;
+                    }
+                    return table.getRows();
+            }
+        }
+
+        private boolean hasRows(final int orderId) {
+            return elementTables[orderId] != null && elementTables[orderId].size() > 0;
+        }
+
+        // merges rows of specified element tables in order they were printed by ffprobe
+        private List<ProbeData> merge(final int... orderIds) {
+            List<CompactTable> present = new ArrayList<>();
+            for (int orderId : orderIds) {
+                if (elementTables[orderId] != null) {
+                    present.add(elementTables[orderId]);
+                }
+            }
+            if (present.isEmpty()) {
+                return null;
+            }
+            if (present.size() == 1) {
+                return present.get(0).getRows();
+            }
+
+            int[] next = new int[elementTables.length];
+            List<ProbeData> result = new ArrayList<>();
+            for (byte orderId : order) {
+                for (int included : orderIds) {
+                    if (included == orderId) {
+                        result.add(elementTables[orderId].getRow(next[orderId]));
+                    }
+                }
+                next[orderId]++;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ProbeData} backed by ordered list of fields parsed from ffprobe compact (or csv) output.
+ * <p>
+ * Compact writer flattens nested sections into prefixed keys: stream tags are printed as
+ * <b>tag:language=eng</b>, disposition as <b>disposition:default=1</b> and side data as
+ * <b>side_data:side_data_type=...</b> (or <b>side_data/TYPE:...</b>). Sub data is restored from
+ * these prefixes on request.
+ */
+abstract class CompactProbeData extends AbstractProbeData {
+
+    /**
+     * @return number of fields, including fields without value
+     */
+    abstract int getFieldCount();
+
+    /**
+     * @param index field index
+     * @return field key as printed by ffprobe
+     */
+    abstract String getKey(int index);
+
+    /**
+     * @param index field index
+     * @return field value or null if absent
+     */
+    abstract Object getFieldValue(int index);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getValue(final String name) {
+        for (int i = 0; i < getFieldCount(); i++) {
+            if (name.equals(getKey(i))) {
+                Object value = getFieldValue(i);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects fields with prefix matching sub data name.
+     *
+     * @param name sub data name, e.g. "tags" or "disposition"
+     * @return sub data or null if there are no fields with corresponding prefix
+     */
+    @Override
+    public ProbeData getSubData(final String name) {
+        String prefix = toElementName(name) + ':';
+        List<String> keys = null;
+        List<Object> values = null;
+
+        for (int i = 0; i < getFieldCount(); i++) {
+            String key = getKey(i);
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
+            Object value = getFieldValue(i);
+            if (value == null) {
+                continue;
+            }
+            if (keys == null) {
+                keys = new ArrayList<>();
+                values = new ArrayList<>();
+            }
+            keys.add(key.substring(prefix.length()));
+            values.add(value);
+        }
+
+        if (keys == null) {
+            return null;
+        }
+        return new Fields(keys.toArray(new String[0]), values.toArray());
+    }
+
+    /**
+     * Collects fields with prefix matching list element name. New element is started when
+     * prefix changes or when a key repeats.
+     *
+     * @param name sub data list name, e.g. "side_data_list"
+     * @return sub data list or null if there are no fields with corresponding prefix
+     */
+    @Override
+    public List<ProbeData> getSubDataList(final String name) {
+        String element = toElementName(name);
+        List<ProbeData> result = null;
+        String currentPrefix = null;
+        List<String> keys = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+
+        for (int i = 0; i < getFieldCount(); i++) {
+            String key = getKey(i);
+            if (key.length() <= element.length() || !key.startsWith(element)) {
+                continue;
+            }
+            char next = key.charAt(element.length());
+            int prefixEnd = key.indexOf(':', element.length());
+            if (next != ':' && next != '/' || prefixEnd < 0) {
+                continue;
+            }
+            Object value = getFieldValue(i);
+            if (value == null) {
+                continue;
+            }
+
+            String prefix = key.substring(0, prefixEnd + 1);
+            String subKey = key.substring(prefixEnd + 1);
+            if (!prefix.equals(currentPrefix) || keys.contains(subKey)) {
+                if (!keys.isEmpty()) {
+                    if (result == null) {
+                        result = new ArrayList<>();
+                    }
+                    result.add(new Fields(keys.toArray(new String[0]), values.toArray()));
+                    keys.clear();
+                    values.clear();
+                }
+                currentPrefix = prefix;
+            }
+            keys.add(subKey);
+            values.add(value);
+        }
+
+        if (!keys.isEmpty()) {
+            if (result == null) {
+                result = new ArrayList<>();
+            }
+            result.add(new Fields(keys.toArray(new String[0]), values.toArray()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Converts name of sub data (or sub data list) to name of element as printed by ffprobe,
+     * e.g. "tags" to "tag", "side_data_list" to "side_data" and "streams" to "stream".
+     *
+     * @param name sub data name
+     * @return element name
+     */
+    static String toElementName(final String name) {
+        if (name.endsWith("_list")) {
+            return name.substring(0, name.length() - "_list".length());
+        }
+        if (name.endsWith("s")) {
+            return name.substring(0, name.length() - 1);
+        }
+        return name;
+    }
+
+    /**
+     * Detached fields, used for nested sub data and for elements passed to
+     * {@link ProbeDataListener}.
+     */
+    static final class Fields extends CompactProbeData {
+        private final String[] keys;
+        private final Object[] values;
+
+        /**
+         * Creates {@link Fields}.
+         *
+         * @param keys   field keys
+         * @param values field values
+         */
+        Fields(final String[] keys, final Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        int getFieldCount() {
+            return keys.length;
+        }
+
+        @Override
+        String getKey(final int index) {
+            return keys[index];
+        }
+
+        @Override
+        Object getFieldValue(final int index) {
+            return values[index];
+        }
+    }
+}
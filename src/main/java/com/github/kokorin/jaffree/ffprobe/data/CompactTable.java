@@ -0,0 +1,407 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Column-wise storage of all elements of one ffprobe compact output section (e.g. all packets).
+ * <p>
+ * Every distinct key gets its own column. Integer values are kept as primitive longs, other
+ * values as strings, deduplicated per column while column has few distinct values (like
+ * codec_type or flags). Every row also keeps order of its own fields, as rows of the same
+ * section may have different layouts. Rows are exposed as lightweight {@link ProbeData} views.
+ */
+final class CompactTable {
+    private final String section;
+    private final byte[] sectionBytes;
+    private final boolean typed;
+    private final List<Column> columns = new ArrayList<>();
+    private final Map<String, Column> columnsByName = new HashMap<>();
+    private Column[] fieldOrder = new Column[INITIAL_CAPACITY];
+    private int size;
+    // column indexes of all fields in the order they were printed, rows one after another
+    private int[] rowFields = new int[INITIAL_CAPACITY];
+    private int rowFieldCount;
+    private int[] rowEnds = new int[INITIAL_CAPACITY];
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final char OCCURRENCE_SEPARATOR = '\u0000';
+
+    /**
+     * Creates {@link CompactTable}.
+     *
+     * @param section section name, e.g. "packet"
+     * @param typed   whether rows should report section name as "type" property (as elements
+     *                of "packets_and_frames" JSON section do)
+     */
+    CompactTable(final String section, final boolean typed) {
+        this.section = section;
+        this.sectionBytes = section.getBytes(StandardCharsets.UTF_8);
+        this.typed = typed;
+    }
+
+    /**
+     * @return section name
+     */
+    String getSection() {
+        return section;
+    }
+
+    /**
+     * @return number of committed rows
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks if section name equals to specified bytes.
+     *
+     * @param buffer buffer
+     * @param from   start index, inclusive
+     * @param to     end index, exclusive
+     * @return true if section name matches
+     */
+    boolean isSection(final byte[] buffer, final int from, final int to) {
+        return equal(sectionBytes, buffer, from, to);
+    }
+
+    /**
+     * Returns column to store value of a field at specified position of current line.
+     * <p>
+     * ffprobe prints keys of a section in the same order, so column found for the same position
+     * of previous line is checked first. If a key repeats within a line (like properties of
+     * several side data elements), a separate column is used for every occurrence.
+     *
+     * @param field  field position in the line
+     * @param buffer buffer containing key
+     * @param from   key start index, inclusive
+     * @param to     key end index, exclusive
+     * @param line   line number, used to detect repeating keys
+     * @return column
+     */
+    Column resolve(final int field, final byte[] buffer, final int from, final int to,
+                   final long line) {
+        if (field >= fieldOrder.length) {
+            fieldOrder = Arrays.copyOf(fieldOrder, Math.max(field + 1, fieldOrder.length * 2));
+        }
+
+        Column column = fieldOrder[field];
+        if (column == null || column.lastLine == line
+                || !equal(column.keyBytes, buffer, from, to)) {
+            String key = new String(buffer, from, to - from, StandardCharsets.UTF_8);
+            String name = key;
+            column = columnsByName.get(name);
+            for (int occurrence = 2; column != null && column.lastLine == line; occurrence++) {
+                name = key + OCCURRENCE_SEPARATOR + occurrence;
+                column = columnsByName.get(name);
+            }
+            if (column == null) {
+                column = new Column(key, columns.size());
+                columns.add(column);
+                columnsByName.put(name, column);
+            }
+            fieldOrder[field] = column;
+        }
+
+        column.lastLine = line;
+        if (rowFieldCount == rowFields.length) {
+            rowFields = Arrays.copyOf(rowFields, rowFields.length * 2);
+        }
+        rowFields[rowFieldCount++] = column.index;
+        return column;
+    }
+
+    /**
+     * Makes row being filled visible.
+     */
+    void commit() {
+        if (size == rowEnds.length) {
+            rowEnds = Arrays.copyOf(rowEnds, rowEnds.length * 2);
+        }
+        rowEnds[size++] = rowFieldCount;
+    }
+
+    /**
+     * Discards values of row being filled.
+     */
+    void rollback() {
+        for (Column column : columns) {
+            column.clear(size);
+        }
+        rowFieldCount = rowStart(size);
+    }
+
+    /**
+     * @param row row index
+     * @return row view
+     */
+    ProbeData getRow(final int row) {
+        return new Row(row);
+    }
+
+    /**
+     * @return all committed rows
+     */
+    List<ProbeData> getRows() {
+        return new RowList();
+    }
+
+    /**
+     * @param row row index
+     * @return detached copy of the row
+     */
+    ProbeData copyRow(final int row) {
+        int start = rowStart(row);
+        int end = rowFieldCount;
+        List<String> keys = new ArrayList<>(end - start);
+        List<Object> values = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            Column column = columns.get(rowFields[i]);
+            Object value = column.get(row);
+            if (value != null) {
+                keys.add(column.key);
+                values.add(value);
+            }
+        }
+        return new CompactProbeData.Fields(keys.toArray(new String[0]), values.toArray());
+    }
+
+    private int rowStart(final int row) {
+        return row == 0 ? 0 : rowEnds[row - 1];
+    }
+
+    private static boolean equal(final byte[] expected, final byte[] buffer, final int from,
+                                 final int to) {
+        if (expected.length != to - from) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] != buffer[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Values of one key.
+     */
+    static final class Column {
+        private final String key;
+        private final int index;
+        private final byte[] keyBytes;
+        private final BitSet longRows = new BitSet();
+        private long[] longs;
+        private String[] strings;
+        private long lastLine = -1;
+
+        private byte[][] poolBytes = new byte[POOL_CAPACITY][];
+        private String[] poolStrings = new String[POOL_CAPACITY];
+        private int poolEntries;
+
+        private static final int POOL_CAPACITY = 64;
+        private static final int POOL_MAX_ENTRIES = POOL_CAPACITY / 2;
+        private static final int POOL_MAX_LENGTH = 32;
+
+        Column(final String key, final int index) {
+            this.key = key;
+            this.index = index;
+            this.keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Sets value from bytes. Canonical integers (without leading zeros or plus sign) are
+         * kept as longs, anything else as strings.
+         *
+         * @param row    row index
+         * @param buffer buffer containing value
+         * @param from   value start index, inclusive
+         * @param to     value end index, exclusive
+         */
+        @SuppressWarnings("checkstyle:MagicNumber")
+        void set(final int row, final byte[] buffer, final int from, final int to) {
+            boolean negative = from < to && buffer[from] == '-';
+            int start = negative ? from + 1 : from;
+            int digits = to - start;
+
+            if (digits > 0 && digits <= MAX_LONG_DIGITS
+                    && (buffer[start] != '0' || digits == 1 && !negative)) {
+                long value = 0;
+                int i = start;
+                for (; i < to; i++) {
+                    int digit = buffer[i] - '0';
+                    if (digit < 0 || digit > 9) {
+                        break;
+                    }
+                    value = value * 10 + digit;
+                }
+                if (i == to) {
+                    setLong(row, negative ? -value : value);
+                    return;
+                }
+            }
+
+            setString(row, decode(buffer, from, to));
+        }
+
+        Object get(final int row) {
+            if (longRows.get(row)) {
+                return longs[row];
+            }
+            if (strings == null || row >= strings.length) {
+                return null;
+            }
+            return strings[row];
+        }
+
+        void clear(final int row) {
+            longRows.clear(row);
+            if (strings != null && row < strings.length) {
+                strings[row] = null;
+            }
+        }
+
+        private void setLong(final int row, final long value) {
+            if (longs == null) {
+                longs = new long[Math.max(INITIAL_CAPACITY, row + 1)];
+            } else if (row >= longs.length) {
+                longs = Arrays.copyOf(longs, Math.max(row + 1, longs.length * 2));
+            }
+            longs[row] = value;
+            longRows.set(row);
+            if (strings != null && row < strings.length) {
+                strings[row] = null;
+            }
+        }
+
+        private void setString(final int row, final String value) {
+            if (strings == null) {
+                strings = new String[Math.max(INITIAL_CAPACITY, row + 1)];
+            } else if (row >= strings.length) {
+                strings = Arrays.copyOf(strings, Math.max(row + 1, strings.length * 2));
+            }
+            strings[row] = value;
+            longRows.clear(row);
+        }
+
+        @SuppressWarnings("checkstyle:MagicNumber")
+        private String decode(final byte[] buffer, final int from, final int to) {
+            int length = to - from;
+            if (poolBytes == null || length > POOL_MAX_LENGTH) {
+                return new String(buffer, from, length, StandardCharsets.UTF_8);
+            }
+
+            int hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + buffer[i];
+            }
+
+            int slot = hash & (POOL_CAPACITY - 1);
+            while (poolBytes[slot] != null) {
+                if (equal(poolBytes[slot], buffer, from, to)) {
+                    return poolStrings[slot];
+                }
+                slot = (slot + 1) & (POOL_CAPACITY - 1);
+            }
+
+            String result = new String(buffer, from, length, StandardCharsets.UTF_8);
+            if (poolEntries == POOL_MAX_ENTRIES) {
+                // too many distinct values, pooling doesn't pay off for this column
+                poolBytes = null;
+                poolStrings = null;
+                return result;
+            }
+
+            poolBytes[slot] = Arrays.copyOfRange(buffer, from, to);
+            poolStrings[slot] = result;
+            poolEntries++;
+            return result;
+        }
+    }
+
+    /**
+     * View of a single table row.
+     */
+    private final class Row extends CompactProbeData {
+        private final int row;
+        private final int start;
+        private final int end;
+
+        Row(final int row) {
+            this.row = row;
+            this.start = rowStart(row);
+            this.end = rowEnds[row];
+        }
+
+        @Override
+        int getFieldCount() {
+            return end - start;
+        }
+
+        @Override
+        String getKey(final int index) {
+            return columns.get(rowFields[start + index]).key;
+        }
+
+        @Override
+        Object getFieldValue(final int index) {
+            return columns.get(rowFields[start + index]).get(row);
+        }
+
+        @Override
+        public Object getValue(final String name) {
+            Column column = columnsByName.get(name);
+            Object result = column == null ? null : column.get(row);
+            if (result == null && typed && "type".equals(name)) {
+                return section;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * List of all committed rows, row views are created on access.
+     */
+    private final class RowList extends AbstractList<ProbeData> implements RandomAccess {
+        private final int rowCount = size;
+
+        @Override
+        public ProbeData get(final int index) {
+            if (index < 0 || index >= rowCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + rowCount);
+            }
+            return new Row(index);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.grack.nanojson.JsonArray;
 import com.grack.nanojson.JsonObject;
 import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
+import com.grack.nanojson.JsonReader;
 
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -30,7 +31,7 @@ import java.util.List;
 /**
  * ffprobe json format output parser.
  */
-public class JsonFormatParser implements FormatParser {
+public class JsonFormatParser implements StreamingFormatParser {
     /**
      * {@inheritDoc}
      */
@@ -57,6 +58,79 @@ public class JsonFormatParser implements FormatParser {
         return new ProbeDataJson(jsonObject);
     }
 
+    /**
+     * Parses JSON from {@link InputStream} passing every element of top-level arrays to
+     * listener as soon as element's JSON object is closed.
+     * <p>
+     * Only one element of top-level arrays is kept in memory at a time, unless listener
+     * asks to retain it.
+     *
+     * @param inputStream input stream
+     * @param listener    section element listener
+     * @return ProbeData without consumed elements
+     */
+    @Override
+    public ProbeData parse(final InputStream inputStream, final ProbeDataListener listener) {
+        JsonObject jsonObject = new JsonObject();
+        try {
+            JsonReader reader = JsonReader.from(inputStream);
+            reader.object();
+            while (reader.next()) {
+                String key = reader.key();
+                if (reader.current() == JsonReader.Type.ARRAY) {
+                    jsonObject.put(key, readSection(reader, key, listener));
+                } else {
+                    jsonObject.put(key, readValue(reader));
+                }
+            }
+        } catch (JsonParserException e) {
+            throw new JaffreeException("Failed to parse JSON output", e);
+        }
+
+        return new ProbeDataJson(jsonObject);
+    }
+
+    private static JsonArray readSection(final JsonReader reader, final String section,
+                                         final ProbeDataListener listener)
+            throws JsonParserException {
+        JsonArray result = new JsonArray();
+        reader.array();
+        while (reader.next()) {
+            Object element = readValue(reader);
+            if (element instanceof JsonObject) {
+                boolean consumed = listener.onSubData(section,
+                        new ProbeDataJson((JsonObject) element));
+                if (consumed) {
+                    continue;
+                }
+            }
+            result.add(element);
+        }
+        return result;
+    }
+
+    private static Object readValue(final JsonReader reader) throws JsonParserException {
+        switch (reader.current()) {
+            case OBJECT:
+                JsonObject object = new JsonObject();
+                reader.object();
+                while (reader.next()) {
+                    String key = reader.key();
+                    object.put(key, readValue(reader));
+                }
+                return object;
+            case ARRAY:
+                JsonArray array = new JsonArray();
+                reader.array();
+                while (reader.next()) {
+                    array.add(readValue(reader));
+                }
+                return array;
+            default:
+                return reader.value();
+        }
+    }
+
     private static final class ProbeDataJson extends AbstractProbeData implements ProbeData {
         private final JsonObject data;
 
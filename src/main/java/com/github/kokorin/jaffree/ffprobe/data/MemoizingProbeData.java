@@ -0,0 +1,178 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link ProbeData} decorator which converts every value at most once.
+ * <p>
+ * Converted values, sub-data and sub-data lists (both raw and converted) are cached, so
+ * repeated calls of getters (e.g. {@code Stream#getAvgFrameRate()} in a loop) only cost
+ * a hash lookup. Cached lists are unmodifiable.
+ * <p>
+ * For every name only the last used converter is remembered, so calling getters with
+ * different converters for the same name is correct, but doesn't benefit from caching.
+ * <p>
+ * {@link MemoizingProbeData} is thread-safe if the decorated {@link ProbeData} is.
+ */
+public final class MemoizingProbeData extends AbstractProbeData {
+    private final ProbeData delegate;
+    private final ConcurrentMap<String, Memo> values = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Memo> rawSubData = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Memo> subData = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Memo> rawSubDataLists = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Memo> subDataLists = new ConcurrentHashMap<>();
+
+    private MemoizingProbeData(final ProbeData delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Decorates {@link ProbeData} with memoization.
+     *
+     * @param probeData data to decorate
+     * @return memoizing data, or null if probeData is null
+     */
+    public static MemoizingProbeData of(final ProbeData probeData) {
+        if (probeData == null || probeData instanceof MemoizingProbeData) {
+            return (MemoizingProbeData) probeData;
+        }
+        return new MemoizingProbeData(probeData);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getValue(final String name) {
+        return delegate.getValue(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(final String name, final ValueConverter<T> converter) {
+        Memo memo = values.get(name);
+        if (memo == null || memo.converter != converter) {
+            memo = new Memo(converter, super.getValue(name, converter));
+            values.put(name, memo);
+        }
+        return (T) memo.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T getSubDataValue(final String name, final String property,
+                                 final ValueConverter<T> converter) {
+        ProbeData data = getSubData(name);
+        if (data == null) {
+            return null;
+        }
+        return data.getValue(property, converter);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProbeData getSubData(final String name) {
+        Memo memo = rawSubData.get(name);
+        if (memo == null) {
+            memo = new Memo(null, of(delegate.getSubData(name)));
+            rawSubData.put(name, memo);
+        }
+        return (ProbeData) memo.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getSubData(final String name, final ProbeDataConverter<T> converter) {
+        Memo memo = subData.get(name);
+        if (memo == null || memo.converter != converter) {
+            memo = new Memo(converter, super.getSubData(name, converter));
+            subData.put(name, memo);
+        }
+        return (T) memo.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProbeData> getSubDataList(final String name) {
+        Memo memo = rawSubDataLists.get(name);
+        if (memo == null) {
+            List<ProbeData> result = null;
+            List<ProbeData> dataList = delegate.getSubDataList(name);
+            if (dataList != null) {
+                result = new ArrayList<>(dataList.size());
+                for (ProbeData data : dataList) {
+                    result.add(of(data));
+                }
+                result = Collections.unmodifiableList(result);
+            }
+            memo = new Memo(null, result);
+            rawSubDataLists.put(name, memo);
+        }
+        return (List<ProbeData>) memo.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getSubDataList(final String name, final ProbeDataConverter<T> converter) {
+        Memo memo = subDataLists.get(name);
+        if (memo == null || memo.converter != converter) {
+            List<T> result = super.getSubDataList(name, converter);
+            if (result != null) {
+                result = Collections.unmodifiableList(result);
+            }
+            memo = new Memo(converter, result);
+            subDataLists.put(name, memo);
+        }
+        return (List<T>) memo.value;
+    }
+
+    /**
+     * Converted value along with converter used.
+     */
+    private static final class Memo {
+        private final Object converter;
+        private final Object value;
+
+        Memo(final Object converter, final Object value) {
+            this.converter = converter;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.data;
+
+/**
+ * {@link ProbeDataListener} receives elements of top-level list sections (e.g. every packet
+ * of "packets" section) as soon as they are parsed.
+ *
+ * @see StreamingFormatParser
+ */
+@FunctionalInterface
+public interface ProbeDataListener {
+    /**
+     * Invoked for every element of every top-level list section.
+     *
+     * @param section section name, e.g. "packets", "frames" or "streams"
+     * @param data    parsed element
+     * @return true if element has been consumed and must not be retained in parsed
+     * {@link ProbeData}, false to retain it
+     */
+    boolean onSubData(String section, ProbeData data);
+}
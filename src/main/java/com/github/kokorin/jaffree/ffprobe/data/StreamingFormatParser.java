@@ -0,0 +1,35 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.data;
+
+import java.io.InputStream;
+
+/**
+ * {@link FormatParser} which is able to pass section elements to {@link ProbeDataListener}
+ * while parsing, so consumed elements don't have to be kept in memory.
+ */
+public interface StreamingFormatParser extends FormatParser {
+    /**
+     * Parses input stream passing every element of top-level list sections to listener.
+     *
+     * @param inputStream input stream
+     * @param listener    section element listener
+     * @return parsed Data without consumed elements
+     */
+    ProbeData parse(InputStream inputStream, ProbeDataListener listener);
+}
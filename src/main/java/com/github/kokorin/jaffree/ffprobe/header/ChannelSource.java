@@ -0,0 +1,91 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.header;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Positional reads from {@link SeekableByteChannel} with accounting of bytes read.
+ */
+final class ChannelSource {
+    private final SeekableByteChannel channel;
+    private final long size;
+    private long bytesRead;
+
+    /**
+     * Maximum size of a header structure which is read into memory.
+     */
+    static final int MAX_READ_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Creates {@link ChannelSource}.
+     *
+     * @param channel channel to read
+     * @throws IOException if channel size can't be determined
+     */
+    ChannelSource(final SeekableByteChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+    }
+
+    /**
+     * @return channel size
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * @return total number of bytes read
+     */
+    long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Reads bytes at specified position. Fewer bytes are returned only at the end of channel.
+     *
+     * @param position position to read from
+     * @param length   number of bytes to read
+     * @param order    byte order of returned buffer
+     * @return buffer ready to be read
+     * @throws IOException if reading fails or length is larger than {@link #MAX_READ_SIZE}
+     */
+    ByteBuffer read(final long position, final long length, final ByteOrder order)
+            throws IOException {
+        if (length < 0 || length > MAX_READ_SIZE) {
+            throw new IOException("Header structure is too large: " + length);
+        }
+
+        int toRead = (int) Math.max(0, Math.min(length, size - position));
+        ByteBuffer result = ByteBuffer.allocate(toRead).order(order);
+        channel.position(position);
+        while (result.hasRemaining()) {
+            if (channel.read(result) < 0) {
+                break;
+            }
+        }
+
+        bytesRead += result.position();
+        result.flip();
+        return result;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.header;
+
+import java.io.IOException;
+
+/**
+ * Reads header of a particular container format.
+ */
+interface ContainerReader {
+    /**
+     * Reads container header.
+     * <p>
+     * Implementations must return null (rather than guess) if input is not of the supported
+     * format, uses unsupported features or has values which can't be determined reliably.
+     *
+     * @param source   source to read
+     * @param filename file name to report in format section
+     * @return data laid out like ffprobe output with "format" and "streams" sections,
+     * or null if header can't be read reliably
+     * @throws IOException if reading fails
+     */
+    HeaderData read(ChannelSource source, String filename) throws IOException;
+}
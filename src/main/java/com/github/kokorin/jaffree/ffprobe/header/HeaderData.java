@@ -0,0 +1,183 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.header;
+
+import com.github.kokorin.jaffree.ffprobe.data.AbstractProbeData;
+import com.github.kokorin.jaffree.ffprobe.data.ProbeData;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link ProbeData} assembled by container readers, laid out like ffprobe JSON output.
+ * <p>
+ * Values are stored in the same form ffprobe prints them (e.g. durations as strings with
+ * 6 decimal places), so default converters produce the same results.
+ */
+final class HeaderData extends AbstractProbeData {
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    /**
+     * Sets value, null values are ignored.
+     *
+     * @param name  property name
+     * @param value property value
+     * @return this
+     */
+    HeaderData set(final String name, final Object value) {
+        if (value != null) {
+            values.put(name, value);
+        }
+        return this;
+    }
+
+    /**
+     * Returns sub data with specified name, creating it if absent.
+     *
+     * @param name sub data name
+     * @return sub data
+     */
+    HeaderData subData(final String name) {
+        Object value = values.get(name);
+        if (value instanceof HeaderData) {
+            return (HeaderData) value;
+        }
+        HeaderData result = new HeaderData();
+        values.put(name, result);
+        return result;
+    }
+
+    /**
+     * Adds new element to sub data list with specified name.
+     *
+     * @param name sub data list name
+     * @return added element
+     */
+    @SuppressWarnings("unchecked")
+    HeaderData addToList(final String name) {
+        Object value = values.get(name);
+        if (!(value instanceof List)) {
+            value = new ArrayList<ProbeData>();
+            values.put(name, value);
+        }
+        HeaderData result = new HeaderData();
+        ((List<ProbeData>) value).add(result);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getValue(final String name) {
+        Object value = values.get(name);
+        if (value instanceof ProbeData || value instanceof List) {
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProbeData getSubData(final String name) {
+        Object value = values.get(name);
+        if (value instanceof ProbeData) {
+            return (ProbeData) value;
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProbeData> getSubDataList(final String name) {
+        Object value = values.get(name);
+        if (value instanceof List) {
+            return new ArrayList<>((List<ProbeData>) value);
+        }
+        return null;
+    }
+
+    /**
+     * Formats time in seconds as ffprobe does.
+     *
+     * @param seconds time in seconds
+     * @return time with 6 decimal places
+     */
+    static String formatTime(final double seconds) {
+        return String.format(Locale.ROOT, "%.6f", seconds);
+    }
+
+    /**
+     * Formats reduced rational number as ffprobe does.
+     *
+     * @param numerator   numerator
+     * @param denominator denominator
+     * @return rational, e.g. "30000/1001"
+     */
+    static String formatRational(final long numerator, final long denominator) {
+        long gcd = gcd(Math.abs(numerator), Math.abs(denominator));
+        if (gcd == 0) {
+            return "0/0";
+        }
+        return numerator / gcd + "/" + denominator / gcd;
+    }
+
+    /**
+     * Formats codec tag as ffprobe does.
+     *
+     * @param tag codec tag (first character in the lowest byte)
+     * @return codec tag, e.g. "0x31637661"
+     */
+    static String formatCodecTag(final long tag) {
+        return String.format(Locale.ROOT, "0x%04x", tag);
+    }
+
+    /**
+     * Formats codec tag string as ffprobe does: printable characters are kept as is,
+     * others are replaced with their decimal code in square brackets.
+     *
+     * @param tag codec tag (first character in the lowest byte)
+     * @return codec tag string, e.g. "avc1" or "[1][0][0][0]"
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    static String formatCodecTagString(final long tag) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            int c = (int) (tag >> (8 * i) & 0xFF);
+            if (c >= '0' && c <= '9' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z'
+                    || c == '.' || c == ' ' || c == '-' || c == '_') {
+                result.append((char) c);
+            } else {
+                result.append('[').append(c).append(']');
+            }
+        }
+        return result.toString();
+    }
+
+    private static long gcd(final long a, final long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.header;
+
+import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.ffprobe.FFprobe;
+import com.github.kokorin.jaffree.ffprobe.FFprobeResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link HeaderProbe} gets format and streams information by reading container headers in
+ * pure Java, without starting ffprobe.
+ * <p>
+ * MP4/MOV (moov box), Matroska/WebM (Info and Tracks elements) and WAV (fmt chunk) headers are
+ * supported. Only header bytes are read, media data is skipped. Result contains the same
+ * {@link com.github.kokorin.jaffree.ffprobe.Format Format} and
+ * {@link com.github.kokorin.jaffree.ffprobe.Stream Stream} views as ffprobe's
+ * {@code -show_format -show_streams} output, though with fewer properties: codec name and type,
+ * geometry, sample rate, channels, time base, duration and common tags.
+ * <p>
+ * If container is not supported, headers are damaged or ambiguous (e.g. fragmented MP4 or
+ * Matroska live stream), or codec is unknown, {@link HeaderProbe} transparently falls back to
+ * ffprobe.
+ */
+public class HeaderProbe {
+    private final Path ffprobeDir;
+
+    private static final List<ContainerReader> READERS = Arrays.asList(
+            new Mp4Reader(), new MatroskaReader(), new WavReader());
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HeaderProbe.class);
+
+    /**
+     * Creates {@link HeaderProbe}.
+     *
+     * @param ffprobeDir path to ffprobe directory used for fallback, or null to use PATH
+     */
+    protected HeaderProbe(final Path ffprobeDir) {
+        this.ffprobeDir = ffprobeDir;
+    }
+
+    /**
+     * Probes file: reads its headers or runs ffprobe if headers can't be read.
+     *
+     * @param path path to file
+     * @return ffprobe result with format and streams
+     */
+    public FFprobeResult probe(final Path path) {
+        try (SeekableByteChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            FFprobeResult result = readHeaders(channel, path.toString());
+            if (result != null) {
+                return result;
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Failed to read headers of {}, falling back to ffprobe", path, e);
+        }
+
+        return createFFprobe()
+                .setInput(path)
+                .execute();
+    }
+
+    /**
+     * Probes channel: reads its headers or runs ffprobe if headers can't be read.
+     * <p>
+     * Channel is not closed.
+     *
+     * @param channel  channel to read
+     * @param filename file name reported in format section
+     * @return ffprobe result with format and streams
+     */
+    public FFprobeResult probe(final SeekableByteChannel channel, final String filename) {
+        FFprobeResult result = readHeaders(channel, filename);
+        if (result != null) {
+            return result;
+        }
+
+        try {
+            channel.position(0);
+        } catch (IOException e) {
+            throw new JaffreeException("Failed to rewind " + filename, e);
+        }
+
+        return createFFprobe()
+                .setInput(channel)
+                .execute();
+    }
+
+    /**
+     * Reads container headers.
+     * <p>
+     * Channel is read from arbitrary positions and is not closed. Failure of a container reader
+     * (e.g. truncated file or too large header structure) is treated as unsupported container.
+     *
+     * @param channel  channel to read
+     * @param filename file name reported in format section
+     * @return ffprobe result with format and streams, or null if container is not supported
+     */
+    public static FFprobeResult readHeaders(final SeekableByteChannel channel,
+                                            final String filename) {
+        ChannelSource source;
+        try {
+            source = new ChannelSource(channel);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to get size of {}", filename, e);
+            return null;
+        }
+
+        for (ContainerReader reader : READERS) {
+            HeaderData data;
+            try {
+                data = reader.read(source, filename);
+            } catch (IOException | RuntimeException e) {
+                // malformed header: too short box or element, invalid descriptor, unexpected
+                // end of file, etc.
+                LOGGER.debug("{} failed to read {}", reader.getClass().getSimpleName(),
+                        filename, e);
+                data = null;
+            }
+
+            if (data != null) {
+                LOGGER.debug("Read headers of {} with {}, {} bytes read", filename,
+                        reader.getClass().getSimpleName(), source.getBytesRead());
+                return new FFprobeResult(data);
+            }
+        }
+
+        LOGGER.debug("Headers of {} are not supported, {} bytes read", filename,
+                source.getBytesRead());
+        return null;
+    }
+
+    private FFprobe createFFprobe() {
+        return FFprobe.atPath(ffprobeDir)
+                .setShowFormat(true)
+                .setShowStreams(true);
+    }
+
+    /**
+     * Creates {@link HeaderProbe}.
+     * <p>
+     * Note: directory with ffprobe binaries must be in PATH environment variable.
+     *
+     * @return HeaderProbe
+     */
+    public static HeaderProbe atPath() {
+        return atPath(null);
+    }
+
+    /**
+     * Creates {@link HeaderProbe}.
+     *
+     * @param pathToDir path to ffprobe directory used for fallback
+     * @return HeaderProbe
+     */
+    public static HeaderProbe atPath(final Path pathToDir) {
+        return new HeaderProbe(pathToDir);
+    }
+}
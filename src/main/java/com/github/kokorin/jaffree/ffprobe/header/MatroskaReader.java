@@ -0,0 +1,527 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.header;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads header (Info and Tracks elements of Segment) of Matroska and WebM files.
+ * <p>
+ * Top-level elements are skipped by their size until both Info and Tracks are found. If first
+ * Cluster is reached earlier, SeekHead is used to locate them. Files without Duration (live
+ * streams) and unknown codecs are not supported.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+final class MatroskaReader implements ContainerReader {
+    private static final long EBML = 0x1A45DFA3L;
+    private static final long DOC_TYPE = 0x4282;
+    private static final long SEGMENT = 0x18538067L;
+    private static final long SEEK_HEAD = 0x114D9B74L;
+    private static final long SEEK = 0x4DBB;
+    private static final long SEEK_ID = 0x53AB;
+    private static final long SEEK_POSITION = 0x53AC;
+    private static final long INFO = 0x1549A966L;
+    private static final long TIMESTAMP_SCALE = 0x2AD7B1;
+    private static final long DURATION = 0x4489;
+    private static final long TITLE = 0x7BA9;
+    private static final long TRACKS = 0x1654AE6BL;
+    private static final long TRACK_ENTRY = 0xAE;
+    private static final long TRACK_NUMBER = 0xD7;
+    private static final long TRACK_TYPE = 0x83;
+    private static final long FLAG_DEFAULT = 0x88;
+    private static final long FLAG_FORCED = 0x55AA;
+    private static final long CODEC_ID = 0x86;
+    private static final long LANGUAGE = 0x22B59C;
+    private static final long NAME = 0x536E;
+    private static final long DEFAULT_DURATION = 0x23E383;
+    private static final long VIDEO = 0xE0;
+    private static final long PIXEL_WIDTH = 0xB0;
+    private static final long PIXEL_HEIGHT = 0xBA;
+    private static final long AUDIO = 0xE1;
+    private static final long SAMPLING_FREQUENCY = 0xB5;
+    private static final long CHANNELS = 0x9F;
+    private static final long BIT_DEPTH = 0x6264;
+    private static final long CLUSTER = 0x1F43B675L;
+
+    private static final int TRACK_TYPE_VIDEO = 1;
+    private static final int TRACK_TYPE_AUDIO = 2;
+    private static final int TRACK_TYPE_SUBTITLE = 17;
+
+    private static final long DEFAULT_TIMESTAMP_SCALE = 1_000_000;
+    private static final long NANOS_IN_SECOND = 1_000_000_000;
+    private static final int MAX_ELEMENT_HEADER_SIZE = 12;
+    private static final int MAX_EBML_HEADER_SIZE = 1024;
+    private static final long UNKNOWN_SIZE = -1;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HeaderData read(final ChannelSource source, final String filename)
+            throws IOException {
+        ElementHeader ebml = readHeader(source, 0, source.size());
+        if (ebml == null || ebml.id != EBML || ebml.size > MAX_EBML_HEADER_SIZE) {
+            return null;
+        }
+        String docType = "matroska";
+        ByteBuffer ebmlBody = source.read(ebml.dataStart, ebml.size, ByteOrder.BIG_ENDIAN);
+        for (Element element = next(ebmlBody); element != null; element = next(ebmlBody)) {
+            if (element.id == DOC_TYPE) {
+                docType = element.string();
+            }
+        }
+        if (!"matroska".equals(docType) && !"webm".equals(docType)) {
+            return null;
+        }
+
+        ElementHeader segment = readHeader(source, ebml.end(), source.size());
+        if (segment == null || segment.id != SEGMENT) {
+            return null;
+        }
+        long segmentEnd = segment.size == UNKNOWN_SIZE ? source.size() : segment.end();
+
+        ByteBuffer info = null;
+        ByteBuffer tracks = null;
+        Map<Long, Long> seekPositions = new HashMap<>();
+        long position = segment.dataStart;
+        while (position < segmentEnd && (info == null || tracks == null)) {
+            ElementHeader element = readHeader(source, position, segmentEnd);
+            if (element == null || element.id == CLUSTER || element.size == UNKNOWN_SIZE) {
+                break;
+            }
+
+            if (element.id == INFO) {
+                info = readBody(source, element);
+            } else if (element.id == TRACKS) {
+                tracks = readBody(source, element);
+            } else if (element.id == SEEK_HEAD) {
+                readSeekHead(readBody(source, element), seekPositions);
+            }
+            position = element.end();
+        }
+
+        if (info == null) {
+            info = readSeekTarget(source, segment.dataStart, segmentEnd,
+                    seekPositions.get(INFO), INFO);
+        }
+        if (tracks == null) {
+            tracks = readSeekTarget(source, segment.dataStart, segmentEnd,
+                    seekPositions.get(TRACKS), TRACKS);
+        }
+        if (info == null || tracks == null) {
+            return null;
+        }
+
+        long timestampScale = DEFAULT_TIMESTAMP_SCALE;
+        Double duration = null;
+        String title = null;
+        for (Element element = next(info); element != null; element = next(info)) {
+            if (element.id == TIMESTAMP_SCALE) {
+                timestampScale = element.uint();
+            } else if (element.id == DURATION) {
+                duration = element.floatValue();
+            } else if (element.id == TITLE) {
+                title = element.string();
+            }
+        }
+        if (duration == null || duration <= 0 || timestampScale <= 0) {
+            return null;
+        }
+
+        HeaderData result = new HeaderData();
+        String timeBase = HeaderData.formatRational(timestampScale, NANOS_IN_SECOND);
+        int index = 0;
+        for (Element element = next(tracks); element != null; element = next(tracks)) {
+            if (element.id != TRACK_ENTRY) {
+                continue;
+            }
+            HeaderData stream = result.addToList("streams");
+            if (!readTrackEntry(element.body, stream.set("index", index), timeBase)) {
+                return null;
+            }
+            index++;
+        }
+        if (index == 0) {
+            return null;
+        }
+
+        double seconds = duration * timestampScale / NANOS_IN_SECOND;
+        HeaderData format = result.subData("format")
+                .set("filename", filename)
+                .set("nb_streams", index)
+                .set("nb_programs", 0)
+                .set("format_name", "matroska,webm")
+                .set("format_long_name", "Matroska / WebM")
+                .set("duration", HeaderData.formatTime(seconds))
+                .set("size", Long.toString(source.size()))
+                .set("bit_rate", Long.toString((long) (source.size() * 8 / seconds)));
+        if (title != null) {
+            format.subData("tags").set("title", title);
+        }
+
+        return result;
+    }
+
+    private static boolean readTrackEntry(final ByteBuffer entry, final HeaderData stream,
+                                          final String timeBase) {
+        int trackType = 0;
+        String codecId = null;
+        String language = "eng";
+        String name = null;
+        long flagDefault = 1;
+        long flagForced = 0;
+        long defaultDuration = 0;
+        long width = 0;
+        long height = 0;
+        double samplingFrequency = 8000;
+        long channels = 1;
+        long bitDepth = 0;
+
+        for (Element element = next(entry); element != null; element = next(entry)) {
+            if (element.id == TRACK_TYPE) {
+                trackType = (int) element.uint();
+            } else if (element.id == CODEC_ID) {
+                codecId = element.string();
+            } else if (element.id == LANGUAGE) {
+                language = element.string();
+            } else if (element.id == NAME) {
+                name = element.string();
+            } else if (element.id == FLAG_DEFAULT) {
+                flagDefault = element.uint();
+            } else if (element.id == FLAG_FORCED) {
+                flagForced = element.uint();
+            } else if (element.id == DEFAULT_DURATION) {
+                defaultDuration = element.uint();
+            } else if (element.id == VIDEO) {
+                ByteBuffer video = element.body;
+                for (Element child = next(video); child != null; child = next(video)) {
+                    if (child.id == PIXEL_WIDTH) {
+                        width = child.uint();
+                    } else if (child.id == PIXEL_HEIGHT) {
+                        height = child.uint();
+                    }
+                }
+            } else if (element.id == AUDIO) {
+                ByteBuffer audio = element.body;
+                for (Element child = next(audio); child != null; child = next(audio)) {
+                    if (child.id == SAMPLING_FREQUENCY) {
+                        samplingFrequency = child.floatValue();
+                    } else if (child.id == CHANNELS) {
+                        channels = child.uint();
+                    } else if (child.id == BIT_DEPTH) {
+                        bitDepth = child.uint();
+                    }
+                }
+            }
+        }
+
+        String codecName = toCodecName(codecId, (int) bitDepth);
+        if (codecName == null) {
+            return false;
+        }
+        stream.set("codec_name", codecName);
+
+        switch (trackType) {
+            case TRACK_TYPE_VIDEO:
+                if (width <= 0 || height <= 0) {
+                    return false;
+                }
+                stream.set("codec_type", "video")
+                        .set("width", width)
+                        .set("height", height);
+                if (defaultDuration > 0) {
+                    stream.set("avg_frame_rate",
+                            HeaderData.formatRational(NANOS_IN_SECOND, defaultDuration));
+                }
+                break;
+            case TRACK_TYPE_AUDIO:
+                stream.set("codec_type", "audio")
+                        .set("sample_rate", Long.toString((long) samplingFrequency))
+                        .set("channels", channels);
+                if (bitDepth > 0 && codecName.startsWith("pcm_")) {
+                    stream.set("bits_per_sample", bitDepth);
+                }
+                break;
+            case TRACK_TYPE_SUBTITLE:
+                stream.set("codec_type", "subtitle");
+                break;
+            default:
+                return false;
+        }
+
+        stream.set("time_base", timeBase);
+        stream.subData("disposition")
+                .set("default", flagDefault != 0 ? 1 : 0)
+                .set("forced", flagForced != 0 ? 1 : 0);
+        stream.subData("tags")
+                .set("language", "und".equals(language) ? null : language)
+                .set("title", name);
+        return true;
+    }
+
+    private static String toCodecName(final String codecId, final int bitDepth) {
+        if (codecId == null) {
+            return null;
+        }
+        if (codecId.startsWith("A_AAC")) {
+            return "aac";
+        }
+
+        switch (codecId) {
+            case "V_MPEG4/ISO/AVC":
+                return "h264";
+            case "V_MPEGH/ISO/HEVC":
+                return "hevc";
+            case "V_AV1":
+                return "av1";
+            case "V_VP8":
+                return "vp8";
+            case "V_VP9":
+                return "vp9";
+            case "V_MPEG4/ISO/ASP":
+            case "V_MPEG4/ISO/SP":
+                return "mpeg4";
+            case "V_MPEG1":
+                return "mpeg1video";
+            case "V_MPEG2":
+                return "mpeg2video";
+            case "V_MJPEG":
+                return "mjpeg";
+            case "V_THEORA":
+                return "theora";
+            case "V_PRORES":
+                return "prores";
+            case "A_OPUS":
+                return "opus";
+            case "A_VORBIS":
+                return "vorbis";
+            case "A_FLAC":
+                return "flac";
+            case "A_AC3":
+                return "ac3";
+            case "A_EAC3":
+                return "eac3";
+            case "A_DTS":
+                return "dts";
+            case "A_MPEG/L3":
+                return "mp3";
+            case "A_MPEG/L2":
+                return "mp2";
+            case "A_PCM/INT/LIT":
+                return bitDepth == 8 ? "pcm_u8" : toPcm("pcm_s", bitDepth, "le");
+            case "A_PCM/INT/BIG":
+                return bitDepth == 8 ? "pcm_s8" : toPcm("pcm_s", bitDepth, "be");
+            case "A_PCM/FLOAT/IEEE":
+                return bitDepth == 32 || bitDepth == 64 ? "pcm_f" + bitDepth + "le" : null;
+            case "S_TEXT/UTF8":
+                return "subrip";
+            case "S_TEXT/ASS":
+            case "S_TEXT/SSA":
+            case "S_ASS":
+            case "S_SSA":
+                return "ass";
+            case "S_TEXT/WEBVTT":
+                return "webvtt";
+            case "S_VOBSUB":
+                return "dvd_subtitle";
+            case "S_HDMV/PGS":
+                return "hdmv_pgs_subtitle";
+            default:
+                return null;
+        }
+    }
+
+    private static String toPcm(final String prefix, final int bitDepth, final String suffix) {
+        if (bitDepth != 16 && bitDepth != 24 && bitDepth != 32) {
+            return null;
+        }
+        return prefix + bitDepth + suffix;
+    }
+
+    private static void readSeekHead(final ByteBuffer seekHead, final Map<Long, Long> result) {
+        for (Element seek = next(seekHead); seek != null; seek = next(seekHead)) {
+            if (seek.id != SEEK) {
+                continue;
+            }
+            Long id = null;
+            Long position = null;
+            ByteBuffer body = seek.body;
+            for (Element child = next(body); child != null; child = next(body)) {
+                if (child.id == SEEK_ID) {
+                    id = child.uint();
+                } else if (child.id == SEEK_POSITION) {
+                    position = child.uint();
+                }
+            }
+            if (id != null && position != null) {
+                result.put(id, position);
+            }
+        }
+    }
+
+    private static ByteBuffer readSeekTarget(final ChannelSource source, final long segmentStart,
+                                             final long segmentEnd, final Long seekPosition,
+                                             final long id) throws IOException {
+        if (seekPosition == null) {
+            return null;
+        }
+        ElementHeader element = readHeader(source, segmentStart + seekPosition, segmentEnd);
+        if (element == null || element.id != id || element.size == UNKNOWN_SIZE) {
+            return null;
+        }
+        return readBody(source, element);
+    }
+
+    private static ByteBuffer readBody(final ChannelSource source, final ElementHeader element)
+            throws IOException {
+        ByteBuffer result = source.read(element.dataStart, element.size, ByteOrder.BIG_ENDIAN);
+        if (result.remaining() < element.size) {
+            throw new IOException("Unexpected end of file");
+        }
+        return result;
+    }
+
+    private static ElementHeader readHeader(final ChannelSource source, final long position,
+                                            final long limit) throws IOException {
+        if (position >= limit) {
+            return null;
+        }
+        ByteBuffer buffer = source.read(position, MAX_ELEMENT_HEADER_SIZE, ByteOrder.BIG_ENDIAN);
+        long id = readVint(buffer, false);
+        long size = readVint(buffer, true);
+        if (id < 0 || size < UNKNOWN_SIZE) {
+            return null;
+        }
+        long dataStart = position + buffer.position();
+        if (size != UNKNOWN_SIZE && size > limit - dataStart) {
+            return null;
+        }
+        return new ElementHeader(id, dataStart, size);
+    }
+
+    private static Element next(final ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+        long id = readVint(buffer, false);
+        long size = readVint(buffer, true);
+        if (id < 0 || size < 0 || size > buffer.remaining()) {
+            return null;
+        }
+
+        ByteBuffer body = buffer.slice();
+        body.limit((int) size);
+        buffer.position(buffer.position() + (int) size);
+        return new Element(id, body);
+    }
+
+    /**
+     * Reads EBML variable size integer.
+     *
+     * @param buffer    buffer to read from
+     * @param clearMark true to remove length marker (sizes), false to keep it (element IDs)
+     * @return value, {@link #UNKNOWN_SIZE} if all value bits are set, -2 if value is invalid
+     */
+    static long readVint(final ByteBuffer buffer, final boolean clearMark) {
+        if (!buffer.hasRemaining()) {
+            return -2;
+        }
+        int first = buffer.get() & 0xFF;
+        int length = Integer.numberOfLeadingZeros(first) - 23;
+        if (length > 8 || !clearMark && length > 4 || buffer.remaining() < length - 1) {
+            return -2;
+        }
+
+        long value = clearMark ? first & (0xFF >> length) : first;
+        boolean allOnes = value == (0xFF >> length);
+        for (int i = 1; i < length; i++) {
+            int b = buffer.get() & 0xFF;
+            allOnes &= b == 0xFF;
+            value = value << 8 | b;
+        }
+        if (clearMark && allOnes) {
+            return UNKNOWN_SIZE;
+        }
+        return value;
+    }
+
+    /**
+     * Position of element in file.
+     */
+    private static final class ElementHeader {
+        private final long id;
+        private final long dataStart;
+        private final long size;
+
+        ElementHeader(final long id, final long dataStart, final long size) {
+            this.id = id;
+            this.dataStart = dataStart;
+            this.size = size;
+        }
+
+        long end() {
+            return dataStart + size;
+        }
+    }
+
+    /**
+     * Element read into memory.
+     */
+    private static final class Element {
+        private final long id;
+        private final ByteBuffer body;
+
+        Element(final long id, final ByteBuffer body) {
+            this.id = id;
+            this.body = body;
+        }
+
+        long uint() {
+            long result = 0;
+            while (body.hasRemaining()) {
+                result = result << 8 | body.get() & 0xFF;
+            }
+            return result;
+        }
+
+        double floatValue() {
+            if (body.remaining() == 4) {
+                return body.getFloat();
+            }
+            if (body.remaining() == 8) {
+                return body.getDouble();
+            }
+            return 0;
+        }
+
+        String string() {
+            byte[] bytes = new byte[body.remaining()];
+            body.get(bytes);
+            int length = 0;
+            while (length < bytes.length && bytes[length] != 0) {
+                length++;
+            }
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,778 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.header;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads header (moov box) of ISO base media files: MP4, MOV, M4A, 3GP.
+ * <p>
+ * Only box headers are read while looking for moov box, so media data is never read. Fragmented
+ * files, QuickTime sound descriptions v2 and unknown codecs are not supported.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+final class Mp4Reader implements ContainerReader {
+    private static final int BOX_HEADER_SIZE = 8;
+    private static final int LARGE_BOX_HEADER_SIZE = 16;
+    private static final int MAX_HANDLER_SIZE = 1024;
+    private static final int MAX_SAMPLE_DESCRIPTION_SIZE = 1024 * 1024;
+    private static final int VISUAL_ENTRY_CHILDREN_OFFSET = 78;
+    private static final int AUDIO_ENTRY_CHILDREN_OFFSET = 28;
+    private static final int AUDIO_ENTRY_V1_CHILDREN_OFFSET = 44;
+
+    private static final List<String> TOP_LEVEL_BOXES = Arrays.asList(
+            "ftyp", "moov", "mdat", "free", "skip", "wide", "pnot", "uuid");
+    private static final int[] AAC_SAMPLE_RATES = {96000, 88200, 64000, 48000, 44100, 32000,
+            24000, 22050, 16000, 12000, 11025, 8000, 7350};
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HeaderData read(final ChannelSource source, final String filename)
+            throws IOException {
+        String majorBrand = null;
+        Long minorVersion = null;
+        StringBuilder compatibleBrands = null;
+        Box moov = null;
+
+        long position = 0;
+        while (position < source.size() && moov == null) {
+            Box box = readBox(source, position, source.size());
+            if (box == null || position == 0 && !TOP_LEVEL_BOXES.contains(box.type)) {
+                return null;
+            }
+
+            if ("ftyp".equals(box.type)) {
+                ByteBuffer ftyp = source.read(box.dataStart, box.end - box.dataStart,
+                        ByteOrder.BIG_ENDIAN);
+                majorBrand = readFourCc(ftyp);
+                minorVersion = ftyp.getInt() & 0xFFFFFFFFL;
+                compatibleBrands = new StringBuilder();
+                while (ftyp.remaining() >= 4) {
+                    compatibleBrands.append(readFourCc(ftyp));
+                }
+            } else if ("moov".equals(box.type)) {
+                moov = box;
+            }
+            position = box.end;
+        }
+
+        if (moov == null) {
+            return null;
+        }
+
+        boolean isom = majorBrand != null && !"qt  ".equals(majorBrand);
+        long timescale = 0;
+        long duration = 0;
+        List<Track> tracks = new ArrayList<>();
+        for (Box child : children(source, moov)) {
+            switch (child.type) {
+                case "mvhd":
+                    ByteBuffer mvhd = source.read(child.dataStart, 32, ByteOrder.BIG_ENDIAN);
+                    int version = mvhd.getInt() >>> 24;
+                    mvhd.position(mvhd.position() + (version == 1 ? 16 : 8));
+                    timescale = mvhd.getInt() & 0xFFFFFFFFL;
+                    duration = version == 1 ? mvhd.getLong() : mvhd.getInt() & 0xFFFFFFFFL;
+                    break;
+                case "trak":
+                    Track track = readTrack(source, child, isom);
+                    if (track == null) {
+                        return null;
+                    }
+                    tracks.add(track);
+                    break;
+                case "mvex":
+                    // fragmented file, duration and samples are in moof boxes
+                    return null;
+                default:
+                    break;
+            }
+        }
+
+        if (timescale == 0 || duration <= 0 || duration == 0xFFFFFFFFL || tracks.isEmpty()) {
+            return null;
+        }
+
+        HeaderData result = new HeaderData();
+        for (int i = 0; i < tracks.size(); i++) {
+            if (!tracks.get(i).toStream(result.addToList("streams"), i)) {
+                return null;
+            }
+        }
+
+        double seconds = (double) duration / timescale;
+        HeaderData format = result.subData("format")
+                .set("filename", filename)
+                .set("nb_streams", tracks.size())
+                .set("nb_programs", 0)
+                .set("format_name", "mov,mp4,m4a,3gp,3g2,mj2")
+                .set("format_long_name", "QuickTime / MOV")
+                .set("duration", HeaderData.formatTime(seconds))
+                .set("size", Long.toString(source.size()))
+                .set("bit_rate", Long.toString((long) (source.size() * 8 / seconds)));
+        if (majorBrand != null) {
+            format.subData("tags")
+                    .set("major_brand", majorBrand)
+                    .set("minor_version", minorVersion.toString())
+                    .set("compatible_brands", compatibleBrands.toString());
+        }
+
+        return result;
+    }
+
+    private static Track readTrack(final ChannelSource source, final Box trak,
+                                   final boolean isom) throws IOException {
+        Track track = new Track();
+        for (Box child : children(source, trak)) {
+            if ("tkhd".equals(child.type)) {
+                ByteBuffer tkhd = source.read(child.dataStart, 24, ByteOrder.BIG_ENDIAN);
+                int versionAndFlags = tkhd.getInt();
+                track.enabled = (versionAndFlags & 1) != 0;
+                tkhd.position(tkhd.position() + (versionAndFlags >>> 24 == 1 ? 16 : 8));
+                track.trackId = tkhd.getInt() & 0xFFFFFFFFL;
+            } else if ("mdia".equals(child.type)) {
+                if (!readMedia(source, child, isom, track)) {
+                    return null;
+                }
+            }
+        }
+
+        if (track.timescale == 0 || track.handlerType == null || track.sampleEntry == null) {
+            return null;
+        }
+        return track;
+    }
+
+    private static boolean readMedia(final ChannelSource source, final Box mdia,
+                                     final boolean isom, final Track track) throws IOException {
+        for (Box child : children(source, mdia)) {
+            switch (child.type) {
+                case "mdhd":
+                    ByteBuffer mdhd = source.read(child.dataStart, 36, ByteOrder.BIG_ENDIAN);
+                    int version = mdhd.getInt() >>> 24;
+                    mdhd.position(mdhd.position() + (version == 1 ? 16 : 8));
+                    track.timescale = mdhd.getInt() & 0xFFFFFFFFL;
+                    track.duration = version == 1 ? mdhd.getLong() : mdhd.getInt() & 0xFFFFFFFFL;
+                    track.language = decodeLanguage(mdhd.getShort() & 0xFFFF);
+                    break;
+                case "hdlr":
+                    ByteBuffer hdlr = source.read(child.dataStart,
+                            Math.min(child.end - child.dataStart, MAX_HANDLER_SIZE),
+                            ByteOrder.BIG_ENDIAN);
+                    hdlr.position(8);
+                    track.handlerType = readFourCc(hdlr);
+                    hdlr.position(hdlr.position() + 12);
+                    track.handlerName = decodeHandlerName(hdlr, isom);
+                    break;
+                case "minf":
+                    Box stbl = findChild(source, child, "stbl");
+                    if (stbl != null) {
+                        readSampleTable(source, stbl, track);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return true;
+    }
+
+    private static void readSampleTable(final ChannelSource source, final Box stbl,
+                                        final Track track) throws IOException {
+        for (Box child : children(source, stbl)) {
+            switch (child.type) {
+                case "stsd":
+                    ByteBuffer stsd = source.read(child.dataStart,
+                            Math.min(child.end - child.dataStart, MAX_SAMPLE_DESCRIPTION_SIZE),
+                            ByteOrder.BIG_ENDIAN);
+                    stsd.position(8);
+                    int entrySize = stsd.getInt();
+                    track.sampleEntryType = readFourCc(stsd);
+                    int entryEnd = stsd.position() - BOX_HEADER_SIZE + entrySize;
+                    if (entrySize < BOX_HEADER_SIZE || entryEnd > stsd.limit()) {
+                        return;
+                    }
+                    stsd.limit(entryEnd);
+                    track.sampleEntry = stsd.slice();
+                    break;
+                case "stsz":
+                case "stz2":
+                    ByteBuffer stsz = source.read(child.dataStart, 12, ByteOrder.BIG_ENDIAN);
+                    track.sampleCount = stsz.getInt(8) & 0xFFFFFFFFL;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static Box readBox(final ChannelSource source, final long position,
+                               final long limit) throws IOException {
+        if (limit - position < BOX_HEADER_SIZE) {
+            return null;
+        }
+
+        ByteBuffer header = source.read(position, LARGE_BOX_HEADER_SIZE, ByteOrder.BIG_ENDIAN);
+        long size = header.getInt() & 0xFFFFFFFFL;
+        String type = readFourCc(header);
+        int headerSize = BOX_HEADER_SIZE;
+        if (size == 1) {
+            if (header.remaining() < 8) {
+                return null;
+            }
+            size = header.getLong();
+            headerSize = LARGE_BOX_HEADER_SIZE;
+        } else if (size == 0) {
+            size = limit - position;
+        }
+
+        if (size < headerSize || size > limit - position) {
+            return null;
+        }
+        return new Box(type, position + headerSize, position + size);
+    }
+
+    private static List<Box> children(final ChannelSource source, final Box parent)
+            throws IOException {
+        List<Box> result = new ArrayList<>();
+        long position = parent.dataStart;
+        while (position < parent.end) {
+            Box child = readBox(source, position, parent.end);
+            if (child == null) {
+                break;
+            }
+            result.add(child);
+            position = child.end;
+        }
+        return result;
+    }
+
+    private static Box findChild(final ChannelSource source, final Box parent,
+                                 final String type) throws IOException {
+        for (Box child : children(source, parent)) {
+            if (type.equals(child.type)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds box among boxes stored in buffer.
+     *
+     * @param buffer buffer
+     * @param offset offset of the first box
+     * @param type   box type to find
+     * @return body of the box or null if not found
+     */
+    static ByteBuffer findBox(final ByteBuffer buffer, final int offset, final String type) {
+        int position = offset;
+        while (position + BOX_HEADER_SIZE <= buffer.limit()) {
+            int size = buffer.getInt(position);
+            if (size < BOX_HEADER_SIZE || position + size > buffer.limit()) {
+                return null;
+            }
+
+            ByteBuffer box = buffer.duplicate();
+            box.position(position + 4);
+            if (type.equals(readFourCc(box))) {
+                box.limit(position + size);
+                return box.slice().order(ByteOrder.BIG_ENDIAN);
+            }
+            position += size;
+        }
+        return null;
+    }
+
+    private static String readFourCc(final ByteBuffer buffer) {
+        byte[] bytes = new byte[4];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static String decodeLanguage(final int code) {
+        if (code >= 0x400 && code != 0x7FFF) {
+            char[] chars = {
+                    (char) ((code >> 10 & 0x1F) + 0x60),
+                    (char) ((code >> 5 & 0x1F) + 0x60),
+                    (char) ((code & 0x1F) + 0x60)
+            };
+            return new String(chars);
+        }
+        // Macintosh language code 0 is English
+        return code == 0 ? "eng" : null;
+    }
+
+    private static String decodeHandlerName(final ByteBuffer hdlr, final boolean isom) {
+        int length = hdlr.remaining();
+        if (length <= 0 || hdlr.get(hdlr.position()) == 0) {
+            return null;
+        }
+
+        int start = hdlr.position();
+        // QuickTime uses Pascal strings
+        if (!isom && hdlr.get(start) == length - 1) {
+            start++;
+        }
+        int end = start;
+        while (end < hdlr.limit() && hdlr.get(end) != 0) {
+            end++;
+        }
+
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = hdlr.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Box position.
+     */
+    private static final class Box {
+        private final String type;
+        private final long dataStart;
+        private final long end;
+
+        Box(final String type, final long dataStart, final long end) {
+            this.type = type;
+            this.dataStart = dataStart;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Track properties collected from trak box.
+     */
+    private static final class Track {
+        private long trackId;
+        private boolean enabled;
+        private long timescale;
+        private long duration;
+        private String language;
+        private String handlerType;
+        private String handlerName;
+        private String sampleEntryType;
+        private ByteBuffer sampleEntry;
+        private long sampleCount = -1;
+
+        /**
+         * Fills stream properties.
+         *
+         * @param stream stream data to fill
+         * @param index  stream index
+         * @return false if track uses unsupported codec
+         */
+        boolean toStream(final HeaderData stream, final int index) {
+            stream.set("index", index);
+            boolean supported;
+            switch (handlerType) {
+                case "vide":
+                    supported = readVisualEntry(stream);
+                    break;
+                case "soun":
+                    supported = readAudioEntry(stream);
+                    break;
+                case "sbtl":
+                case "text":
+                case "subt":
+                    supported = readSubtitleEntry(stream);
+                    break;
+                case "tmcd":
+                    stream.set("codec_type", "data");
+                    supported = true;
+                    break;
+                default:
+                    supported = false;
+                    break;
+            }
+            if (!supported) {
+                return false;
+            }
+
+            byte[] bytes = sampleEntryType.getBytes(StandardCharsets.ISO_8859_1);
+            long tag = (bytes[0] & 0xFFL) | (bytes[1] & 0xFFL) << 8
+                    | (bytes[2] & 0xFFL) << 16 | (bytes[3] & 0xFFL) << 24;
+            stream.set("codec_tag_string", HeaderData.formatCodecTagString(tag))
+                    .set("codec_tag", HeaderData.formatCodecTag(tag))
+                    .set("id", "0x" + Long.toHexString(trackId))
+                    .set("time_base", "1/" + timescale);
+            if (duration > 0 && duration != 0xFFFFFFFFL) {
+                stream.set("duration_ts", duration)
+                        .set("duration", HeaderData.formatTime((double) duration / timescale));
+            }
+            if (sampleCount >= 0) {
+                stream.set("nb_frames", Long.toString(sampleCount));
+            }
+
+            stream.subData("disposition").set("default", enabled ? 1 : 0);
+            stream.subData("tags")
+                    .set("language", language)
+                    .set("handler_name", handlerName);
+            return true;
+        }
+
+        private boolean readVisualEntry(final HeaderData stream) {
+            String codecName;
+            switch (sampleEntryType) {
+                case "avc1":
+                case "avc3":
+                    codecName = "h264";
+                    break;
+                case "hvc1":
+                case "hev1":
+                    codecName = "hevc";
+                    break;
+                case "av01":
+                    codecName = "av1";
+                    break;
+                case "vp09":
+                    codecName = "vp9";
+                    break;
+                case "vp08":
+                    codecName = "vp8";
+                    break;
+                case "jpeg":
+                case "mjpa":
+                    codecName = "mjpeg";
+                    break;
+                case "apch":
+                case "apcn":
+                case "apcs":
+                case "apco":
+                case "ap4h":
+                case "ap4x":
+                    codecName = "prores";
+                    break;
+                case "mp4v":
+                    codecName = readVisualObjectType(Mp4Reader.findBox(sampleEntry,
+                            VISUAL_ENTRY_CHILDREN_OFFSET, "esds"));
+                    break;
+                default:
+                    codecName = null;
+                    break;
+            }
+            if (codecName == null || sampleEntry.limit() < VISUAL_ENTRY_CHILDREN_OFFSET) {
+                return false;
+            }
+
+            stream.set("codec_name", codecName)
+                    .set("codec_type", "video")
+                    .set("width", sampleEntry.getShort(24) & 0xFFFF)
+                    .set("height", sampleEntry.getShort(26) & 0xFFFF);
+            if (sampleCount > 0 && duration > 0) {
+                stream.set("avg_frame_rate",
+                        HeaderData.formatRational(sampleCount * timescale, duration));
+            }
+            return true;
+        }
+
+        private boolean readAudioEntry(final HeaderData stream) {
+            if (sampleEntry.limit() < AUDIO_ENTRY_CHILDREN_OFFSET) {
+                return false;
+            }
+            int version = sampleEntry.getShort(8) & 0xFFFF;
+            if (version > 1) {
+                return false;
+            }
+
+            int childrenOffset = version == 1
+                    ? AUDIO_ENTRY_V1_CHILDREN_OFFSET
+                    : AUDIO_ENTRY_CHILDREN_OFFSET;
+            int channels = sampleEntry.getShort(16) & 0xFFFF;
+            int sampleSize = sampleEntry.getShort(18) & 0xFFFF;
+            int sampleRate = sampleEntry.getInt(24) >>> 16;
+            String codecName;
+            String profile = null;
+            Integer bitsPerSample = null;
+            switch (sampleEntryType) {
+                case "mp4a":
+                    AudioSpecificConfig config = AudioSpecificConfig.parse(
+                            Mp4Reader.findBox(sampleEntry, childrenOffset, "esds"));
+                    if (config == null) {
+                        return false;
+                    }
+                    codecName = config.codecName;
+                    if (config.sampleRate > 0) {
+                        profile = config.profile;
+                        sampleRate = config.sampleRate;
+                        channels = config.channels;
+                    }
+                    break;
+                case "ac-3":
+                    codecName = "ac3";
+                    break;
+                case "ec-3":
+                    codecName = "eac3";
+                    break;
+                case "Opus":
+                    codecName = "opus";
+                    break;
+                case "fLaC":
+                    codecName = "flac";
+                    break;
+                case "alac":
+                    codecName = "alac";
+                    break;
+                case ".mp3":
+                    codecName = "mp3";
+                    break;
+                case "sowt":
+                    codecName = "pcm_s16le";
+                    bitsPerSample = 16;
+                    break;
+                case "twos":
+                    codecName = sampleSize == 8 ? "pcm_s8" : "pcm_s16be";
+                    bitsPerSample = sampleSize == 8 ? 8 : 16;
+                    break;
+                case "ulaw":
+                    codecName = "pcm_mulaw";
+                    bitsPerSample = 8;
+                    break;
+                case "alaw":
+                    codecName = "pcm_alaw";
+                    bitsPerSample = 8;
+                    break;
+                default:
+                    return false;
+            }
+            if (sampleRate <= 0 || channels <= 0) {
+                return false;
+            }
+
+            stream.set("codec_name", codecName)
+                    .set("profile", profile)
+                    .set("codec_type", "audio")
+                    .set("sample_rate", Integer.toString(sampleRate))
+                    .set("channels", channels)
+                    .set("bits_per_sample", bitsPerSample);
+            return true;
+        }
+
+        private boolean readSubtitleEntry(final HeaderData stream) {
+            String codecName;
+            switch (sampleEntryType) {
+                case "tx3g":
+                    codecName = "mov_text";
+                    break;
+                case "wvtt":
+                    codecName = "webvtt";
+                    break;
+                default:
+                    return false;
+            }
+            stream.set("codec_name", codecName).set("codec_type", "subtitle");
+            return true;
+        }
+
+        private static String readVisualObjectType(final ByteBuffer esds) {
+            AudioSpecificConfig config = AudioSpecificConfig.parse(esds);
+            return config == null ? null : config.codecName;
+        }
+    }
+
+    /**
+     * Codec properties from esds box: MPEG-4 object type and AAC AudioSpecificConfig.
+     */
+    private static final class AudioSpecificConfig {
+        private String codecName;
+        private String profile;
+        private int sampleRate;
+        private int channels;
+
+        static AudioSpecificConfig parse(final ByteBuffer esds) {
+            if (esds == null || esds.remaining() < 4) {
+                return null;
+            }
+            esds.position(4);
+
+            if (esds.get() != 3) {
+                return null;
+            }
+            readDescriptorLength(esds);
+            esds.getShort();
+            int flags = esds.get() & 0xFF;
+            if ((flags & 0x80) != 0) {
+                esds.getShort();
+            }
+            if ((flags & 0x40) != 0) {
+                esds.position(esds.position() + (esds.get() & 0xFF));
+            }
+            if ((flags & 0x20) != 0) {
+                esds.getShort();
+            }
+
+            if (esds.get() != 4) {
+                return null;
+            }
+            readDescriptorLength(esds);
+            int objectType = esds.get() & 0xFF;
+            // stream type, buffer size, max and avg bitrate
+            esds.position(esds.position() + 12);
+
+            AudioSpecificConfig result = new AudioSpecificConfig();
+            switch (objectType) {
+                case 0x20:
+                    result.codecName = "mpeg4";
+                    return result;
+                case 0x60:
+                case 0x61:
+                case 0x62:
+                case 0x63:
+                case 0x64:
+                case 0x65:
+                    result.codecName = "mpeg2video";
+                    return result;
+                case 0x6A:
+                    result.codecName = "mpeg1video";
+                    return result;
+                case 0x69:
+                case 0x6B:
+                    result.codecName = "mp3";
+                    return result;
+                case 0xA5:
+                    result.codecName = "ac3";
+                    return result;
+                case 0xA6:
+                    result.codecName = "eac3";
+                    return result;
+                case 0x40:
+                case 0x66:
+                case 0x67:
+                case 0x68:
+                    result.codecName = "aac";
+                    break;
+                default:
+                    return null;
+            }
+
+            if (!esds.hasRemaining() || esds.get() != 5) {
+                return null;
+            }
+            int length = readDescriptorLength(esds);
+            if (length < 2 || esds.remaining() < length) {
+                return null;
+            }
+            byte[] config = new byte[length];
+            esds.get(config);
+            return result.parseAac(config) ? result : null;
+        }
+
+        private boolean parseAac(final byte[] config) {
+            BitReader bits = new BitReader(config);
+            int objectType = readObjectType(bits);
+            sampleRate = readSampleRate(bits);
+            int channelConfig = bits.read(4);
+
+            int profileType = objectType;
+            if (objectType == 5 || objectType == 29) {
+                // SBR (and PS): extension sample rate and underlying object type follow
+                sampleRate = readSampleRate(bits);
+                readObjectType(bits);
+            }
+
+            switch (profileType) {
+                case 1:
+                    profile = "Main";
+                    break;
+                case 2:
+                    profile = "LC";
+                    break;
+                case 4:
+                    profile = "LTP";
+                    break;
+                case 5:
+                    profile = "HE-AAC";
+                    break;
+                case 29:
+                    profile = "HE-AACv2";
+                    break;
+                default:
+                    return false;
+            }
+
+            if (channelConfig <= 0 || channelConfig > 7 || sampleRate <= 0) {
+                return false;
+            }
+            channels = channelConfig == 7 ? 8 : channelConfig;
+            if (profileType == 29) {
+                // parametric stereo
+                channels = 2;
+            }
+            return true;
+        }
+
+        private static int readObjectType(final BitReader bits) {
+            int result = bits.read(5);
+            if (result == 31) {
+                result = 32 + bits.read(6);
+            }
+            return result;
+        }
+
+        private static int readSampleRate(final BitReader bits) {
+            int index = bits.read(4);
+            if (index == 15) {
+                return bits.read(24);
+            }
+            return index < AAC_SAMPLE_RATES.length ? AAC_SAMPLE_RATES[index] : -1;
+        }
+
+        private static int readDescriptorLength(final ByteBuffer buffer) {
+            int result = 0;
+            for (int i = 0; i < 4; i++) {
+                int b = buffer.get() & 0xFF;
+                result = result << 7 | b & 0x7F;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Reads bits most significant first, bits past the end are read as zeros.
+     */
+    private static final class BitReader {
+        private final byte[] data;
+        private int position;
+
+        BitReader(final byte[] data) {
+            this.data = data;
+        }
+
+        int read(final int count) {
+            int result = 0;
+            for (int i = 0; i < count; i++) {
+                int index = position >> 3;
+                int bit = index < data.length ? data[index] >> (7 - (position & 7)) & 1 : 0;
+                result = result << 1 | bit;
+                position++;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.ffprobe.header;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads header (fmt and data chunks) of RIFF WAVE files.
+ * <p>
+ * Only PCM, IEEE float, A-law and mu-law encodings are supported. RF64 and files with unknown
+ * or truncated data chunk are not supported.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+final class WavReader implements ContainerReader {
+    private static final int RIFF_HEADER_SIZE = 12;
+    private static final int CHUNK_HEADER_SIZE = 8;
+    private static final int MAX_FMT_SIZE = 64;
+    private static final int FORMAT_PCM = 0x0001;
+    private static final int FORMAT_IEEE_FLOAT = 0x0003;
+    private static final int FORMAT_ALAW = 0x0006;
+    private static final int FORMAT_MULAW = 0x0007;
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HeaderData read(final ChannelSource source, final String filename)
+            throws IOException {
+        ByteBuffer riff = source.read(0, RIFF_HEADER_SIZE, ByteOrder.LITTLE_ENDIAN);
+        if (riff.remaining() < RIFF_HEADER_SIZE || !"RIFF".equals(readFourCc(riff))) {
+            return null;
+        }
+        riff.getInt();
+        if (!"WAVE".equals(readFourCc(riff))) {
+            return null;
+        }
+
+        ByteBuffer fmt = null;
+        long dataSize = -1;
+        long position = RIFF_HEADER_SIZE;
+        while (position + CHUNK_HEADER_SIZE <= source.size()) {
+            ByteBuffer header = source.read(position, CHUNK_HEADER_SIZE, ByteOrder.LITTLE_ENDIAN);
+            String id = readFourCc(header);
+            long size = header.getInt() & 0xFFFFFFFFL;
+            long dataStart = position + CHUNK_HEADER_SIZE;
+
+            if ("fmt ".equals(id)) {
+                fmt = source.read(dataStart, Math.min(size, MAX_FMT_SIZE), ByteOrder.LITTLE_ENDIAN);
+            } else if ("data".equals(id)) {
+                if (size == 0 || size == 0xFFFFFFFFL || size > source.size() - dataStart) {
+                    return null;
+                }
+                dataSize = size;
+                break;
+            }
+            // chunks are word-aligned
+            position = dataStart + size + (size & 1);
+        }
+
+        if (fmt == null || fmt.remaining() < 16 || dataSize < 0) {
+            return null;
+        }
+
+        int formatTag = fmt.getShort() & 0xFFFF;
+        int channels = fmt.getShort() & 0xFFFF;
+        long sampleRate = fmt.getInt() & 0xFFFFFFFFL;
+        long byteRate = fmt.getInt() & 0xFFFFFFFFL;
+        int blockAlign = fmt.getShort() & 0xFFFF;
+        int bitsPerSample = fmt.getShort() & 0xFFFF;
+
+        int encoding = formatTag;
+        if (formatTag == FORMAT_EXTENSIBLE) {
+            // cbSize, valid bits per sample, channel mask, then sub-format GUID
+            if (fmt.remaining() < 10) {
+                return null;
+            }
+            fmt.position(fmt.position() + 8);
+            encoding = fmt.getShort() & 0xFFFF;
+        }
+
+        String codecName = toCodecName(encoding, bitsPerSample);
+        if (codecName == null || channels == 0 || sampleRate == 0 || byteRate == 0
+                || blockAlign == 0) {
+            return null;
+        }
+
+        double seconds = (double) dataSize / byteRate;
+        HeaderData result = new HeaderData();
+        result.addToList("streams")
+                .set("index", 0)
+                .set("codec_name", codecName)
+                .set("codec_type", "audio")
+                .set("codec_tag_string", HeaderData.formatCodecTagString(formatTag))
+                .set("codec_tag", HeaderData.formatCodecTag(formatTag))
+                .set("sample_fmt", toSampleFormat(codecName))
+                .set("sample_rate", Long.toString(sampleRate))
+                .set("channels", channels)
+                .set("bits_per_sample", bitsPerSample)
+                .set("time_base", "1/" + sampleRate)
+                .set("duration_ts", dataSize / blockAlign)
+                .set("duration", HeaderData.formatTime(seconds))
+                .set("bit_rate", Long.toString(byteRate * 8));
+
+        result.subData("format")
+                .set("filename", filename)
+                .set("nb_streams", 1)
+                .set("nb_programs", 0)
+                .set("format_name", "wav")
+                .set("format_long_name", "WAV / WAVE (Waveform Audio)")
+                .set("duration", HeaderData.formatTime(seconds))
+                .set("size", Long.toString(source.size()))
+                .set("bit_rate", Long.toString((long) (source.size() * 8 / seconds)));
+
+        return result;
+    }
+
+    private static String toCodecName(final int encoding, final int bitsPerSample) {
+        switch (encoding) {
+            case FORMAT_PCM:
+                switch (bitsPerSample) {
+                    case 8:
+                        return "pcm_u8";
+                    case 16:
+                    case 24:
+                    case 32:
+                        return "pcm_s" + bitsPerSample + "le";
+                    default:
+                        return null;
+                }
+            case FORMAT_IEEE_FLOAT:
+                if (bitsPerSample == 32 || bitsPerSample == 64) {
+                    return "pcm_f" + bitsPerSample + "le";
+                }
+                return null;
+            case FORMAT_ALAW:
+                return "pcm_alaw";
+            case FORMAT_MULAW:
+                return "pcm_mulaw";
+            default:
+                return null;
+        }
+    }
+
+    private static String toSampleFormat(final String codecName) {
+        switch (codecName) {
+            case "pcm_u8":
+                return "u8";
+            case "pcm_s24le":
+            case "pcm_s32le":
+                return "s32";
+            case "pcm_f32le":
+                return "flt";
+            case "pcm_f64le":
+                return "dbl";
+            default:
+                return "s16";
+        }
+    }
+
+    private static String readFourCc(final ByteBuffer buffer) {
+        byte[] bytes = new byte[4];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.metrics;
+
+import java.nio.file.Path;
+
+/**
+ * {@link JaffreeMetrics} receives Jaffree metrics events.
+ * <p>
+ * Implementation can be registered with {@link Metrics#set(JaffreeMetrics)} or with
+ * {@link java.util.ServiceLoader} (META-INF/services/com.github.kokorin.jaffree.metrics
+ * .JaffreeMetrics). All methods have no-op default implementation.
+ * <p>
+ * <b>Note</b>: some methods are invoked on hot paths (e.g. for every frame or every buffer
+ * copied), so implementation must be fast and thread-safe. Jaffree doesn't aggregate
+ * metrics: e.g. frames per second should be calculated by implementation as a rate of
+ * {@link #frameRead(int, int)} events.
+ */
+public interface JaffreeMetrics {
+
+    /**
+     * Invoked when a program (ffmpeg or ffprobe) has been started.
+     *
+     * @param executable program executable
+     * @param spawnNanos time spent to start program in nanoseconds
+     */
+    default void processStarted(final Path executable, final long spawnNanos) {
+    }
+
+    /**
+     * Invoked when a program (ffmpeg or ffprobe) has exited.
+     *
+     * @param executable program executable
+     * @param runNanos   program run time in nanoseconds
+     * @param exitStatus program exit status
+     */
+    default void processFinished(final Path executable, final long runNanos,
+                                 final int exitStatus) {
+    }
+
+    /**
+     * Invoked when a chunk of bytes has been transferred to or from ffmpeg.
+     *
+     * @param type  transfer type
+     * @param bytes number of bytes transferred
+     */
+    default void bytesTransferred(final TransferType type, final long bytes) {
+    }
+
+    /**
+     * Invoked when a frame has been read from ffmpeg.
+     *
+     * @param streamId stream id
+     * @param bytes    frame size in bytes
+     */
+    default void frameRead(final int streamId, final int bytes) {
+    }
+
+    /**
+     * Invoked when a frame has been written to ffmpeg.
+     *
+     * @param streamId stream id
+     * @param bytes    frame size in bytes
+     */
+    default void frameWritten(final int streamId, final int bytes) {
+    }
+
+    /**
+     * Invoked when ffmpeg reports its progress.
+     *
+     * @param speed ratio of processed media duration to elapsed time
+     */
+    default void progressSpeed(final double speed) {
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * {@link Metrics} holds {@link JaffreeMetrics} used by Jaffree.
+ * <p>
+ * First {@link JaffreeMetrics} implementation found by {@link ServiceLoader} is used by
+ * default. If there is no such implementation, all metrics are discarded.
+ */
+public final class Metrics {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Metrics.class);
+
+    /**
+     * {@link JaffreeMetrics} which discards all metrics.
+     */
+    public static final JaffreeMetrics NOOP = new NoopMetrics();
+
+    private static volatile JaffreeMetrics instance = load();
+
+    private Metrics() {
+    }
+
+    /**
+     * @return current metrics
+     */
+    public static JaffreeMetrics get() {
+        return instance;
+    }
+
+    /**
+     * Sets metrics to use.
+     * <p>
+     * Components capture metrics when they start processing, so change is visible only
+     * to ffmpeg/ffprobe executions started afterwards.
+     *
+     * @param metrics metrics or null to discard all metrics
+     */
+    public static void set(final JaffreeMetrics metrics) {
+        if (metrics == null) {
+            instance = NOOP;
+        } else {
+            instance = metrics;
+        }
+    }
+
+    /**
+     * @return true if metrics are collected
+     */
+    public static boolean isEnabled() {
+        return instance != NOOP;
+    }
+
+    private static JaffreeMetrics load() {
+        try {
+            Iterator<JaffreeMetrics> iterator = ServiceLoader.load(JaffreeMetrics.class)
+                    .iterator();
+            if (iterator.hasNext()) {
+                JaffreeMetrics result = iterator.next();
+                LOGGER.info("Using JaffreeMetrics: {}", result.getClass().getName());
+                return result;
+            }
+        } catch (RuntimeException | Error e) {
+            LOGGER.warn("Failed to load JaffreeMetrics implementation", e);
+        }
+
+        return NOOP;
+    }
+
+    /**
+     * {@link JaffreeMetrics} which discards all metrics.
+     */
+    private static final class NoopMetrics implements JaffreeMetrics {
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.metrics;
+
+/**
+ * Type of data transfer between Jaffree and ffmpeg.
+ */
+public enum TransferType {
+    /**
+     * Bytes copied from {@link java.io.InputStream} to ffmpeg.
+     */
+    PIPE_INPUT,
+
+    /**
+     * Bytes copied from ffmpeg to {@link java.io.OutputStream}.
+     */
+    PIPE_OUTPUT,
+
+    /**
+     * Bytes read from {@link java.nio.channels.SeekableByteChannel} and sent to ffmpeg.
+     */
+    FTP_RETRIEVE,
+
+    /**
+     * Bytes received from ffmpeg and written to {@link java.nio.channels.SeekableByteChannel}.
+     */
+    FTP_STORE
+}
@@ -18,6 +18,8 @@
 package com.github.kokorin.jaffree.net;
 
 import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.metrics.Metrics;
+import com.github.kokorin.jaffree.metrics.TransferType;
 import com.github.kokorin.jaffree.util.IOUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -287,7 +289,8 @@ public class FtpServer extends TcpServer {
              OutputStream dataOutput = dataSocket.getOutputStream()) {
             LOGGER.debug("Data connection established, position: {} socket: {}", channel.position(),
                     dataSocket);
-            long copied = IOUtil.copy(Channels.newInputStream(channel), dataOutput, buffer);
+            long copied = IOUtil.copy(Channels.newInputStream(channel), dataOutput, buffer,
+                    Metrics.get(), TransferType.FTP_RETRIEVE);
             LOGGER.debug("Copied {} bytes to data socket", copied);
             dataOutput.flush();
             println(output, "226 Operation successful");
@@ -317,7 +320,8 @@ public class FtpServer extends TcpServer {
              InputStream dataInput = dataSocket.getInputStream()) {
             LOGGER.debug("Data connection established, position: {} socket: {}", channel.position(),
                     dataSocket);
-            long copied = IOUtil.copy(dataInput, Channels.newOutputStream(channel), buffer);
+            long copied = IOUtil.copy(dataInput, Channels.newOutputStream(channel), buffer,
+                    Metrics.get(), TransferType.FTP_STORE);
             LOGGER.debug("Copied {} bytes from data socket", copied);
             println(output, "226 Operation successful");
         } catch (SocketException e) {
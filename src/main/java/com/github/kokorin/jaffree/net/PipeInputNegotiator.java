@@ -17,6 +17,8 @@
 
 package com.github.kokorin.jaffree.net;
 
+import com.github.kokorin.jaffree.metrics.Metrics;
+import com.github.kokorin.jaffree.metrics.TransferType;
 import com.github.kokorin.jaffree.util.IOUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,7 +59,8 @@ public class PipeInputNegotiator implements TcpNegotiator {
     @Override
     public void negotiate(final Socket socket) throws IOException {
         try (OutputStream destination = socket.getOutputStream()) {
-            IOUtil.copy(source, destination, bufferSize);
+            IOUtil.copy(source, destination, bufferSize, Metrics.get(),
+                    TransferType.PIPE_INPUT);
         } catch (SocketException e) {
             // Client (ffmpeg) has no way to notify server that no more data is needed.
             // It just closes TCP connection on its side.
@@ -17,6 +17,8 @@
 
 package com.github.kokorin.jaffree.net;
 
+import com.github.kokorin.jaffree.metrics.Metrics;
+import com.github.kokorin.jaffree.metrics.TransferType;
 import com.github.kokorin.jaffree.util.IOUtil;
 
 import java.io.IOException;
@@ -52,7 +54,8 @@ public class PipeOutputNegotiator implements TcpNegotiator {
     @Override
     public void negotiate(final Socket socket) throws IOException {
         try (InputStream source = socket.getInputStream()) {
-            IOUtil.copy(source, destination, bufferSize);
+            IOUtil.copy(source, destination, bufferSize, Metrics.get(),
+                    TransferType.PIPE_OUTPUT);
         }
     }
 }
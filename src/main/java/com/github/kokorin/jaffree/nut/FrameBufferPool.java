@@ -0,0 +1,141 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.nut;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link FrameBufferPool} keeps released frame buffers, so they can be reused for next frames
+ * of the same size instead of allocating new arrays.
+ * <p>
+ * Raw frames usually have constant size per stream, so the pool reaches steady state with a
+ * few buffers per stream. Pool is bounded: at most {@code maxBuffersPerSize} buffers of
+ * at most {@code maxSizes} distinct sizes are kept, least recently used sizes are dropped first.
+ * <p>
+ * {@link FrameBufferPool} is thread-safe, buffers can be released from any thread.
+ *
+ * @see NutReader#NutReader(NutInputStream, FrameBufferPool)
+ * @see NutFrame#release()
+ */
+public class FrameBufferPool {
+    private final int maxBuffersPerSize;
+    private final Map<Integer, Deque<byte[]>> buffers;
+    private long allocations = 0;
+    private long reuses = 0;
+
+    /**
+     * Default number of buffers of the same size kept in pool.
+     */
+    public static final int DEFAULT_MAX_BUFFERS_PER_SIZE = 4;
+
+    /**
+     * Default number of distinct buffer sizes kept in pool.
+     */
+    public static final int DEFAULT_MAX_SIZES = 8;
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Creates {@link FrameBufferPool} with default limits.
+     */
+    public FrameBufferPool() {
+        this(DEFAULT_MAX_BUFFERS_PER_SIZE, DEFAULT_MAX_SIZES);
+    }
+
+    /**
+     * Creates {@link FrameBufferPool}.
+     *
+     * @param maxBuffersPerSize maximum number of buffers of the same size kept in pool
+     * @param maxSizes          maximum number of distinct buffer sizes kept in pool
+     */
+    public FrameBufferPool(final int maxBuffersPerSize, final int maxSizes) {
+        if (maxBuffersPerSize <= 0 || maxSizes <= 0) {
+            throw new IllegalArgumentException("Pool limits must be positive");
+        }
+        this.maxBuffersPerSize = maxBuffersPerSize;
+        this.buffers = new LinkedHashMap<Integer, Deque<byte[]>>(
+                INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, Deque<byte[]>> eldest) {
+                return size() > maxSizes;
+            }
+        };
+    }
+
+    /**
+     * Returns buffer of exactly specified size, either released earlier or newly allocated.
+     * Content of the buffer is undefined.
+     *
+     * @param size buffer size
+     * @return buffer
+     */
+    public byte[] acquire(final int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        synchronized (this) {
+            Deque<byte[]> released = buffers.get(size);
+            if (released != null && !released.isEmpty()) {
+                reuses++;
+                return released.pop();
+            }
+            allocations++;
+        }
+        return new byte[size];
+    }
+
+    /**
+     * Returns buffer to pool. Buffer must not be used after release.
+     *
+     * @param buffer buffer to release
+     */
+    public synchronized void release(final byte[] buffer) {
+        if (buffer.length == 0) {
+            return;
+        }
+
+        Deque<byte[]> released = buffers.get(buffer.length);
+        if (released == null) {
+            released = new ArrayDeque<>(maxBuffersPerSize);
+            buffers.put(buffer.length, released);
+        }
+        if (released.size() < maxBuffersPerSize) {
+            released.push(buffer);
+        }
+    }
+
+    /**
+     * @return number of buffers allocated by pool
+     */
+    public synchronized long getAllocations() {
+        return allocations;
+    }
+
+    /**
+     * @return number of times a released buffer was reused
+     */
+    public synchronized long getReuses() {
+        return reuses;
+    }
+}
@@ -17,11 +17,17 @@
 
 package com.github.kokorin.jaffree.nut;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Nut frame.
+ * <p>
+ * Frames read by {@link NutReader} with {@link FrameBufferPool} hold pooled data buffer, such
+ * frames must be {@link #release() released} (e.g. with try-with-resources) when their data is
+ * not needed anymore. Releasing frame without pool has no effect.
  */
 @SuppressWarnings("checkstyle:VisibilityModifier")
-public class NutFrame {
+public class NutFrame implements AutoCloseable {
     /**
      * Stream id.
      */
@@ -64,6 +70,9 @@ public class NutFrame {
      */
     public final boolean eor;
 
+    private final FrameBufferPool pool;
+    private final AtomicBoolean released = new AtomicBoolean();
+
     /**
      * Creates {@link NutFrame}.
      *
@@ -79,6 +88,26 @@ public class NutFrame {
                     final byte[] data,
                     final DataItem[] sideData, final DataItem[] metaData,
                     final boolean keyframe, final boolean eor) {
+        this(streamId, pts, data, sideData, metaData, keyframe, eor, null);
+    }
+
+    /**
+     * Creates {@link NutFrame} with pooled data.
+     *
+     * @param streamId stream ID
+     * @param pts      PTS
+     * @param data     data
+     * @param sideData side data
+     * @param metaData metadata
+     * @param keyframe keyframe
+     * @param eor      end-of-relevance
+     * @param pool     pool to return data to on release, or null
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public NutFrame(final int streamId, final long pts,
+                    final byte[] data,
+                    final DataItem[] sideData, final DataItem[] metaData,
+                    final boolean keyframe, final boolean eor, final FrameBufferPool pool) {
         this.streamId = streamId;
         this.pts = pts;
         this.data = data;
@@ -86,6 +115,29 @@ public class NutFrame {
         this.metaData = metaData;
         this.keyframe = keyframe;
         this.eor = eor;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns data buffer to the pool it was acquired from. Frame data must not be used after
+     * release.
+     * <p>
+     * Repeated calls have no effect.
+     */
+    public void release() {
+        if (pool != null && data != null && released.compareAndSet(false, true)) {
+            pool.release(data);
+        }
+    }
+
+    /**
+     * Releases frame.
+     *
+     * @see #release()
+     */
+    @Override
+    public void close() {
+        release();
     }
 
     /**
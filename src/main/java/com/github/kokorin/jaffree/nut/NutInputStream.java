@@ -251,10 +251,21 @@ public class NutInputStream implements AutoCloseable {
      */
     public byte[] readBytes(final long toRead) throws IOException {
         byte[] result = new byte[(int) toRead];
+        readFully(result);
+        return result;
+    }
+
+    /**
+     * Reads bytes to fill the whole buffer.
+     *
+     * @param buffer buffer to read to
+     * @throws IOException if any IO error
+     */
+    public void readFully(final byte[] buffer) throws IOException {
         int start = 0;
 
-        while (start < toRead) {
-            long read = input.read(result, start, (int) toRead - start);
+        while (start < buffer.length) {
+            long read = input.read(buffer, start, buffer.length - start);
             if (read == -1) {
                 throw new EOFException("No more data");
             }
@@ -262,8 +273,6 @@ public class NutInputStream implements AutoCloseable {
             position += read;
             start += read;
         }
-
-        return result;
     }
 
     /**
@@ -33,6 +33,7 @@ import java.util.Set;
 @SuppressWarnings("checkstyle:MagicNumber")
 public class NutReader {
     private final NutInputStream input;
+    private final FrameBufferPool bufferPool;
     private MainHeader mainHeader;
     private StreamHeader[] streamHeaders;
     private Info[] infos;
@@ -44,7 +45,22 @@ public class NutReader {
      * @param input input stream
      */
     public NutReader(final NutInputStream input) {
+        this(input, null);
+    }
+
+    /**
+     * Creates {@link NutReader} which reads frame data to pooled buffers.
+     * <p>
+     * Every frame returned by {@link #readFrame()} must be released to return its buffer
+     * to the pool.
+     *
+     * @param input      input stream
+     * @param bufferPool frame buffer pool, or null to allocate new buffer for every frame
+     * @see NutFrame#release()
+     */
+    public NutReader(final NutInputStream input, final FrameBufferPool bufferPool) {
         this.input = input;
+        this.bufferPool = bufferPool;
     }
 
     /**
@@ -417,13 +433,19 @@ public class NutReader {
         long dataSizeWithElision = dataSizeLsb + dataSizeMsb * dataSizeMul;
         long dataSize = dataSizeWithElision - elisionHeaderSize;
 
-        byte[] data = input.readBytes(dataSize);
+        final byte[] data;
+        if (bufferPool != null) {
+            data = bufferPool.acquire((int) dataSize);
+            input.readFully(data);
+        } else {
+            data = input.readBytes(dataSize);
+        }
         input.skipBytes(elisionHeaderSize);
         boolean keyframe = flags.contains(FrameCode.Flag.KEYFRAME);
         boolean eor = flags.contains(FrameCode.Flag.EOR) || dataSize == 0;
 
         lastPts[streamId] = pts;
-        return new NutFrame(streamId, pts, data, sideData, metaData, keyframe, eor);
+        return new NutFrame(streamId, pts, data, sideData, metaData, keyframe, eor, bufferPool);
     }
 
     private Info readInfo() throws IOException {
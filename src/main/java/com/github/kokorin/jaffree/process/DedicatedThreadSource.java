@@ -0,0 +1,36 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+package com.github.kokorin.jaffree.process;
+
+/**
+ * {@link ThreadSource} implementation which starts new daemon thread for every
+ * {@link Runnable}.
+ * <p>
+ * This is the default {@link ThreadSource}.
+ */
+public class DedicatedThreadSource implements ThreadSource {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(final String threadName, final Runnable runnable) {
+        Thread thread = new Thread(runnable, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -25,22 +25,30 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Executor starts threads with provided {@link Runnable}s and controls all threads it has started.
  * <p>
- * If exception appears in any of the threads the starter thread is interrupted.
+ * Threads are obtained from {@link ThreadSource}, by default a new thread is started for every
+ * {@link Runnable}.
+ * <p>
+ * If exception appears in any of the threads the starter thread is interrupted, unless it has
+ * already {@link #releaseStarter(boolean) stopped waiting} for the threads.
  */
 public class Executor {
     private final Thread starter;
     private final String contextName;
+    private final ThreadSource threadSource;
 
     private final List<Throwable> exceptions = new CopyOnWriteArrayList<>();
-    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    private final List<Task> tasks = new CopyOnWriteArrayList<>();
     private final AtomicInteger runningCounter = new AtomicInteger();
-    private final AtomicBoolean starterInterrupted = new AtomicBoolean();
+    private final Object runningMonitor = new Object();
+    private final Object starterLock = new Object();
+    private boolean starterInterrupted = false;
+    private boolean starterReleased = false;
     private volatile boolean stopped = false;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Executor.class);
@@ -51,8 +59,23 @@ public class Executor {
      * @param contextName context name for logging
      */
     public Executor(final String contextName) {
+        this(contextName, new DedicatedThreadSource());
+    }
+
+    /**
+     * Creates {@link Executor}.
+     *
+     * @param contextName  context name for logging
+     * @param threadSource source of threads to execute {@link Runnable}s
+     */
+    public Executor(final String contextName, final ThreadSource threadSource) {
+        if (threadSource == null) {
+            throw new IllegalArgumentException("ThreadSource must be non null");
+        }
+
         this.starter = Thread.currentThread();
         this.contextName = contextName;
+        this.threadSource = threadSource;
     }
 
     /**
@@ -74,35 +97,17 @@ public class Executor {
         }
 
         String threadName = getThreadName(name);
-        Thread thread = new Thread(new Runnable() {
-            @Override
-            public void run() {
-                LOGGER.debug("{} thread has started", threadName);
-                runningCounter.incrementAndGet();
-                try {
-                    runnable.run();
-                } catch (Exception e) {
-                    LOGGER.debug("Exception in thread {}, collecting for later report. Message: {}",
-                            name, e.getMessage());
-                    exceptions.add(e);
-
-                    // Starter thread MUST NOT be interrupted multiple times, otherwise main thread
-                    // may be marked for interruption after exiting ProcessHandler logic.
-                    if (!stopped && starterInterrupted.compareAndSet(false, true)) {
-                        LOGGER.warn("Interrupting starter thread ({}) because of exception: {}",
-                                starter.getName(), e.getMessage());
-                        starter.interrupt();
-                    }
-                } finally {
-                    runningCounter.decrementAndGet();
-                    LOGGER.debug("{} thread has finished", name);
-                }
-            }
-        }, threadName);
-        thread.setDaemon(true);
-        thread.start();
-
-        threads.add(thread);
+        Task task = new Task(threadName, runnable);
+        tasks.add(task);
+        // Counted before thread is started, so awaitStop doesn't miss not yet started tasks
+        runningCounter.incrementAndGet();
+        try {
+            threadSource.execute(threadName, task);
+        } catch (RuntimeException | Error e) {
+            tasks.remove(task);
+            onTaskFinished();
+            throw e;
+        }
     }
 
     /**
@@ -119,12 +124,39 @@ public class Executor {
      * and haven't been interrupted.
      */
     public void stop() {
-        stopped = true;
+        synchronized (starterLock) {
+            stopped = true;
+        }
         LOGGER.debug("Stopping execution");
-        for (Thread thread : threads) {
-            if (thread.isAlive() && !thread.isInterrupted()) {
-                LOGGER.warn("Interrupting ALIVE thread: {}", thread.getName());
-                thread.interrupt();
+        for (Task task : tasks) {
+            task.interrupt();
+        }
+    }
+
+    /**
+     * Tells that the starter thread doesn't wait for the threads anymore, so it's never
+     * interrupted after this call.
+     * <p>
+     * If interruption sent by this {@link Executor} hasn't been received by the starter
+     * (it stopped blocking right before the interruption), interrupted status is cleared,
+     * otherwise it would affect unrelated operations in the starter thread. Interruptions sent
+     * by anyone else are kept intact.
+     * <p>
+     * <b>Note</b>: must be invoked in the starter thread.
+     *
+     * @param interruptionReceived true if starter has received {@link InterruptedException}
+     *                             while waiting
+     */
+    public void releaseStarter(final boolean interruptionReceived) {
+        if (starter != Thread.currentThread()) {
+            throw new JaffreeException("Starter must be released in the same thread "
+                    + "that created this Executor!");
+        }
+
+        synchronized (starterLock) {
+            starterReleased = true;
+            if (starterInterrupted && !interruptionReceived) {
+                Thread.interrupted();
             }
         }
     }
@@ -136,6 +168,39 @@ public class Executor {
         return runningCounter.get() > 0;
     }
 
+    /**
+     * Blocks until all threads started so far finish, or the timeout elapses, or the current
+     * thread is interrupted, whichever happens first.
+     * <p>
+     * Zero timeout means "wait indefinitely".
+     *
+     * @param timeout maximum time to wait
+     * @param unit    time unit of the timeout argument
+     * @return true if all threads have finished, false if timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitStop(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        synchronized (runningMonitor) {
+            while (isRunning()) {
+                if (timeout == 0) {
+                    runningMonitor.wait();
+                    continue;
+                }
+
+                long leftNanos = deadline - System.nanoTime();
+                if (leftNanos <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(runningMonitor, leftNanos);
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Returns names of all threads that are still running.
      *
@@ -143,15 +208,38 @@ public class Executor {
      */
     public List<String> getRunningThreadNames() {
         List<String> result = new ArrayList<>();
-        for (Thread thread : threads) {
-            if (thread.isAlive() && !thread.isInterrupted()) {
-                result.add(thread.getName());
+        for (Task task : tasks) {
+            if (task.isAlive()) {
+                result.add(task.name);
             }
         }
 
         return result;
     }
 
+    private void interruptStarter(final Exception e) {
+        synchronized (starterLock) {
+            // Starter thread MUST NOT be interrupted multiple times or after it has stopped
+            // waiting, otherwise main thread may be marked for interruption after exiting
+            // ProcessHandler logic.
+            if (stopped || starterReleased || starterInterrupted) {
+                return;
+            }
+            starterInterrupted = true;
+            LOGGER.warn("Interrupting starter thread ({}) because of exception: {}",
+                    starter.getName(), e.getMessage());
+            starter.interrupt();
+        }
+    }
+
+    private void onTaskFinished() {
+        if (runningCounter.decrementAndGet() == 0) {
+            synchronized (runningMonitor) {
+                runningMonitor.notifyAll();
+            }
+        }
+    }
+
     private String getThreadName(final String name) {
         if (contextName == null) {
             return name;
@@ -159,4 +247,64 @@ public class Executor {
 
         return contextName + "-" + name;
     }
+
+    /**
+     * Wraps {@link Runnable} to collect exceptions and to keep track of the thread running it.
+     * <p>
+     * Thread may be provided by a pool, so it must be interrupted only while it's running this
+     * {@link Task}.
+     */
+    private final class Task implements Runnable {
+        private final String name;
+        private final Runnable runnable;
+        private Thread thread;
+        private boolean interruptRequested;
+        private boolean finished;
+
+        Task(final String name, final Runnable runnable) {
+            this.name = name;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                thread = Thread.currentThread();
+                if (interruptRequested) {
+                    thread.interrupt();
+                }
+            }
+
+            LOGGER.debug("{} thread has started", name);
+            try {
+                runnable.run();
+            } catch (Exception e) {
+                LOGGER.debug("Exception in thread {}, collecting for later report. Message: {}",
+                        name, e.getMessage());
+                exceptions.add(e);
+
+                interruptStarter(e);
+            } finally {
+                synchronized (this) {
+                    thread = null;
+                    finished = true;
+                }
+                LOGGER.debug("{} thread has finished", name);
+                onTaskFinished();
+            }
+        }
+
+        synchronized boolean isAlive() {
+            return !finished && (thread == null || !thread.isInterrupted());
+        }
+
+        synchronized void interrupt() {
+            if (thread == null) {
+                interruptRequested = !finished;
+            } else if (!thread.isInterrupted()) {
+                LOGGER.warn("Interrupting ALIVE thread: {}", name);
+                thread.interrupt();
+            }
+        }
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+package com.github.kokorin.jaffree.process;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ThreadSource} implementation which reuses threads of bounded thread pool.
+ * <p>
+ * Idle threads are kept alive for some time and are reused by subsequent ffmpeg/ffprobe
+ * executions, which saves thread creation for every stdout &amp; stderr reader and
+ * {@link ProcessHelper}.
+ * <p>
+ * <b>Note</b>: runnables are never queued, since all of them must run in parallel with the
+ * process. If all pooled threads are busy, a dedicated daemon thread is started instead.
+ * <p>
+ * Single instance can (and should) be shared among many ffmpeg/ffprobe executions.
+ *
+ * @see #shared()
+ */
+public class PooledThreadSource implements ThreadSource, AutoCloseable {
+    private final ThreadPoolExecutor pool;
+    private final ThreadSource fallback = new DedicatedThreadSource();
+
+    private static final int DEFAULT_MAX_THREADS = 256;
+    private static final long DEFAULT_KEEP_ALIVE_MILLIS = 60_000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledThreadSource.class);
+
+    /**
+     * Creates {@link PooledThreadSource}.
+     *
+     * @param maxThreads      maximum number of pooled threads
+     * @param keepAliveMillis time for idle threads to wait for new runnables before terminating
+     */
+    public PooledThreadSource(final int maxThreads, final long keepAliveMillis) {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("Max threads must be positive");
+        }
+        if (keepAliveMillis < 0) {
+            throw new IllegalArgumentException("Keep alive cannot be negative");
+        }
+
+        this.pool = new ThreadPoolExecutor(0, maxThreads, keepAliveMillis, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new DaemonThreadFactory());
+    }
+
+    /**
+     * Runs provided {@link Runnable} in a pooled thread (or in a dedicated thread if all pooled
+     * threads are busy).
+     * <p>
+     * Pooled thread is renamed to threadName while runnable executes.
+     *
+     * @param threadName name of the thread (for logging)
+     * @param runnable   runnable to execute
+     */
+    @Override
+    public void execute(final String threadName, final Runnable runnable) {
+        try {
+            pool.execute(new Runnable() {
+                @Override
+                public void run() {
+                    Thread current = Thread.currentThread();
+                    String poolThreadName = current.getName();
+                    current.setName(threadName);
+                    try {
+                        runnable.run();
+                    } finally {
+                        current.setName(poolThreadName);
+                        // Clear interrupted flag (if any) before returning thread to pool
+                        Thread.interrupted();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("No pooled thread available, starting dedicated thread {}", threadName);
+            fallback.execute(threadName, runnable);
+        }
+    }
+
+    /**
+     * @return number of pooled threads (both busy and idle)
+     */
+    public int getPoolSize() {
+        return pool.getPoolSize();
+    }
+
+    /**
+     * Stops accepting new runnables and terminates idle threads.
+     * <p>
+     * Runnables which are already running are not interrupted.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Returns {@link PooledThreadSource} shared across the whole JVM.
+     *
+     * @return shared thread source
+     */
+    public static PooledThreadSource shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    private static final class SharedHolder {
+        private static final PooledThreadSource INSTANCE =
+                new PooledThreadSource(DEFAULT_MAX_THREADS, DEFAULT_KEEP_ALIVE_MILLIS);
+
+        private SharedHolder() {
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "Jaffree-pool-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.process;
+
+import com.github.kokorin.jaffree.util.ParseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * {@link ProcResourceSampler} reads resources consumed by a process from Linux procfs:
+ * {@code /proc/<pid>/stat} (CPU time), {@code /proc/<pid>/status} (peak RSS) and
+ * {@code /proc/<pid>/io} (I/O bytes).
+ * <p>
+ * All values are cumulative, so the last sample taken before process exits is the most
+ * accurate one. {@link ProcessHandler} samples process periodically while waiting for it
+ * to finish.
+ */
+public class ProcResourceSampler {
+    private Path procRoot = Paths.get("/proc");
+    private long clockTicksPerSecond = DEFAULT_CLOCK_TICKS_PER_SECOND;
+    private long samplingIntervalMillis = DEFAULT_SAMPLING_INTERVAL_MILLIS;
+
+    /**
+     * USER_HZ, which is 100 on all mainstream Linux architectures.
+     */
+    public static final long DEFAULT_CLOCK_TICKS_PER_SECOND = 100;
+
+    /**
+     * Default sampling interval in milliseconds.
+     */
+    public static final long DEFAULT_SAMPLING_INTERVAL_MILLIS = 200;
+
+    private static final int STAT_UTIME_INDEX = 11;
+    private static final int STAT_STIME_INDEX = 12;
+    private static final long MILLIS_IN_SECOND = 1000;
+    private static final long BYTES_IN_KIBIBYTE = 1024;
+    private static final String PEAK_RSS_KEY = "VmHWM:";
+    private static final String READ_CHARS_KEY = "rchar:";
+    private static final String WRITE_CHARS_KEY = "wchar:";
+    private static final String READ_BYTES_KEY = "read_bytes:";
+    private static final String WRITE_BYTES_KEY = "write_bytes:";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcResourceSampler.class);
+
+    /**
+     * Sets procfs mount point. Intended mostly for tests.
+     * <p>
+     * Default is /proc.
+     *
+     * @param procRoot procfs root
+     * @return this
+     */
+    public ProcResourceSampler setProcRoot(final Path procRoot) {
+        this.procRoot = procRoot;
+        return this;
+    }
+
+    /**
+     * Sets number of clock ticks per second (USER_HZ) used to report CPU time in
+     * {@code /proc/<pid>/stat}.
+     *
+     * @param clockTicksPerSecond clock ticks per second
+     * @return this
+     */
+    public ProcResourceSampler setClockTicksPerSecond(final long clockTicksPerSecond) {
+        if (clockTicksPerSecond <= 0) {
+            throw new IllegalArgumentException("Clock ticks per second must be positive");
+        }
+        this.clockTicksPerSecond = clockTicksPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets interval between samples.
+     *
+     * @param samplingIntervalMillis sampling interval in milliseconds
+     * @return this
+     */
+    public ProcResourceSampler setSamplingIntervalMillis(final long samplingIntervalMillis) {
+        if (samplingIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Sampling interval must be positive");
+        }
+        this.samplingIntervalMillis = samplingIntervalMillis;
+        return this;
+    }
+
+    /**
+     * @return interval between samples in milliseconds
+     */
+    public long getSamplingIntervalMillis() {
+        return samplingIntervalMillis;
+    }
+
+    /**
+     * Reads resources consumed by a process so far.
+     * <p>
+     * Wall time of returned {@link ResourceUsage} is always 0.
+     *
+     * @param pid process id
+     * @return resource usage or null if process information is not available
+     * (e.g. process has already exited)
+     */
+    public ResourceUsage sample(final long pid) {
+        Path processDir = procRoot.resolve(Long.toString(pid));
+
+        List<String> stat = readLines(processDir.resolve("stat"));
+        if (stat == null || stat.isEmpty()) {
+            return null;
+        }
+
+        Long userCpuMillis = null;
+        Long systemCpuMillis = null;
+        String statLine = stat.get(0);
+        // Process name (2nd field) is in parentheses and may contain spaces
+        int nameEnd = statLine.lastIndexOf(')');
+        if (nameEnd >= 0) {
+            String[] fields = statLine.substring(nameEnd + 1).trim().split(" ");
+            if (fields.length > STAT_STIME_INDEX) {
+                userCpuMillis = ticksToMillis(ParseUtil.parseLong(fields[STAT_UTIME_INDEX]));
+                systemCpuMillis = ticksToMillis(ParseUtil.parseLong(fields[STAT_STIME_INDEX]));
+            }
+        }
+
+        Long peakRssBytes = null;
+        List<String> status = readLines(processDir.resolve("status"));
+        if (status != null) {
+            Long peakRssKibiBytes = findValue(status, PEAK_RSS_KEY);
+            if (peakRssKibiBytes != null) {
+                peakRssBytes = peakRssKibiBytes * BYTES_IN_KIBIBYTE;
+            }
+        }
+
+        Long readBytes = null;
+        Long writeBytes = null;
+        Long storageReadBytes = null;
+        Long storageWriteBytes = null;
+        List<String> io = readLines(processDir.resolve("io"));
+        if (io != null) {
+            readBytes = findValue(io, READ_CHARS_KEY);
+            writeBytes = findValue(io, WRITE_CHARS_KEY);
+            storageReadBytes = findValue(io, READ_BYTES_KEY);
+            storageWriteBytes = findValue(io, WRITE_BYTES_KEY);
+        }
+
+        return new ResourceUsage(userCpuMillis, systemCpuMillis, peakRssBytes, readBytes,
+                writeBytes, storageReadBytes, storageWriteBytes, 0);
+    }
+
+    /**
+     * Returns process id.
+     * <p>
+     * Uses {@code Process.pid()} on Java 9+ and falls back to private {@code pid} field
+     * of {@code java.lang.UNIXProcess} on Java 8.
+     *
+     * @param process process
+     * @return process id or null if it can't be determined
+     */
+    public static Long getPid(final Process process) {
+        try {
+            Method pidMethod = Process.class.getMethod("pid");
+            return ((Number) pidMethod.invoke(process)).longValue();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.trace("Process.pid() is not available", e);
+        }
+
+        try {
+            Field pidField = process.getClass().getDeclaredField("pid");
+            pidField.setAccessible(true);
+            return ((Number) pidField.get(process)).longValue();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Failed to get process id", e);
+        }
+
+        return null;
+    }
+
+    private Long ticksToMillis(final Long ticks) {
+        if (ticks == null) {
+            return null;
+        }
+        return ticks * MILLIS_IN_SECOND / clockTicksPerSecond;
+    }
+
+    private static List<String> readLines(final Path path) {
+        try {
+            return Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.debug("Failed to read {}", path, e);
+            return null;
+        }
+    }
+
+    private static Long findValue(final List<String> lines, final String key) {
+        for (String line : lines) {
+            if (line.startsWith(key)) {
+                String value = line.substring(key.length()).trim();
+                int space = value.indexOf(' ');
+                if (space >= 0) {
+                    // strip unit, e.g. "kB"
+                    value = value.substring(0, space);
+                }
+                return ParseUtil.parseLong(value);
+            }
+        }
+        return null;
+    }
+}
@@ -18,6 +18,9 @@
 package com.github.kokorin.jaffree.process;
 
 import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.OS;
+import com.github.kokorin.jaffree.metrics.JaffreeMetrics;
+import com.github.kokorin.jaffree.metrics.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -48,10 +52,17 @@ public class ProcessHandler<T> {
     private StdReader<T> stdErrReader = new GobblingStdReader<>();
     private List<ProcessHelper> helpers = null;
     private Stopper stopper = null;
+    private ThreadSource threadSource = new DedicatedThreadSource();
     private List<String> arguments = Collections.emptyList();
     private int executorTimeoutMillis = DEFAULT_EXECUTOR_TIMEOUT_MILLIS;
+    private ProcResourceSampler resourceSampler = OS.IS_LINUX ? new ProcResourceSampler() : null;
+    private ResourceUsage resourceUsage = null;
+    private long startNanos;
+    private long spawnedNanos;
+    private JaffreeMetrics metrics = Metrics.NOOP;
 
     private static final int DEFAULT_EXECUTOR_TIMEOUT_MILLIS = 10_000;
+    private static final long INITIAL_SAMPLING_INTERVAL_MILLIS = 10;
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessHandler.class);
 
     /**
@@ -110,6 +121,59 @@ public class ProcessHandler<T> {
         return this;
     }
 
+    /**
+     * Sets {@link ThreadSource} which provides threads for stdout &amp; stderr readers and
+     * {@link ProcessHelper ProcessHelpers}.
+     * <p>
+     * New thread is started for every reader and helper by default.
+     *
+     * @param threadSource thread source
+     * @return this
+     * @see PooledThreadSource
+     * @see VirtualThreadSource
+     */
+    public synchronized ProcessHandler<T> setThreadSource(final ThreadSource threadSource) {
+        if (threadSource == null) {
+            throw new IllegalArgumentException("ThreadSource must be non null");
+        }
+
+        this.threadSource = threadSource;
+        return this;
+    }
+
+    /**
+     * Sets {@link ProcResourceSampler} which is used to sample resources consumed by a program
+     * while it's running.
+     * <p>
+     * Sampling is enabled by default on Linux only.
+     *
+     * @param resourceSampler resource sampler, or null to disable sampling
+     * @return this
+     * @see #getResourceUsage()
+     */
+    public synchronized ProcessHandler<T> setResourceSampler(
+            final ProcResourceSampler resourceSampler) {
+        this.resourceSampler = resourceSampler;
+        return this;
+    }
+
+    /**
+     * Returns resources consumed by the last program execution.
+     * <p>
+     * CPU time, peak RSS and I/O are taken from the last sample of the running program.
+     * Samples are taken at intervals doubling from 10 ms up to
+     * {@link ProcResourceSampler#getSamplingIntervalMillis() sampling interval}, so resources
+     * consumed after the last sample (up to one interval) are not reported. Only wall time is
+     * reported if program has finished before the first sample, or if resource sampling is
+     * disabled or not supported.
+     *
+     * @return resource usage or null if program has not finished yet
+     * @see #setResourceSampler(ProcResourceSampler)
+     */
+    public synchronized ResourceUsage getResourceUsage() {
+        return resourceUsage;
+    }
+
     /**
      * Sets arguments list to pass to a program.
      *
@@ -151,10 +215,15 @@ public class ProcessHandler<T> {
             LOGGER.info("Command constructed:\n{}", joinArguments(command));
 
             Process process = null;
+            resourceUsage = null;
             try {
                 LOGGER.info("Starting process: {}", executable);
+                startNanos = System.nanoTime();
                 process = new ProcessBuilder(command)
                         .start();
+                spawnedNanos = System.nanoTime();
+                metrics = Metrics.get();
+                metrics.processStarted(executable, spawnedNanos - startNanos);
                 if (stopper != null) {
                     stopper.setProcess(process);
                 }
@@ -189,14 +258,16 @@ public class ProcessHandler<T> {
         AtomicReference<T> resultRef = new AtomicReference<>();
         final int status;
         Executor executor = startExecution(process, resultRef);
+        boolean interrupted = false;
 
         try {
             LOGGER.info("Waiting for process to finish");
-            status = process.waitFor();
+            status = waitFor(process);
             LOGGER.info("Process has finished with status: {}", status);
 
             waitForExecutorToStop(executor, executorTimeoutMillis);
         } catch (InterruptedException e) {
+            interrupted = true;
             LOGGER.warn("Process has been interrupted");
             if (stopper != null) {
                 stopper.forceStop();
@@ -204,6 +275,7 @@ public class ProcessHandler<T> {
             throw new JaffreeException("Failed to execute, was interrupted",
                     e, executor.getExceptions());
         } finally {
+            executor.releaseStarter(interrupted);
             executor.stop();
         }
 
@@ -228,6 +300,55 @@ public class ProcessHandler<T> {
         return result;
     }
 
+    /**
+     * Waits for process to finish sampling resources it consumes.
+     *
+     * @param process process
+     * @return process exit status
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private int waitFor(final Process process) throws InterruptedException {
+        Long pid = null;
+        if (resourceSampler != null) {
+            pid = ProcResourceSampler.getPid(process);
+        }
+
+        int status;
+        ResourceUsage lastSample = null;
+        if (pid == null) {
+            status = process.waitFor();
+        } else {
+            // Process is reaped as soon as it exits, so it can be sampled only while running.
+            // Sampling starts with short intervals, otherwise short-living process (like most
+            // ffprobe executions) would never be sampled. Sample right after spawn is useless:
+            // process may not even have executed the program yet.
+            long maxInterval = resourceSampler.getSamplingIntervalMillis();
+            long interval = Math.min(INITIAL_SAMPLING_INTERVAL_MILLIS, maxInterval);
+            while (!process.waitFor(interval, TimeUnit.MILLISECONDS)) {
+                ResourceUsage sample = resourceSampler.sample(pid);
+                if (sample != null) {
+                    lastSample = sample;
+                }
+                interval = Math.min(interval * 2, maxInterval);
+            }
+            status = process.exitValue();
+        }
+
+        long finishedNanos = System.nanoTime();
+        metrics.processFinished(executable, finishedNanos - spawnedNanos, status);
+
+        long wallTimeMillis = TimeUnit.NANOSECONDS.toMillis(finishedNanos - startNanos);
+        if (lastSample != null) {
+            resourceUsage = lastSample.withWallTime(wallTimeMillis);
+        } else {
+            resourceUsage = new ResourceUsage(null, null, null, null, null, null, null,
+                    wallTimeMillis);
+        }
+        LOGGER.debug("Process resource usage: {}", resourceUsage);
+
+        return status;
+    }
+
     /**
      * Starts execution of stdout and stderr {@link StdReader readers} as well as
      * {@link ProcessHelper ProcessHelpers}.
@@ -240,7 +361,7 @@ public class ProcessHandler<T> {
      */
     protected Executor startExecution(final Process process,
                                       final AtomicReference<T> resultReference) {
-        Executor executor = new Executor(contextName);
+        Executor executor = new Executor(contextName, threadSource);
 
         LOGGER.debug("Starting IO interaction with process");
 
@@ -318,24 +439,16 @@ public class ProcessHandler<T> {
         }
     }
 
-    @SuppressWarnings("checkstyle:MagicNumber")
     private static void waitForExecutorToStop(final Executor executor, final long timeoutMillis)
             throws InterruptedException {
         LOGGER.debug("Waiting for Executor to stop");
 
-        final long waitStarted = System.currentTimeMillis();
-        do {
-            // Zero timeout means "wait indefinitely"
-            if (timeoutMillis > 0 && System.currentTimeMillis() - waitStarted > timeoutMillis) {
-                LOGGER.warn("Executor hasn't stopped in {} millis, won't wait longer",
-                        timeoutMillis);
-                break;
-            }
-
-            LOGGER.trace("Executor hasn't yet stopped, still running threads: {}",
+        // Zero timeout means "wait indefinitely"
+        if (!executor.awaitStop(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            LOGGER.warn("Executor hasn't stopped in {} millis, won't wait longer, "
+                    + "still running threads: {}", timeoutMillis,
                     executor.getRunningThreadNames());
-            Thread.sleep(100);
-        } while (executor.isRunning());
+        }
     }
 
     private static void collectDebugInformation() {
@@ -0,0 +1,178 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.process;
+
+/**
+ * {@link ResourceUsage} contains resources consumed by a program during its execution.
+ * <p>
+ * Only wall time is always known. Other values are available on Linux only
+ * (see {@link ProcResourceSampler}) and are null otherwise.
+ */
+public class ResourceUsage {
+    private final Long userCpuMillis;
+    private final Long systemCpuMillis;
+    private final Long peakRssBytes;
+    private final Long readBytes;
+    private final Long writeBytes;
+    private final Long storageReadBytes;
+    private final Long storageWriteBytes;
+    private final long wallTimeMillis;
+
+    /**
+     * Creates {@link ResourceUsage}.
+     *
+     * @param userCpuMillis     CPU time spent in user mode in milliseconds
+     * @param systemCpuMillis   CPU time spent in kernel mode in milliseconds
+     * @param peakRssBytes      peak resident set size in bytes
+     * @param readBytes         bytes read by any read-like system call (files, pipes, sockets)
+     * @param writeBytes        bytes written by any write-like system call
+     * @param storageReadBytes  bytes fetched from storage layer
+     * @param storageWriteBytes bytes sent to storage layer
+     * @param wallTimeMillis    wall time in milliseconds
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public ResourceUsage(final Long userCpuMillis, final Long systemCpuMillis,
+                         final Long peakRssBytes, final Long readBytes, final Long writeBytes,
+                         final Long storageReadBytes, final Long storageWriteBytes,
+                         final long wallTimeMillis) {
+        this.userCpuMillis = userCpuMillis;
+        this.systemCpuMillis = systemCpuMillis;
+        this.peakRssBytes = peakRssBytes;
+        this.readBytes = readBytes;
+        this.writeBytes = writeBytes;
+        this.storageReadBytes = storageReadBytes;
+        this.storageWriteBytes = storageWriteBytes;
+        this.wallTimeMillis = wallTimeMillis;
+    }
+
+    /**
+     * @return CPU time spent in user mode in milliseconds, or null if unknown
+     */
+    public Long getUserCpuMillis() {
+        return userCpuMillis;
+    }
+
+    /**
+     * @return CPU time spent in kernel mode in milliseconds, or null if unknown
+     */
+    public Long getSystemCpuMillis() {
+        return systemCpuMillis;
+    }
+
+    /**
+     * @return total (user and kernel) CPU time in milliseconds, or null if unknown
+     */
+    public Long getCpuMillis() {
+        if (userCpuMillis == null || systemCpuMillis == null) {
+            return null;
+        }
+        return userCpuMillis + systemCpuMillis;
+    }
+
+    /**
+     * @return peak resident set size in bytes, or null if unknown
+     */
+    public Long getPeakRssBytes() {
+        return peakRssBytes;
+    }
+
+    /**
+     * Returns number of bytes read by program, including reads from pipes and sockets.
+     *
+     * @return bytes read, or null if unknown
+     */
+    public Long getReadBytes() {
+        return readBytes;
+    }
+
+    /**
+     * Returns number of bytes written by program, including writes to pipes and sockets.
+     *
+     * @return bytes written, or null if unknown
+     */
+    public Long getWriteBytes() {
+        return writeBytes;
+    }
+
+    /**
+     * Returns number of bytes actually fetched from storage (page cache hits are not counted).
+     *
+     * @return bytes read from storage, or null if unknown
+     */
+    public Long getStorageReadBytes() {
+        return storageReadBytes;
+    }
+
+    /**
+     * Returns number of bytes actually sent to storage.
+     *
+     * @return bytes written to storage, or null if unknown
+     */
+    public Long getStorageWriteBytes() {
+        return storageWriteBytes;
+    }
+
+    /**
+     * @return wall time in milliseconds
+     */
+    public long getWallTimeMillis() {
+        return wallTimeMillis;
+    }
+
+    /**
+     * Returns ratio of CPU time to wall time. Value close to (or above) number of threads used
+     * by program means it's CPU-bound, while value close to 0 means it waits for I/O.
+     *
+     * @return CPU utilization, or null if unknown
+     */
+    public Double getCpuUtilization() {
+        Long cpuMillis = getCpuMillis();
+        if (cpuMillis == null || wallTimeMillis <= 0) {
+            return null;
+        }
+        return (double) cpuMillis / wallTimeMillis;
+    }
+
+    /**
+     * Creates a copy of this {@link ResourceUsage} with specified wall time.
+     *
+     * @param wallMillis wall time in milliseconds
+     * @return resource usage
+     */
+    ResourceUsage withWallTime(final long wallMillis) {
+        return new ResourceUsage(userCpuMillis, systemCpuMillis, peakRssBytes, readBytes,
+                writeBytes, storageReadBytes, storageWriteBytes, wallMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ResourceUsage{"
+                + "userCpuMillis=" + userCpuMillis
+                + ", systemCpuMillis=" + systemCpuMillis
+                + ", peakRssBytes=" + peakRssBytes
+                + ", readBytes=" + readBytes
+                + ", writeBytes=" + writeBytes
+                + ", storageReadBytes=" + storageReadBytes
+                + ", storageWriteBytes=" + storageWriteBytes
+                + ", wallTimeMillis=" + wallTimeMillis
+                + '}';
+    }
+}
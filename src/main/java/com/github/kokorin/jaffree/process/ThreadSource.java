@@ -0,0 +1,39 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+package com.github.kokorin.jaffree.process;
+
+/**
+ * {@link ThreadSource} provides threads to {@link Executor} for stdout &amp; stderr readers
+ * and {@link ProcessHelper ProcessHelpers}.
+ * <p>
+ * Every {@link Runnable} passed to {@link #execute(String, Runnable)} may block for the whole
+ * lifetime of ffmpeg/ffprobe process, so implementations <b>must</b> run it in a thread other
+ * than the calling one and <b>must not</b> queue it behind other runnables.
+ *
+ * @see DedicatedThreadSource
+ * @see PooledThreadSource
+ * @see VirtualThreadSource
+ */
+public interface ThreadSource {
+    /**
+     * Runs provided {@link Runnable} in a separate thread.
+     *
+     * @param threadName name of the thread (for logging)
+     * @param runnable   runnable to execute
+     */
+    void execute(String threadName, Runnable runnable);
+}
@@ -0,0 +1,264 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.seek;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * {@link KeyframeIndex} contains time and byte position of every keyframe of a single video
+ * stream.
+ * <p>
+ * Keyframe times are relative to input start time, i.e. they can be used as ffmpeg input
+ * position (-ss) directly.
+ * <p>
+ * Index is stored on disk in compact binary form: keyframe times and positions are
+ * delta-encoded as variable length integers, which takes 2-4 bytes per keyframe. Size and
+ * modification time of the indexed file are stored too, so stale index can be detected.
+ *
+ * @see KeyframeIndexBuilder
+ * @see SeekPlanner
+ */
+public final class KeyframeIndex {
+    private final long[] timesMicros;
+    private final long[] positions;
+    private final long sourceSize;
+    private final long sourceModifiedMillis;
+
+    private static final int MAGIC = 0x4A4B4649;
+    private static final int VERSION = 1;
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION = 0x80;
+
+    /**
+     * Creates {@link KeyframeIndex}.
+     *
+     * @param timesMicros          keyframe times in microseconds relative to input start time,
+     *                             in ascending order
+     * @param positions            keyframe byte positions, -1 if unknown
+     * @param sourceSize           size of indexed file, -1 if unknown
+     * @param sourceModifiedMillis modification time of indexed file, -1 if unknown
+     */
+    public KeyframeIndex(final long[] timesMicros, final long[] positions, final long sourceSize,
+                         final long sourceModifiedMillis) {
+        if (timesMicros.length != positions.length) {
+            throw new IllegalArgumentException("Times and positions must have the same length");
+        }
+        for (int i = 1; i < timesMicros.length; i++) {
+            if (timesMicros[i] < timesMicros[i - 1]) {
+                throw new IllegalArgumentException("Keyframe times must be in ascending order");
+            }
+        }
+
+        this.timesMicros = timesMicros.clone();
+        this.positions = positions.clone();
+        this.sourceSize = sourceSize;
+        this.sourceModifiedMillis = sourceModifiedMillis;
+    }
+
+    /**
+     * @return number of keyframes
+     */
+    public int size() {
+        return timesMicros.length;
+    }
+
+    /**
+     * @param index keyframe index
+     * @return keyframe time in microseconds relative to input start time
+     */
+    public long getTimeMicros(final int index) {
+        return timesMicros[index];
+    }
+
+    /**
+     * @param index keyframe index
+     * @return keyframe byte position, -1 if unknown
+     */
+    public long getPosition(final int index) {
+        return positions[index];
+    }
+
+    /**
+     * @return size of indexed file, -1 if unknown
+     */
+    public long getSourceSize() {
+        return sourceSize;
+    }
+
+    /**
+     * @return modification time of indexed file in milliseconds, -1 if unknown
+     */
+    public long getSourceModifiedMillis() {
+        return sourceModifiedMillis;
+    }
+
+    /**
+     * Finds the last keyframe at or before specified time.
+     *
+     * @param timeMicros time in microseconds relative to input start time
+     * @return keyframe index, or -1 if all keyframes are after specified time
+     */
+    public int floorIndex(final long timeMicros) {
+        int found = Arrays.binarySearch(timesMicros, timeMicros);
+        if (found >= 0) {
+            // several keyframes may have the same time, use the last one
+            while (found + 1 < timesMicros.length && timesMicros[found + 1] == timeMicros) {
+                found++;
+            }
+            return found;
+        }
+        return -found - 2;
+    }
+
+    /**
+     * Checks if index has been built for the current version of the file.
+     *
+     * @param file indexed file
+     * @return true if size and modification time of the file match the index
+     * @throws IOException if file attributes can't be read
+     */
+    public boolean isUpToDate(final Path file) throws IOException {
+        return sourceSize >= 0
+                && sourceSize == Files.size(file)
+                && sourceModifiedMillis == Files.getLastModifiedTime(file).toMillis();
+    }
+
+    /**
+     * Writes index to file. Index is written to a temporary file first, which then replaces
+     * the target file.
+     *
+     * @param file file to write index to
+     * @throws IOException if file can't be written
+     */
+    public void write(final Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temp));
+                 DataOutputStream data = new DataOutputStream(stream)) {
+                write(data);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads index from file.
+     *
+     * @param file file to read index from
+     * @return keyframe index
+     * @throws IOException if file can't be read or isn't a keyframe index
+     */
+    public static KeyframeIndex read(final Path file) throws IOException {
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file));
+             DataInputStream data = new DataInputStream(stream)) {
+            return read(data);
+        }
+    }
+
+    private void write(final DataOutputStream data) throws IOException {
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeLong(sourceSize);
+        data.writeLong(sourceModifiedMillis);
+        data.writeInt(timesMicros.length);
+
+        long previousTime = 0;
+        long previousPosition = -1;
+        for (int i = 0; i < timesMicros.length; i++) {
+            writeVarLong(data, zigZag(timesMicros[i] - previousTime));
+            writeVarLong(data, zigZag(positions[i] - previousPosition));
+            previousTime = timesMicros[i];
+            previousPosition = positions[i];
+        }
+    }
+
+    private static KeyframeIndex read(final DataInputStream data) throws IOException {
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a keyframe index");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported keyframe index version: " + version);
+        }
+
+        long sourceSize = data.readLong();
+        long sourceModifiedMillis = data.readLong();
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid keyframe count: " + count);
+        }
+
+        long[] timesMicros = new long[count];
+        long[] positions = new long[count];
+        long time = 0;
+        long position = -1;
+        for (int i = 0; i < count; i++) {
+            time += unZigZag(readVarLong(data));
+            position += unZigZag(readVarLong(data));
+            timesMicros[i] = time;
+            positions[i] = position;
+        }
+
+        return new KeyframeIndex(timesMicros, positions, sourceSize, sourceModifiedMillis);
+    }
+
+    private static void writeVarLong(final DataOutputStream data, final long value)
+            throws IOException {
+        long remaining = value;
+        while ((remaining & ~VARINT_MASK) != 0) {
+            data.writeByte((int) (remaining & VARINT_MASK) | VARINT_CONTINUATION);
+            remaining >>>= VARINT_BITS;
+        }
+        data.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(final DataInputStream data) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += VARINT_BITS) {
+            int b = data.readUnsignedByte();
+            result |= (long) (b & VARINT_MASK) << shift;
+            if ((b & VARINT_CONTINUATION) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> (Long.SIZE - 1));
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.seek;
+
+import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.ffprobe.FFprobe;
+import com.github.kokorin.jaffree.ffprobe.FFprobeResult;
+import com.github.kokorin.jaffree.ffprobe.Format;
+import com.github.kokorin.jaffree.ffprobe.Packet;
+import com.github.kokorin.jaffree.ffprobe.ProbeListener;
+import com.github.kokorin.jaffree.ffprobe.data.CompactFormatParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * {@link KeyframeIndexBuilder} builds {@link KeyframeIndex} with ffprobe.
+ * <p>
+ * Only timestamps, flags and positions of packets are requested from ffprobe (no decoding
+ * happens), packets are streamed with {@link CompactFormatParser} and are not kept in memory.
+ * <pre>{@code
+ * KeyframeIndex index = KeyframeIndexBuilder.atPath()
+ *         .getOrBuild(pathToVideo, pathToVideo.resolveSibling("video.mp4.kfi"));
+ * SeekPlan plan = new SeekPlanner(index).plan(90_500);
+ * }</pre>
+ */
+public class KeyframeIndexBuilder {
+    private final Path ffprobeDir;
+    private String streamSpecifier = "v:0";
+
+    private static final double MICROS_IN_SECOND = 1_000_000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyframeIndexBuilder.class);
+
+    /**
+     * Creates {@link KeyframeIndexBuilder}.
+     *
+     * @param ffprobeDir path to ffprobe directory, or null to use PATH
+     */
+    protected KeyframeIndexBuilder(final Path ffprobeDir) {
+        this.ffprobeDir = ffprobeDir;
+    }
+
+    /**
+     * Sets stream to index, first video stream by default.
+     *
+     * @param streamSpecifier ffprobe stream specifier
+     * @return this
+     */
+    public KeyframeIndexBuilder setStreamSpecifier(final String streamSpecifier) {
+        this.streamSpecifier = streamSpecifier;
+        return this;
+    }
+
+    /**
+     * Reads index from file if it exists and is up to date, otherwise builds index and
+     * writes it to the file.
+     * <p>
+     * Failures to read or write index file are logged and are not propagated.
+     *
+     * @param input     path to media file
+     * @param indexFile path to index file
+     * @return keyframe index
+     */
+    public KeyframeIndex getOrBuild(final Path input, final Path indexFile) {
+        if (Files.exists(indexFile)) {
+            try {
+                KeyframeIndex index = KeyframeIndex.read(indexFile);
+                if (index.isUpToDate(input)) {
+                    return index;
+                }
+                LOGGER.debug("Keyframe index {} is stale, rebuilding", indexFile);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to read keyframe index {}, rebuilding", indexFile, e);
+            }
+        }
+
+        KeyframeIndex index = build(input);
+        try {
+            index.write(indexFile);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write keyframe index {}", indexFile, e);
+        }
+        return index;
+    }
+
+    /**
+     * Builds index of local file.
+     *
+     * @param input path to media file
+     * @return keyframe index
+     */
+    public KeyframeIndex build(final Path input) {
+        long size;
+        long modifiedMillis;
+        try {
+            size = Files.size(input);
+            modifiedMillis = Files.getLastModifiedTime(input).toMillis();
+        } catch (IOException e) {
+            throw new JaffreeException("Failed to read attributes of " + input, e);
+        }
+
+        return build(input.toString(), size, modifiedMillis);
+    }
+
+    /**
+     * Builds index of file or URL. Such index can't be checked for staleness.
+     *
+     * @param inputUriOrPath media file path or URL
+     * @return keyframe index
+     */
+    public KeyframeIndex build(final String inputUriOrPath) {
+        return build(inputUriOrPath, -1, -1);
+    }
+
+    private KeyframeIndex build(final String input, final long size, final long modifiedMillis) {
+        KeyframeCollector collector = new KeyframeCollector();
+        FFprobeResult result = FFprobe.atPath(ffprobeDir)
+                .setSelectStreams(streamSpecifier)
+                .setShowPackets(true)
+                .setShowEntries("packet=pts_time,flags,pos:format=start_time")
+                .setFormatParser(new CompactFormatParser())
+                .setProbeListener(collector)
+                .setInput(input)
+                .execute();
+
+        double startTime = 0;
+        Format format = result.getFormat();
+        if (format != null && format.getProbeData().getDouble("start_time") != null) {
+            startTime = format.getProbeData().getDouble("start_time");
+        }
+
+        LOGGER.debug("Found {} keyframes in {}", collector.count, input);
+        return collector.toIndex(startTime, size, modifiedMillis);
+    }
+
+    /**
+     * Creates {@link KeyframeIndexBuilder}.
+     * <p>
+     * Note: directory with ffprobe binaries must be in PATH environment variable.
+     *
+     * @return KeyframeIndexBuilder
+     */
+    public static KeyframeIndexBuilder atPath() {
+        return atPath(null);
+    }
+
+    /**
+     * Creates {@link KeyframeIndexBuilder}.
+     *
+     * @param pathToDir path to ffprobe directory
+     * @return KeyframeIndexBuilder
+     */
+    public static KeyframeIndexBuilder atPath(final Path pathToDir) {
+        return new KeyframeIndexBuilder(pathToDir);
+    }
+
+    /**
+     * Collects keyframe timestamps and positions.
+     */
+    private static final class KeyframeCollector implements ProbeListener {
+        private double[] times = new double[INITIAL_CAPACITY];
+        private long[] positions = new long[INITIAL_CAPACITY];
+        private int count = 0;
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        @Override
+        public void onPacket(final Packet packet) {
+            String flags = packet.getFlags();
+            if (flags == null || flags.isEmpty() || flags.charAt(0) != 'K') {
+                return;
+            }
+            Double time = packet.getProbeData().getDouble("pts_time");
+            if (time == null) {
+                return;
+            }
+            Long position = packet.getPos();
+
+            if (count == times.length) {
+                times = Arrays.copyOf(times, count * 2);
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            times[count] = time;
+            positions[count] = position == null ? -1 : position;
+            count++;
+        }
+
+        KeyframeIndex toIndex(final double startTime, final long size,
+                              final long modifiedMillis) {
+            // keyframes are usually in presentation order already
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> times[i]));
+
+            long[] timesMicros = new long[count];
+            long[] sortedPositions = new long[count];
+            for (int i = 0; i < count; i++) {
+                timesMicros[i] = Math.round((times[order[i]] - startTime) * MICROS_IN_SECOND);
+                sortedPositions[i] = positions[order[i]];
+            }
+            return new KeyframeIndex(timesMicros, sortedPositions, size, modifiedMillis);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.seek;
+
+import com.github.kokorin.jaffree.ffmpeg.BaseInput;
+import com.github.kokorin.jaffree.ffmpeg.BaseOutput;
+
+/**
+ * {@link SeekPlan} is a pair of ffmpeg input and output positions (-ss), which together seek
+ * to the requested position.
+ *
+ * @see SeekPlanner
+ */
+public final class SeekPlan {
+    private final long requestedMillis;
+    private final Long inputPositionMillis;
+    private final Long outputPositionMillis;
+
+    /**
+     * Creates {@link SeekPlan}.
+     *
+     * @param requestedMillis      requested position in milliseconds
+     * @param inputPositionMillis  input position in milliseconds, null if input seek isn't
+     *                             needed
+     * @param outputPositionMillis output position in milliseconds, null if output seek isn't
+     *                             needed
+     */
+    public SeekPlan(final long requestedMillis, final Long inputPositionMillis,
+                    final Long outputPositionMillis) {
+        this.requestedMillis = requestedMillis;
+        this.inputPositionMillis = inputPositionMillis;
+        this.outputPositionMillis = outputPositionMillis;
+    }
+
+    /**
+     * @return requested position in milliseconds
+     */
+    public long getRequestedMillis() {
+        return requestedMillis;
+    }
+
+    /**
+     * @return input position in milliseconds, null if input seek isn't needed
+     */
+    public Long getInputPositionMillis() {
+        return inputPositionMillis;
+    }
+
+    /**
+     * @return output position in milliseconds (relative to input position), null if output
+     * seek isn't needed
+     */
+    public Long getOutputPositionMillis() {
+        return outputPositionMillis;
+    }
+
+    /**
+     * Sets positions of input and output.
+     *
+     * @param input  input to seek
+     * @param output output to seek, may be null if output position isn't needed
+     * @throws IllegalArgumentException if plan requires output seek, but output is null
+     */
+    public void applyTo(final BaseInput<?> input, final BaseOutput<?> output) {
+        if (inputPositionMillis != null) {
+            input.setPosition(inputPositionMillis);
+        }
+        if (outputPositionMillis != null) {
+            if (output == null) {
+                throw new IllegalArgumentException("Output is required to seek to "
+                        + requestedMillis + " ms");
+            }
+            output.setPosition(outputPositionMillis);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "SeekPlan{"
+                + "requestedMillis=" + requestedMillis
+                + ", inputPositionMillis=" + inputPositionMillis
+                + ", outputPositionMillis=" + outputPositionMillis
+                + '}';
+    }
+}
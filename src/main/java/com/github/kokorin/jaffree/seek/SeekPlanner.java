@@ -0,0 +1,122 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.seek;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link SeekPlanner} turns requested positions into ffmpeg input and output positions with
+ * the help of {@link KeyframeIndex}.
+ * <p>
+ * Input position is set exactly to the keyframe at or before requested position, so ffmpeg
+ * starts decoding right at that keyframe without searching for it. Output position discards
+ * decoded frames between keyframe and requested position, so at most one GOP is decoded per
+ * seek.
+ * <pre>{@code
+ * SeekPlan plan = new SeekPlanner(index).plan(90_500);
+ * UrlInput input = UrlInput.fromPath(pathToVideo);
+ * UrlOutput output = UrlOutput.toPath(pathToFrame).setFrameCount(StreamType.VIDEO, 1L);
+ * plan.applyTo(input, output);
+ * }</pre>
+ */
+public class SeekPlanner {
+    private final KeyframeIndex index;
+
+    private static final long MICROS_IN_MILLI = 1000;
+
+    /**
+     * Creates {@link SeekPlanner}.
+     *
+     * @param index keyframe index of input
+     */
+    public SeekPlanner(final KeyframeIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Plans frame-accurate seek: input seeks to the keyframe at or before requested position,
+     * output discards frames up to requested position.
+     *
+     * @param positionMillis requested position in milliseconds relative to input start
+     * @return seek plan
+     */
+    public SeekPlan plan(final long positionMillis) {
+        if (positionMillis < 0) {
+            throw new IllegalArgumentException("Position cannot be negative");
+        }
+
+        Long inputMillis = findKeyframeMillis(positionMillis);
+        long outputMillis = positionMillis - (inputMillis == null ? 0 : inputMillis);
+        return new SeekPlan(positionMillis, inputMillis, outputMillis > 0 ? outputMillis : null);
+    }
+
+    /**
+     * Plans several frame-accurate seeks.
+     *
+     * @param positionsMillis requested positions in milliseconds relative to input start
+     * @return seek plans in the same order
+     * @see #plan(long)
+     */
+    public List<SeekPlan> planAll(final long... positionsMillis) {
+        List<SeekPlan> result = new ArrayList<>(positionsMillis.length);
+        for (long position : positionsMillis) {
+            result.add(plan(position));
+        }
+        return result;
+    }
+
+    /**
+     * Plans keyframe seek: input seeks to the keyframe at or before requested position,
+     * without output seek. This is suitable for stream copy, which can only start at a
+     * keyframe.
+     *
+     * @param positionMillis requested position in milliseconds relative to input start
+     * @return seek plan
+     */
+    public SeekPlan planKeyframe(final long positionMillis) {
+        if (positionMillis < 0) {
+            throw new IllegalArgumentException("Position cannot be negative");
+        }
+
+        return new SeekPlan(positionMillis, findKeyframeMillis(positionMillis), null);
+    }
+
+    /**
+     * Finds input position which makes ffmpeg seek exactly to the keyframe at or before
+     * requested position.
+     * <p>
+     * ffmpeg seeks to the keyframe at or before input position, so keyframe time is rounded
+     * up to milliseconds: rounding down would make ffmpeg seek to the previous keyframe.
+     *
+     * @param positionMillis requested position
+     * @return input position in milliseconds, or null if there is no keyframe before
+     * requested position (or it's the very first one) and input seek isn't needed
+     */
+    private Long findKeyframeMillis(final long positionMillis) {
+        int found = index.floorIndex(positionMillis * MICROS_IN_MILLI);
+        if (found < 0) {
+            return null;
+        }
+
+        long keyframeMicros = index.getTimeMicros(found);
+        // can't exceed requested position, since keyframe is at or before it
+        long result = Math.max(0, (keyframeMicros + MICROS_IN_MILLI - 1) / MICROS_IN_MILLI);
+        return result > 0 ? result : null;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.util;
+
+import com.github.kokorin.jaffree.JaffreeException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Message digest utils, used to derive file names from arbitrary strings.
+ */
+public final class DigestUtil {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private DigestUtil() {
+    }
+
+    /**
+     * Computes digest of UTF-8 encoded value.
+     *
+     * @param algorithm digest algorithm, e.g. SHA-256
+     * @param value     value to digest
+     * @return lowercase hex string
+     * @throws JaffreeException if algorithm is not supported
+     */
+    public static String hexDigest(final String algorithm, final String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance(algorithm)
+                    .digest(value.getBytes(StandardCharsets.UTF_8));
+            return toHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new JaffreeException(algorithm + " is not supported", e);
+        }
+    }
+
+    /**
+     * Converts bytes to lowercase hex string.
+     *
+     * @param bytes bytes to convert
+     * @return hex string, two characters per byte
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    public static String toHex(final byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+        }
+        return result.toString();
+    }
+}
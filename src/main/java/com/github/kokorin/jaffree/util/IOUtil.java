@@ -17,6 +17,10 @@
 
 package com.github.kokorin.jaffree.util;
 
+import com.github.kokorin.jaffree.metrics.JaffreeMetrics;
+import com.github.kokorin.jaffree.metrics.Metrics;
+import com.github.kokorin.jaffree.metrics.TransferType;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -61,6 +65,45 @@ public final class IOUtil {
      */
     public static long copy(final InputStream input, final OutputStream output, final byte[] buffer)
             throws IOException {
+        // no-op metrics ignore transfer type
+        return copy(input, output, buffer, Metrics.NOOP, null);
+    }
+
+    /**
+     * Copies everything form input to output reporting every copied chunk to metrics.
+     *
+     * @param input        input stream
+     * @param output       output stream
+     * @param bufferSize   buffer size to use
+     * @param metrics      metrics to report to
+     * @param transferType transfer type to report
+     * @return bytes been copied
+     * @throws IOException Stream IO exception
+     */
+    public static long copy(final InputStream input, final OutputStream output,
+                            final int bufferSize, final JaffreeMetrics metrics,
+                            final TransferType transferType) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+
+        return copy(input, output, new byte[bufferSize], metrics, transferType);
+    }
+
+    /**
+     * Copies everything form input to output reporting every copied chunk to metrics.
+     *
+     * @param input        input stream
+     * @param output       output stream
+     * @param buffer       buffer to use
+     * @param metrics      metrics to report to
+     * @param transferType transfer type to report
+     * @return bytes been copied
+     * @throws IOException Stream IO exception
+     */
+    public static long copy(final InputStream input, final OutputStream output, final byte[] buffer,
+                            final JaffreeMetrics metrics, final TransferType transferType)
+            throws IOException {
         if (buffer.length == 0) {
             throw new IllegalArgumentException("Buffer must be not empty");
         }
@@ -69,6 +112,7 @@ public final class IOUtil {
         int n;
         while (EOF != (n = input.read(buffer))) {
             output.write(buffer, 0, n);
+            metrics.bytesTransferred(transferType, n);
             count += n;
         }
         return count;
@@ -0,0 +1,484 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.github.kokorin.jaffree.util;
+
+import com.github.kokorin.jaffree.Rational;
+
+/**
+ * Parses numbers without exceptions and with minimal allocations.
+ * <p>
+ * ffprobe and ffmpeg output lots of "N/A" and empty values. JDK parsers throw (and fill
+ * stack trace of) an exception for every such value, methods of this class return null
+ * (or specified default value) instead.
+ * <p>
+ * Plain decimal notation (optional sign, digits, optional fraction and optional exponent) is
+ * parsed without allocations. Other notations accepted by {@link Double#parseDouble(String)}
+ * ("Infinity", "NaN", hexadecimal and type suffixes) are delegated to it.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public final class NumberParser {
+    /**
+     * Powers of ten which are exactly representable as double.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Powers of ten which are exactly representable as float.
+     */
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * Max integer which is exactly representable as double.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * Max integer which is exactly representable as float.
+     */
+    private static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+    private static final int MAX_EXPONENT = 9999;
+
+    private NumberParser() {
+    }
+
+    /**
+     * Parses long.
+     *
+     * @param value string to parse
+     * @return parsed long or null if value is not a long
+     */
+    public static Long parseLong(final CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        return parseLong(value, 0, value.length());
+    }
+
+    /**
+     * Parses long in the specified region.
+     *
+     * @param value string to parse
+     * @param from  region start, inclusive
+     * @param to    region end, exclusive
+     * @return parsed long or null if region doesn't contain a long
+     */
+    public static Long parseLong(final CharSequence value, final int from, final int to) {
+        long result = parseLong(value, from, to, Long.MIN_VALUE);
+        // Long.MIN_VALUE is both the default and a valid value, parse again to distinguish
+        if (result == Long.MIN_VALUE && parseLong(value, from, to, 0L) == 0L) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Parses long in the specified region without allocations.
+     *
+     * @param value        string to parse
+     * @param from         region start, inclusive
+     * @param to           region end, exclusive
+     * @param defaultValue value to return if region doesn't contain a long
+     * @return parsed long or default value
+     */
+    public static long parseLong(final CharSequence value, final int from, final int to,
+                                 final long defaultValue) {
+        if (value == null || from >= to) {
+            return defaultValue;
+        }
+
+        int i = from;
+        boolean negative = false;
+        char first = value.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+            if (i == to) {
+                return defaultValue;
+            }
+        }
+
+        // accumulate negatively like Long.parseLong does to handle Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return defaultValue;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return defaultValue;
+            }
+            result -= digit;
+        }
+
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses integer.
+     *
+     * @param value string to parse
+     * @return parsed integer or null if value is not an integer
+     */
+    public static Integer parseInteger(final CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+
+        long result = parseLong(value, 0, value.length(), Long.MIN_VALUE);
+        if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE) {
+            return null;
+        }
+        return (int) result;
+    }
+
+    /**
+     * Parses double. Leading and trailing whitespaces are ignored.
+     *
+     * @param value string to parse
+     * @return parsed double or null if value is not a number
+     */
+    public static Double parseDouble(final CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        return parseDouble(value, 0, value.length());
+    }
+
+    /**
+     * Parses double in the specified region. Leading and trailing whitespaces are ignored.
+     *
+     * @param value string to parse
+     * @param from  region start, inclusive
+     * @param to    region end, exclusive
+     * @return parsed double or null if region doesn't contain a number
+     */
+    public static Double parseDouble(final CharSequence value, final int from, final int to) {
+        double result = parseDouble(value, from, to, Double.NaN);
+        // NaN is both the default and a valid value, parse again to distinguish
+        if (Double.isNaN(result) && parseDouble(value, from, to, 0.0) == 0.0) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Parses double in the specified region. Leading and trailing whitespaces are ignored.
+     * <p>
+     * Decimal numbers with up to 15 significant digits and moderate exponent are parsed without
+     * allocations, others are delegated to {@link Double#parseDouble(String)}. Result is
+     * the same as of {@link Double#parseDouble(String)}, except that default value is returned
+     * instead of throwing {@link NumberFormatException}.
+     *
+     * @param value        string to parse
+     * @param from         region start, inclusive
+     * @param to           region end, exclusive
+     * @param defaultValue value to return if region doesn't contain a number
+     * @return parsed double or default value
+     */
+    public static double parseDouble(final CharSequence value, final int from, final int to,
+                                     final double defaultValue) {
+        return parseDecimal(value, from, to, defaultValue, false);
+    }
+
+    /**
+     * Parses float. Leading and trailing whitespaces are ignored.
+     *
+     * @param value string to parse
+     * @return parsed float or null if value is not a number
+     */
+    public static Float parseFloat(final CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+
+        float result = parseFloat(value, 0, value.length(), Float.NaN);
+        // NaN is both the default and a valid value, parse again to distinguish
+        if (Float.isNaN(result) && parseFloat(value, 0, value.length(), 0.0f) == 0.0f) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Parses float in the specified region. Leading and trailing whitespaces are ignored.
+     * <p>
+     * Value is rounded to float only once, so result is the same as of
+     * {@link Float#parseFloat(String)} (and may differ from parsing double and narrowing it).
+     *
+     * @param value        string to parse
+     * @param from         region start, inclusive
+     * @param to           region end, exclusive
+     * @param defaultValue value to return if region doesn't contain a number
+     * @return parsed float or default value
+     */
+    public static float parseFloat(final CharSequence value, final int from, final int to,
+                                   final float defaultValue) {
+        return (float) parseDecimal(value, from, to, defaultValue, true);
+    }
+
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private static double parseDecimal(final CharSequence value, final int from, final int to,
+                                       final double defaultValue, final boolean single) {
+        if (value == null) {
+            return defaultValue;
+        }
+
+        int start = from;
+        int end = to;
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start >= end) {
+            return defaultValue;
+        }
+
+        int i = start;
+        boolean negative = false;
+        char first = value.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        boolean exact = true;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+
+        for (; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (fraction) {
+                    fractionDigits++;
+                }
+                if (mantissa > (Long.MAX_VALUE - 9) / 10) {
+                    exact = false;
+                } else {
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+
+        if (digits == 0) {
+            return parseSpecial(value, start, end, defaultValue, single);
+        }
+
+        int exponent = 0;
+        if (i < end) {
+            char c = value.charAt(i);
+            if (c != 'e' && c != 'E') {
+                return parseSpecial(value, start, end, defaultValue, single);
+            }
+            i++;
+
+            boolean negativeExponent = false;
+            if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                negativeExponent = value.charAt(i) == '-';
+                i++;
+            }
+            if (i == end) {
+                return defaultValue;
+            }
+
+            for (; i < end; i++) {
+                int digit = value.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return parseSpecial(value, start, end, defaultValue, single);
+                }
+                exponent = Math.min(exponent * 10 + digit, MAX_EXPONENT);
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+
+        int scale = exponent - fractionDigits;
+        if (single) {
+            if (!exact || mantissa > MAX_EXACT_FLOAT_MANTISSA
+                    || Math.abs(scale) >= FLOAT_POWERS_OF_TEN.length) {
+                return Float.parseFloat(value.subSequence(start, end).toString());
+            }
+
+            float result = mantissa;
+            if (scale > 0) {
+                result *= FLOAT_POWERS_OF_TEN[scale];
+            } else if (scale < 0) {
+                result /= FLOAT_POWERS_OF_TEN[-scale];
+            }
+            return negative ? -result : result;
+        }
+
+        if (!exact || mantissa > MAX_EXACT_MANTISSA || Math.abs(scale) >= POWERS_OF_TEN.length) {
+            // syntax has been already checked, so this never throws
+            return Double.parseDouble(value.subSequence(start, end).toString());
+        }
+
+        double result = mantissa;
+        if (scale > 0) {
+            result *= POWERS_OF_TEN[scale];
+        } else if (scale < 0) {
+            result /= POWERS_OF_TEN[-scale];
+        }
+
+        return negative ? -result : result;
+    }
+
+    /**
+     * Parses notations which are rare in ffmpeg output: "Infinity", "NaN", hexadecimal and
+     * numbers with type suffix. Anything else (e.g. "N/A") is rejected without exception.
+     *
+     * @param value        string to parse
+     * @param start        first non-whitespace character, inclusive
+     * @param end          last non-whitespace character, exclusive
+     * @param defaultValue value to return if region doesn't contain a number
+     * @param single       true to parse float, false to parse double
+     * @return parsed number or default value
+     */
+    private static double parseSpecial(final CharSequence value, final int start,
+                                       final int end, final double defaultValue,
+                                       final boolean single) {
+        int i = start;
+        char first = value.charAt(i);
+        if (first == '-' || first == '+') {
+            i++;
+        }
+
+        char last = value.charAt(end - 1);
+        boolean special = regionEquals(value, i, end, "Infinity")
+                || regionEquals(value, i, end, "NaN")
+                || end - i > 2 && value.charAt(i) == '0'
+                && (value.charAt(i + 1) == 'x' || value.charAt(i + 1) == 'X')
+                || last == 'd' || last == 'D' || last == 'f' || last == 'F';
+        if (!special) {
+            return defaultValue;
+        }
+
+        String number = value.subSequence(start, end).toString();
+        try {
+            return single ? Float.parseFloat(number) : Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Parses rational number, e.g. "30000/1001" (delimiter '/') or "16:9" (delimiter ':').
+     * <p>
+     * Integer values (without delimiter) are parsed as rational numbers with denominator 1.
+     *
+     * @param value     string to parse
+     * @param delimiter delimiter between numerator and denominator
+     * @return parsed rational or null if value is not a rational number or denominator
+     * is not positive (e.g. "0/0")
+     */
+    public static Rational parseRational(final CharSequence value, final char delimiter) {
+        if (value == null) {
+            return null;
+        }
+
+        int length = value.length();
+        int delimiterIndex = indexOf(value, delimiter);
+        if (delimiterIndex < 0) {
+            Long numerator = parseLong(value, 0, length);
+            if (numerator == null) {
+                return null;
+            }
+            return Rational.valueOf(numerator);
+        }
+
+        Long numerator = parseLong(value, 0, delimiterIndex);
+        long denominator = parseLong(value, delimiterIndex + 1, length, 0L);
+        if (numerator == null || denominator <= 0) {
+            return null;
+        }
+
+        return new Rational(numerator, denominator);
+    }
+
+    /**
+     * Parses number followed by the specified suffix, e.g. "1.5x" with suffix "x".
+     *
+     * @param value  string to parse
+     * @param suffix required suffix
+     * @return parsed number or null if value doesn't end with suffix or can't be parsed
+     */
+    public static Double parseDoubleWithSuffix(final CharSequence value, final String suffix) {
+        if (value == null || !endsWith(value, value.length(), suffix)) {
+            return null;
+        }
+        return parseDouble(value, 0, value.length() - suffix.length());
+    }
+
+    /**
+     * Parses long followed by the specified suffix, e.g. "1024kB" with suffix "kB".
+     *
+     * @param value  string to parse
+     * @param suffix required suffix
+     * @return parsed number or null if value doesn't end with suffix or can't be parsed
+     */
+    public static Long parseLongWithSuffix(final CharSequence value, final String suffix) {
+        if (value == null || !endsWith(value, value.length(), suffix)) {
+            return null;
+        }
+        return parseLong(value, 0, value.length() - suffix.length());
+    }
+
+    private static int indexOf(final CharSequence value, final char c) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionEquals(final CharSequence value, final int from, final int to,
+                                        final String expected) {
+        return to - from == expected.length() && endsWith(value, to, expected);
+    }
+
+    private static boolean endsWith(final CharSequence value, final int end, final String suffix) {
+        int start = end - suffix.length();
+        if (start < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (value.charAt(start + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -48,11 +48,11 @@ public final class ParseUtil {
      */
     public static Long parseLong(final String value) {
         if (value != null && !value.isEmpty() && !"N/A".equals(value)) {
-            try {
-                return Long.parseLong(value);
-            } catch (NumberFormatException e) {
-                LOGGER.warn("Failed to parse long number: {}", value, e);
+            Long result = NumberParser.parseLong(value);
+            if (result == null) {
+                LOGGER.warn("Failed to parse long number: {}", value);
             }
+            return result;
         }
 
         return null;
@@ -66,11 +66,11 @@ public final class ParseUtil {
      */
     public static Double parseDouble(final String value) {
         if (value != null && !value.isEmpty() && !"N/A".equals(value)) {
-            try {
-                return Double.parseDouble(value);
-            } catch (NumberFormatException e) {
-                LOGGER.warn("Failed to parse double number: {}", value, e);
+            Double result = NumberParser.parseDouble(value);
+            if (result == null) {
+                LOGGER.warn("Failed to parse double number: {}", value);
             }
+            return result;
         }
 
         return null;
@@ -157,23 +157,11 @@ public final class ParseUtil {
     }
 
     private static Long parseLongWithSuffix(final String value, final String suffix) {
-        String numericValue = removeSuffix(value, suffix);
-
-        return parseLong(numericValue);
+        return NumberParser.parseLongWithSuffix(value, suffix);
     }
 
     private static Double parseDoubleWithSuffix(final String value, final String suffix) {
-        String numericValue = removeSuffix(value, suffix);
-
-        return parseDouble(numericValue);
-    }
-
-    private static String removeSuffix(final String value, final String suffix) {
-        if (value == null || value.isEmpty() || !value.endsWith(suffix)) {
-            return null;
-        }
-
-        return value.substring(0, value.length() - suffix.length());
+        return NumberParser.parseDoubleWithSuffix(value, suffix);
     }
 
     /**
@@ -0,0 +1,53 @@
+/*
+ *    Copyright 2026 Denis Kokorin
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+package com.github.kokorin.jaffree.process;
+
+/**
+ * {@link ThreadSource} implementation which runs every {@link Runnable} in a new virtual thread.
+ * <p>
+ * This is JDK 21 specific version of this class, it's packaged into multi-release jar.
+ *
+ * @see #isSupported()
+ */
+public class VirtualThreadSource implements ThreadSource {
+
+    /**
+     * Creates {@link VirtualThreadSource}.
+     */
+    public VirtualThreadSource() {
+    }
+
+    /**
+     * Runs provided {@link Runnable} in a new virtual thread.
+     *
+     * @param threadName name of the thread (for logging)
+     * @param runnable   runnable to execute
+     */
+    @Override
+    public void execute(final String threadName, final Runnable runnable) {
+        Thread.ofVirtual()
+                .name(threadName)
+                .start(runnable);
+    }
+
+    /**
+     * @return true if current JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+}
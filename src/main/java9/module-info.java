@@ -17,17 +17,23 @@
 
 module com.github.kokorin.jaffree {
     requires java.base;
-    requires java.desktop;
+    requires static java.desktop;
     requires org.slf4j;
     requires com.grack.nanojson;
 
+    uses com.github.kokorin.jaffree.metrics.JaffreeMetrics;
+
     exports com.github.kokorin.jaffree;
+    exports com.github.kokorin.jaffree.capabilities;
     exports com.github.kokorin.jaffree.ffmpeg;
     exports com.github.kokorin.jaffree.ffprobe;
     exports com.github.kokorin.jaffree.ffprobe.data;
+    exports com.github.kokorin.jaffree.ffprobe.header;
     exports com.github.kokorin.jaffree.log;
+    exports com.github.kokorin.jaffree.metrics;
     exports com.github.kokorin.jaffree.net;
     exports com.github.kokorin.jaffree.nut;
     exports com.github.kokorin.jaffree.process;
+    exports com.github.kokorin.jaffree.seek;
     exports com.github.kokorin.jaffree.util;
 }
\ No newline at end of file
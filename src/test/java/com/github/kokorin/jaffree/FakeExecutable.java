@@ -0,0 +1,61 @@
+package com.github.kokorin.jaffree;
+
+import org.junit.Assume;
+import org.junit.rules.ExternalResource;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rule which provides temporary bin directory with shell scripts standing in for ffmpeg binaries.
+ * <p>
+ * Scripts run with {@code DIR} variable set to the bin directory, so they can keep state there.
+ * By convention every invocation is logged to {@code $DIR/calls}, see {@link #readCalls()}.
+ * Tests which write scripts are skipped on Windows.
+ */
+public class FakeExecutable extends ExternalResource {
+    public static final String CALLS = "calls";
+
+    private final TemporaryFolder folder = new TemporaryFolder();
+    private Path binDir;
+
+    @Override
+    protected void before() throws Throwable {
+        folder.create();
+        binDir = folder.newFolder("bin").toPath();
+    }
+
+    @Override
+    protected void after() {
+        folder.delete();
+    }
+
+    public Path getBinDir() {
+        return binDir;
+    }
+
+    public Path write(String name, String script) throws IOException {
+        Assume.assumeFalse(OS.IS_WINDOWS);
+        Path executable = binDir.resolve(name);
+        String content = "#!/bin/sh\n"
+                + "DIR=$(dirname \"$0\")\n"
+                + script;
+        Files.write(executable, content.getBytes(StandardCharsets.UTF_8));
+        Files.setPosixFilePermissions(executable, PosixFilePermissions.fromString("rwxr-xr-x"));
+        return executable;
+    }
+
+    public List<String> readCalls() throws IOException {
+        Path calls = binDir.resolve(CALLS);
+        if (!Files.exists(calls)) {
+            return Collections.emptyList();
+        }
+        return Files.readAllLines(calls, StandardCharsets.UTF_8);
+    }
+}
@@ -34,6 +34,22 @@ public class RationalTest {
         assertEquals(Rational.ONE.divide(10), Rational.valueOf("1/10"));
     }
 
+    @Test
+    public void valueOfWithDelimiter() {
+        assertEquals(new Rational(16, 9), Rational.valueOf("16:9", ":"));
+        assertEquals(new Rational(16, 1), Rational.valueOf("16", ":"));
+        assertEquals(new Rational(30000, 1001), Rational.valueOf("30000 / 1001", "\\s*/\\s*"));
+        assertEquals(new Rational(16, 9), Rational.valueOf("16x9", "[x:]"));
+        assertEquals(new Rational(3, 2), Rational.valueOf("3|2", "\\|"));
+        assertEquals(new Rational(3, 2), Rational.valueOf("3::2", "::"));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void valueOfWithRegexMetacharacterDelimiter() {
+        // "." matches any character
+        Rational.valueOf("3.2", ".");
+    }
+
     @Test
     public void inverse() {
         assertEquals(Rational.ONE, Rational.ONE.inverse());
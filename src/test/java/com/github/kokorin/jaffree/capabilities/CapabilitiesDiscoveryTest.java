@@ -0,0 +1,224 @@
+package com.github.kokorin.jaffree.capabilities;
+
+import com.github.kokorin.jaffree.FakeExecutable;
+import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.StreamType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class CapabilitiesDiscoveryTest {
+    private static final List<String> SECTIONS =
+            Arrays.asList("version", "encoders", "decoders", "filters", "pix_fmts", "formats");
+
+    @Rule
+    public FakeExecutable bin = new FakeExecutable();
+
+    private Path executable;
+
+    @Before
+    public void setUp() throws Exception {
+        for (String section : SECTIONS) {
+            try (InputStream input = getClass().getResourceAsStream(section + ".txt")) {
+                Files.copy(input, bin.getBinDir().resolve(section + ".txt"));
+            }
+        }
+
+        // Fake ffmpeg: prints sample output for the last argument and counts invocations
+        String script = "echo \"$*\" >> \"$DIR/calls\"\n"
+                + "for a; do last=$a; done\n"
+                + "cat \"$DIR/${last#-}.txt\"\n";
+        executable = bin.write("ffmpeg", script);
+    }
+
+    @Test
+    public void testDiscover() {
+        Capabilities capabilities = new CapabilitiesDiscovery().discover(executable);
+
+        Assert.assertEquals("6.1.1-3ubuntu5", capabilities.getVersion());
+        Assert.assertTrue(capabilities.getConfiguration().contains("--enable-libx264"));
+
+        Assert.assertEquals(12, capabilities.getEncoders().size());
+        Assert.assertEquals(4, capabilities.getEncoders("h264").size());
+        Codec libx264 = capabilities.getEncoder("libx264");
+        Assert.assertEquals("h264", libx264.getCodecName());
+        Assert.assertEquals(StreamType.VIDEO, libx264.getType());
+        Assert.assertFalse(libx264.isFrameThreads());
+
+        Codec mpeg4 = capabilities.getEncoder("mpeg4");
+        Assert.assertEquals("mpeg4", mpeg4.getCodecName());
+        Assert.assertEquals("MPEG-4 part 2", mpeg4.getDescription());
+        Assert.assertTrue(mpeg4.isFrameThreads());
+        Assert.assertTrue(mpeg4.isSliceThreads());
+
+        Assert.assertTrue(capabilities.getEncoder("vorbis").isExperimental());
+        Codec ass = capabilities.getEncoder("ass");
+        Assert.assertEquals(StreamType.SUBTITLE, ass.getType());
+        Assert.assertFalse(ass.isSliceThreads());
+
+        Assert.assertEquals(2, capabilities.getDecoders("h264").size());
+        Assert.assertTrue(capabilities.hasDecoder("subrip"));
+        Assert.assertFalse(capabilities.hasDecoder("libx264"));
+
+        Assert.assertEquals(7, capabilities.getFilters().size());
+        Filter scale = capabilities.getFilter("scale");
+        Assert.assertTrue(scale.isTimeline());
+        Assert.assertTrue(scale.isSliceThreads());
+        Assert.assertTrue(scale.isCommands());
+        Assert.assertEquals("V", scale.getInputs());
+        Assert.assertEquals("|", capabilities.getFilter("color").getInputs());
+        Assert.assertEquals("N", capabilities.getFilter("split").getOutputs());
+        Assert.assertFalse(capabilities.getFilter("volume").isTimeline());
+
+        Assert.assertEquals(5, capabilities.getPixelFormats().size());
+        PixelFormat yuv420p = capabilities.getPixelFormat("yuv420p");
+        Assert.assertTrue(yuv420p.isInput());
+        Assert.assertTrue(yuv420p.isOutput());
+        Assert.assertEquals(3, yuv420p.getComponents());
+        Assert.assertEquals(12, yuv420p.getBitsPerPixel());
+        Assert.assertEquals("8-8-8", yuv420p.getBitDepths());
+        Assert.assertTrue(capabilities.getPixelFormat("pal8").isPaletted());
+        Assert.assertTrue(capabilities.getPixelFormat("monob").isBitstream());
+        Assert.assertTrue(capabilities.getPixelFormat("cuda").isHardware());
+        Assert.assertFalse(capabilities.getPixelFormat("cuda").isInput());
+
+        Assert.assertEquals(7, capabilities.getFormats().size());
+        Assert.assertTrue(capabilities.canDemux("3dostr"));
+        Assert.assertFalse(capabilities.canMux("3dostr"));
+        Assert.assertTrue(capabilities.canMux("webm"));
+        Assert.assertTrue(capabilities.canDemux("webm"));
+        Assert.assertTrue(capabilities.canMux("mp4"));
+        Assert.assertTrue(capabilities.canDemux("mp4"));
+        Assert.assertFalse(capabilities.canMux("unknown"));
+    }
+
+    @Test
+    public void testCachedInMemory() throws Exception {
+        CapabilitiesDiscovery discovery = new CapabilitiesDiscovery();
+
+        Capabilities first = discovery.discover(executable);
+        Capabilities second = discovery.discover(executable);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(SECTIONS.size(), bin.readCalls().size());
+    }
+
+    @Test
+    public void testConcurrentDiscoveryRunsOnce() throws Exception {
+        CapabilitiesDiscovery discovery = new CapabilitiesDiscovery();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Capabilities>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(() -> discovery.discover(executable)));
+            }
+
+            Capabilities first = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Capabilities> future : futures) {
+                Assert.assertSame(first, future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        Assert.assertEquals(SECTIONS.size(), bin.readCalls().size());
+    }
+
+    @Test
+    public void testFailedDiscoveryIsNotCached() throws Exception {
+        CapabilitiesDiscovery discovery = new CapabilitiesDiscovery();
+        Path broken = bin.write("broken", "exit 1\n");
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                discovery.discover(broken);
+                Assert.fail("JaffreeException expected");
+            } catch (JaffreeException e) {
+                // expected
+            }
+        }
+
+        Files.write(broken, Files.readAllBytes(executable));
+        Assert.assertNotNull(discovery.discover(broken));
+    }
+
+    @Test
+    public void testModifiedExecutableIsDiscoveredAgain() throws Exception {
+        CapabilitiesDiscovery discovery = new CapabilitiesDiscovery();
+
+        Capabilities first = discovery.discover(executable);
+        FileTime modified = FileTime.fromMillis(
+                Files.getLastModifiedTime(executable).toMillis() + TimeUnit.HOURS.toMillis(1));
+        Files.setLastModifiedTime(executable, modified);
+        Capabilities second = discovery.discover(executable);
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(2 * SECTIONS.size(), bin.readCalls().size());
+    }
+
+    @Test
+    public void testCachedOnDisk() throws Exception {
+        Path cacheDir = bin.getBinDir().resolveSibling("cache");
+
+        Capabilities first = new CapabilitiesDiscovery()
+                .setCacheDirectory(cacheDir)
+                .discover(executable);
+        Capabilities second = new CapabilitiesDiscovery()
+                .setCacheDirectory(cacheDir)
+                .discover(executable);
+
+        Assert.assertEquals(SECTIONS.size(), bin.readCalls().size());
+        Assert.assertEquals(first.getVersion(), second.getVersion());
+        Assert.assertEquals(first.getEncoders().size(), second.getEncoders().size());
+        Assert.assertEquals(first.getFormats().size(), second.getFormats().size());
+
+        // Corrupted disk cache is ignored
+        try (java.util.stream.Stream<Path> files = Files.list(cacheDir)) {
+            files.forEach(file -> file.toFile().delete());
+        }
+        Files.copy(executable, cacheDir.resolve("ffmpeg"), StandardCopyOption.REPLACE_EXISTING);
+        new CapabilitiesDiscovery()
+                .setCacheDirectory(cacheDir)
+                .discover(executable);
+        Assert.assertEquals(2 * SECTIONS.size(), bin.readCalls().size());
+    }
+
+    @Test
+    public void testParseDeviceFormats() {
+        List<String> lines = Arrays.asList(
+                "Devices:",
+                " D.. = Demuxing supported",
+                " .E. = Muxing supported",
+                " ..d = Is a device",
+                " ---",
+                " D d alsa            ALSA audio output",
+                " DEd fbdev           Linux framebuffer",
+                " DE  matroska,webm   Matroska / WebM"
+        );
+
+        List<ContainerFormat> formats = CapabilitiesParser.parseFormats(lines);
+
+        Assert.assertEquals(3, formats.size());
+        Assert.assertEquals("alsa", formats.get(0).getName());
+        Assert.assertEquals("ALSA audio output", formats.get(0).getDescription());
+        Assert.assertTrue(formats.get(0).isDevice());
+        Assert.assertFalse(formats.get(0).isMuxing());
+        Assert.assertTrue(formats.get(1).isMuxing());
+        Assert.assertFalse(formats.get(2).isDevice());
+        Assert.assertEquals(Arrays.asList("matroska", "webm"), formats.get(2).getNames());
+    }
+}
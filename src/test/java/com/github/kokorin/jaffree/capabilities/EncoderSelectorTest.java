@@ -0,0 +1,87 @@
+package com.github.kokorin.jaffree.capabilities;
+
+import com.github.kokorin.jaffree.StreamType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class EncoderSelectorTest {
+    private final Capabilities capabilities = new Capabilities("6.1", null,
+            Arrays.asList(
+                    encoder("libopenh264", "h264", false),
+                    encoder("h264_vaapi", "h264", false),
+                    encoder("libx264", "h264", false),
+                    encoder("h264_nvenc", "h264", false),
+                    encoder("libaom-av1", "av1", false),
+                    encoder("libsvtav1", "av1", false),
+                    encoder("av1_nvenc", "av1", false),
+                    encoder("aac", "aac", false),
+                    encoder("vorbis", "vorbis", true)
+            ),
+            Collections.<Codec>emptyList(), Collections.<Filter>emptyList(),
+            Collections.<PixelFormat>emptyList(), Collections.<ContainerFormat>emptyList());
+
+    @Test
+    public void testSoftware() {
+        EncoderSelector selector = new EncoderSelector(capabilities);
+
+        Assert.assertEquals("libx264", selector.selectName("h264"));
+        Assert.assertEquals("libsvtav1", selector.selectName("av1"));
+        Assert.assertEquals("aac", selector.selectName("aac"));
+        Assert.assertNull(selector.selectName("vorbis"));
+        Assert.assertNull(selector.selectName("hevc"));
+    }
+
+    @Test
+    public void testHardware() {
+        EncoderSelector selector = new EncoderSelector(capabilities)
+                .setHardwareAllowed(true);
+
+        Assert.assertEquals(Arrays.asList("h264_nvenc", "h264_vaapi", "libx264", "libopenh264"),
+                names(selector.rank("h264")));
+        Assert.assertEquals("av1_nvenc", selector.selectName("av1"));
+    }
+
+    @Test
+    public void testPreferredAndExperimental() {
+        EncoderSelector selector = new EncoderSelector(capabilities)
+                .setHardwareAllowed(true)
+                .setExperimentalAllowed(true)
+                .setPreferredEncoders("libopenh264", "libaom-av1");
+
+        Assert.assertEquals("libopenh264", selector.selectName("h264"));
+        Assert.assertEquals("libaom-av1", selector.selectName("av1"));
+        Assert.assertEquals("vorbis", selector.selectName("vorbis"));
+    }
+
+    @Test
+    public void testVerifier() {
+        final List<String> verified = new ArrayList<>();
+        EncoderSelector selector = new EncoderSelector(capabilities)
+                .setHardwareAllowed(true)
+                .setVerifier(encoder -> {
+                    verified.add(encoder.getName());
+                    return !EncoderSelector.isHardware(encoder.getName());
+                });
+
+        Assert.assertEquals("libx264", selector.selectName("h264"));
+        Assert.assertEquals("libx264", selector.selectName("h264"));
+        Assert.assertEquals(Arrays.asList("h264_nvenc", "h264_vaapi", "libx264"), verified);
+    }
+
+    private static Codec encoder(String name, String codecName, boolean experimental) {
+        return new Codec(name, codecName, name, StreamType.VIDEO, false, false, experimental);
+    }
+
+    private static List<String> names(List<Codec> codecs) {
+        List<String> result = new ArrayList<>();
+        for (Codec codec : codecs) {
+            result.add(codec.getName());
+        }
+        return result;
+    }
+}
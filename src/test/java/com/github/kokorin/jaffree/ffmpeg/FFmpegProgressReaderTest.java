@@ -1,5 +1,7 @@
 package com.github.kokorin.jaffree.ffmpeg;
 
+import com.github.kokorin.jaffree.metrics.JaffreeMetrics;
+import com.github.kokorin.jaffree.metrics.Metrics;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -57,6 +59,27 @@ public class FFmpegProgressReaderTest {
         Assert.assertEquals((Double) 9.29, progress.getSpeed());
     }
 
+    @Test
+    public void readProgressSpeedMetrics() throws Exception {
+        final List<Double> speeds = new ArrayList<>();
+        Metrics.set(new JaffreeMetrics() {
+            @Override
+            public void progressSpeed(double speed) {
+                speeds.add(speed);
+            }
+        });
+
+        try (InputStream inputStream = getClass().getResourceAsStream("progress.log")) {
+            new FFmpegProgressReader(progress -> {}).readProgress(inputStream);
+        } finally {
+            Metrics.set(null);
+        }
+
+        Assert.assertEquals(3, speeds.size());
+        Assert.assertEquals(10.1, speeds.get(0), 0.001);
+        Assert.assertEquals(9.29, speeds.get(1), 0.001);
+    }
+
     /**
      * Tests progress that has N/A values (first pass in 2 pass encoding for example)
      */
@@ -0,0 +1,136 @@
+package com.github.kokorin.jaffree.ffmpeg;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ImageFormatsTest {
+
+    @Test
+    public void testFourCCMatchesPixelFormat() {
+        // Subset of ffmpeg's raw pixel format tags (libavcodec/raw.c), NUT demuxer
+        // chooses pixel format by fourcc
+        Map<String, byte[]> tags = new HashMap<>();
+        tags.put("bgr24", new byte[] {'B', 'G', 'R', 24});
+        tags.put("abgr", new byte[] {'A', 'B', 'G', 'R'});
+        tags.put("gray", new byte[] {'Y', '1', 0, 8});
+        tags.put("gray16le", new byte[] {'Y', '1', 0, 16});
+        tags.put("gray16be", new byte[] {16, 0, '1', 'Y'});
+        tags.put("bgr0", new byte[] {'B', 'G', 'R', 0});
+        tags.put("0rgb", new byte[] {0, 'R', 'G', 'B'});
+        tags.put("bgra", new byte[] {'B', 'G', 'R', 'A'});
+        tags.put("argb", new byte[] {'A', 'R', 'G', 'B'});
+
+        for (ImageFormats format : ImageFormats.values()) {
+            byte[] expected = tags.get(format.getPixelFormat());
+            Assert.assertNotNull("Unknown pixel format: " + format, expected);
+            Assert.assertArrayEquals(format.name(), expected, format.getFourCC());
+        }
+    }
+
+    @Test
+    public void testGray8() {
+        byte[] data = {0, 1, 2, (byte) 255, 4, 5};
+        BufferedImage image = ImageFormats.GRAY8.toImage(data, 3, 2);
+
+        Assert.assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+        Assert.assertEquals(255, image.getRaster().getSample(0, 1, 0));
+        Assert.assertArrayEquals(data, ImageFormats.GRAY8.toBytes(image));
+
+        byte[] next = {6, 7, 8, 9, 10, 11};
+        Assert.assertTrue(ImageFormats.GRAY8.fillImage(next, image));
+        Assert.assertEquals(9, image.getRaster().getSample(0, 1, 0));
+    }
+
+    @Test
+    public void testGray16() {
+        byte[] data = {0, 1, 1, 0, (byte) 0xFF, (byte) 0xFF, 0, 0};
+        BufferedImage image = ImageFormats.GRAY16.toImage(data, 2, 2);
+
+        Assert.assertEquals(BufferedImage.TYPE_USHORT_GRAY, image.getType());
+        Assert.assertEquals(1, image.getRaster().getSample(0, 0, 0));
+        Assert.assertEquals(256, image.getRaster().getSample(1, 0, 0));
+        Assert.assertEquals(0xFFFF, image.getRaster().getSample(0, 1, 0));
+        Assert.assertArrayEquals(data, ImageFormats.GRAY16.toBytes(image));
+
+        Assert.assertTrue(ImageFormats.GRAY16.fillImage(new byte[8], image));
+        Assert.assertEquals(0, image.getRaster().getSample(0, 1, 0));
+        Assert.assertFalse(ImageFormats.GRAY16.fillImage(new byte[8],
+                new BufferedImage(2, 2, BufferedImage.TYPE_BYTE_GRAY)));
+    }
+
+    @Test
+    public void testIntRgb() {
+        Assert.assertEquals(ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? "bgr0" : "0rgb",
+                ImageFormats.INT_RGB.getPixelFormat());
+
+        int[] pixels = {0x112233, 0x445566, 0x778899, 0xAABBCC};
+        byte[] data = toNativeBytes(pixels);
+        BufferedImage image = ImageFormats.INT_RGB.toImage(data, 2, 2);
+
+        Assert.assertEquals(BufferedImage.TYPE_INT_RGB, image.getType());
+        Assert.assertEquals(0x445566, image.getRGB(1, 0) & 0xFFFFFF);
+        Assert.assertEquals(0xAABBCC, image.getRGB(1, 1) & 0xFFFFFF);
+        Assert.assertArrayEquals(data, ImageFormats.INT_RGB.toBytes(image));
+
+        Assert.assertTrue(ImageFormats.INT_RGB.fillImage(toNativeBytes(new int[4]), image));
+        Assert.assertEquals(0, image.getRGB(1, 1) & 0xFFFFFF);
+    }
+
+    @Test
+    public void testIntArgb() {
+        int[] pixels = {0x80112233, 0xFF445566};
+        byte[] data = toNativeBytes(pixels);
+        BufferedImage image = ImageFormats.INT_ARGB.toImage(data, 2, 1);
+
+        Assert.assertEquals(BufferedImage.TYPE_INT_ARGB, image.getType());
+        Assert.assertEquals(0x80112233, image.getRGB(0, 0));
+        Assert.assertEquals(0xFF445566, image.getRGB(1, 0));
+        Assert.assertArrayEquals(data, ImageFormats.INT_ARGB.toBytes(image));
+        Assert.assertFalse(ImageFormats.INT_ARGB.fillImage(data,
+                new BufferedImage(2, 1, BufferedImage.TYPE_4BYTE_ABGR)));
+    }
+
+    @Test
+    public void testFillImageRejectsOtherSize() {
+        BufferedImage image = ImageFormats.BGR24.toImage(new byte[12], 2, 2);
+        Assert.assertFalse(ImageFormats.BGR24.fillImage(new byte[6], image));
+    }
+
+    @Test
+    public void testPlanarFormats() {
+        // 5x3 frame: 3x2 chroma
+        Assert.assertEquals(15 + 6 + 6, PlanarFormat.YUV420P.getFrameSize(5, 3));
+        Assert.assertEquals(15 + 12, PlanarFormat.NV12.getFrameSize(5, 3));
+        Assert.assertEquals(6, PlanarFormat.NV12.getLineSize(1, 5));
+
+        byte[] data = new byte[27];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        ByteBuffer[] planes = PlanarFormat.YUV420P.getPlanes(ByteBuffer.wrap(data), 5, 3);
+        Assert.assertEquals(3, planes.length);
+        Assert.assertEquals(15, planes[0].remaining());
+        Assert.assertEquals(6, planes[1].remaining());
+        Assert.assertEquals(15, planes[1].get(0));
+        Assert.assertEquals(21, planes[2].get(0));
+        Assert.assertTrue(planes[2].isReadOnly());
+
+        planes = PlanarFormat.NV12.getPlanes(ByteBuffer.wrap(data), 5, 3);
+        Assert.assertEquals(2, planes.length);
+        Assert.assertEquals(12, planes[1].remaining());
+        Assert.assertEquals(26, planes[1].get(11));
+    }
+
+    private static byte[] toNativeBytes(final int[] pixels) {
+        ByteBuffer buffer = ByteBuffer.allocate(pixels.length * 4).order(ByteOrder.nativeOrder());
+        buffer.asIntBuffer().put(pixels);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,334 @@
+package com.github.kokorin.jaffree.ffmpeg;
+
+import com.github.kokorin.jaffree.OS;
+import com.github.kokorin.jaffree.log.LogMessage;
+import com.github.kokorin.jaffree.process.LoggingStdReader;
+import com.github.kokorin.jaffree.process.ProcessHandler;
+import com.github.kokorin.jaffree.process.StdReader;
+import com.github.kokorin.jaffree.process.Stopper;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JobSchedulerTest {
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+
+    @Before
+    public void setUp() {
+        Assume.assumeFalse(OS.IS_WINDOWS);
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() throws Exception {
+        try (JobScheduler scheduler = new JobScheduler(2)) {
+            List<FFmpegResultFuture> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(scheduler.submit(new SleepingFFmpeg("job" + i, "0.2")));
+            }
+
+            Assert.assertEquals(2, scheduler.getRunningJobs());
+            Assert.assertEquals(4, scheduler.getQueuedJobs());
+
+            for (FFmpegResultFuture future : futures) {
+                Assert.assertNotNull(future.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        Assert.assertEquals(6, started.size());
+        Assert.assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    public void testPriority() throws Exception {
+        try (JobScheduler scheduler = new JobScheduler(1)) {
+            FFmpegResultFuture first = scheduler.submit(new SleepingFFmpeg("first", "0.3"));
+            scheduler.submit(new SleepingFFmpeg("low", "0"), -1);
+            scheduler.submit(new SleepingFFmpeg("normal1", "0"));
+            scheduler.submit(new SleepingFFmpeg("high", "0"), 10);
+            FFmpegResultFuture last = scheduler.submit(new SleepingFFmpeg("normal2", "0"));
+
+            first.get(10, TimeUnit.SECONDS);
+            last.get(10, TimeUnit.SECONDS);
+        }
+
+        Assert.assertEquals(Arrays.asList("first", "high", "normal1", "normal2"),
+                started.subList(0, 4));
+    }
+
+    @Test
+    public void testRejectWhenQueueIsFull() throws Exception {
+        try (JobScheduler scheduler = new JobScheduler(1).setMaxQueuedJobs(1)) {
+            FFmpegResultFuture first = scheduler.submit(new SleepingFFmpeg("first", "0.3"));
+            FFmpegResultFuture second = scheduler.submit(new SleepingFFmpeg("second", "0"));
+
+            try {
+                scheduler.submit(new SleepingFFmpeg("third", "0"));
+                Assert.fail("RejectedExecutionException expected");
+            } catch (RejectedExecutionException e) {
+                // expected
+            }
+
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        }
+
+        Assert.assertEquals(Arrays.asList("first", "second"), started);
+    }
+
+    @Test
+    public void testQueueTimeout() throws Exception {
+        try (JobScheduler scheduler = new JobScheduler(1)
+                .setQueueTimeout(100, TimeUnit.MILLISECONDS)) {
+            FFmpegResultFuture first = scheduler.submit(new SleepingFFmpeg("first", "0.5"));
+            FFmpegResultFuture second = scheduler.submit(new SleepingFFmpeg("second", "0"));
+
+            try {
+                second.get(10, TimeUnit.SECONDS);
+                Assert.fail("ExecutionException expected");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            Assert.assertEquals(0, scheduler.getQueuedJobs());
+
+            first.get(10, TimeUnit.SECONDS);
+        }
+
+        Assert.assertEquals(Collections.singletonList("first"), started);
+    }
+
+    @Test
+    public void testStopQueuedJob() throws Exception {
+        try (JobScheduler scheduler = new JobScheduler(1)) {
+            FFmpegResultFuture first = scheduler.submit(new SleepingFFmpeg("first", "0.3"));
+            FFmpegResultFuture second = scheduler.submit(new SleepingFFmpeg("second", "0"));
+
+            second.graceStop();
+            Assert.assertTrue(second.isDone());
+            Assert.assertEquals(0, scheduler.getQueuedJobs());
+
+            first.get(10, TimeUnit.SECONDS);
+        }
+
+        Assert.assertEquals(Collections.singletonList("first"), started);
+    }
+
+    @Test
+    public void testThreadBudget() throws Exception {
+        List<List<String>> runArguments = new ArrayList<>();
+        FFmpeg ffmpeg = new ArgumentsCapturingFFmpeg(runArguments)
+                .addInput(UrlInput.fromUrl("input.mp4"))
+                .addOutput(UrlOutput.toUrl("output.mp4"));
+        ffmpeg.executeAsync(Runnable::run, 3);
+
+        List<String> arguments = runArguments.get(0);
+        Assert.assertEquals("3", arguments.get(arguments.indexOf("-threads") + 1));
+        Assert.assertEquals("3", arguments.get(arguments.indexOf("-filter_threads") + 1));
+
+        // budget is applied to a single run only
+        arguments = ffmpeg.buildArguments();
+        Assert.assertFalse(arguments.contains("-threads"));
+        Assert.assertFalse(arguments.contains("-filter_threads"));
+
+        FFmpeg explicit = new ArgumentsCapturingFFmpeg(runArguments)
+                .setThreads(1)
+                .addInput(UrlInput.fromUrl("input.mp4"))
+                .addOutput(UrlOutput.toUrl("output.mp4"));
+        explicit.executeAsync(Runnable::run, 3);
+
+        arguments = runArguments.get(1);
+        Assert.assertEquals("1", arguments.get(arguments.indexOf("-threads") + 1));
+        Assert.assertEquals("3", arguments.get(arguments.indexOf("-filter_threads") + 1));
+
+        try (JobScheduler scheduler = new JobScheduler(4).setCpuThreads(16)) {
+            Assert.assertEquals(4, scheduler.getThreadBudget());
+        }
+        try (JobScheduler scheduler = new JobScheduler(4).setCpuThreads(2)) {
+            Assert.assertEquals(1, scheduler.getThreadBudget());
+        }
+    }
+
+    @Test
+    public void testStopJobWhileStarting() throws Exception {
+        CountDownLatch starting = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+
+        try (JobScheduler scheduler = new JobScheduler(1)) {
+            FFmpegResultFuture first = scheduler.submit(new SleepingFFmpeg("first", "0.1"));
+            StartBlockingFFmpeg blocking = new StartBlockingFFmpeg(starting, proceed);
+            FFmpegResultFuture second = scheduler.submit(blocking);
+
+            // second job has been taken from the queue, but hasn't been started yet
+            Assert.assertTrue(starting.await(10, TimeUnit.SECONDS));
+            // scheduler isn't locked while the job is being started
+            Assert.assertEquals(0, scheduler.getQueuedJobs());
+            Assert.assertEquals(1, scheduler.getRunningJobs());
+            Thread stopping = new Thread(second::forceStop);
+            stopping.start();
+            proceed.countDown();
+            stopping.join(10_000);
+
+            Assert.assertTrue(blocking.stopper.stopped.await(10, TimeUnit.SECONDS));
+            first.get(10, TimeUnit.SECONDS);
+            Assert.assertTrue(second.isCancelled());
+
+            // process (sleep 10) has been destroyed and freed its slot
+            for (int i = 0; i < 50 && scheduler.getRunningJobs() > 0; i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(0, scheduler.getRunningJobs());
+        }
+    }
+
+    @Test
+    public void testShortJobsAreDrained() throws Exception {
+        try (JobScheduler scheduler = new JobScheduler(1)) {
+            List<FFmpegResultFuture> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                futures.add(scheduler.submit(new SleepingFFmpeg("job" + i, "0")));
+            }
+
+            for (FFmpegResultFuture future : futures) {
+                Assert.assertNotNull(future.get(10, TimeUnit.SECONDS));
+            }
+            for (int i = 0; i < 50 && scheduler.getRunningJobs() > 0; i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(0, scheduler.getRunningJobs());
+            Assert.assertEquals(0, scheduler.getQueuedJobs());
+        }
+
+        Assert.assertEquals(50, started.size());
+        Assert.assertEquals(1, maxRunning.get());
+    }
+
+    private static class ArgumentsCapturingFFmpeg extends FFmpeg {
+        private final List<List<String>> runArguments;
+
+        ArgumentsCapturingFFmpeg(List<List<String>> runArguments) {
+            super(Paths.get("ffmpeg"));
+            this.runArguments = runArguments;
+        }
+
+        @Override
+        protected ProcessHandler<FFmpegResult> createProcessHandler() {
+            runArguments.add(buildArguments());
+            return new ProcessHandler<FFmpegResult>(Paths.get("true"), null)
+                    .setStdOutReader(new LoggingStdReader<FFmpegResult>());
+        }
+    }
+
+    private class StartBlockingFFmpeg extends SleepingFFmpeg {
+        private final CountDownLatch starting;
+        private final CountDownLatch proceed;
+        private final DestroyingStopper stopper = new DestroyingStopper();
+
+        StartBlockingFFmpeg(CountDownLatch starting, CountDownLatch proceed) {
+            super("blocking", "10");
+            this.starting = starting;
+            this.proceed = proceed;
+        }
+
+        @Override
+        protected ProcessHandler<FFmpegResult> createProcessHandler() {
+            starting.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return super.createProcessHandler();
+        }
+
+        @Override
+        protected Stopper createStopper() {
+            return stopper;
+        }
+    }
+
+    private static class DestroyingStopper implements Stopper {
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private volatile Process process;
+
+        @Override
+        public void graceStop() {
+            forceStop();
+        }
+
+        @Override
+        public void forceStop() {
+            stopped.countDown();
+            Process current = process;
+            if (current != null) {
+                current.destroyForcibly();
+            }
+        }
+
+        @Override
+        public void setProcess(Process process) {
+            this.process = process;
+            if (stopped.getCount() == 0) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private class SleepingFFmpeg extends FFmpeg {
+        private final String name;
+        private final String seconds;
+
+        SleepingFFmpeg(String name, String seconds) {
+            super(Paths.get("sleep"));
+            this.name = name;
+            this.seconds = seconds;
+        }
+
+        @Override
+        protected ProcessHandler<FFmpegResult> createProcessHandler() {
+            started.add(name);
+            return new ProcessHandler<FFmpegResult>(Paths.get("sleep"), name)
+                    .setStdOutReader(new CountingStdReader())
+                    .setArguments(Collections.singletonList(seconds));
+        }
+    }
+
+    private class CountingStdReader implements StdReader<FFmpegResult> {
+        @Override
+        public FFmpegResult read(InputStream stdOut) {
+            int current = running.incrementAndGet();
+            maxRunning.accumulateAndGet(current, Math::max);
+            try {
+                byte[] buffer = new byte[1024];
+                while (stdOut.read(buffer) != -1) {
+                    // drain
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+            return new FFmpegResult(0L, 0L, 0L, 0L, 0L, 0.0);
+        }
+
+        @Override
+        public List<LogMessage> getErrorLogMessages() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.kokorin.jaffree.ffmpeg;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class NutFrameReaderTest {
+    private static final int FRAME_COUNT = 10;
+
+    @Test
+    public void testImagesAreReused() throws Exception {
+        Map<BufferedImage, Boolean> images = new IdentityHashMap<>();
+        List<Frame> retained = new ArrayList<>();
+
+        NutFrameReader reader = new NutFrameReader(new FrameConsumer() {
+            private int counter = 0;
+
+            @Override
+            public void consumeStreams(List<Stream> streams) {
+            }
+
+            @Override
+            public void consume(Frame frame) {
+                if (frame == null) {
+                    return;
+                }
+                Assert.assertEquals(counter, frame.getImage().getRGB(0, 0) & 0xFF);
+                images.put(frame.getImage(), true);
+                if (counter == 0) {
+                    retained.add(frame.retain());
+                }
+                counter++;
+            }
+        }, ImageFormats.BGR24).setImagesPerStream(2);
+
+        reader.read(new ByteArrayInputStream(writeFrames()));
+
+        // the first image is retained, the second one is reused for all other frames
+        Assert.assertEquals(2, images.size());
+        Frame first = retained.get(0);
+        Assert.assertEquals(0, first.getImage().getRGB(0, 0) & 0xFF);
+        first.release();
+    }
+
+    @Test
+    public void testImagesAreNotReusedByDefault() throws Exception {
+        Map<BufferedImage, Boolean> images = new IdentityHashMap<>();
+
+        NutFrameReader reader = new NutFrameReader(new FrameConsumer() {
+            @Override
+            public void consumeStreams(List<Stream> streams) {
+            }
+
+            @Override
+            public void consume(Frame frame) {
+                if (frame != null) {
+                    images.put(frame.getImage(), true);
+                }
+            }
+        }, ImageFormats.BGR24);
+
+        reader.read(new ByteArrayInputStream(writeFrames()));
+
+        Assert.assertEquals(FRAME_COUNT, images.size());
+    }
+
+    @Test
+    public void testIntImagesAreReused() throws Exception {
+        Map<BufferedImage, Boolean> images = new IdentityHashMap<>();
+
+        NutFrameReader reader = new NutFrameReader(new FrameConsumer() {
+            private int counter = 0;
+
+            @Override
+            public void consumeStreams(List<Stream> streams) {
+            }
+
+            @Override
+            public void consume(Frame frame) {
+                if (frame == null) {
+                    return;
+                }
+                Assert.assertEquals(BufferedImage.TYPE_INT_ARGB, frame.getImage().getType());
+                Assert.assertEquals(0xFF000000 | counter++, frame.getImage().getRGB(0, 0));
+                images.put(frame.getImage(), true);
+            }
+        }, ImageFormats.INT_ARGB).setImagesPerStream(1);
+
+        reader.read(new ByteArrayInputStream(writeFrames(ImageFormats.INT_ARGB,
+                BufferedImage.TYPE_INT_ARGB)));
+
+        Assert.assertEquals(1, images.size());
+    }
+
+    @Test
+    public void testImageIsRecycledOnce() {
+        List<BufferedImage> recycled = new ArrayList<>();
+        BufferedImage image = new BufferedImage(8, 4, BufferedImage.TYPE_3BYTE_BGR);
+        Frame frame = new Frame(0, 0, image, null, recycled::add);
+
+        frame.retain().retain();
+        frame.release();
+        frame.release();
+        Assert.assertTrue(recycled.isEmpty());
+        frame.release();
+        Assert.assertEquals(Collections.singletonList(image), recycled);
+
+        try {
+            frame.release();
+            Assert.fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            frame.retain();
+            Assert.fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        Assert.assertEquals(1, recycled.size());
+    }
+
+    private static byte[] writeFrames() throws Exception {
+        return writeFrames(ImageFormats.BGR24, BufferedImage.TYPE_3BYTE_BGR);
+    }
+
+    private static byte[] writeFrames(final ImageFormat format, final int imageType)
+            throws Exception {
+        FrameProducer producer = new FrameProducer() {
+            private int counter = 0;
+
+            @Override
+            public List<Stream> produceStreams() {
+                return Collections.singletonList(new Stream().setId(0)
+                        .setType(Stream.Type.VIDEO).setTimebase(10L).setWidth(8).setHeight(4));
+            }
+
+            @Override
+            public Frame produce() {
+                if (counter == FRAME_COUNT) {
+                    return null;
+                }
+                BufferedImage image = new BufferedImage(8, 4, imageType);
+                image.setRGB(0, 0, 0xFF000000 | counter);
+                return Frame.createVideoFrame(0, counter++, image);
+            }
+        };
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new NutFrameWriter(producer, format, 0).write(output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.kokorin.jaffree.ffmpeg;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class NutRawFrameReaderTest {
+
+    @Test
+    public void testRawFramesAreDelivered() throws Exception {
+        BufferedImage image = new BufferedImage(4, 2, BufferedImage.TYPE_3BYTE_BGR);
+        image.setRGB(1, 1, 0x112233);
+        byte[] expectedPixels = ImageFormats.BGR24.toBytes(image);
+        int[] samples = {1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+        FrameProducer producer = new FrameProducer() {
+            private int counter = 0;
+
+            @Override
+            public List<Stream> produceStreams() {
+                return Arrays.asList(
+                        new Stream().setId(0).setType(Stream.Type.VIDEO).setTimebase(10L)
+                                .setWidth(4).setHeight(2),
+                        new Stream().setId(1).setType(Stream.Type.AUDIO).setTimebase(44_100L)
+                                .setSampleRate(44_100).setChannels(2)
+                );
+            }
+
+            @Override
+            public Frame produce() {
+                switch (counter++) {
+                    case 0:
+                        return Frame.createVideoFrame(0, 0, image);
+                    case 1:
+                        return Frame.createAudioFrame(1, 0, samples);
+                    default:
+                        return null;
+                }
+            }
+        };
+
+        ByteArrayOutputStream nut = new ByteArrayOutputStream();
+        new NutFrameWriter(producer, ImageFormats.BGR24, 0).write(nut);
+
+        List<Stream> streams = new ArrayList<>();
+        List<RawFrame> frames = new ArrayList<>();
+        List<byte[]> payloads = new ArrayList<>();
+        RawFrameConsumer consumer = new RawFrameConsumer() {
+            @Override
+            public void consumeStreams(List<Stream> tracks) {
+                streams.addAll(tracks);
+            }
+
+            @Override
+            public void consume(RawFrame frame) {
+                frames.add(frame);
+                if (frame != null) {
+                    ByteBuffer data = frame.getData();
+                    try {
+                        data.put(0, (byte) 0);
+                        Assert.fail("Payload must be read-only");
+                    } catch (ReadOnlyBufferException e) {
+                        // expected
+                    }
+                    byte[] payload = new byte[data.remaining()];
+                    data.get(payload);
+                    payloads.add(payload);
+                }
+            }
+        };
+
+        new NutRawFrameReader(consumer).read(new ByteArrayInputStream(nut.toByteArray()));
+
+        Assert.assertEquals(2, streams.size());
+        Assert.assertEquals(3, frames.size());
+        Assert.assertNull(frames.get(2));
+
+        RawFrame video = frames.get(0);
+        Assert.assertEquals(0, video.getStreamId());
+        Assert.assertEquals(Stream.Type.VIDEO, video.getType());
+        Assert.assertEquals(4, video.getWidth());
+        Assert.assertEquals(2, video.getHeight());
+        Assert.assertArrayEquals(expectedPixels, payloads.get(0));
+
+        RawFrame audio = frames.get(1);
+        Assert.assertEquals(1, audio.getStreamId());
+        Assert.assertEquals(Stream.Type.AUDIO, audio.getType());
+        int[] actualSamples = new int[samples.length];
+        ByteBuffer.wrap(payloads.get(1)).asIntBuffer().get(actualSamples);
+        Assert.assertArrayEquals(samples, actualSamples);
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.ffprobe.data.FlatFormatParser;
+import com.github.kokorin.jaffree.ffprobe.data.JsonFormatParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FFprobeResultReaderTest {
+
+    @Test
+    public void testStreaming() throws Exception {
+        List<Packet> packets = new ArrayList<>();
+        List<Frame> frames = new ArrayList<>();
+        List<Subtitle> subtitles = new ArrayList<>();
+
+        ProbeListener listener = new ProbeListener() {
+            @Override
+            public void onPacket(final Packet packet) {
+                packets.add(packet);
+            }
+
+            @Override
+            public void onFrame(final Frame frame) {
+                frames.add(frame);
+            }
+
+            @Override
+            public void onSubtitle(final Subtitle subtitle) {
+                subtitles.add(subtitle);
+            }
+        };
+
+        FFprobeResult streamed;
+        try (InputStream input = getClass().getResourceAsStream("frames_packets_subtitles.json")) {
+            streamed = new FFprobeResultReader(new JsonFormatParser(), listener).read(input);
+        }
+
+        FFprobeResult parsed;
+        try (InputStream input = getClass().getResourceAsStream("frames_packets_subtitles.json")) {
+            parsed = new FFprobeResultReader(new JsonFormatParser()).read(input);
+        }
+
+        // "packets" + "packets_and_frames", "frames" + "packets_and_frames"
+        Assert.assertEquals(6, packets.size());
+        Assert.assertEquals(4, frames.size());
+        Assert.assertEquals(2, subtitles.size());
+
+        Assert.assertTrue(streamed.getPackets().isEmpty());
+        Assert.assertTrue(streamed.getFrames().isEmpty());
+        Assert.assertTrue(streamed.getPacketsAndFrames().isEmpty());
+
+        for (int i = 0; i < parsed.getPackets().size(); i++) {
+            Packet expected = parsed.getPackets().get(i);
+            Assert.assertEquals(expected.getPts(), packets.get(i).getPts());
+            Assert.assertEquals(expected.getSize(), packets.get(i).getSize());
+        }
+    }
+
+    @Test(expected = JaffreeException.class)
+    @SuppressWarnings("deprecation")
+    public void testStreamingRequiresStreamingParser() {
+        FFprobe.atPath()
+                .setFormatParser(new FlatFormatParser())
+                .setProbeListener(new ProbeListener() {
+                })
+                .setInput("input.mp4")
+                .execute();
+    }
+}
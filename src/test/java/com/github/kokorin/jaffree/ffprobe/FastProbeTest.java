@@ -0,0 +1,226 @@
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.FakeExecutable;
+import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.ffprobe.data.JsonFormatParser;
+import com.github.kokorin.jaffree.process.JaffreeAbnormalExitException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class FastProbeTest {
+    @Rule
+    public FakeExecutable bin = new FakeExecutable();
+
+    private Path binDir;
+
+    private static final String COMPLETE = "{\"streams\":[{\"codec_type\":\"video\","
+            + "\"width\":640,\"height\":480,\"pix_fmt\":\"yuv420p\"},{\"codec_type\":\"audio\","
+            + "\"sample_rate\":\"44100\",\"channels\":2,\"sample_fmt\":\"fltp\"}],"
+            + "\"format\":{\"duration\":\"10.000000\"}}";
+
+    @Before
+    public void setUp() throws Exception {
+        binDir = bin.getBinDir();
+
+        // Fake ffprobe: codec parameters of "hard" inputs are found only with large probesize,
+        // "broken" inputs fail with the smallest probesize, "missing" inputs always fail,
+        // duration of "live" inputs is never known. On failure ffprobe prints empty object.
+        String script = "size=default\n"
+                + "while [ $# -gt 0 ]; do\n"
+                + "  case \"$1\" in\n"
+                + "    -probesize) size=$2; shift ;;\n"
+                + "    -analyzeduration) echo \"$size $2\" >> \"$DIR/calls\"; shift ;;\n"
+                + "  esac\n"
+                + "  last=$1; shift\n"
+                + "done\n"
+                + "case \"$last\" in\n"
+                + "  *broken*) [ \"$size\" -lt 100000 ] && { echo '[error] Could not find codec "
+                + "parameters' >&2; echo '{}'; exit 1; } ;;\n"
+                + "  *missing*) echo '[error] No such file or directory' >&2; echo '{}'; exit 1 ;;\n"
+                + "  *slow*) sleep 10 ;;\n"
+                + "esac\n"
+                + "width=640\n"
+                + "case \"$last\" in\n"
+                + "  *hard*) [ \"$size\" -lt 2000000 ] && width=0 ;;\n"
+                + "esac\n"
+                + "duration='\"duration\":\"10.000000\"'\n"
+                + "case \"$last\" in\n"
+                + "  *live*) duration='\"filename\":\"live\"' ;;\n"
+                + "esac\n"
+                + "echo '{\"streams\":[{\"codec_type\":\"video\",\"width\":'$width',"
+                + "\"height\":480,\"pix_fmt\":\"yuv420p\"}],\"format\":{'$duration'}}'\n";
+        bin.write("ffprobe", script);
+    }
+
+    @Test
+    public void testSmallProbeSizeIsEnough() throws Exception {
+        FFprobeResult result = FFprobe.atPath(binDir)
+                .setShowStreams(true)
+                .setShowFormat(true)
+                .setFastProbe(true)
+                .setInput("easy.mp4")
+                .execute();
+
+        Assert.assertEquals(Long.valueOf(64 * 1024), result.getProbeSize());
+        Assert.assertEquals(Collections.singletonList("65536 500000"), bin.readCalls());
+    }
+
+    @Test
+    public void testEscalation() throws Exception {
+        FFprobeResult result = FFprobe.atPath(binDir)
+                .setShowStreams(true)
+                .setShowFormat(true)
+                .setFastProbe(true)
+                .setInput("hard.mp4")
+                .execute();
+
+        Assert.assertEquals(Long.valueOf(5_000_000), result.getProbeSize());
+        Assert.assertEquals(Integer.valueOf(640), result.getStreams().get(0).getWidth());
+        Assert.assertEquals(Arrays.asList("65536 500000", "1048576 2000000", "5000000 5000000"),
+                bin.readCalls());
+    }
+
+    @Test
+    public void testEscalationOnFailure() throws Exception {
+        FFprobeResult result = FFprobe.atPath(binDir)
+                .setShowStreams(true)
+                .setShowFormat(true)
+                .setFastProbe(true)
+                .setInput("broken.mp4")
+                .execute();
+
+        Assert.assertEquals(Long.valueOf(1024 * 1024), result.getProbeSize());
+        Assert.assertEquals(Arrays.asList("65536 500000", "1048576 2000000"), bin.readCalls());
+    }
+
+    @Test
+    public void testNoEscalationOnOtherFailure() throws Exception {
+        try {
+            FFprobe.atPath(binDir)
+                    .setShowStreams(true)
+                    .setFastProbe(true)
+                    .setInput("missing.mp4")
+                    .execute();
+            Assert.fail("JaffreeAbnormalExitException expected");
+        } catch (JaffreeAbnormalExitException e) {
+            Assert.assertFalse(FFprobe.isProbeTooSmall(e));
+        }
+
+        Assert.assertEquals(Collections.singletonList("65536 500000"), bin.readCalls());
+    }
+
+    @Test
+    public void testNoEscalationOnInterrupt() throws Exception {
+        Thread caller = Thread.currentThread();
+        Thread interrupter = new Thread(() -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                return;
+            }
+            caller.interrupt();
+        });
+        interrupter.start();
+
+        try {
+            FFprobe.atPath(binDir)
+                    .setShowStreams(true)
+                    .setFastProbe(true)
+                    .setInput("slow.mp4")
+                    .execute();
+            Assert.fail("JaffreeException expected");
+        } catch (JaffreeException e) {
+            Assert.assertTrue(e.getCause() instanceof InterruptedException);
+        } finally {
+            interrupter.join();
+            Thread.interrupted();
+        }
+
+        Assert.assertEquals(Collections.singletonList("65536 500000"), bin.readCalls());
+    }
+
+    @Test
+    public void testCustomSteps() throws Exception {
+        FFprobeResult result = FFprobe.atPath(binDir)
+                .setShowStreams(true)
+                .setShowFormat(true)
+                .setFastProbe(true)
+                .addFastProbeStep(100_000, 1_000_000)
+                .addFastProbeStep(2_000_000, 3_000_000)
+                .addFastProbeStep(50_000_000, 10_000_000)
+                .setInput("hard.mp4")
+                .execute();
+
+        Assert.assertEquals(Long.valueOf(2_000_000), result.getProbeSize());
+        Assert.assertEquals(Arrays.asList("100000 1000000", "2000000 3000000"), bin.readCalls());
+    }
+
+    @Test
+    public void testUnknownDurationUsesAllSteps() throws Exception {
+        FFprobeResult result = FFprobe.atPath(binDir)
+                .setShowStreams(true)
+                .setShowFormat(true)
+                .setFastProbe(true)
+                .setInput("live.ts")
+                .execute();
+
+        Assert.assertEquals(Long.valueOf(5_000_000), result.getProbeSize());
+        Assert.assertEquals(3, bin.readCalls().size());
+    }
+
+    @Test
+    public void testWithoutFastProbe() throws Exception {
+        FFprobeResult result = FFprobe.atPath(binDir)
+                .setShowStreams(true)
+                .setProbeSize(12345L)
+                .setAnalyzeDuration(678L)
+                .setInput("hard.mp4")
+                .execute();
+
+        Assert.assertEquals(Long.valueOf(12345), result.getProbeSize());
+        Assert.assertEquals(Collections.singletonList("12345 678"), bin.readCalls());
+
+        result = FFprobe.atPath(binDir)
+                .setShowStreams(true)
+                .setFastProbe(true)
+                .setFastProbe(false)
+                .setInput("hard.mp4")
+                .execute();
+        Assert.assertNull(result.getProbeSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStepsMustIncrease() {
+        FFprobe.atPath(binDir)
+                .addFastProbeStep(1_000_000, 1_000_000)
+                .addFastProbeStep(1_000_000, 2_000_000);
+    }
+
+    @Test
+    public void testIsProbeComplete() {
+        Assert.assertTrue(FFprobe.isProbeComplete(parse(COMPLETE)));
+        Assert.assertTrue(FFprobe.isProbeComplete(parse("{\"packets\":[]}")));
+        Assert.assertTrue(FFprobe.isProbeComplete(parse(
+                "{\"streams\":[{\"codec_type\":\"data\",\"duration\":\"1.5\"}]}")));
+
+        Assert.assertFalse(FFprobe.isProbeComplete(parse(COMPLETE.replace("44100", "0"))));
+        Assert.assertFalse(FFprobe.isProbeComplete(parse(
+                COMPLETE.replace(",\"pix_fmt\":\"yuv420p\"", ""))));
+        Assert.assertFalse(FFprobe.isProbeComplete(parse(
+                COMPLETE.replace("\"duration\":\"10.000000\"", "\"duration\":\"N/A\""))));
+    }
+
+    private static FFprobeResult parse(final String json) {
+        return new FFprobeResult(new JsonFormatParser().parse(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,182 @@
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.Artifacts;
+import com.github.kokorin.jaffree.Config;
+import com.github.kokorin.jaffree.FakeExecutable;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class IncrementalProbeTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    @Rule
+    public FakeExecutable bin = new FakeExecutable();
+
+    private Path binDir;
+    private Path recording;
+
+    @Before
+    public void setUp() throws Exception {
+        binDir = bin.getBinDir();
+        recording = tempFolder.getRoot().toPath().resolve("recording.ts");
+
+        // Fake ffprobe: every 100 bytes of input is a 1 second packet, every 10th packet is
+        // a keyframe. Reading an interval starts at preceding keyframe.
+        String script = "intervals=\n"
+                + "while [ $# -gt 0 ]; do\n"
+                + "  case \"$1\" in\n"
+                + "    -read_intervals) intervals=$2; shift ;;\n"
+                + "  esac\n"
+                + "  last=$1; shift\n"
+                + "done\n"
+                + "echo \"$intervals\" >> \"$DIR/calls\"\n"
+                + "size=$(wc -c < \"$last\")\n"
+                + "awk -v spec=\"$intervals\" -v size=$size 'BEGIN {\n"
+                + "  count = int(size / 100)\n"
+                + "  start = spec == \"\" ? 0 : spec + 0\n"
+                + "  printf \"{\\\"format\\\":{\\\"start_time\\\":\\\"0.000000\\\",\"\n"
+                + "  printf \"\\\"duration\\\":\\\"%d.000000\\\",\\\"size\\\":\\\"%d\\\"},\", count / 2, size\n"
+                + "  printf \"\\\"streams\\\":[{\\\"index\\\":0,\\\"codec_type\\\":\\\"video\\\"}],\"\n"
+                + "  printf \"\\\"packets\\\":[\"\n"
+                + "  sep = \"\"\n"
+                + "  for (t = int(start / 10) * 10; t < count; t++) {\n"
+                + "    fmt = \"%s{\\\"stream_index\\\":0,\\\"pts_time\\\":\\\"%d.000000\\\",\"\n"
+                + "    printf fmt \"\\\"duration_time\\\":\\\"1.000000\\\"}\", sep, t\n"
+                + "    sep = \",\"\n"
+                + "  }\n"
+                + "  print \"]}\"\n"
+                + "}'\n";
+        bin.write("ffprobe", script);
+    }
+
+    @Test
+    public void testTailIsMergedIntoSnapshot() throws Exception {
+        IncrementalProbe probe = IncrementalProbe.atPath(binDir);
+
+        write(1_500);
+        FFprobeResult first = probe.probe(recording);
+        assertSnapshot(15, first);
+
+        append(1_200);
+        FFprobeResult second = probe.probe(recording);
+        assertSnapshot(27, second);
+        Assert.assertEquals(Long.valueOf(2_700), second.getFormat().getSize());
+
+        // File hasn't changed, ffprobe isn't executed
+        Assert.assertSame(second, probe.probe(recording));
+
+        Assert.assertEquals(Arrays.asList("", "12.000000"), bin.readCalls());
+    }
+
+    @Test
+    public void testShrunkFileIsProbedFromBeginning() throws Exception {
+        IncrementalProbe probe = IncrementalProbe.atPath(binDir);
+
+        write(3_000);
+        assertSnapshot(30, probe.probe(recording));
+
+        write(500);
+        assertSnapshot(5, probe.probe(recording));
+
+        probe.forget(recording);
+        append(500);
+        assertSnapshot(10, probe.probe(recording));
+
+        Assert.assertEquals(Arrays.asList("", "", ""), bin.readCalls());
+    }
+
+    @Test
+    public void testMaxPackets() throws Exception {
+        IncrementalProbe probe = IncrementalProbe.atPath(binDir).setMaxPackets(1_100);
+
+        write(150_000);
+        FFprobeResult first = probe.probe(recording);
+        assertPackets(400, 1_100, first);
+
+        append(100_000);
+        FFprobeResult second = probe.probe(recording);
+        assertPackets(1_400, 1_100, second);
+        Assert.assertEquals(Integer.valueOf(2_500),
+                second.getStreams().get(0).getNbReadPackets());
+
+        // previous snapshot is not affected
+        assertPackets(400, 1_100, first);
+    }
+
+    @Test
+    public void testGrowingFileSnapshotEqualsSingleRun() throws Exception {
+        byte[] content = Files.readAllBytes(Artifacts.VIDEO_TS);
+        IncrementalProbe probe = IncrementalProbe.atPath(Config.FFMPEG_BIN);
+
+        // Grow recording in whole TS packets, as a muxer does
+        int step = content.length / 188 / 3 * 188;
+        for (int length = step; length < content.length; length += step) {
+            Files.write(recording, Arrays.copyOf(content, length));
+            probe.probe(recording);
+        }
+        Files.write(recording, content);
+        FFprobeResult snapshot = probe.probe(recording);
+
+        FFprobeResult single = FFprobe.atPath(Config.FFMPEG_BIN)
+                .setShowFormat(true)
+                .setShowStreams(true)
+                .setShowPackets(true)
+                .setInput(recording)
+                .execute();
+
+        Assert.assertFalse(single.getPackets().isEmpty());
+        Assert.assertEquals(identify(single.getPackets()), identify(snapshot.getPackets()));
+        Assert.assertEquals(single.getFormat().getDuration(),
+                snapshot.getFormat().getDuration(), 0.1);
+    }
+
+    // Packet cut by the end of growing file is reported with smaller size and is kept as it was
+    // seen first, so only packet identity is compared
+    private static List<String> identify(final List<Packet> packets) {
+        List<String> result = new ArrayList<>(packets.size());
+        for (Packet packet : packets) {
+            result.add(packet.getStreamIndex() + " pts=" + packet.getPts()
+                    + " dts=" + packet.getDts() + " pos=" + packet.getPos()
+                    + " flags=" + packet.getFlags());
+        }
+        return result;
+    }
+
+    private static void assertPackets(final int firstPts, final int expectedCount,
+                                      final FFprobeResult result) {
+        List<Packet> packets = result.getPackets();
+        Assert.assertEquals(expectedCount, packets.size());
+        for (int i = 0; i < packets.size(); i++) {
+            Assert.assertEquals(firstPts + i, packets.get(i).getPtsTime(), 0.001);
+        }
+    }
+
+    private static void assertSnapshot(final int expectedCount, final FFprobeResult result) {
+        List<Packet> packets = result.getPackets();
+        Assert.assertEquals(expectedCount, packets.size());
+        for (int i = 0; i < packets.size(); i++) {
+            Assert.assertEquals(i, packets.get(i).getPtsTime(), 0.001);
+        }
+        Assert.assertEquals(expectedCount, result.getFormat().getDuration(), 0.001);
+        Assert.assertEquals(Integer.valueOf(expectedCount),
+                result.getStreams().get(0).getNbReadPackets());
+    }
+
+    private void write(final int size) throws Exception {
+        Files.write(recording, new byte[size]);
+    }
+
+    private void append(final int size) throws Exception {
+        Files.write(recording, new byte[size], StandardOpenOption.APPEND);
+    }
+}
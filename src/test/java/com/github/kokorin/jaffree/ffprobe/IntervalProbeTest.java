@@ -0,0 +1,188 @@
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.Artifacts;
+import com.github.kokorin.jaffree.Config;
+import com.github.kokorin.jaffree.FakeExecutable;
+import com.github.kokorin.jaffree.JaffreeException;
+import com.github.kokorin.jaffree.ffprobe.data.JsonFormatParser;
+import com.github.kokorin.jaffree.process.DedicatedThreadSource;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class IntervalProbeTest {
+    @Rule
+    public FakeExecutable bin = new FakeExecutable();
+
+    private Path binDir;
+
+    @Before
+    public void setUp() throws Exception {
+        binDir = bin.getBinDir();
+
+        // Fake ffprobe: input has a packet every second and a keyframe every 10 seconds,
+        // duration is taken from input name. Reading an interval starts at preceding keyframe
+        // and stops at the first packet past interval end.
+        String script = "intervals=\n"
+                + "entries=\n"
+                + "while [ $# -gt 0 ]; do\n"
+                + "  case \"$1\" in\n"
+                + "    -read_intervals) intervals=$2; shift ;;\n"
+                + "    -show_entries) entries=$2; shift ;;\n"
+                + "  esac\n"
+                + "  last=$1; shift\n"
+                + "done\n"
+                + "duration=${last%.mp4}\n"
+                + "if [ -n \"$entries\" ]; then\n"
+                + "  echo '{\"format\":{\"start_time\":\"0.000000\",\"duration\":\"'$duration'\"}}'\n"
+                + "  exit 0\n"
+                + "fi\n"
+                + "echo \"$intervals\" >> \"$DIR/calls\"\n"
+                + "awk -v spec=\"$intervals\" -v duration=$duration 'BEGIN {\n"
+                + "  start = 0; end = duration\n"
+                + "  n = split(spec, parts, \"%\")\n"
+                + "  if (parts[1] != \"\") start = parts[1] + 0\n"
+                + "  if (n > 1) end = start + substr(parts[2], 2)\n"
+                + "  printf \"{\\\"packets\\\":[\"\n"
+                + "  sep = \"\"\n"
+                + "  for (t = int(start / 10) * 10; t < duration; t++) {\n"
+                + "    if (t >= end) break\n"
+                + "    printf \"%s{\\\"stream_index\\\":0,\\\"pts\\\":%d,\\\"pos\\\":%d}\","
+                + " sep, t, t * 1000\n"
+                + "    sep = \",\"\n"
+                + "  }\n"
+                + "  print \"]}\"\n"
+                + "}'\n";
+        bin.write("ffprobe", script);
+    }
+
+    @Test
+    public void testParallelIntervalsAreMerged() throws Exception {
+        FFprobeResult result = FFprobe.atPath(binDir)
+                .setShowPackets(true)
+                .setParallelIntervals(4)
+                .setInput("305.mp4")
+                .execute();
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("%+78.250000", "76.250000%+78.250000",
+                "152.500000%+78.250000", "228.750000")), new HashSet<>(bin.readCalls()));
+        assertPackets(305, result);
+        Assert.assertNotNull(result.getResourceUsage());
+    }
+
+    @Test
+    public void testShortInputIsNotSplit() throws Exception {
+        FFprobeResult result = FFprobe.atPath(binDir)
+                .setShowPackets(true)
+                .setParallelIntervals(4)
+                .setInput("100.mp4")
+                .execute();
+
+        Assert.assertEquals(Collections.singletonList(""), bin.readCalls());
+        assertPackets(100, result);
+    }
+
+    @Test
+    public void testReadIntervalsDisableSplit() throws Exception {
+        FFprobeResult result = FFprobe.atPath(binDir)
+                .setShowPackets(true)
+                .setParallelIntervals(4)
+                .setReadIntervals("%+50")
+                .setInput("305.mp4")
+                .execute();
+
+        Assert.assertEquals(Collections.singletonList("%+50"), bin.readCalls());
+        assertPackets(50, result);
+    }
+
+    @Test
+    public void testSplit() {
+        IntervalProbe probe = new IntervalProbe(3, null, null, null);
+
+        Assert.assertEquals(Collections.emptyList(), probe.split(0, 119));
+        Assert.assertEquals(Arrays.asList("%+62.000000", "70.000000"), probe.split(10, 120));
+        Assert.assertEquals(Arrays.asList("%+602.000000", "600.000000%+602.000000",
+                "1200.000000"), probe.split(0, 1800));
+    }
+
+    @Test
+    public void testFailureStopsOtherIntervals() throws Exception {
+        List<Process> processes = Collections.synchronizedList(new ArrayList<Process>());
+        IntervalProbe probe = new IntervalProbe(3, new DedicatedThreadSource(),
+                () -> new FFprobeResult(new JsonFormatParser().parse(new ByteArrayInputStream(
+                        "{\"format\":{\"duration\":\"1800\"}}"
+                                .getBytes(StandardCharsets.UTF_8)))),
+                (interval, stopper) -> {
+                    if (interval.startsWith("600")) {
+                        throw new JaffreeException("Expected failure");
+                    }
+                    try {
+                        Process process = new ProcessBuilder("sleep", "30").start();
+                        processes.add(process);
+                        stopper.setProcess(process);
+                        process.waitFor();
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    throw new JaffreeException("Stopped");
+                });
+
+        try {
+            probe.execute();
+            Assert.fail("JaffreeException expected");
+        } catch (JaffreeException e) {
+            Assert.assertEquals("Expected failure", e.getMessage());
+        }
+
+        // processes were killed, not finished normally
+        for (Process process : processes) {
+            Assert.assertNotEquals(0, process.exitValue());
+        }
+    }
+
+    @Test
+    public void testMergedPacketsEqualSingleRun() {
+        FFprobeResult single = FFprobe.atPath(Config.FFMPEG_BIN)
+                .setShowPackets(true)
+                .setInput(Artifacts.VIDEO_MP4)
+                .execute();
+
+        FFprobeResult merged = FFprobe.atPath(Config.FFMPEG_BIN)
+                .setShowPackets(true)
+                .setParallelIntervals(3)
+                .setInput(Artifacts.VIDEO_MP4)
+                .execute();
+
+        Assert.assertFalse(single.getPackets().isEmpty());
+        Assert.assertEquals(describe(single.getPackets()), describe(merged.getPackets()));
+    }
+
+    private static List<String> describe(final List<Packet> packets) {
+        List<String> result = new ArrayList<>(packets.size());
+        for (Packet packet : packets) {
+            result.add(packet.getStreamIndex() + " pts=" + packet.getPts()
+                    + " dts=" + packet.getDts() + " size=" + packet.getSize()
+                    + " pos=" + packet.getPos() + " flags=" + packet.getFlags());
+        }
+        return result;
+    }
+
+    private static void assertPackets(final int expectedCount, final FFprobeResult result) {
+        List<Packet> packets = result.getPackets();
+        Assert.assertEquals(expectedCount, packets.size());
+        for (int i = 0; i < packets.size(); i++) {
+            Assert.assertEquals(Long.valueOf(i), packets.get(i).getPts());
+        }
+    }
+}
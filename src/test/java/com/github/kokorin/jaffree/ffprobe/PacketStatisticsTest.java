@@ -0,0 +1,142 @@
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.StreamType;
+import com.github.kokorin.jaffree.ffprobe.data.JsonFormatParser;
+import com.github.kokorin.jaffree.ffprobe.data.ProbeData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class PacketStatisticsTest {
+
+    @Test
+    public void testTotalsAndGop() {
+        StringBuilder packets = new StringBuilder();
+        // 2 seconds of 25 fps video with a keyframe every 10 frames and 50 fps audio
+        for (int i = 0; i < 50; i++) {
+            boolean key = i % 10 == 0;
+            appendPacket(packets, 0, "video", i * 0.04, 0.04, key ? 5000 : 1000, key);
+            appendPacket(packets, 1, "audio", i * 0.04, 0.02, 100, true);
+            appendPacket(packets, 1, "audio", i * 0.04 + 0.02, 0.02, 100, true);
+        }
+
+        List<double[]> bitrates = new ArrayList<>();
+        PacketStatistics statistics = new PacketStatistics()
+                .setBitrateListener((stream, time, bitrate) -> {
+                    if (stream == 0) {
+                        bitrates.add(new double[]{time, bitrate});
+                    }
+                });
+        feed(statistics, packets);
+
+        Assert.assertEquals(2, statistics.getStreams().size());
+
+        StreamStatistics video = statistics.getStream(0);
+        Assert.assertEquals(StreamType.VIDEO, video.getCodecType());
+        Assert.assertEquals(50, video.getPacketCount());
+        Assert.assertEquals(5, video.getKeyframeCount());
+        Assert.assertEquals(70_000, video.getTotalBytes());
+        Assert.assertEquals(2., video.getDuration(), 0.001);
+        Assert.assertEquals(Long.valueOf(280_000), video.getAverageBitrate());
+        Assert.assertNull(video.getVbvBufferSize());
+
+        Assert.assertEquals(4, video.getGopLengths().getTotalCount());
+        Assert.assertEquals(4, video.getGopLengths().getCount(10));
+        Assert.assertEquals(10., video.getGopLengths().getPercentile(50), 0.001);
+        Assert.assertEquals(4, video.getKeyframeIntervals().getTotalCount());
+        Assert.assertEquals(0.4, video.getKeyframeIntervals().getMean(), 0.001);
+
+        Assert.assertFalse(bitrates.isEmpty());
+        double previousTime = Double.NEGATIVE_INFINITY;
+        for (double[] bitrate : bitrates) {
+            Assert.assertTrue(bitrate[0] > previousTime);
+            Assert.assertTrue(bitrate[1] <= video.getPeakBitrate());
+            previousTime = bitrate[0];
+        }
+        // any 1 second window contains 25 frames including 2 or 3 keyframes
+        Assert.assertTrue(video.getPeakBitrate() >= 264_000);
+        Assert.assertTrue(video.getPeakBitrate() <= 296_000);
+
+        StreamStatistics audio = statistics.getStream(1);
+        Assert.assertEquals(StreamType.AUDIO, audio.getCodecType());
+        Assert.assertEquals(100, audio.getPacketCount());
+        Assert.assertEquals(Long.valueOf(40_000), audio.getAverageBitrate());
+        Assert.assertEquals(0, audio.getGopLengths().getTotalCount());
+    }
+
+    @Test
+    public void testVbvBufferSize() {
+        StringBuilder packets = new StringBuilder();
+        appendPacket(packets, 0, "video", 0, 0.5, 1000, true);
+        appendPacket(packets, 0, "video", 1, 0.5, 1000, false);
+        appendPacket(packets, 0, "video", 1.5, 0.5, 2000, false);
+
+        PacketStatistics statistics = new PacketStatistics().setVbvRate(8000L);
+        feed(statistics, packets);
+
+        // drained to 0 before the second packet, 8000 - 4000 + 16000 after the third
+        Assert.assertEquals(Long.valueOf(20_000), statistics.getStream(0).getVbvBufferSize());
+    }
+
+    @Test
+    public void testPacketsWithoutTimestamps() {
+        StringBuilder packets = new StringBuilder();
+        packets.append("{\"stream_index\": 0, \"codec_type\": \"video\", \"size\": \"10\"},");
+
+        PacketStatistics statistics = new PacketStatistics();
+        feed(statistics, packets);
+
+        StreamStatistics video = statistics.getStream(0);
+        Assert.assertEquals(1, video.getPacketCount());
+        Assert.assertEquals(10, video.getTotalBytes());
+        Assert.assertNull(video.getAverageBitrate());
+        Assert.assertEquals(0, video.getPeakBitrate());
+    }
+
+    @Test
+    public void testHistogram() {
+        Histogram histogram = new Histogram(1, 10);
+        Assert.assertTrue(Double.isNaN(histogram.getPercentile(50)));
+
+        for (int i = 0; i < 100; i++) {
+            histogram.add(i / 10.);
+        }
+        histogram.add(15);
+
+        Assert.assertEquals(101, histogram.getTotalCount());
+        Assert.assertEquals(1, histogram.getOverflowCount());
+        Assert.assertEquals(10, histogram.getCount(3));
+        Assert.assertEquals(0., histogram.getMin(), 0.);
+        Assert.assertEquals(15., histogram.getMax(), 0.);
+        Assert.assertEquals(6., histogram.getPercentile(50), 0.);
+        Assert.assertEquals(15., histogram.getPercentile(100), 0.);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramInvalidArguments() {
+        new Histogram(0, 10);
+    }
+
+    private static void appendPacket(StringBuilder builder, int stream, String type, double time,
+                                     double duration, int size, boolean key) {
+        builder.append(String.format(Locale.ROOT,
+                "{\"stream_index\": %d, \"codec_type\": \"%s\", \"pts_time\": \"%.6f\", "
+                        + "\"dts_time\": \"%.6f\", \"duration_time\": \"%.6f\", "
+                        + "\"size\": \"%d\", \"flags\": \"%s\"},",
+                stream, type, time, time, duration, size, key ? "K_" : "__"));
+    }
+
+    private static void feed(PacketStatistics statistics, StringBuilder packets) {
+        String json = "{\"packets\": [" + packets.substring(0, packets.length() - 1) + "]}";
+        ProbeData data = new JsonFormatParser().parse(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        for (ProbeData packet : data.getSubDataList("packets")) {
+            statistics.onPacket(new Packet(packet));
+        }
+    }
+}
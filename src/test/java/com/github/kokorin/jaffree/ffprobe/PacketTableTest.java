@@ -0,0 +1,119 @@
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.StreamType;
+import com.github.kokorin.jaffree.ffprobe.data.JsonFormatParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class PacketTableTest {
+
+    @Test
+    public void testPacketTable() throws Exception {
+        PacketTable.Builder builder = PacketTable.builder();
+        read(builder);
+        PacketTable table = builder.build();
+
+        List<Packet> expected = parse().getPackets();
+        // "packets" + "packets_and_frames"
+        Assert.assertEquals(expected.size() * 2, table.size());
+
+        PacketTable.Cursor cursor = table.cursor();
+        for (Packet packet : expected) {
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals(packet.getCodecType(), cursor.getCodecType());
+            Assert.assertEquals((long) packet.getStreamIndex(), cursor.getStreamIndex());
+            Assert.assertEquals((long) packet.getPts(), cursor.getPts());
+            Assert.assertEquals((long) packet.getDts(), cursor.getDts());
+            Assert.assertEquals((long) packet.getDuration(), cursor.getDuration());
+            Assert.assertEquals((long) packet.getSize(), cursor.getSize());
+            Assert.assertEquals((long) packet.getPos(), cursor.getPos());
+            Assert.assertEquals(packet.getFlags().contains("K"), cursor.isKeyFrame());
+            Assert.assertFalse(cursor.isDiscard());
+        }
+
+        Assert.assertEquals(2, cursor.moveTo(2).getRow());
+        Assert.assertEquals(table.getPts(2), cursor.getPts());
+    }
+
+    @Test
+    public void testFrameTable() throws Exception {
+        FrameTable.Builder builder = FrameTable.builder();
+        read(builder);
+        FrameTable table = builder.build();
+
+        Assert.assertEquals(4, table.size());
+
+        FrameTable.Cursor cursor = table.cursor();
+        for (FrameSubtitle frameSubtitle : parse().getFrames()) {
+            if (!(frameSubtitle instanceof Frame)) {
+                continue;
+            }
+            Frame frame = (Frame) frameSubtitle;
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals(frame.getMediaType(), cursor.getMediaType());
+            Assert.assertEquals(frame.getKeyFrame(), cursor.isKeyFrame());
+            Assert.assertEquals((long) frame.getPktPos(), cursor.getPktPos());
+            if (frame.getMediaType() == StreamType.VIDEO) {
+                Assert.assertEquals((long) frame.getWidth(), cursor.getWidth());
+                Assert.assertEquals(frame.getPixFmt(), cursor.getFormat());
+                Assert.assertEquals(frame.getPictType(), cursor.getPictType());
+            } else {
+                Assert.assertEquals(PacketTable.NO_VALUE, cursor.getWidth());
+                Assert.assertEquals(frame.getSampleFmt(), cursor.getFormat());
+            }
+        }
+    }
+
+    @Test
+    public void testMissingValuesAndMemory() {
+        StringBuilder json = new StringBuilder("{\"packets\":[");
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"codec_type\":\"video\",\"stream_index\":0,\"pts\":").append(i * 512)
+                    .append(",\"dts\":\"N/A\",\"size\":\"1234\",\"flags\":\"")
+                    .append(i % 250 == 0 ? "K__" : "___").append("\"}");
+        }
+        json.append("]}");
+
+        PacketTable.Builder builder = PacketTable.builder();
+        new FFprobeResultReader(new JsonFormatParser(), builder)
+                .read(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)));
+        PacketTable table = builder.build();
+
+        Assert.assertEquals(count, table.size());
+        Assert.assertEquals(count / 250, table.getKeyFrames().cardinality());
+        Assert.assertEquals(PacketTable.NO_VALUE, table.getDts(1));
+        Assert.assertEquals(PacketTable.NO_VALUE, table.getPos(1));
+        Assert.assertEquals(512L, table.getPts(1));
+        Assert.assertEquals(1, table.getCodecTypes().size());
+        // 6 long columns, dictionary ids and 3 bits per packet
+        Assert.assertTrue(table.getMemoryBytes() < 60L * count);
+
+        long sum = 0;
+        PacketTable.Cursor cursor = table.cursor();
+        while (cursor.next()) {
+            sum += cursor.getSize();
+        }
+        Assert.assertEquals(1234L * count, sum);
+    }
+
+    private void read(final ProbeListener listener) throws Exception {
+        try (InputStream input = getClass().getResourceAsStream("frames_packets_subtitles.json")) {
+            new FFprobeResultReader(new JsonFormatParser(), listener).read(input);
+        }
+    }
+
+    private FFprobeResult parse() throws Exception {
+        try (InputStream input = getClass().getResourceAsStream("frames_packets_subtitles.json")) {
+            return new FFprobeResultReader(new JsonFormatParser()).read(input);
+        }
+    }
+}
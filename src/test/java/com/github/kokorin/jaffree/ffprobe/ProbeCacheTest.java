@@ -0,0 +1,206 @@
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.FakeExecutable;
+import com.github.kokorin.jaffree.ffprobe.data.JsonFormatParser;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ProbeCacheTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    @Rule
+    public FakeExecutable bin = new FakeExecutable();
+
+    private Path binDir;
+    private Path video;
+
+    @Before
+    public void setUp() throws Exception {
+        binDir = bin.getBinDir();
+        video = tempFolder.newFile("video.mp4").toPath();
+        Files.write(video, new byte[]{1, 2, 3});
+
+        // Fake ffprobe: counts invocations and prints input size as format size
+        String script = "for a; do last=$a; done\n"
+                + "echo \"$*\" >> \"$DIR/calls\"\n"
+                + "size=$(wc -c < \"$last\" 2>/dev/null || echo 0)\n"
+                + "echo '{\"format\":{\"filename\":\"'\"$last\"'\",\"size\":\"'$size'\"}}'\n";
+        bin.write("ffprobe", script);
+    }
+
+    @Test
+    public void testCacheHitSkipsProcess() throws Exception {
+        ProbeCache cache = new ProbeCache(1024 * 1024);
+
+        FFprobeResult first = probe(cache).execute();
+        FFprobeResult second = probe(cache).execute();
+
+        Assert.assertEquals(1, calls());
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(1, cache.size());
+        Assert.assertNotNull(first.getResourceUsage());
+        Assert.assertEquals(first.getFormat().getFilename(), second.getFormat().getFilename());
+        Assert.assertEquals(Long.valueOf(3), second.getFormat().getSize());
+    }
+
+    @Test
+    public void testModifiedFileIsProbedAgain() throws Exception {
+        ProbeCache cache = new ProbeCache(1024 * 1024);
+
+        probe(cache).execute();
+        Files.write(video, new byte[]{1, 2, 3, 4, 5});
+        FFprobeResult result = probe(cache).execute();
+
+        Assert.assertEquals(2, calls());
+        Assert.assertEquals(Long.valueOf(5), result.getFormat().getSize());
+    }
+
+    @Test
+    public void testDifferentArgumentsAreProbedAgain() throws Exception {
+        ProbeCache cache = new ProbeCache(1024 * 1024);
+
+        probe(cache).execute();
+        probe(cache).setShowStreams(true).execute();
+        probe(cache).setShowStreams(true).execute();
+
+        Assert.assertEquals(2, calls());
+    }
+
+    @Test
+    public void testContentHash() throws Exception {
+        ProbeCache cache = new ProbeCache(1024 * 1024);
+
+        FFprobe.atPath(binDir).setCache(cache).setInput("http://example.com/video.mp4").execute();
+        FFprobe.atPath(binDir).setCache(cache).setInput("http://example.com/video.mp4").execute();
+        Assert.assertEquals(2, calls());
+
+        FFprobe.atPath(binDir).setCache(cache).setContentHash("abc")
+                .setInput("http://example.com/video.mp4").execute();
+        FFprobe.atPath(binDir).setCache(cache).setContentHash("abc")
+                .setInput("http://mirror.example.com/video.mp4").execute();
+        Assert.assertEquals(3, calls());
+    }
+
+    @Test
+    public void testDiskPersistence() throws Exception {
+        Path directory = tempFolder.getRoot().toPath().resolve("cache");
+
+        probe(new ProbeCache(1024 * 1024).setDirectory(directory)).execute();
+        ProbeCache restarted = new ProbeCache(1024 * 1024).setDirectory(directory);
+        FFprobeResult result = probe(restarted).execute();
+
+        Assert.assertEquals(1, calls());
+        Assert.assertEquals(1, restarted.getHits());
+        Assert.assertEquals(Long.valueOf(3), result.getFormat().getSize());
+    }
+
+    @Test
+    public void testLruEviction() {
+        // every entry takes 5 bytes: 1 byte key and 4 bytes output
+        ProbeCache cache = new ProbeCache(10);
+        cache.put("a", new byte[4]);
+        cache.put("b", new byte[4]);
+        Assert.assertNotNull(cache.get("a"));
+
+        cache.put("c", new byte[4]);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(10, cache.getMemoryBytes());
+        Assert.assertNull(cache.get("b"));
+        Assert.assertNotNull(cache.get("a"));
+        Assert.assertNotNull(cache.get("c"));
+
+        cache.put("d", new byte[10]);
+        Assert.assertNull(cache.get("d"));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testOutputLargerThanMemoryIsNotRecorded() throws Exception {
+        ProbeCache cache = new ProbeCache(16);
+        Assert.assertEquals(16, cache.getRecordLimit());
+
+        probe(cache).execute();
+        probe(cache).execute();
+
+        Assert.assertEquals(2, calls());
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getMemoryBytes());
+
+        cache.setDirectory(tempFolder.getRoot().toPath().resolve("cache"));
+        Assert.assertEquals(64 * 1024 * 1024, cache.getRecordLimit());
+    }
+
+    @Test
+    public void testOutputLargerThanEntryLimitIsNotRecorded() throws Exception {
+        Path directory = tempFolder.getRoot().toPath().resolve("cache");
+        ProbeCache cache = new ProbeCache(1024 * 1024).setDirectory(directory)
+                .setMaxEntryBytes(16);
+        Assert.assertEquals(16, cache.getRecordLimit());
+
+        probe(cache).execute();
+        probe(cache).execute();
+
+        Assert.assertEquals(2, calls());
+        Assert.assertEquals(0, cache.size());
+        Assert.assertFalse(Files.exists(directory));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxEntryBytesFitsArray() {
+        new ProbeCache(1024).setMaxEntryBytes(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testRecordingStdReader() {
+        String output = "{\"format\":{\"filename\":\"video.mp4\"}}\n";
+        byte[] bytes = output.getBytes(StandardCharsets.UTF_8);
+
+        RecordingStdReader recorder = new RecordingStdReader(
+                new FFprobeResultReader(new JsonFormatParser()), bytes.length);
+        FFprobeResult result = recorder.read(new ByteArrayInputStream(bytes));
+        Assert.assertEquals("video.mp4", result.getFormat().getFilename());
+        Assert.assertArrayEquals(bytes, recorder.getRecorded());
+
+        recorder = new RecordingStdReader(
+                new FFprobeResultReader(new JsonFormatParser()), bytes.length - 1);
+        result = recorder.read(new ByteArrayInputStream(bytes));
+        Assert.assertEquals("video.mp4", result.getFormat().getFilename());
+        Assert.assertNull(recorder.getRecorded());
+    }
+
+    @Test
+    public void testKey() {
+        Path executable = binDir.resolve("ffprobe");
+        Assert.assertNull(ProbeCache.createKey(executable, UrlInput.fromUrl("rtsp://host/live"),
+                null, Collections.singletonList("-i")));
+        Assert.assertNotNull(ProbeCache.createKey(executable, UrlInput.fromPath(video),
+                null, Collections.singletonList("-i")));
+        Assert.assertEquals(
+                ProbeCache.createKey(executable, UrlInput.fromUrl("ftp://127.0.0.1:1"), "hash",
+                        Arrays.asList("-i", "ftp://127.0.0.1:1")),
+                ProbeCache.createKey(executable, UrlInput.fromUrl("ftp://127.0.0.1:2"), "hash",
+                        Arrays.asList("-i", "ftp://127.0.0.1:2")));
+    }
+
+    private FFprobe probe(final ProbeCache cache) {
+        return FFprobe.atPath(binDir)
+                .setShowFormat(true)
+                .setCache(cache)
+                .setInput(video);
+    }
+
+    private int calls() throws Exception {
+        return bin.readCalls().size();
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.kokorin.jaffree.ffprobe;
+
+import com.github.kokorin.jaffree.FakeExecutable;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ProbeFarmTest {
+    @Rule
+    public FakeExecutable bin = new FakeExecutable();
+
+    private Path binDir;
+
+    @Before
+    public void setUp() throws Exception {
+        binDir = bin.getBinDir();
+        Files.createDirectory(binDir.resolve("running"));
+
+        // Fake ffprobe: input URL is the last argument, "slow" inputs take long to probe,
+        // "fail" inputs fail. Number of concurrently running processes is tracked
+        String script = "for a; do last=$a; done\n"
+                + "echo \"$*\" >> \"$DIR/calls\"\n"
+                + "touch \"$DIR/running/$$\"\n"
+                + "ls \"$DIR/running\" | wc -l >> \"$DIR/concurrency\"\n"
+                + "case \"$last\" in\n"
+                + "  *slow*) exec sleep 10 ;;\n"
+                + "  *fail*) rm \"$DIR/running/$$\"; exit 1 ;;\n"
+                + "  *) sleep 0.2 ;;\n"
+                + "esac\n"
+                + "rm \"$DIR/running/$$\"\n"
+                + "echo '{\"format\":{\"filename\":\"'\"$last\"'\"}}'\n";
+        bin.write("ffprobe", script);
+    }
+
+    @Test
+    public void testProbeAll() throws Exception {
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            inputs.add("input" + i + ".mp4");
+        }
+
+        FFprobe template = FFprobe.atPath(binDir).setShowStreams(true);
+        List<String> filenames = new ArrayList<>();
+        try (ProbeFarm farm = new ProbeFarm(template, 3)) {
+            ProbeBatch batch = farm.probeAll(inputs);
+            Assert.assertEquals(8, batch.size());
+
+            for (ProbeOutcome outcome : batch) {
+                Assert.assertTrue(outcome.isSuccess());
+                Assert.assertEquals(outcome.getInput(),
+                        outcome.getResult().getFormat().getFilename());
+                filenames.add(outcome.getResult().getFormat().getFilename());
+            }
+        }
+
+        filenames.sort(null);
+        Assert.assertEquals(inputs, filenames);
+
+        for (String line : Files.readAllLines(binDir.resolve("concurrency"))) {
+            Assert.assertTrue("Too many processes: " + line, Integer.parseInt(line.trim()) <= 3);
+        }
+
+        for (String line : bin.readCalls()) {
+            List<String> args = Arrays.asList(line.split(" "));
+            Assert.assertTrue(args.contains("-show_streams"));
+            Assert.assertEquals("-i", args.get(args.size() - 2));
+        }
+    }
+
+    @Test
+    public void testOutcomesInCompletionOrder() throws Exception {
+        try (ProbeFarm farm = new ProbeFarm(FFprobe.atPath(binDir), 2)
+                .setTimeout(5, TimeUnit.SECONDS)) {
+            ProbeBatch batch = farm.probeAll("slow.mp4", Paths.get("fast.mp4"), "fail.mp4");
+
+            ProbeOutcome first = batch.take();
+            ProbeOutcome second = batch.take();
+            Assert.assertEquals(Paths.get("fast.mp4"), first.getInput());
+            Assert.assertTrue(first.isSuccess());
+            Assert.assertEquals("fail.mp4", second.getInput());
+            Assert.assertFalse(second.isSuccess());
+
+            batch.cancel();
+            ProbeOutcome third = batch.take();
+            Assert.assertEquals("slow.mp4", third.getInput());
+            Assert.assertTrue(third.getError() instanceof CancellationException);
+            Assert.assertNull(batch.take());
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        try (ProbeFarm farm = new ProbeFarm(FFprobe.atPath(binDir), 1)
+                .setTimeout(500, TimeUnit.MILLISECONDS)) {
+            long start = System.currentTimeMillis();
+            CompletableFuture<FFprobeResult> future = farm.submit(UrlInput.fromUrl("slow.mp4"));
+
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                Assert.fail("Probe must time out");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            Assert.assertTrue(System.currentTimeMillis() - start < 5_000);
+        }
+    }
+
+    @Test
+    public void testCancelQueued() throws Exception {
+        try (ProbeFarm farm = new ProbeFarm(FFprobe.atPath(binDir), 1)) {
+            CompletableFuture<FFprobeResult> slow = farm.submit(UrlInput.fromUrl("slow.mp4"));
+            CompletableFuture<FFprobeResult> queued = farm.submit(UrlInput.fromUrl("queued.mp4"));
+
+            Assert.assertTrue(queued.cancel(true));
+            Assert.assertEquals(0, farm.getQueuedProbes());
+            Assert.assertTrue(slow.cancel(true));
+        }
+
+        Thread.sleep(500);
+        for (String line : bin.readCalls()) {
+            Assert.assertFalse(line.contains("queued.mp4"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedInput() {
+        try (ProbeFarm farm = new ProbeFarm(FFprobe.atPath(binDir), 1)) {
+            farm.probeAll(42);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedTemplateSettings() {
+        new ProbeFarm(FFprobe.atPath(binDir).setFastProbe(true), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testProbeListenerIsNotSupported() {
+        new ProbeFarm(FFprobe.atPath(binDir).setShowPackets(true)
+                .setProbeListener(new ProbeListener() {
+                }), 1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.kokorin.jaffree.ffprobe;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ProbeFieldTest {
+
+    @Test
+    public void testShowEntries() {
+        Assert.assertEquals("stream=codec_name,width:format=duration",
+                FFprobe.toShowEntries(Arrays.asList(
+                        StreamField.CODEC_NAME, StreamField.WIDTH, FormatField.DURATION)));
+
+        Assert.assertEquals("stream=index:stream_tags:format=size:format_tags",
+                FFprobe.toShowEntries(Arrays.asList(StreamField.INDEX, StreamField.TAGS,
+                        FormatField.SIZE, StreamField.TAGS, FormatField.TAGS,
+                        StreamField.INDEX)));
+
+        Assert.assertEquals("stream_disposition",
+                FFprobe.toShowEntries(Collections.singletonList(StreamField.DISPOSITION)));
+    }
+
+    @Test
+    public void testWholeSectionWins() {
+        ProbeField wholeStream = new ProbeField() {
+            @Override
+            public String getSection() {
+                return "stream";
+            }
+
+            @Override
+            public String getEntry() {
+                return null;
+            }
+        };
+
+        Assert.assertEquals("stream", FFprobe.toShowEntries(Arrays.asList(
+                StreamField.WIDTH, wholeStream, StreamField.HEIGHT)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNothingSelected() {
+        FFprobe.atPath().select();
+    }
+
+    @Test
+    public void testSelectArguments() {
+        List<String> arguments = FFprobe.atPath()
+                .select(StreamField.CODEC_TYPE, StreamField.DURATION, FormatField.BIT_RATE)
+                .buildArguments(null);
+
+        int index = arguments.indexOf("-show_entries");
+        Assert.assertTrue(index >= 0);
+        Assert.assertEquals("stream=codec_type,duration:format=bit_rate",
+                arguments.get(index + 1));
+        Assert.assertFalse(arguments.contains("-show_streams"));
+        Assert.assertFalse(arguments.contains("-show_format"));
+    }
+}
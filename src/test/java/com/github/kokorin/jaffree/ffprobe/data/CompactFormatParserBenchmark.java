@@ -0,0 +1,43 @@
+package com.github.kokorin.jaffree.ffprobe.data;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * Measures parsing of the same packet dump in JSON and compact formats, run with
+ * {@code -Pbenchmark}.
+ */
+public class CompactFormatParserBenchmark {
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(CompactFormatParserBenchmark.class);
+
+    @Test
+    public void benchmark() {
+        byte[][] dumps = CompactFormatParserTest.packetDumps(50_000);
+        byte[] jsonBytes = dumps[0];
+        byte[] compactBytes = dumps[1];
+
+        long jsonNanos = Long.MAX_VALUE;
+        long compactNanos = Long.MAX_VALUE;
+
+        // best of several runs, first runs warm up JIT
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            CompactFormatParserTest.sumSizes(new JsonFormatParser().parse(
+                    new ByteArrayInputStream(jsonBytes)));
+            jsonNanos = Math.min(jsonNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            CompactFormatParserTest.sumSizes(new CompactFormatParser().parse(
+                    new ByteArrayInputStream(compactBytes)));
+            compactNanos = Math.min(compactNanos, System.nanoTime() - start);
+        }
+
+        LOGGER.info("JSON: {} bytes, {} ms; compact: {} bytes, {} ms",
+                jsonBytes.length, jsonNanos / 1_000_000,
+                compactBytes.length, compactNanos / 1_000_000);
+    }
+}
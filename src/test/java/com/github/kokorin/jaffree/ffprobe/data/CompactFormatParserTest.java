@@ -0,0 +1,333 @@
+package com.github.kokorin.jaffree.ffprobe.data;
+
+import com.github.kokorin.jaffree.Rational;
+import com.github.kokorin.jaffree.StreamType;
+import com.github.kokorin.jaffree.ffprobe.FFprobeResult;
+import com.github.kokorin.jaffree.ffprobe.Frame;
+import com.github.kokorin.jaffree.ffprobe.Packet;
+import com.github.kokorin.jaffree.ffprobe.PacketFrameSubtitle;
+import com.github.kokorin.jaffree.ffprobe.SideData;
+import com.github.kokorin.jaffree.ffprobe.Stream;
+import com.github.kokorin.jaffree.ffprobe.Subtitle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CompactFormatParserTest {
+    private static final String STREAMS_AND_FORMAT = ""
+            + "stream|index=0|codec_name=h264|codec_type=video|width=640|height=480"
+            + "|r_frame_rate=30000/1001|sample_aspect_ratio=1:1|start_time=0.000000"
+            + "|disposition:default=1|disposition:dub=0|tag:language=und"
+            + "|tag:handler_name=Video\\|Handler\\nline 2"
+            + "|side_data:side_data_type=Display Matrix|side_data:rotation=-90\n"
+            + "stream|index=1|codec_name=aac|codec_type=audio|sample_rate=44100|channels=2"
+            + "|disposition:default=1|disposition:dub=0|tag:language=eng\n"
+            + "format|filename=/tmp/sample.mp4|nb_streams=2|format_name=mov,mp4"
+            + "|duration=10.010000|size=1048576|bit_rate=838022|tag:title=Sample\n";
+
+    @Test
+    public void testStreamsAndFormat() {
+        FFprobeResult result = new FFprobeResult(parse(new CompactFormatParser(),
+                STREAMS_AND_FORMAT));
+
+        List<Stream> streams = result.getStreams();
+        Assert.assertEquals(2, streams.size());
+
+        Stream video = streams.get(0);
+        Assert.assertEquals(Integer.valueOf(0), video.getIndex());
+        Assert.assertEquals("h264", video.getCodecName());
+        Assert.assertEquals(StreamType.VIDEO, video.getCodecType());
+        Assert.assertEquals(Integer.valueOf(640), video.getWidth());
+        Assert.assertEquals(new Rational(30000L, 1001L), video.getRFrameRate());
+        Assert.assertEquals(new Rational(1L, 1L), video.getSampleAspectRatio());
+        Assert.assertEquals(0.0f, video.getStartTime(), 0.0001);
+        Assert.assertTrue(video.getDisposition().getDefault());
+        Assert.assertFalse(video.getDisposition().getDub());
+        Assert.assertEquals("und", video.getTag("language"));
+        Assert.assertEquals("Video|Handler\nline 2", video.getTag("handler_name"));
+        Assert.assertEquals(1, video.getSideDataList().size());
+        Assert.assertEquals("Display Matrix", video.getSideDataList().get(0).getSideDataType());
+        Assert.assertEquals(Integer.valueOf(-90), video.getSideDataList().get(0).getRotation());
+
+        Stream audio = streams.get(1);
+        Assert.assertEquals(StreamType.AUDIO, audio.getCodecType());
+        Assert.assertEquals(Integer.valueOf(44100), audio.getSampleRate());
+        Assert.assertEquals("eng", audio.getTag("language"));
+        Assert.assertNull(audio.getTag("handler_name"));
+        Assert.assertNull(audio.getSideDataList());
+
+        Assert.assertEquals("/tmp/sample.mp4", result.getFormat().getFilename());
+        Assert.assertEquals("mov,mp4", result.getFormat().getFormatName());
+        Assert.assertEquals(Long.valueOf(1048576), result.getFormat().getSize());
+        Assert.assertEquals(10.01f, result.getFormat().getDuration(), 0.0001);
+        Assert.assertEquals("Sample", result.getFormat().getTag("title"));
+
+        Assert.assertNull(result.getPackets());
+        Assert.assertNull(result.getFrames());
+        Assert.assertNull(result.getChapters());
+    }
+
+    @Test
+    public void testPacketsWithRepeatedSideData() {
+        String output = ""
+                + "packet|codec_type=video|stream_index=0|pts=0|pts_time=0.000000|size=12825"
+                + "|pos=5026|flags=K__|side_data:side_data_type=A|side_data:value=1"
+                + "|side_data:side_data_type=B|side_data:value=2\n"
+                + "packet|codec_type=audio|stream_index=1|pts=N/A|pts_time=N/A|size=36"
+                + "|pos=6077212|flags=___\n";
+        List<Packet> packets = new FFprobeResult(parse(new CompactFormatParser(), output))
+                .getPackets();
+
+        Assert.assertEquals(2, packets.size());
+        Assert.assertEquals(Long.valueOf(0), packets.get(0).getPts());
+        Assert.assertEquals("K__", packets.get(0).getFlags());
+        Assert.assertEquals(Long.valueOf(5026), packets.get(0).getPos());
+        Assert.assertEquals(2, packets.get(0).getSideDataList().size());
+        Assert.assertEquals("A", packets.get(0).getSideDataList().get(0).getSideDataType());
+        Assert.assertEquals(Long.valueOf(2),
+                packets.get(0).getSideDataList().get(1).getLong("value"));
+
+        Assert.assertNull(packets.get(1).getPts());
+        Assert.assertNull(packets.get(1).getPtsTime());
+        Assert.assertEquals(StreamType.AUDIO, packets.get(1).getCodecType());
+        Assert.assertNull(packets.get(1).getSideDataList());
+    }
+
+    @Test
+    public void testSideDataWithDifferentLayouts() {
+        String output = ""
+                + "packet|side_data:side_data_type=A|side_data:x=1\n"
+                + "packet|side_data:side_data_type=B|side_data:y=2"
+                + "|side_data:side_data_type=C|side_data:x=3\n";
+        List<Packet> packets = new FFprobeResult(parse(new CompactFormatParser(), output))
+                .getPackets();
+
+        Assert.assertEquals(2, packets.size());
+        List<SideData> first = packets.get(0).getSideDataList();
+        Assert.assertEquals(1, first.size());
+        Assert.assertEquals("A", first.get(0).getSideDataType());
+        Assert.assertEquals(Long.valueOf(1), first.get(0).getLong("x"));
+
+        List<SideData> second = packets.get(1).getSideDataList();
+        Assert.assertEquals(2, second.size());
+        Assert.assertEquals("B", second.get(0).getSideDataType());
+        Assert.assertEquals(Long.valueOf(2), second.get(0).getLong("y"));
+        Assert.assertNull(second.get(0).getLong("x"));
+        Assert.assertEquals("C", second.get(1).getSideDataType());
+        Assert.assertEquals(Long.valueOf(3), second.get(1).getLong("x"));
+        Assert.assertNull(second.get(1).getLong("y"));
+    }
+
+    @Test
+    public void testPacketsAndFrames() {
+        String output = ""
+                + "packet|codec_type=video|stream_index=0|pts=0\n"
+                + "frame|media_type=video|stream_index=0|pts=0|pict_type=I\n"
+                + "packet|codec_type=video|stream_index=0|pts=1\n"
+                + "subtitle|media_type=subtitle|pts=10801000000|num_rects=1\n"
+                + "frame|media_type=video|stream_index=0|pts=1|pict_type=P\n";
+        FFprobeResult result = new FFprobeResult(parse(new CompactFormatParser(), output));
+
+        Assert.assertNull(result.getPackets());
+        Assert.assertNull(result.getFrames());
+
+        List<PacketFrameSubtitle> elements = result.getPacketsAndFrames();
+        Assert.assertEquals(5, elements.size());
+        Assert.assertTrue(elements.get(0) instanceof Packet);
+        Assert.assertTrue(elements.get(1) instanceof Frame);
+        Assert.assertTrue(elements.get(2) instanceof Packet);
+        Assert.assertTrue(elements.get(3) instanceof Subtitle);
+        Assert.assertTrue(elements.get(4) instanceof Frame);
+        Assert.assertEquals(Long.valueOf(1), ((Packet) elements.get(2)).getPts());
+        Assert.assertEquals("P", ((Frame) elements.get(4)).getPictType());
+
+        result = new FFprobeResult(parse(new CompactFormatParser(), ""
+                + "frame|media_type=video|stream_index=0|pts=0\n"
+                + "subtitle|media_type=subtitle|pts=10801000000|num_rects=1\n"
+                + "frame|media_type=video|stream_index=0|pts=1\n"));
+        Assert.assertNull(result.getPacketsAndFrames());
+        Assert.assertEquals(3, result.getFrames().size());
+        Assert.assertTrue(result.getFrames().get(1) instanceof Subtitle);
+        Assert.assertTrue(result.getFrames().get(2) instanceof Frame);
+    }
+
+    @Test
+    public void testCsv() {
+        CompactFormatParser parser = CompactFormatParser.csv();
+        Assert.assertEquals("csv=nokey=0:print_section=1", parser.getFormatName());
+
+        String output = ""
+                + "stream,index=0,codec_name=h264,tag:title=\"Hello, \"\"World\"\"\nagain\"\r\n"
+                + "format,filename=a.mp4,format_name=\"mov,mp4\",nb_streams=1\r\n";
+        FFprobeResult result = new FFprobeResult(parse(parser, output));
+
+        Assert.assertEquals(1, result.getStreams().size());
+        Assert.assertEquals("h264", result.getStreams().get(0).getCodecName());
+        Assert.assertEquals("Hello, \"World\"\nagain", result.getStreams().get(0).getTag("title"));
+        Assert.assertEquals("mov,mp4", result.getFormat().getFormatName());
+        Assert.assertEquals(Integer.valueOf(1), result.getFormat().getNbStreams());
+    }
+
+    @Test
+    public void testValues() {
+        ProbeData data = parse(new CompactFormatParser(), ""
+                + "packet|a=007|b=-0|c=-12|d=9223372036854775807|e=|f=1.5|g=0|h=\\\\\n")
+                .getSubDataList("packets").get(0);
+
+        Assert.assertEquals("007", data.getValue("a"));
+        Assert.assertEquals("-0", data.getValue("b"));
+        Assert.assertEquals(-12L, data.getValue("c"));
+        Assert.assertEquals("9223372036854775807", data.getValue("d"));
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE), data.getLong("d"));
+        Assert.assertEquals("", data.getValue("e"));
+        Assert.assertEquals(1.5, data.getDouble("f"), 0.0001);
+        Assert.assertEquals("0", data.getString("g"));
+        Assert.assertEquals("\\", data.getString("h"));
+        Assert.assertEquals("packet", data.getString("type"));
+        Assert.assertNull(data.getValue("missing"));
+    }
+
+    @Test
+    public void testListener() {
+        StringBuilder output = new StringBuilder("stream|index=0|codec_type=video\n");
+        for (int i = 0; i < 10; i++) {
+            output.append("packet|stream_index=0|pts=").append(i).append('\n');
+        }
+        output.append("format|nb_streams=1\n");
+
+        List<String> sections = new ArrayList<>();
+        List<Long> pts = new ArrayList<>();
+        ProbeData data = parse(new CompactFormatParser(), output.toString(), (section, sub) -> {
+            sections.add(section);
+            if ("packets".equals(section)) {
+                pts.add(sub.getLong("pts"));
+                return sub.getLong("pts") % 3 != 0;
+            }
+            return false;
+        });
+
+        Assert.assertEquals(11, sections.size());
+        Assert.assertEquals("streams", sections.get(0));
+        Assert.assertEquals(10, pts.size());
+        Assert.assertEquals(Long.valueOf(9), pts.get(9));
+
+        List<ProbeData> packets = data.getSubDataList("packets");
+        Assert.assertEquals(4, packets.size());
+        Assert.assertEquals(Long.valueOf(0), packets.get(0).getLong("pts"));
+        Assert.assertEquals(Long.valueOf(3), packets.get(1).getLong("pts"));
+        Assert.assertEquals(Long.valueOf(9), packets.get(3).getLong("pts"));
+        Assert.assertEquals(1, data.getSubDataList("streams").size());
+        Assert.assertEquals(Long.valueOf(1), data.getSubData("format").getLong("nb_streams"));
+    }
+
+    @Test
+    public void testSmallReadsAndLongLines() throws Exception {
+        StringBuilder longValue = new StringBuilder();
+        while (longValue.length() < 200_000) {
+            longValue.append("0123456789abcdef");
+        }
+
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            output.append("packet|pts=").append(i).append("|data=").append(i == 500 ? longValue : "x")
+                    .append('\n');
+        }
+        // last line without line feed
+        output.append("format|filename=ü.mp4");
+
+        byte[] bytes = output.toString().getBytes(StandardCharsets.UTF_8);
+        try (InputStream input = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        }) {
+            ProbeData data = new CompactFormatParser().parse(input);
+            List<ProbeData> packets = data.getSubDataList("packets");
+
+            Assert.assertEquals(1000, packets.size());
+            Assert.assertEquals(Long.valueOf(999), packets.get(999).getLong("pts"));
+            Assert.assertEquals(longValue.toString(), packets.get(500).getString("data"));
+            Assert.assertEquals("x", packets.get(501).getString("data"));
+            Assert.assertEquals("ü.mp4", data.getSubData("format").getString("filename"));
+        }
+    }
+
+    /**
+     * Parses the same packet dump in JSON and compact formats.
+     *
+     * @see CompactFormatParserBenchmark
+     */
+    @Test
+    public void testSameDataAsJson() {
+        byte[][] dumps = packetDumps(1_000);
+
+        Assert.assertEquals(
+                sumSizes(new JsonFormatParser().parse(new ByteArrayInputStream(dumps[0]))),
+                sumSizes(new CompactFormatParser().parse(new ByteArrayInputStream(dumps[1]))));
+        Assert.assertTrue(dumps[1].length < dumps[0].length);
+    }
+
+    /**
+     * Generates the same packet dump in JSON and compact formats.
+     *
+     * @param packets number of packets
+     * @return JSON and compact dumps
+     */
+    static byte[][] packetDumps(final int packets) {
+        StringBuilder json = new StringBuilder("{\"packets\":[");
+        StringBuilder compact = new StringBuilder();
+        for (int i = 0; i < packets; i++) {
+            String pts = Integer.toString(i * 1001);
+            String ptsTime = String.format("%.6f", i * 1001 / 30000.0);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"codec_type\":\"video\",\"stream_index\":0,\"pts\":").append(pts)
+                    .append(",\"pts_time\":\"").append(ptsTime)
+                    .append("\",\"dts\":").append(pts)
+                    .append(",\"dts_time\":\"").append(ptsTime)
+                    .append("\",\"duration\":1001,\"duration_time\":\"0.033367\",\"size\":\"")
+                    .append(1000 + i % 5000).append("\",\"pos\":\"").append(i * 4096L)
+                    .append("\",\"flags\":\"").append(i % 30 == 0 ? "K_" : "__").append("\"}");
+            compact.append("packet|codec_type=video|stream_index=0|pts=").append(pts)
+                    .append("|pts_time=").append(ptsTime)
+                    .append("|dts=").append(pts)
+                    .append("|dts_time=").append(ptsTime)
+                    .append("|duration=1001|duration_time=0.033367|size=").append(1000 + i % 5000)
+                    .append("|pos=").append(i * 4096L)
+                    .append("|flags=").append(i % 30 == 0 ? "K_" : "__").append('\n');
+        }
+        json.append("]}");
+        return new byte[][] {
+                json.toString().getBytes(StandardCharsets.UTF_8),
+                compact.toString().getBytes(StandardCharsets.UTF_8)
+        };
+    }
+
+    static long sumSizes(final ProbeData data) {
+        long result = 0;
+        for (ProbeData packet : data.getSubDataList("packets")) {
+            result += packet.getLong("size") + packet.getLong("pts");
+            if ("K_".equals(packet.getString("flags"))) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    private static ProbeData parse(final CompactFormatParser parser, final String output) {
+        return parser.parse(new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ProbeData parse(final CompactFormatParser parser, final String output,
+                                   final ProbeDataListener listener) {
+        return parser.parse(new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)),
+                listener);
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.kokorin.jaffree.ffprobe.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JsonFormatParserTest {
+
+    @Test
+    public void testStreamingParse() throws Exception {
+        List<String> sections = new ArrayList<>();
+        List<Long> packetPts = new ArrayList<>();
+
+        ProbeData data;
+        try (InputStream input = getClass().getResourceAsStream("ffprobe_programs.json")) {
+            data = new JsonFormatParser().parse(input, (section, subData) -> {
+                sections.add(section);
+                return false;
+            });
+        }
+
+        ProbeData expected;
+        try (InputStream input = getClass().getResourceAsStream("ffprobe_programs.json")) {
+            expected = new JsonFormatParser().parse(input);
+        }
+
+        Assert.assertFalse(sections.isEmpty());
+        Assert.assertEquals(expected.getSubDataList("programs").size(),
+                data.getSubDataList("programs").size());
+        Assert.assertEquals(
+                expected.getSubDataList("programs").get(0).getSubDataList("streams").size(),
+                data.getSubDataList("programs").get(0).getSubDataList("streams").size());
+
+        String json = "{\"packets\":[{\"pts\":1},{\"pts\":2},{\"pts\":3}],"
+                + "\"format\":{\"filename\":\"x\",\"tags\":{\"title\":\"t\"}}}";
+        data = new JsonFormatParser().parse(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                (section, subData) -> {
+                    packetPts.add(subData.getLong("pts"));
+                    return subData.getLong("pts") != 2;
+                });
+
+        Assert.assertEquals(3, packetPts.size());
+        Assert.assertEquals(Long.valueOf(3), packetPts.get(2));
+        Assert.assertEquals(1, data.getSubDataList("packets").size());
+        Assert.assertEquals(Long.valueOf(2), data.getSubDataList("packets").get(0).getLong("pts"));
+        Assert.assertEquals("t", data.getSubData("format").getSubData("tags").getString("title"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.kokorin.jaffree.ffprobe.data;
+
+import com.github.kokorin.jaffree.ffprobe.FFprobeResult;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures typed getters of memoized {@link FFprobeResult}, run with {@code -Pbenchmark}.
+ */
+public class MemoizingProbeDataBenchmark {
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(MemoizingProbeDataBenchmark.class);
+
+    @Test
+    public void benchmark() throws Exception {
+        FFprobeResult plain = new FFprobeResult(MemoizingProbeDataTest.parse());
+        FFprobeResult memoized = plain.memoized();
+
+        final int iterations = 200_000;
+        long plainNanos = Long.MAX_VALUE;
+        long memoizedNanos = Long.MAX_VALUE;
+
+        // best of several runs, first runs warm up JIT
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            MemoizingProbeDataTest.readStreams(plain, iterations);
+            plainNanos = Math.min(plainNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            MemoizingProbeDataTest.readStreams(memoized, iterations);
+            memoizedNanos = Math.min(memoizedNanos, System.nanoTime() - start);
+        }
+
+        LOGGER.info("Plain: {} ms, memoized: {} ms, speedup: {}x",
+                plainNanos / 1_000_000, memoizedNanos / 1_000_000,
+                String.format("%.1f", (double) plainNanos / memoizedNanos));
+    }
+}
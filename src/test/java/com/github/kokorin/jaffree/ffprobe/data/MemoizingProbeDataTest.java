@@ -0,0 +1,102 @@
+package com.github.kokorin.jaffree.ffprobe.data;
+
+import com.github.kokorin.jaffree.Rational;
+import com.github.kokorin.jaffree.ffprobe.FFprobeResult;
+import com.github.kokorin.jaffree.ffprobe.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.util.List;
+
+public class MemoizingProbeDataTest {
+    @Test
+    public void testSameValues() throws Exception {
+        FFprobeResult plain = new FFprobeResult(parse());
+        FFprobeResult memoized = plain.memoized();
+
+        Assert.assertSame(memoized, memoized.memoized());
+        Assert.assertEquals(plain.getStreams().size(), memoized.getStreams().size());
+
+        for (int i = 0; i < plain.getStreams().size(); i++) {
+            Stream expected = plain.getStreams().get(i);
+            Stream actual = memoized.getStreams().get(i);
+
+            Assert.assertEquals(expected.getCodecName(), actual.getCodecName());
+            Assert.assertEquals(expected.getCodecType(), actual.getCodecType());
+            Assert.assertEquals(expected.getAvgFrameRate(), actual.getAvgFrameRate());
+            Assert.assertEquals(expected.getSampleAspectRatio(), actual.getSampleAspectRatio());
+            Assert.assertEquals(expected.getBitRate(), actual.getBitRate());
+            Assert.assertEquals(expected.getTag("language"), actual.getTag("language"));
+            Assert.assertEquals(expected.getDisposition().getDefault(),
+                    actual.getDisposition().getDefault());
+        }
+
+        Assert.assertEquals(plain.getChapters().size(), memoized.getChapters().size());
+        Assert.assertNull(memoized.getPackets());
+    }
+
+    @Test
+    public void testCaching() throws Exception {
+        ProbeData data = MemoizingProbeData.of(parse());
+        Assert.assertSame(data, MemoizingProbeData.of(data));
+
+        List<ProbeData> streams = data.getSubDataList("streams");
+        Assert.assertSame(streams, data.getSubDataList("streams"));
+        ProbeDataConverter<Stream> toStream = Stream::new;
+        List<Stream> converted = data.getSubDataList("streams", toStream);
+        Assert.assertSame(converted, data.getSubDataList("streams", toStream));
+        Assert.assertSame(streams, data.getSubDataList("streams"));
+
+        ProbeData stream = streams.get(0);
+        Rational frameRate = stream.getRational("avg_frame_rate");
+        Assert.assertEquals(new Rational(24000L, 1001L), frameRate);
+        Assert.assertSame(frameRate, stream.getRational("avg_frame_rate"));
+        Assert.assertSame(stream.getSubData("tags"), stream.getSubData("tags"));
+
+        // different converters for the same name
+        Assert.assertEquals("24000/1001", stream.getString("avg_frame_rate"));
+        Assert.assertEquals(frameRate, stream.getRational("avg_frame_rate"));
+
+        try {
+            streams.clear();
+            Assert.fail("Cached list must be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Typical analytics loop: typed getters are called many times on the same result.
+     *
+     * @throws Exception if sample ffprobe output can't be read
+     * @see MemoizingProbeDataBenchmark
+     */
+    @Test
+    public void testRepeatedReads() throws Exception {
+        FFprobeResult plain = new FFprobeResult(parse());
+        FFprobeResult memoized = plain.memoized();
+
+        Assert.assertEquals(readStreams(plain, 1_000), readStreams(memoized, 1_000));
+    }
+
+    static long readStreams(final FFprobeResult result, final int iterations) {
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            Stream stream = result.getStreams().get(0);
+            Rational frameRate = stream.getAvgFrameRate();
+            checksum += frameRate.getNumerator();
+            checksum += stream.getWidth();
+            checksum += stream.getCodecName().length();
+            checksum += stream.getStartPts();
+        }
+        return checksum;
+    }
+
+    static ProbeData parse() throws Exception {
+        try (InputStream input = MemoizingProbeDataTest.class
+                .getResourceAsStream("ffprobe_streams_and_chapters.json")) {
+            return new JsonFormatParser().parse(input);
+        }
+    }
+}
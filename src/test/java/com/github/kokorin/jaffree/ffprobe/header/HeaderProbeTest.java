@@ -0,0 +1,313 @@
+package com.github.kokorin.jaffree.ffprobe.header;
+
+import com.github.kokorin.jaffree.FakeExecutable;
+import com.github.kokorin.jaffree.Rational;
+import com.github.kokorin.jaffree.StreamType;
+import com.github.kokorin.jaffree.ffprobe.FFprobeResult;
+import com.github.kokorin.jaffree.ffprobe.Format;
+import com.github.kokorin.jaffree.ffprobe.Stream;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class HeaderProbeTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    @Rule
+    public FakeExecutable bin = new FakeExecutable();
+
+    @Test
+    public void testMp4Video() throws Exception {
+        Path path = Paths.get(getClass()
+                .getResource("/com/github/kokorin/jaffree/ffprobe/rotated.mp4").toURI());
+
+        FFprobeResult result = readHeaders(path);
+        Assert.assertNotNull(result);
+
+        Format format = result.getFormat();
+        Assert.assertEquals("mov,mp4,m4a,3gp,3g2,mj2", format.getFormatName());
+        Assert.assertEquals(Integer.valueOf(1), format.getNbStreams());
+        Assert.assertEquals(Long.valueOf(Files.size(path)), format.getSize());
+        Assert.assertTrue(format.getDuration() > 0);
+
+        Stream stream = result.getStreams().get(0);
+        Assert.assertEquals("h264", stream.getCodecName());
+        Assert.assertEquals(StreamType.VIDEO, stream.getCodecType());
+        Assert.assertEquals("avc1", stream.getCodecTagString());
+        Assert.assertEquals(Integer.valueOf(114), stream.getWidth());
+        Assert.assertEquals(Integer.valueOf(64), stream.getHeight());
+        Assert.assertNotNull(stream.getNbFrames());
+    }
+
+    @Test
+    public void testMp4AudioReadsOnlyHeader() throws Exception {
+        Path path = tempFolder.getRoot().toPath().resolve("audio.m4a");
+        Files.write(path, mp4Audio(new byte[100_000]));
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ChannelSource source = new ChannelSource(channel);
+            HeaderData data = new Mp4Reader().read(source, "audio.m4a");
+            Assert.assertNotNull(data);
+            Assert.assertTrue(source.getBytesRead() < 1_000);
+
+            FFprobeResult result = new FFprobeResult(data);
+            Assert.assertEquals(2.0, result.getFormat().getDuration(), 0.0001);
+            Assert.assertEquals("M4A ", result.getFormat().getTag("major_brand"));
+
+            Stream stream = result.getStreams().get(0);
+            Assert.assertEquals("aac", stream.getCodecName());
+            Assert.assertEquals("LC", stream.getProfile());
+            Assert.assertEquals(StreamType.AUDIO, stream.getCodecType());
+            Assert.assertEquals(Integer.valueOf(44100), stream.getSampleRate());
+            Assert.assertEquals(Integer.valueOf(2), stream.getChannels());
+            Assert.assertEquals("1/44100", stream.getTimeBase());
+            Assert.assertEquals(Long.valueOf(88200), stream.getDurationTs());
+            Assert.assertEquals("eng", stream.getTag("language"));
+            Assert.assertEquals("SoundHandler", stream.getTag("handler_name"));
+            Assert.assertTrue(stream.getDisposition().getDefault());
+        }
+    }
+
+    @Test
+    public void testFragmentedMp4IsNotSupported() throws Exception {
+        byte[] moov = box("moov", mvhd(1000, 0), box("mvex", new byte[0]));
+        Path path = tempFolder.getRoot().toPath().resolve("fragmented.mp4");
+        Files.write(path, concat(box("ftyp", ascii("isom"), u32(512)), moov));
+
+        Assert.assertNull(readHeaders(path));
+    }
+
+    @Test
+    public void testMatroska() throws Exception {
+        byte[] info = ebml(0x1549A966, ebml(0x2AD7B1, uint(1_000_000)),
+                ebml(0x4489, float64(5000)), ebml(0x7BA9, ascii("Test")));
+        byte[] tracks = ebml(0x1654AE6B, videoTrack(), audioTrack());
+        byte[] cluster = ebml(0x1F43B675, new byte[1000]);
+
+        Path path = tempFolder.getRoot().toPath().resolve("test.webm");
+        Files.write(path, concat(ebmlHeader(), segment(info, tracks, cluster)));
+
+        assertMatroska(readHeaders(path));
+    }
+
+    @Test
+    public void testMatroskaTracksAfterCluster() throws Exception {
+        byte[] info = ebml(0x1549A966, ebml(0x4489, float64(5000)));
+        byte[] cluster = ebml(0x1F43B675, new byte[1000]);
+        byte[] tracks = ebml(0x1654AE6B, videoTrack(), audioTrack());
+        byte[] seekHead = seekHead(0);
+        seekHead = seekHead(seekHead.length + info.length + cluster.length);
+
+        Path path = tempFolder.getRoot().toPath().resolve("test.mkv");
+        Files.write(path, concat(ebmlHeader(), segment(seekHead, info, cluster, tracks)));
+
+        assertMatroska(readHeaders(path));
+    }
+
+    @Test
+    public void testWav() throws Exception {
+        ByteBuffer header = ByteBuffer.allocate(56).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(ascii("RIFF")).putInt(48 + 176_400).put(ascii("WAVE"));
+        header.put(ascii("fmt ")).putInt(16)
+                .putShort((short) 1).putShort((short) 2)
+                .putInt(44100).putInt(176_400)
+                .putShort((short) 4).putShort((short) 16);
+        // odd-sized chunk is padded
+        header.put(ascii("LIST")).putInt(3).put(new byte[4]);
+        header.put(ascii("data")).putInt(176_400);
+
+        Path path = tempFolder.getRoot().toPath().resolve("test.wav");
+        Files.write(path, concat(header.array(), new byte[176_400]));
+
+        FFprobeResult result = readHeaders(path);
+        Assert.assertNotNull(result);
+        Assert.assertEquals("wav", result.getFormat().getFormatName());
+        Assert.assertEquals(1.0, result.getFormat().getDuration(), 0.0001);
+
+        Stream stream = result.getStreams().get(0);
+        Assert.assertEquals("pcm_s16le", stream.getCodecName());
+        Assert.assertEquals("s16", stream.getSampleFmt());
+        Assert.assertEquals("[1][0][0][0]", stream.getCodecTagString());
+        Assert.assertEquals("0x0001", stream.getCodecTag());
+        Assert.assertEquals(Integer.valueOf(44100), stream.getSampleRate());
+        Assert.assertEquals(Long.valueOf(44100), stream.getDurationTs());
+        Assert.assertEquals(Integer.valueOf(1_411_200), stream.getBitRate());
+    }
+
+    @Test
+    public void testFallbackToFFprobe() throws Exception {
+        String script = "echo '{\"streams\":[],\"format\":{\"format_name\":\"mpegts\"}}'\n";
+        bin.write("ffprobe", script);
+
+        Path path = tempFolder.getRoot().toPath().resolve("test.ts");
+        Files.write(path, new byte[188 * 10]);
+        Assert.assertNull(readHeaders(path));
+
+        FFprobeResult result = HeaderProbe.atPath(bin.getBinDir()).probe(path);
+        Assert.assertEquals("mpegts", result.getFormat().getFormatName());
+    }
+
+    @Test
+    public void testUnreadableHeaderFallsBackToFFprobe() throws Exception {
+        String script = "echo '{\"streams\":[],\"format\":{\"format_name\":\"matroska\"}}'\n";
+        bin.write("ffprobe", script);
+
+        // Tracks element is too large to be read as header
+        byte[] info = ebml(0x1549A966, ebml(0x4489, float64(5000)));
+        byte[] tracks = ebml(0x1654AE6B, videoTrack(), new byte[20 * 1024 * 1024]);
+        Path path = tempFolder.getRoot().toPath().resolve("large.mkv");
+        Files.write(path, concat(ebmlHeader(), segment(info, tracks)));
+        Assert.assertNull(readHeaders(path));
+
+        FFprobeResult result = HeaderProbe.atPath(bin.getBinDir()).probe(path);
+        Assert.assertEquals("matroska", result.getFormat().getFormatName());
+    }
+
+    private static void assertMatroska(final FFprobeResult result) {
+        Assert.assertNotNull(result);
+        Assert.assertEquals("matroska,webm", result.getFormat().getFormatName());
+        Assert.assertEquals(5.0, result.getFormat().getDuration(), 0.0001);
+        Assert.assertEquals(2, result.getStreams().size());
+
+        Stream video = result.getStreams().get(0);
+        Assert.assertEquals("vp9", video.getCodecName());
+        Assert.assertEquals(Integer.valueOf(640), video.getWidth());
+        Assert.assertEquals(Integer.valueOf(360), video.getHeight());
+        Assert.assertEquals(new Rational(25, 1), video.getAvgFrameRate());
+        Assert.assertEquals("1/1000", video.getTimeBase());
+        Assert.assertEquals("eng", video.getTag("language"));
+        Assert.assertTrue(video.getDisposition().getDefault());
+
+        Stream audio = result.getStreams().get(1);
+        Assert.assertEquals("opus", audio.getCodecName());
+        Assert.assertEquals(Integer.valueOf(48000), audio.getSampleRate());
+        Assert.assertEquals(Integer.valueOf(2), audio.getChannels());
+        Assert.assertNull(audio.getTag("language"));
+        Assert.assertFalse(audio.getDisposition().getDefault());
+    }
+
+    private static FFprobeResult readHeaders(final Path path) throws Exception {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return HeaderProbe.readHeaders(channel, path.toString());
+        }
+    }
+
+    private static byte[] mp4Audio(final byte[] media) {
+        // AAC LC, 44100 Hz, stereo
+        byte[] decoderSpecificInfo = concat(new byte[]{5, 2}, new byte[]{0x12, 0x10});
+        byte[] decoderConfig = concat(new byte[]{4, 17, 0x40, 0x15, 0, 0, 0}, u32(128_000),
+                u32(128_000), decoderSpecificInfo);
+        byte[] esDescriptor = concat(new byte[]{3, 25, 0, 1, 0}, decoderConfig,
+                new byte[]{6, 1, 2});
+        byte[] esds = box("esds", u32(0), esDescriptor);
+
+        byte[] mp4a = box("mp4a", new byte[6], u16(1), u16(0), u16(0), u32(0), u16(2), u16(16),
+                u16(0), u16(0), u32(44100L << 16), esds);
+        byte[] stsd = box("stsd", u32(0), u32(1), mp4a);
+        byte[] stsz = box("stsz", u32(0), u32(0), u32(87));
+
+        // "eng" packed as 5-bit letters
+        byte[] mdhd = box("mdhd", u32(0), u32(0), u32(0), u32(44100), u32(88200),
+                u16((5 << 10) | (14 << 5) | 7), u16(0));
+        byte[] hdlr = box("hdlr", u32(0), u32(0), ascii("soun"), new byte[12],
+                ascii("SoundHandler\0"));
+        byte[] mdia = box("mdia", mdhd, hdlr, box("minf", box("stbl", stsd, stsz)));
+        byte[] tkhd = box("tkhd", u32(3), u32(0), u32(0), u32(1), new byte[68]);
+        byte[] moov = box("moov", mvhd(1000, 2000), box("trak", tkhd, mdia));
+
+        byte[] ftyp = box("ftyp", ascii("M4A "), u32(512), ascii("M4A isomiso2"));
+        return concat(ftyp, moov, box("mdat", media));
+    }
+
+    private static byte[] mvhd(final long timescale, final long duration) {
+        return box("mvhd", u32(0), u32(0), u32(0), u32(timescale), u32(duration), new byte[80]);
+    }
+
+    private static byte[] box(final String type, final byte[]... children) {
+        byte[] body = concat(children);
+        return concat(u32(body.length + 8), ascii(type), body);
+    }
+
+    private static byte[] ebmlHeader() {
+        return ebml(0x1A45DFA3, ebml(0x4282, ascii("webm")));
+    }
+
+    private static byte[] segment(final byte[]... children) {
+        // unknown size
+        return concat(id(0x18538067), new byte[]{0x01, -1, -1, -1, -1, -1, -1, -1},
+                concat(children));
+    }
+
+    private static byte[] seekHead(final long tracksPosition) {
+        byte[] seek = ebml(0x4DBB, ebml(0x53AB, id(0x1654AE6B)),
+                ebml(0x53AC, ByteBuffer.allocate(8).putLong(tracksPosition).array()));
+        return ebml(0x114D9B74, seek);
+    }
+
+    private static byte[] videoTrack() {
+        return ebml(0xAE, ebml(0xD7, uint(1)), ebml(0x83, uint(1)),
+                ebml(0x86, ascii("V_VP9")), ebml(0x23E383, uint(40_000_000)),
+                ebml(0xE0, ebml(0xB0, uint(640)), ebml(0xBA, uint(360))));
+    }
+
+    private static byte[] audioTrack() {
+        return ebml(0xAE, ebml(0xD7, uint(2)), ebml(0x83, uint(2)),
+                ebml(0x86, ascii("A_OPUS")), ebml(0x22B59C, ascii("und")), ebml(0x88, uint(0)),
+                ebml(0xE1, ebml(0xB5, float64(48000)), ebml(0x9F, uint(2))));
+    }
+
+    private static byte[] ebml(final long id, final byte[]... children) {
+        byte[] body = concat(children);
+        // 8-byte size vint
+        ByteBuffer size = ByteBuffer.allocate(8).putLong(body.length | 0x01L << 56);
+        return concat(id(id), size.array(), body);
+    }
+
+    private static byte[] id(final long id) {
+        int length = (64 - Long.numberOfLeadingZeros(id) + 7) / 8;
+        byte[] result = new byte[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = (byte) (id >> (8 * (length - 1 - i)));
+        }
+        return result;
+    }
+
+    private static byte[] uint(final long value) {
+        return ByteBuffer.allocate(8).putLong(value).array();
+    }
+
+    private static byte[] float64(final double value) {
+        return ByteBuffer.allocate(8).putDouble(value).array();
+    }
+
+    private static byte[] u32(final long value) {
+        return ByteBuffer.allocate(4).putInt((int) value).array();
+    }
+
+    private static byte[] u16(final int value) {
+        return ByteBuffer.allocate(2).putShort((short) value).array();
+    }
+
+    private static byte[] ascii(final String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] concat(final byte[]... arrays) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        for (byte[] array : arrays) {
+            result.write(array, 0, array.length);
+        }
+        return result.toByteArray();
+    }
+}
@@ -0,0 +1,208 @@
+package com.github.kokorin.jaffree.metrics;
+
+import com.github.kokorin.jaffree.OS;
+import com.github.kokorin.jaffree.ffmpeg.Frame;
+import com.github.kokorin.jaffree.ffmpeg.FrameConsumer;
+import com.github.kokorin.jaffree.ffmpeg.FrameProducer;
+import com.github.kokorin.jaffree.ffmpeg.ImageFormats;
+import com.github.kokorin.jaffree.ffmpeg.NutFrameReader;
+import com.github.kokorin.jaffree.ffmpeg.NutFrameWriter;
+import com.github.kokorin.jaffree.ffmpeg.Stream;
+import com.github.kokorin.jaffree.process.ProcessHandler;
+import com.github.kokorin.jaffree.process.StdReader;
+import com.github.kokorin.jaffree.log.LogMessage;
+import com.github.kokorin.jaffree.util.IOUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MetricsTest {
+
+    @After
+    public void tearDown() {
+        Metrics.set(null);
+    }
+
+    @Test
+    public void testNoopByDefault() {
+        Assert.assertSame(Metrics.NOOP, Metrics.get());
+        Assert.assertFalse(Metrics.isEnabled());
+
+        RecordingMetrics metrics = new RecordingMetrics();
+        Metrics.set(metrics);
+        Assert.assertSame(metrics, Metrics.get());
+        Assert.assertTrue(Metrics.isEnabled());
+
+        Metrics.set(null);
+        Assert.assertSame(Metrics.NOOP, Metrics.get());
+    }
+
+    @Test
+    public void testProcessMetrics() {
+        Assume.assumeFalse(OS.IS_WINDOWS);
+        RecordingMetrics metrics = new RecordingMetrics();
+        Metrics.set(metrics);
+
+        Path executable = Paths.get("false");
+        try {
+            new ProcessHandler<String>(executable, null)
+                    .setStdOutReader(new EmptyStdReader())
+                    .setStdErrReader(new EmptyStdReader())
+                    .execute();
+            Assert.fail("Exception expected");
+        } catch (RuntimeException e) {
+            // expected: non-zero exit status
+        }
+
+        Assert.assertEquals(executable, metrics.executable);
+        Assert.assertTrue(metrics.spawnNanos.get() > 0);
+        Assert.assertTrue(metrics.runNanos.get() > 0);
+        Assert.assertEquals(1, metrics.exitStatus.get());
+    }
+
+    @Test
+    public void testBytesTransferred() throws Exception {
+        RecordingMetrics metrics = new RecordingMetrics();
+
+        long copied = IOUtil.copy(new ByteArrayInputStream(new byte[10_000]),
+                new ByteArrayOutputStream(), 1024, metrics, TransferType.PIPE_INPUT);
+
+        Assert.assertEquals(10_000, copied);
+        Assert.assertEquals(10_000, metrics.bytes.get());
+        Assert.assertEquals(TransferType.PIPE_INPUT, metrics.transferType);
+    }
+
+    @Test
+    public void testFrameMetrics() throws Exception {
+        RecordingMetrics metrics = new RecordingMetrics();
+        Metrics.set(metrics);
+
+        final int width = 16;
+        final int height = 8;
+        final int frames = 5;
+
+        FrameProducer producer = new FrameProducer() {
+            private int produced = 0;
+
+            @Override
+            public List<Stream> produceStreams() {
+                return Collections.singletonList(new Stream()
+                        .setId(0)
+                        .setType(Stream.Type.VIDEO)
+                        .setTimebase(1000L)
+                        .setWidth(width)
+                        .setHeight(height));
+            }
+
+            @Override
+            public Frame produce() {
+                if (produced >= frames) {
+                    return null;
+                }
+                BufferedImage image = new BufferedImage(width, height,
+                        BufferedImage.TYPE_3BYTE_BGR);
+                return Frame.createVideoFrame(0, 40L * produced++, image);
+            }
+        };
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new NutFrameWriter(producer, ImageFormats.BGR24, 200).write(output);
+
+        Assert.assertEquals(frames, metrics.framesWritten.get());
+        Assert.assertEquals(frames * width * height * 3, metrics.frameBytesWritten.get());
+
+        final AtomicInteger consumed = new AtomicInteger();
+        FrameConsumer consumer = new FrameConsumer() {
+            @Override
+            public void consumeStreams(List<Stream> streams) {
+            }
+
+            @Override
+            public void consume(Frame frame) {
+                if (frame != null) {
+                    consumed.incrementAndGet();
+                }
+            }
+        };
+        new NutFrameReader(consumer, ImageFormats.BGR24)
+                .read(new ByteArrayInputStream(output.toByteArray()));
+
+        Assert.assertEquals(frames, consumed.get());
+        Assert.assertEquals(frames, metrics.framesRead.get());
+        Assert.assertEquals(frames * width * height * 3, metrics.frameBytesRead.get());
+    }
+
+    private static class RecordingMetrics implements JaffreeMetrics {
+        private volatile Path executable;
+        private final AtomicLong spawnNanos = new AtomicLong();
+        private final AtomicLong runNanos = new AtomicLong();
+        private final AtomicInteger exitStatus = new AtomicInteger(-1);
+        private volatile TransferType transferType;
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicInteger framesRead = new AtomicInteger();
+        private final AtomicLong frameBytesRead = new AtomicLong();
+        private final AtomicInteger framesWritten = new AtomicInteger();
+        private final AtomicLong frameBytesWritten = new AtomicLong();
+
+        @Override
+        public void processStarted(Path executable, long spawnNanos) {
+            this.executable = executable;
+            this.spawnNanos.set(spawnNanos);
+        }
+
+        @Override
+        public void processFinished(Path executable, long runNanos, int exitStatus) {
+            this.runNanos.set(runNanos);
+            this.exitStatus.set(exitStatus);
+        }
+
+        @Override
+        public void bytesTransferred(TransferType type, long bytes) {
+            this.transferType = type;
+            this.bytes.addAndGet(bytes);
+        }
+
+        @Override
+        public void frameRead(int streamId, int bytes) {
+            framesRead.incrementAndGet();
+            frameBytesRead.addAndGet(bytes);
+        }
+
+        @Override
+        public void frameWritten(int streamId, int bytes) {
+            framesWritten.incrementAndGet();
+            frameBytesWritten.addAndGet(bytes);
+        }
+    }
+
+    private static class EmptyStdReader implements StdReader<String> {
+        @Override
+        public String read(InputStream stdOut) {
+            try {
+                while (stdOut.read() != -1) {
+                    // drain
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return "";
+        }
+
+        @Override
+        public List<LogMessage> getErrorLogMessages() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.kokorin.jaffree.nut;
+
+import com.github.kokorin.jaffree.ffmpeg.Frame;
+import com.github.kokorin.jaffree.ffmpeg.FrameProducer;
+import com.github.kokorin.jaffree.ffmpeg.ImageFormats;
+import com.github.kokorin.jaffree.ffmpeg.NutFrameWriter;
+import com.github.kokorin.jaffree.ffmpeg.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.List;
+
+public class FrameBufferPoolTest {
+
+    @Test
+    public void testBuffersAreReusedBySize() {
+        FrameBufferPool pool = new FrameBufferPool(2, 2);
+
+        byte[] first = pool.acquire(10);
+        byte[] second = pool.acquire(10);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(2, pool.getAllocations());
+
+        pool.release(first);
+        Assert.assertSame(first, pool.acquire(10));
+        Assert.assertEquals(20, pool.acquire(20).length);
+        Assert.assertEquals(1, pool.getReuses());
+        Assert.assertEquals(3, pool.getAllocations());
+    }
+
+    @Test
+    public void testPoolIsBounded() {
+        FrameBufferPool pool = new FrameBufferPool(1, 1);
+
+        byte[] first = new byte[10];
+        pool.release(first);
+        pool.release(new byte[10]);
+        Assert.assertSame(first, pool.acquire(10));
+        Assert.assertNotSame(first, pool.acquire(10));
+
+        // only the most recently used size is kept
+        pool.release(first);
+        pool.release(new byte[20]);
+        Assert.assertNotSame(first, pool.acquire(10));
+    }
+
+    @Test
+    public void testFrameIsReleasedOnce() {
+        FrameBufferPool pool = new FrameBufferPool();
+        byte[] data = pool.acquire(10);
+        NutFrame frame = new NutFrame(0, 0, data, null, null, true, false, pool);
+
+        frame.release();
+        frame.close();
+
+        Assert.assertSame(data, pool.acquire(10));
+        Assert.assertNotSame(data, pool.acquire(10));
+    }
+
+    @Test
+    public void testNutReaderReusesReleasedBuffers() throws Exception {
+        final int frameCount = 5;
+        FrameProducer producer = new FrameProducer() {
+            private int counter = 0;
+
+            @Override
+            public List<Stream> produceStreams() {
+                return Collections.singletonList(new Stream().setId(0)
+                        .setType(Stream.Type.VIDEO).setTimebase(10L).setWidth(8).setHeight(4));
+            }
+
+            @Override
+            public Frame produce() {
+                if (counter == frameCount) {
+                    return null;
+                }
+                BufferedImage image = new BufferedImage(8, 4, BufferedImage.TYPE_3BYTE_BGR);
+                image.setRGB(0, 0, counter);
+                return Frame.createVideoFrame(0, counter++, image);
+            }
+        };
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new NutFrameWriter(producer, ImageFormats.BGR24, 0).write(output);
+
+        FrameBufferPool pool = new FrameBufferPool();
+        NutReader reader = new NutReader(
+                new NutInputStream(new ByteArrayInputStream(output.toByteArray())), pool);
+
+        int read = 0;
+        NutFrame frame;
+        while ((frame = reader.readFrame()) != null) {
+            try (NutFrame pooled = frame) {
+                if (pooled.eor) {
+                    continue;
+                }
+                Assert.assertEquals(8 * 4 * 3, pooled.data.length);
+                // first pixel in BGR order
+                Assert.assertEquals(read, pooled.data[0]);
+                read++;
+            }
+        }
+
+        Assert.assertEquals(frameCount, read);
+        Assert.assertEquals(1, pool.getAllocations());
+        Assert.assertEquals(frameCount - 1, pool.getReuses());
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.kokorin.jaffree.process;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ExecutorTest {
+
+    @Test
+    public void testPooledThreadsAreReused() throws Exception {
+        PooledThreadSource threadSource = new PooledThreadSource(4, 60_000);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < 10; i++) {
+            Executor executor = new Executor("test", threadSource);
+            CountDownLatch latch = new CountDownLatch(2);
+            for (int j = 0; j < 2; j++) {
+                executor.execute("Runnable-" + j, () -> {
+                    threads.add(Thread.currentThread());
+                    Assert.assertTrue(Thread.currentThread().getName().startsWith("test-Runnable-"));
+                    latch.countDown();
+                });
+            }
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            waitToStop(executor);
+            executor.stop();
+            Assert.assertTrue(executor.getExceptions().isEmpty());
+        }
+
+        Assert.assertTrue(threads.size() <= 4);
+        Assert.assertTrue(threadSource.getPoolSize() <= 4);
+        threadSource.close();
+    }
+
+    @Test
+    public void testPooledFallbackWhenPoolIsBusy() throws Exception {
+        PooledThreadSource threadSource = new PooledThreadSource(1, 60_000);
+        Executor executor = new Executor("test", threadSource);
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < 3; i++) {
+            executor.execute("Runnable-" + i, () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        // All runnables must run in parallel, even though pool has only one thread
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        release.countDown();
+        waitToStop(executor);
+        executor.stop();
+        threadSource.close();
+    }
+
+    @Test
+    public void testExceptionInterruptsStarter() throws Exception {
+        PooledThreadSource threadSource = new PooledThreadSource(4, 60_000);
+        Executor executor = new Executor("test", threadSource);
+
+        executor.execute("Failing", () -> {
+            throw new RuntimeException("Expected exception");
+        });
+
+        try {
+            Thread.sleep(10_000);
+            Assert.fail("Starter thread must be interrupted");
+        } catch (InterruptedException e) {
+            // expected
+        }
+
+        executor.stop();
+        Assert.assertEquals(1, executor.getExceptions().size());
+        Assert.assertEquals("Expected exception", executor.getExceptions().get(0).getMessage());
+        threadSource.close();
+    }
+
+    @Test
+    public void testUnreceivedStarterInterruptionIsCleared() throws Exception {
+        Executor executor = new Executor("test");
+        executor.execute("Failing", () -> {
+            throw new RuntimeException("Expected exception");
+        });
+
+        // Starter doesn't block, so it doesn't receive interruption
+        while (executor.isRunning()) {
+            Thread.yield();
+        }
+        Assert.assertTrue(Thread.currentThread().isInterrupted());
+
+        executor.releaseStarter(false);
+        executor.stop();
+        Assert.assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void testReleasedStarterIsNotInterrupted() throws Exception {
+        Executor executor = new Executor("test");
+        CountDownLatch released = new CountDownLatch(1);
+        executor.execute("Failing", () -> {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            throw new RuntimeException("Expected exception");
+        });
+
+        executor.releaseStarter(false);
+        released.countDown();
+        Assert.assertTrue(executor.awaitStop(10, TimeUnit.SECONDS));
+        Assert.assertFalse(Thread.currentThread().isInterrupted());
+        Assert.assertEquals(1, executor.getExceptions().size());
+        executor.stop();
+    }
+
+    @Test
+    public void testOtherInterruptionIsKept() throws Exception {
+        Executor executor = new Executor("test");
+        executor.execute("Failing", () -> {
+            throw new RuntimeException("Expected exception");
+        });
+
+        try {
+            Thread.sleep(10_000);
+            Assert.fail("Starter thread must be interrupted");
+        } catch (InterruptedException e) {
+            // executor's interruption has been received
+        }
+
+        // interruption from someone else
+        Thread.currentThread().interrupt();
+        executor.releaseStarter(true);
+        executor.stop();
+        Assert.assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    public void testStopInterruptsPooledThreadsOnlyWhileRunning() throws Exception {
+        PooledThreadSource threadSource = new PooledThreadSource(1, 60_000);
+        Executor executor = new Executor("test", threadSource);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        executor.execute("Blocking", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.stop();
+        Assert.assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        waitToStop(executor);
+
+        // The same pooled thread is reused and must not be interrupted by stopped executor
+        Executor nextExecutor = new Executor("next", threadSource);
+        CountDownLatch checked = new CountDownLatch(1);
+        nextExecutor.execute("Check", () -> {
+            Assert.assertFalse(Thread.currentThread().isInterrupted());
+            checked.countDown();
+        });
+        Assert.assertTrue(checked.await(10, TimeUnit.SECONDS));
+        executor.stop();
+        waitToStop(nextExecutor);
+        Assert.assertTrue(nextExecutor.getExceptions().isEmpty());
+        nextExecutor.stop();
+        threadSource.close();
+    }
+
+    private static void waitToStop(Executor executor) throws InterruptedException {
+        for (int i = 0; i < 100 && executor.isRunning(); i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertFalse(executor.isRunning());
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.kokorin.jaffree.process;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ProcResourceSamplerTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testSample() throws Exception {
+        Path procRoot = tempFolder.getRoot().toPath();
+        Path processDir = Files.createDirectory(procRoot.resolve("4242"));
+        write(processDir.resolve("stat"), "4242 (ff (odd) name) S 1 4242 4242 0 -1 4194304 "
+                + "11296 0 0 0 1234 56 0 0 20 0 9 0 6011 1236058112 27164 18446744073709551615");
+        write(processDir.resolve("status"), "Name:\tffmpeg\n"
+                + "VmPeak:\t 1207088 kB\n"
+                + "VmHWM:\t  123456 kB\n"
+                + "VmRSS:\t  108656 kB\n");
+        write(processDir.resolve("io"), "rchar: 1000000\n"
+                + "wchar: 2000000\n"
+                + "syscr: 100\n"
+                + "syscw: 200\n"
+                + "read_bytes: 4096\n"
+                + "write_bytes: 8192\n"
+                + "cancelled_write_bytes: 0\n");
+
+        ResourceUsage usage = new ProcResourceSampler()
+                .setProcRoot(procRoot)
+                .sample(4242);
+
+        Assert.assertNotNull(usage);
+        Assert.assertEquals(Long.valueOf(12340), usage.getUserCpuMillis());
+        Assert.assertEquals(Long.valueOf(560), usage.getSystemCpuMillis());
+        Assert.assertEquals(Long.valueOf(12900), usage.getCpuMillis());
+        Assert.assertEquals(Long.valueOf(123456 * 1024L), usage.getPeakRssBytes());
+        Assert.assertEquals(Long.valueOf(1000000), usage.getReadBytes());
+        Assert.assertEquals(Long.valueOf(2000000), usage.getWriteBytes());
+        Assert.assertEquals(Long.valueOf(4096), usage.getStorageReadBytes());
+        Assert.assertEquals(Long.valueOf(8192), usage.getStorageWriteBytes());
+
+        ResourceUsage withWallTime = usage.withWallTime(6450);
+        Assert.assertEquals(6450, withWallTime.getWallTimeMillis());
+        Assert.assertEquals(2.0, withWallTime.getCpuUtilization(), 0.001);
+    }
+
+    @Test
+    public void testPartiallyAvailable() throws Exception {
+        Path procRoot = tempFolder.getRoot().toPath();
+        Path processDir = Files.createDirectory(procRoot.resolve("4242"));
+        // io is readable only by process owner, status may be absent for zombies
+        write(processDir.resolve("stat"), "4242 (ffprobe) Z 1 4242 4242 0 -1 4194304 "
+                + "11296 0 0 0 250 50 0 0 20 0 9 0 6011 0 0 18446744073709551615");
+
+        ResourceUsage usage = new ProcResourceSampler()
+                .setProcRoot(procRoot)
+                .setClockTicksPerSecond(250)
+                .sample(4242);
+
+        Assert.assertNotNull(usage);
+        Assert.assertEquals(Long.valueOf(1000), usage.getUserCpuMillis());
+        Assert.assertEquals(Long.valueOf(200), usage.getSystemCpuMillis());
+        Assert.assertNull(usage.getPeakRssBytes());
+        Assert.assertNull(usage.getReadBytes());
+        Assert.assertNull(usage.getStorageWriteBytes());
+    }
+
+    @Test
+    public void testProcessNotFound() {
+        ResourceUsage usage = new ProcResourceSampler()
+                .setProcRoot(tempFolder.getRoot().toPath())
+                .sample(4242);
+
+        Assert.assertNull(usage);
+    }
+
+    private static void write(Path path, String content) throws Exception {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
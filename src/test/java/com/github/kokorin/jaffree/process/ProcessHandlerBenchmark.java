@@ -0,0 +1,53 @@
+package com.github.kokorin.jaffree.process;
+
+import com.github.kokorin.jaffree.OS;
+import org.junit.Assume;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures per job overhead of {@link ProcessHandler} compared to a raw process, run with
+ * {@code -Pbenchmark}.
+ */
+public class ProcessHandlerBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessHandlerBenchmark.class);
+
+    @Test
+    public void benchmark() throws Exception {
+        Assume.assumeFalse(OS.IS_WINDOWS);
+        final int jobs = ProcessHandlerTest.JOBS;
+
+        // warm up
+        ProcessHandlerTest.runRawProcess();
+        ProcessHandlerTest.runProcessHandler(new DedicatedThreadSource());
+
+        long rawNanos = System.nanoTime();
+        for (int i = 0; i < jobs; i++) {
+            ProcessHandlerTest.runRawProcess();
+        }
+        rawNanos = System.nanoTime() - rawNanos;
+
+        long handlerNanos = System.nanoTime();
+        for (int i = 0; i < jobs; i++) {
+            ProcessHandlerTest.runProcessHandler(new DedicatedThreadSource());
+        }
+        handlerNanos = System.nanoTime() - handlerNanos;
+
+        PooledThreadSource pooledThreadSource = new PooledThreadSource(8, 60_000);
+        long pooledNanos = System.nanoTime();
+        for (int i = 0; i < jobs; i++) {
+            ProcessHandlerTest.runProcessHandler(pooledThreadSource);
+        }
+        pooledNanos = System.nanoTime() - pooledNanos;
+        pooledThreadSource.close();
+
+        LOGGER.info("Per job: raw process {} ms, ProcessHandler overhead {} ms, "
+                        + "with pooled threads {} ms",
+                TimeUnit.NANOSECONDS.toMillis(rawNanos / jobs),
+                TimeUnit.NANOSECONDS.toMillis((handlerNanos - rawNanos) / jobs),
+                TimeUnit.NANOSECONDS.toMillis((pooledNanos - rawNanos) / jobs));
+    }
+}
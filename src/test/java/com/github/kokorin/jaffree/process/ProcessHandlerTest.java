@@ -0,0 +1,134 @@
+package com.github.kokorin.jaffree.process;
+
+import com.github.kokorin.jaffree.OS;
+import com.github.kokorin.jaffree.log.LogMessage;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+public class ProcessHandlerTest {
+    static final Path TRIVIAL_EXECUTABLE = Paths.get("true");
+    static final int JOBS = 20;
+
+    /**
+     * Runs trivial executable with every thread source.
+     *
+     * @throws Exception if process can't be started
+     * @see ProcessHandlerBenchmark
+     */
+    @Test
+    public void testExecuteWithThreadSources() throws Exception {
+        Assume.assumeFalse(OS.IS_WINDOWS);
+
+        for (int i = 0; i < JOBS; i++) {
+            Assert.assertEquals("done", runProcessHandler(new DedicatedThreadSource()));
+        }
+
+        PooledThreadSource pooledThreadSource = new PooledThreadSource(8, 60_000);
+        for (int i = 0; i < JOBS; i++) {
+            Assert.assertEquals("done", runProcessHandler(pooledThreadSource));
+        }
+        pooledThreadSource.close();
+    }
+
+    @Test
+    public void testResourceUsage() {
+        Assume.assumeTrue(OS.IS_LINUX);
+
+        ProcessHandler<String> processHandler =
+                new ProcessHandler<String>(Paths.get("sleep"), null)
+                        .setStdOutReader(new DrainingStdReader())
+                        .setResourceSampler(new ProcResourceSampler().setSamplingIntervalMillis(50))
+                        .setArguments(Collections.singletonList("0.3"));
+        Assert.assertNull(processHandler.getResourceUsage());
+
+        Assert.assertEquals("done", processHandler.execute());
+
+        ResourceUsage usage = processHandler.getResourceUsage();
+        Assert.assertNotNull(usage);
+        Assert.assertTrue(usage.getWallTimeMillis() >= 300);
+        Assert.assertNotNull(usage.getUserCpuMillis());
+        Assert.assertNotNull(usage.getSystemCpuMillis());
+        Assert.assertTrue(usage.getPeakRssBytes() > 0);
+        Assert.assertTrue(usage.getCpuUtilization() < 0.5);
+    }
+
+    @Test
+    public void testShortProcessIsSampled() {
+        Assume.assumeTrue(OS.IS_LINUX);
+
+        // process finishes before the first sample with default sampling interval
+        ProcessHandler<String> processHandler =
+                new ProcessHandler<String>(Paths.get("sleep"), null)
+                        .setStdOutReader(new DrainingStdReader())
+                        .setResourceSampler(new ProcResourceSampler())
+                        .setArguments(Collections.singletonList("0.1"));
+        processHandler.execute();
+
+        ResourceUsage usage = processHandler.getResourceUsage();
+        Assert.assertNotNull(usage.getUserCpuMillis());
+        Assert.assertTrue(usage.getPeakRssBytes() > 0);
+    }
+
+    @Test
+    public void testWallTimeOnlyWithoutSampler() {
+        Assume.assumeFalse(OS.IS_WINDOWS);
+
+        ProcessHandler<String> processHandler =
+                new ProcessHandler<String>(TRIVIAL_EXECUTABLE, null)
+                        .setStdOutReader(new DrainingStdReader())
+                        .setResourceSampler(null);
+        processHandler.execute();
+
+        ResourceUsage usage = processHandler.getResourceUsage();
+        Assert.assertNotNull(usage);
+        Assert.assertTrue(usage.getWallTimeMillis() >= 0);
+        Assert.assertNull(usage.getCpuMillis());
+        Assert.assertNull(usage.getPeakRssBytes());
+    }
+
+    static void runRawProcess() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(TRIVIAL_EXECUTABLE.toString()).start();
+        drain(process.getInputStream());
+        drain(process.getErrorStream());
+        Assert.assertEquals(0, process.waitFor());
+    }
+
+    static String runProcessHandler(ThreadSource threadSource) {
+        return new ProcessHandler<String>(TRIVIAL_EXECUTABLE, null)
+                .setStdOutReader(new DrainingStdReader())
+                .setThreadSource(threadSource)
+                .execute();
+    }
+
+    private static void drain(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (inputStream.read(buffer) != -1) {
+            // drain
+        }
+    }
+
+    private static class DrainingStdReader implements StdReader<String> {
+        @Override
+        public String read(InputStream stdOut) {
+            try {
+                drain(stdOut);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return "done";
+        }
+
+        @Override
+        public List<LogMessage> getErrorLogMessages() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.kokorin.jaffree.seek;
+
+import com.github.kokorin.jaffree.FakeExecutable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+public class KeyframeIndexTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    @Rule
+    public FakeExecutable bin = new FakeExecutable();
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        long[] times = {-40_000, 0, 2_000_000, 2_000_000, 4_010_010, 3_600_000_000_000L};
+        long[] positions = {48, 1000, -1, 900, 1_000_000, 20_000_000_000L};
+        KeyframeIndex index = new KeyframeIndex(times, positions, 12345, 67890);
+
+        Path file = tempFolder.getRoot().toPath().resolve("index").resolve("video.kfi");
+        index.write(file);
+        KeyframeIndex read = KeyframeIndex.read(file);
+
+        Assert.assertEquals(times.length, read.size());
+        for (int i = 0; i < times.length; i++) {
+            Assert.assertEquals(times[i], read.getTimeMicros(i));
+            Assert.assertEquals(positions[i], read.getPosition(i));
+        }
+        Assert.assertEquals(12345, read.getSourceSize());
+        Assert.assertEquals(67890, read.getSourceModifiedMillis());
+        Assert.assertTrue(Files.size(file) < 25 + 2 * 8 * times.length);
+    }
+
+    @Test
+    public void testFloorIndex() {
+        KeyframeIndex index = new KeyframeIndex(new long[]{0, 2_000_000, 2_000_000, 4_000_000},
+                new long[]{0, 1, 2, 3}, -1, -1);
+
+        Assert.assertEquals(-1, index.floorIndex(-1));
+        Assert.assertEquals(0, index.floorIndex(0));
+        Assert.assertEquals(0, index.floorIndex(1_999_999));
+        Assert.assertEquals(2, index.floorIndex(2_000_000));
+        Assert.assertEquals(2, index.floorIndex(3_999_999));
+        Assert.assertEquals(3, index.floorIndex(Long.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnorderedTimes() {
+        new KeyframeIndex(new long[]{2, 1}, new long[]{0, 0}, -1, -1);
+    }
+
+    @Test
+    public void testBuildAndReuse() throws Exception {
+        String script = "echo call >> \"$DIR/calls\"\n"
+                + "echo 'packet|pts_time=1.400000|pos=48|flags=K_'\n"
+                + "echo 'packet|pts_time=1.440000|pos=1000|flags=__'\n"
+                + "echo 'packet|pts_time=5.410010|pos=N/A|flags=K_'\n"
+                + "echo 'packet|pts_time=3.400000|pos=5000|flags=K__'\n"
+                + "echo 'packet|pts_time=N/A|pos=6000|flags=K_'\n"
+                + "echo 'format|start_time=1.400000'\n";
+        bin.write("ffprobe", script);
+
+        Path video = tempFolder.newFile("video.mp4").toPath();
+        Files.write(video, new byte[100]);
+        Path indexFile = tempFolder.getRoot().toPath().resolve("video.kfi");
+
+        KeyframeIndexBuilder builder = KeyframeIndexBuilder.atPath(bin.getBinDir());
+        KeyframeIndex index = builder.getOrBuild(video, indexFile);
+
+        Assert.assertEquals(3, index.size());
+        Assert.assertEquals(0, index.getTimeMicros(0));
+        Assert.assertEquals(48, index.getPosition(0));
+        Assert.assertEquals(2_000_000, index.getTimeMicros(1));
+        Assert.assertEquals(5000, index.getPosition(1));
+        Assert.assertEquals(4_010_010, index.getTimeMicros(2));
+        Assert.assertEquals(-1, index.getPosition(2));
+        Assert.assertTrue(Files.exists(indexFile));
+
+        builder.getOrBuild(video, indexFile);
+        Assert.assertEquals(1, bin.readCalls().size());
+
+        // modified file is re-indexed
+        Files.setLastModifiedTime(video, FileTime.fromMillis(
+                Files.getLastModifiedTime(video).toMillis() - 10_000));
+        builder.getOrBuild(video, indexFile);
+        Assert.assertEquals(2, bin.readCalls().size());
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.kokorin.jaffree.seek;
+
+import com.github.kokorin.jaffree.ffmpeg.UrlInput;
+import com.github.kokorin.jaffree.ffmpeg.UrlOutput;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class SeekPlannerTest {
+    private final SeekPlanner planner = new SeekPlanner(new KeyframeIndex(
+            new long[]{0, 2_000_000, 4_010_400, 6_000_000},
+            new long[]{0, 1000, 2000, 3000}, -1, -1));
+
+    @Test
+    public void testPlan() {
+        assertPlan(planner.plan(0), null, null);
+        assertPlan(planner.plan(1500), null, 1500L);
+        assertPlan(planner.plan(2000), 2000L, null);
+        assertPlan(planner.plan(3999), 2000L, 1999L);
+        // keyframe time is rounded up, otherwise ffmpeg would seek to the previous keyframe
+        assertPlan(planner.plan(4011), 4011L, null);
+        assertPlan(planner.plan(4500), 4011L, 489L);
+        assertPlan(planner.plan(90_000), 6000L, 84_000L);
+    }
+
+    @Test
+    public void testPlanKeyframe() {
+        assertPlan(planner.planKeyframe(1500), null, null);
+        assertPlan(planner.planKeyframe(5999), 4011L, null);
+    }
+
+    @Test
+    public void testPlanAll() {
+        List<SeekPlan> plans = planner.planAll(3000, 100);
+
+        Assert.assertEquals(2, plans.size());
+        Assert.assertEquals(3000, plans.get(0).getRequestedMillis());
+        Assert.assertEquals(100, plans.get(1).getRequestedMillis());
+    }
+
+    @Test
+    public void testApplyTo() {
+        UrlInput input = UrlInput.fromUrl("input.mp4");
+        UrlOutput output = UrlOutput.toUrl("output.png");
+        planner.plan(4500).applyTo(input, output);
+
+        List<String> inputArguments = input.buildArguments();
+        Assert.assertEquals("4.011",
+                inputArguments.get(inputArguments.indexOf("-ss") + 1));
+        List<String> outputArguments = output.buildArguments();
+        Assert.assertEquals("0.489",
+                outputArguments.get(outputArguments.indexOf("-ss") + 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApplyToWithoutOutput() {
+        planner.plan(4500).applyTo(UrlInput.fromUrl("input.mp4"), null);
+    }
+
+    private static void assertPlan(final SeekPlan plan, final Long input, final Long output) {
+        Assert.assertEquals(input, plan.getInputPositionMillis());
+        Assert.assertEquals(output, plan.getOutputPositionMillis());
+    }
+}
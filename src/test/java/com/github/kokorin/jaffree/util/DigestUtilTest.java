@@ -0,0 +1,27 @@
+package com.github.kokorin.jaffree.util;
+
+import com.github.kokorin.jaffree.JaffreeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DigestUtilTest {
+
+    @Test
+    public void testHexDigest() {
+        Assert.assertEquals("a9993e364706816aba3e25717850c26c9cd0d89d",
+                DigestUtil.hexDigest("SHA-1", "abc"));
+        Assert.assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                DigestUtil.hexDigest("SHA-256", "abc"));
+    }
+
+    @Test
+    public void testToHex() {
+        Assert.assertEquals("", DigestUtil.toHex(new byte[0]));
+        Assert.assertEquals("00017f80ff", DigestUtil.toHex(new byte[]{0, 1, 127, -128, -1}));
+    }
+
+    @Test(expected = JaffreeException.class)
+    public void testUnsupportedAlgorithm() {
+        DigestUtil.hexDigest("NO-SUCH-DIGEST", "abc");
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.kokorin.jaffree.util;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures {@link NumberParser} against JDK parsers, run with {@code -Pbenchmark}.
+ */
+public class NumberParserBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NumberParserBenchmark.class);
+
+    @Test
+    public void benchmark() {
+        final int iterations = 200_000;
+        long jdkNanos = Long.MAX_VALUE;
+        long parserNanos = Long.MAX_VALUE;
+
+        // best of several runs, first runs warm up JIT
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            NumberParserTest.parseWithJdk(NumberParserTest.TYPICAL_VALUES, iterations);
+            jdkNanos = Math.min(jdkNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            NumberParserTest.parseWithNumberParser(NumberParserTest.TYPICAL_VALUES, iterations);
+            parserNanos = Math.min(parserNanos, System.nanoTime() - start);
+        }
+
+        LOGGER.info("JDK: {} ms, NumberParser: {} ms, speedup: {}x",
+                jdkNanos / 1_000_000, parserNanos / 1_000_000,
+                String.format("%.1f", (double) jdkNanos / parserNanos));
+    }
+}
@@ -0,0 +1,209 @@
+package com.github.kokorin.jaffree.util;
+
+import com.github.kokorin.jaffree.Rational;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class NumberParserTest {
+    static final String[] TYPICAL_VALUES = {"N/A", "1001", "29.970030", "", "-9223372036854775808",
+            "0.040000", "N/A", "123456", "4.5", "N/A"};
+
+    @Test
+    public void testParseLong() {
+        Assert.assertEquals(Long.valueOf(0), NumberParser.parseLong("0"));
+        Assert.assertEquals(Long.valueOf(42), NumberParser.parseLong("+42"));
+        Assert.assertEquals(Long.valueOf(-42), NumberParser.parseLong("-42"));
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE), NumberParser.parseLong("9223372036854775807"));
+        Assert.assertEquals(Long.valueOf(Long.MIN_VALUE), NumberParser.parseLong("-9223372036854775808"));
+
+        Assert.assertNull(NumberParser.parseLong("9223372036854775808"));
+        Assert.assertNull(NumberParser.parseLong("-9223372036854775809"));
+        Assert.assertNull(NumberParser.parseLong("N/A"));
+        Assert.assertNull(NumberParser.parseLong(""));
+        Assert.assertNull(NumberParser.parseLong("-"));
+        Assert.assertNull(NumberParser.parseLong("12.0"));
+        Assert.assertNull(NumberParser.parseLong(" 12"));
+        Assert.assertNull(NumberParser.parseLong(null));
+
+        Assert.assertEquals(123L, NumberParser.parseLong("x=123;", 2, 5, -1L));
+        Assert.assertEquals(-1L, NumberParser.parseLong("x=abc;", 2, 5, -1L));
+
+        Assert.assertEquals(Integer.valueOf(-7), NumberParser.parseInteger("-7"));
+        Assert.assertNull(NumberParser.parseInteger("2147483648"));
+        Assert.assertNull(NumberParser.parseInteger("-9223372036854775808"));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong() >> random.nextInt(64);
+            Assert.assertEquals(Long.valueOf(value), NumberParser.parseLong(Long.toString(value)));
+        }
+    }
+
+    @Test
+    public void testParseDouble() {
+        String[] values = {
+                "0", "-0", "0.0", "-0.0", "1", "1.", ".5", "+.5", "29.97", "0.040000",
+                "23.976", "1e3", "1E-3", "1.5e+06", "123456789012345678901234567890",
+                "0.1234567890123456789", "4.9e-324", "1.7976931348623157e308", "1e400",
+                "1e-400", " 12.5 ", "1.0000000000000002", "9007199254740993",
+        };
+        for (String value : values) {
+            double expected = Double.parseDouble(value);
+            Double actual = NumberParser.parseDouble(value);
+            Assert.assertNotNull(value, actual);
+            Assert.assertEquals(value, Double.doubleToLongBits(expected),
+                    Double.doubleToLongBits(actual));
+        }
+
+        String[] invalid = {"", " ", "N/A", ".", "-", "1e", "1e+", "1.2.3", "nan", "inf",
+                "-Inf", "0x", "0x1g", "1dd", "d", "12a"};
+        for (String value : invalid) {
+            Assert.assertNull(value, NumberParser.parseDouble(value));
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            String value;
+            switch (i % 3) {
+                case 0:
+                    value = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(20)));
+                    break;
+                case 1:
+                    value = String.format("%.6f", random.nextDouble() * 10_000);
+                    break;
+                default:
+                    value = Double.toString(Double.longBitsToDouble(random.nextLong()));
+                    if (value.contains("N") || value.contains("I")) {
+                        continue;
+                    }
+                    break;
+            }
+
+            Assert.assertEquals(value, Double.doubleToLongBits(Double.parseDouble(value)),
+                    Double.doubleToLongBits(NumberParser.parseDouble(value)));
+        }
+    }
+
+    @Test
+    public void testParseFloat() {
+        String[] values = {
+                "0", "-0", "1", "29.97", "0.040000", "23.976", "1e3", "1.5e+06", "16777217",
+                "1e39", "1e-46", "Infinity", "NaN", "1.5f",
+                // parsing double and then narrowing it to float rounds twice: result is 1.0
+                "1.0000000596046448",
+        };
+        for (String value : values) {
+            float expected = Float.parseFloat(value);
+            Float actual = NumberParser.parseFloat(value);
+            Assert.assertNotNull(value, actual);
+            Assert.assertEquals(value, Float.floatToIntBits(expected),
+                    Float.floatToIntBits(actual));
+        }
+
+        Assert.assertNull(NumberParser.parseFloat("N/A"));
+        Assert.assertNull(NumberParser.parseFloat(""));
+        Assert.assertNull(NumberParser.parseFloat(null));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            String value = i % 2 == 0
+                    ? String.format("%.4f", random.nextFloat() * 10_000)
+                    : Float.toString(Float.intBitsToFloat(random.nextInt()));
+            if (value.contains("N") || value.contains("I")) {
+                continue;
+            }
+            Assert.assertEquals(value, Float.floatToIntBits(Float.parseFloat(value)),
+                    Float.floatToIntBits(NumberParser.parseFloat(value)));
+        }
+    }
+
+    @Test
+    public void testParseDoubleSpecialNotations() {
+        String[] values = {"Infinity", "-Infinity", "+Infinity", "NaN", "-NaN", "0x10p0",
+                "0x1.8p1", "-0X1P-3", "1d", "1.5f", "-2e3D", " 7F ", "1e400d"};
+        for (String value : values) {
+            double expected = Double.parseDouble(value);
+            Double actual = NumberParser.parseDouble(value);
+            Assert.assertNotNull(value, actual);
+            Assert.assertEquals(value, Double.doubleToLongBits(expected),
+                    Double.doubleToLongBits(actual));
+        }
+
+        Assert.assertEquals(-1.0, NumberParser.parseDouble("N/A", 0, 3, -1.0), 0.0);
+        Assert.assertTrue(Double.isNaN(NumberParser.parseDouble("NaN", 0, 3, -1.0)));
+    }
+
+    @Test
+    public void testParseRational() {
+        Assert.assertEquals(new Rational(30000, 1001), NumberParser.parseRational("30000/1001", '/'));
+        Assert.assertEquals(new Rational(16, 9), NumberParser.parseRational("16:9", ':'));
+        Assert.assertEquals(new Rational(-1, 2), NumberParser.parseRational("-1/2", '/'));
+        Assert.assertEquals(Rational.valueOf(25), NumberParser.parseRational("25", '/'));
+
+        Assert.assertNull(NumberParser.parseRational("0/0", '/'));
+        Assert.assertNull(NumberParser.parseRational("1/-2", '/'));
+        Assert.assertNull(NumberParser.parseRational("16:9", '/'));
+        Assert.assertNull(NumberParser.parseRational("N/A", '/'));
+        Assert.assertNull(NumberParser.parseRational("1.5/2", '/'));
+        Assert.assertNull(NumberParser.parseRational("", '/'));
+    }
+
+    @Test
+    public void testParseWithSuffix() {
+        Assert.assertEquals(1.5, NumberParser.parseDoubleWithSuffix("1.5x", "x"), 0.001);
+        Assert.assertNull(NumberParser.parseDoubleWithSuffix("1.5", "x"));
+        Assert.assertEquals(Long.valueOf(12), NumberParser.parseLongWithSuffix("12kB", "kB"));
+        Assert.assertNull(NumberParser.parseLongWithSuffix("12", "kB"));
+        Assert.assertNull(NumberParser.parseLongWithSuffix("N/A", "kB"));
+    }
+
+    /**
+     * Compares JDK parsers (which throw on "N/A") with {@link NumberParser} on a mix of values
+     * typical for ffprobe output.
+     *
+     * @see NumberParserBenchmark
+     */
+    @Test
+    public void testSameResultsAsJdk() {
+        Assert.assertEquals(parseWithJdk(TYPICAL_VALUES, 1_000),
+                parseWithNumberParser(TYPICAL_VALUES, 1_000), 0.001);
+    }
+
+    static double parseWithJdk(final String[] values, final int iterations) {
+        double checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            String value = values[i % values.length];
+            try {
+                checksum += Long.parseLong(value) % 1000;
+            } catch (NumberFormatException e) {
+                try {
+                    checksum += Double.parseDouble(value);
+                } catch (NumberFormatException e2) {
+                    checksum -= 1;
+                }
+            }
+        }
+        return checksum;
+    }
+
+    static double parseWithNumberParser(final String[] values, final int iterations) {
+        double checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            String value = values[i % values.length];
+            long longValue = NumberParser.parseLong(value, 0, value.length(), Long.MAX_VALUE);
+            if (longValue != Long.MAX_VALUE) {
+                checksum += longValue % 1000;
+                continue;
+            }
+            double doubleValue = NumberParser.parseDouble(value, 0, value.length(), Double.NaN);
+            if (!Double.isNaN(doubleValue)) {
+                checksum += doubleValue;
+            } else {
+                checksum -= 1;
+            }
+        }
+        return checksum;
+    }
+}